@@ -173,6 +173,16 @@ public abstract class AbstractConnectorHandler {
       return processEvent(event);
   }
 
+  /**
+   * Whether an instance of this handler may be re-used for processing subsequent events (one event at a time).
+   * Handlers which keep state across events without re-initializing it in {@link #handleEvent(Event)} must not be re-used.
+   *
+   * @return true, if instances may be pooled & re-used by the caller
+   */
+  public boolean isReusable() {
+    return false;
+  }
+
   /**
    * The event processor.
    *
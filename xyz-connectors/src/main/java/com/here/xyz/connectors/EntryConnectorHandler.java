@@ -31,6 +31,7 @@ import com.here.xyz.XyzSerializable;
 import com.here.xyz.events.BinaryEvent;
 import com.here.xyz.events.Event;
 import com.here.xyz.events.RelocatedEvent;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
 import com.here.xyz.responses.BinaryResponse;
 import com.here.xyz.responses.ErrorResponse;
 import com.here.xyz.responses.NotModifiedResponse;
@@ -42,6 +43,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -77,6 +83,10 @@ public abstract class EntryConnectorHandler extends AbstractConnectorHandler imp
    */
   @SuppressWarnings("WeakerAccess")
   private static final int GZIP_THRESHOLD_SIZE = 1024 * 1024; // 1MB
+  /**
+   * The constructors of the handler classes which have been instantiated already by their class name.
+   */
+  private static final Map<String, MethodHandle> handlerConstructors = new ConcurrentHashMap<>();
 
   /**
    * The entry point for processing an event.
@@ -98,14 +108,6 @@ public abstract class EntryConnectorHandler extends AbstractConnectorHandler imp
         maxUncompressedResponseSize = getMaxUncompressedResponseSize(event);
 
         streamId = event.getStreamId();
-        new LambdaFunctionRuntime(context, streamId);
-
-        String className = "com.here.xyz.psql.PSQLXyzConnector";
-        if (event.getConnectorParams() != null && event.getConnectorParams().containsKey("className"))
-          className = event.getConnectorParams().get("className").toString();
-        final Class<?> mainClass = Class.forName(className);
-        final AbstractConnectorHandler reqHandler = (AbstractConnectorHandler) mainClass.getDeclaredConstructor().newInstance();
-
         ifNoneMatch = event.getIfNoneMatch();
 
         if (event instanceof RelocatedEvent) {
@@ -113,25 +115,10 @@ public abstract class EntryConnectorHandler extends AbstractConnectorHandler imp
           return;
         }
 
-        dataOut = reqHandler.handleEvent(event);
-      }
-      catch (ErrorResponseException e) {
-        switch (e.getErrorResponse().getError()) {
-          case EXCEPTION, BAD_GATEWAY, TIMEOUT -> logger.error("[{}] Unexpected exception in connector:", streamId, e);
-          default -> logger.warn("[{}] Exception in connector:", streamId, e);
-        }
-        if (e.getInternalDetails() != null)
-          logger.warn("[{}] Internal details of exception: {}", streamId, e.getInternalDetails());
-
-        e.getErrorResponse().setStreamId(streamId);
-        dataOut = e.getErrorResponse();
+        dataOut = dispatchEvent(event, context);
       }
       catch (Exception e) {
-        logger.error("{} Unexpected exception occurred:", streamId, e);
-        dataOut = new ErrorResponse()
-            .withStreamId(streamId)
-            .withError(EXCEPTION)
-            .withErrorMessage("Unexpected exception occurred.");
+        dataOut = toErrorResponse(e, streamId);
       }
 
       writeDataOut(output, dataOut, ifNoneMatch, streamId, maxUncompressedResponseSize);
@@ -144,6 +131,84 @@ public abstract class EntryConnectorHandler extends AbstractConnectorHandler imp
     }
   }
 
+  /**
+   * The entry point for processing an event which is passed in-process (e.g. by an embedded connector client running in the same JVM).
+   * The event and the features of FeatureCollection responses do not get (de-)serialized.
+   * The ETag of a FeatureCollection is calculated on the raw JSON of its features (as read from the database) and on its other
+   * (small) properties. Hence, it differs from the ETag which {@link #handleRequest(InputStream, OutputStream, Context)} calculates
+   * for the same response. Other (small) non-binary responses get serialized to calculate their ETag.
+   *
+   * NOTE: The provided event instance is handed over to the connector and must not be used by the caller afterwards.
+   *
+   * @param event The event to be processed
+   * @param context The execution environment context object
+   * @return The response object
+   */
+  public Typed handleInProcessEvent(Event event, Context context) {
+    String streamId = event.getStreamId();
+    Typed dataOut;
+    try {
+      dataOut = dispatchEvent(event, context);
+    }
+    catch (Exception e) {
+      dataOut = toErrorResponse(e, streamId);
+    }
+    return prepareInProcessDataOut(dataOut, event.getIfNoneMatch(), streamId, getMaxUncompressedResponseSize(event));
+  }
+
+  private Typed dispatchEvent(Event event, Context context) throws Exception {
+    new LambdaFunctionRuntime(context, event.getStreamId());
+
+    String className = "com.here.xyz.psql.PSQLXyzConnector";
+    if (event.getConnectorParams() != null && event.getConnectorParams().containsKey("className"))
+      className = event.getConnectorParams().get("className").toString();
+
+    //If this is the handler to be used (e.g. for embedded connectors), there is no need to create another instance
+    final AbstractConnectorHandler reqHandler = getClass().getName().equals(className) ? this : newHandlerInstance(className);
+    return reqHandler.handleEvent(event);
+  }
+
+  private static AbstractConnectorHandler newHandlerInstance(String className) throws Exception {
+    try {
+      return (AbstractConnectorHandler) handlerConstructors.computeIfAbsent(className, EntryConnectorHandler::findConstructor).invoke();
+    }
+    catch (Exception | Error e) {
+      throw e;
+    }
+    catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  private static MethodHandle findConstructor(String className) {
+    try {
+      return MethodHandles.publicLookup().findConstructor(Class.forName(className), MethodType.methodType(void.class));
+    }
+    catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Unable to find the public no-args constructor of handler class " + className, e);
+    }
+  }
+
+  private ErrorResponse toErrorResponse(Exception e, String streamId) {
+    if (e instanceof ErrorResponseException ere) {
+      switch (ere.getErrorResponse().getError()) {
+        case EXCEPTION, BAD_GATEWAY, TIMEOUT -> logger.error("[{}] Unexpected exception in connector:", streamId, e);
+        default -> logger.warn("[{}] Exception in connector:", streamId, e);
+      }
+      if (ere.getInternalDetails() != null)
+        logger.warn("[{}] Internal details of exception: {}", streamId, ere.getInternalDetails());
+
+      ere.getErrorResponse().setStreamId(streamId);
+      return ere.getErrorResponse();
+    }
+
+    logger.error("{} Unexpected exception occurred:", streamId, e);
+    return new ErrorResponse()
+        .withStreamId(streamId)
+        .withError(EXCEPTION)
+        .withErrorMessage("Unexpected exception occurred.");
+  }
+
   /**
    * Read the connector event from the provided input stream
    *
@@ -195,14 +260,8 @@ public abstract class EntryConnectorHandler extends AbstractConnectorHandler imp
 
       logger.debug("{} Writing data out for response with type: {}", streamId, dataOut.getClass().getSimpleName());
 
-      if (bytes.length > maxUncompressedResponseSize) {
-        logger.warn("{} Response payload was too large to send. ({} bytes)", streamId, bytes.length);
-        bytes = new ErrorResponse()
-            .withStreamId(streamId)
-            .withError(XyzError.PAYLOAD_TO_LARGE)
-            .withErrorMessage("Response size is too large")
-            .toByteArray();
-      }
+      if (bytes.length > maxUncompressedResponseSize)
+        bytes = payloadTooLarge(streamId, bytes.length).toByteArray();
 
       final boolean runningLocally = FunctionRuntime.getInstance().isRunningLocally();
       if (dataOut instanceof BinaryResponse) {
@@ -234,7 +293,7 @@ public abstract class EntryConnectorHandler extends AbstractConnectorHandler imp
 
       //Relocate
       if (!runningLocally && bytes.length > RELOCATION_THRESHOLD_SIZE)
-        bytes = relocationClient.relocate(streamId, Payload.isGzipped(bytes) ? bytes : Payload.compress(bytes));
+        bytes = relocationClient.relocate(streamId, bytes, !Payload.isGzipped(bytes));
 
       //Write result
       output.write(bytes);
@@ -244,6 +303,57 @@ public abstract class EntryConnectorHandler extends AbstractConnectorHandler imp
     }
   }
 
+  /**
+   * Applies the size-check & ETag handling of {@link #writeDataOut(OutputStream, Typed, String, String, long)} to a response which
+   * will be passed in-process, without serializing the features of a FeatureCollection.
+   * Compression and relocation are not necessary in that case.
+   */
+  private Typed prepareInProcessDataOut(Typed dataOut, String ifNoneMatch, String streamId, long maxUncompressedResponseSize) {
+    try {
+      if (dataOut instanceof BinaryResponse binaryResponse) {
+        //NOTE: BinaryResponses contain an ETag automatically, nothing to calculate here
+        if (binaryResponse.getBytes() != null && binaryResponse.getBytes().length > maxUncompressedResponseSize)
+          return payloadTooLarge(streamId, binaryResponse.getBytes().length);
+        if (XyzResponse.etagMatches(ifNoneMatch, binaryResponse.getEtag()))
+          return new NotModifiedResponse().withEtag(binaryResponse.getEtag());
+      }
+      else if (dataOut instanceof XyzResponse response && !(dataOut instanceof ErrorResponse)) {
+        long size;
+        String etag;
+        if (response instanceof FeatureCollection fc && fc.getRawFeatures() != null) {
+          //Hash the raw JSON of the features as it is, instead of serializing the whole collection into one byte array
+          String rawFeatures = fc.getRawFeatures();
+          byte[] otherProperties = fc.toByteArrayWithoutFeatures();
+          size = rawFeatures.length() + otherProperties.length;
+          etag = XyzResponse.calculateEtagFor(rawFeatures, otherProperties);
+        }
+        else {
+          byte[] bytes = response.toByteArray();
+          size = bytes.length;
+          etag = XyzResponse.calculateEtagFor(bytes);
+        }
+        if (size > maxUncompressedResponseSize)
+          return payloadTooLarge(streamId, size);
+
+        if (XyzResponse.etagMatches(ifNoneMatch, etag))
+          return new NotModifiedResponse().withEtag(etag);
+        response.setEtag(etag);
+      }
+      return dataOut;
+    }
+    catch (Exception e) {
+      return toErrorResponse(e, streamId);
+    }
+  }
+
+  private ErrorResponse payloadTooLarge(String streamId, long byteSize) {
+    logger.warn("{} Response payload was too large to send. ({} bytes)", streamId, byteSize);
+    return new ErrorResponse()
+        .withStreamId(streamId)
+        .withError(XyzError.PAYLOAD_TO_LARGE)
+        .withErrorMessage("Response size is too large");
+  }
+
   private String previewInput(InputStream input) throws IOException {
     input.mark(INPUT_PREVIEW_BYTE_SIZE);
     byte[] bytes = new byte[INPUT_PREVIEW_BYTE_SIZE];
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2017-2025 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.connectors;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * An output stream which uploads everything that is written to it into an S3 object.
+ * The content gets buffered up to the part size. As long as the whole content fits into one part, it is uploaded with a single PUT
+ * request once the stream gets closed. Larger contents are uploaded part by part using a multipart upload while they are still being
+ * written, so at most one part is held in memory at any time.
+ * If writing the content fails, {@link #abort()} has to be called instead of {@link #close()}, otherwise the partially written content
+ * would be uploaded.
+ */
+class MultipartUploadOutputStream extends OutputStream {
+
+  //S3 requires all parts except the last one to have at least 5MB
+  static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+  private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+  private final S3Client s3Client;
+  private final String bucket;
+  private final String key;
+  private final int partSize;
+  private byte[] buffer;
+  private int position;
+  private String uploadId;
+  private final List<CompletedPart> completedParts = new ArrayList<>();
+  private long uploadedBytes;
+  private boolean closed;
+
+  MultipartUploadOutputStream(S3Client s3Client, String bucket, String key) {
+    this(s3Client, bucket, key, DEFAULT_PART_SIZE);
+  }
+
+  MultipartUploadOutputStream(S3Client s3Client, String bucket, String key, int partSize) {
+    this.s3Client = s3Client;
+    this.bucket = bucket;
+    this.key = key;
+    this.partSize = partSize;
+    buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, partSize)];
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[]{(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (closed)
+      throw new IOException("The upload to s3://" + bucket + "/" + key + " was already closed.");
+
+    while (len > 0) {
+      if (position == partSize)
+        //Only upload a full part once more content arrives, so that the last part is never empty
+        uploadPart();
+      else if (position == buffer.length)
+        buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, partSize));
+
+      int count = Math.min(len, buffer.length - position);
+      System.arraycopy(b, off, buffer, position, count);
+      position += count;
+      off += count;
+      len -= count;
+    }
+  }
+
+  private void uploadPart() throws IOException {
+    try {
+      if (uploadId == null)
+        uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .build()).uploadId();
+
+      int partNumber = completedParts.size() + 1;
+      String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+          .bucket(bucket)
+          .key(key)
+          .uploadId(uploadId)
+          .partNumber(partNumber)
+          .build(), currentContent()).eTag();
+      completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+      uploadedBytes += position;
+      position = 0;
+    }
+    catch (SdkException e) {
+      abort();
+      throw new IOException("Error uploading part " + (completedParts.size() + 1) + " to s3://" + bucket + "/" + key, e);
+    }
+  }
+
+  private RequestBody currentContent() {
+    return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, position), position);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed)
+      return;
+
+    if (uploadId == null) {
+      closed = true;
+      try {
+        s3Client.putObject(PutObjectRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .build(), currentContent());
+        uploadedBytes += position;
+      }
+      catch (SdkException e) {
+        throw new IOException("Error uploading to s3://" + bucket + "/" + key, e);
+      }
+    }
+    else {
+      if (position > 0)
+        uploadPart();
+      closed = true;
+      try {
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .uploadId(uploadId)
+            .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+            .build());
+      }
+      catch (SdkException e) {
+        abort();
+        throw new IOException("Error completing the upload to s3://" + bucket + "/" + key, e);
+      }
+    }
+    buffer = null;
+  }
+
+  /**
+   * Discards the content which was written so far. Parts which have been uploaded already are getting deleted.
+   */
+  void abort() {
+    closed = true;
+    buffer = null;
+    if (uploadId == null)
+      return;
+    try {
+      s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+          .bucket(bucket)
+          .key(key)
+          .uploadId(uploadId)
+          .build());
+    }
+    catch (SdkException ignore) {
+      //The incomplete upload will be removed by the lifecycle rules of the bucket
+    }
+    uploadId = null;
+  }
+
+  /**
+   * @return The number of bytes which have been uploaded so far
+   */
+  long getUploadedBytes() {
+    return uploadedBytes;
+  }
+
+  int getPartCount() {
+    return completedParts.size();
+  }
+}
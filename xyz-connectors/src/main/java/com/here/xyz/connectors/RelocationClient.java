@@ -20,20 +20,24 @@ package com.here.xyz.connectors;
 
 import com.here.xyz.events.RelocatedEvent;
 import com.here.xyz.responses.XyzError;
+import com.here.xyz.util.metrics.LatencyHistogram;
 import com.here.xyz.util.service.aws.s3.S3Uri;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 @SuppressWarnings("WeakerAccess")
 public class RelocationClient {
@@ -41,6 +45,13 @@ public class RelocationClient {
   private static final Logger logger = LogManager.getLogger();
 
   private final static String S3_PATH = "tmp/";
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+  private static final LatencyHistogram UPLOAD_TIME = LatencyHistogram.register("xyz_relocation_upload_time_seconds",
+      "The time of uploading relocated events / responses to S3");
+  private static final LatencyHistogram DOWNLOAD_TIME = LatencyHistogram.register("xyz_relocation_download_time_seconds",
+      "The time until the download of relocated events / responses from S3 started");
+  private static final LongAdder relocatedBytes = new LongAdder();
+  private static final LongAdder uploadedBytes = new LongAdder();
   private S3Client defaultS3Client;
   private Map<String, S3Client> s3clients = new ConcurrentHashMap<>();
   private final String bucket;
@@ -84,6 +95,20 @@ public class RelocationClient {
    * @return the serialized RelocatedEvent as bytes
    */
   public byte[] relocate(String streamId, byte[] bytes) {
+    return relocate(streamId, bytes, false);
+  }
+
+  /**
+   * Relocates a request or response.
+   * The content is uploaded while it gets compressed, so no compressed copy of the whole content is created in memory.
+   * Large contents are uploaded in multiple parts.
+   *
+   * @param streamId The streamId of the original request or response
+   * @param bytes the bytes of the request or response
+   * @param compress whether the bytes should be compressed while being uploaded
+   * @return the serialized RelocatedEvent as bytes
+   */
+  public byte[] relocate(String streamId, byte[] bytes, boolean compress) {
     String name = UUID.randomUUID().toString();
     RelocatedEvent event = new RelocatedEvent().withStreamId(streamId);
     String region = System.getenv("AWS_REGION");
@@ -100,7 +125,7 @@ public class RelocationClient {
 
     logger.debug("{} - Relocating data to: {}", streamId, event.getURI());
     if (event.getURI().startsWith("s3://") || event.getURI().startsWith("http")) {
-      uploadToS3(new S3Uri(event.getURI()), bytes, region);
+      uploadToS3(new S3Uri(event.getURI()), bytes, compress, region);
     } else {
       logger.error("{}, Unsupported URI type {} from bucket {}, S3 path {} and name {}", event.getStreamId(), event.getURI(), bucket, S3_PATH, name);
     }
@@ -147,20 +172,47 @@ public class RelocationClient {
    * Downloads the file from S3.
    */
   public InputStream downloadFromS3(S3Uri s3Uri, String region) {
-    return getS3Client(region).getObject(GetObjectRequest.builder()
+    long start = System.nanoTime();
+    InputStream input = getS3Client(region).getObject(GetObjectRequest.builder()
             .bucket(s3Uri.bucket())
             .key(s3Uri.key())
             .build());
+    DOWNLOAD_TIME.recordNanos(System.nanoTime() - start);
+    return input;
   }
 
   /**
    * Uploads the data, which should be relocated to S3.
    */
-  private void uploadToS3(S3Uri s3Uri, byte[] content, String region) {
-    getS3Client(region).putObject(PutObjectRequest.builder()
-            .bucket(s3Uri.bucket())
-            .key(s3Uri.key())
-            .build(), RequestBody.fromBytes(content));
+  private void uploadToS3(S3Uri s3Uri, byte[] content, boolean compress, String region) {
+    long start = System.nanoTime();
+    MultipartUploadOutputStream upload = new MultipartUploadOutputStream(getS3Client(region), s3Uri.bucket(), s3Uri.key());
+    try {
+      OutputStream target = compress ? new GZIPOutputStream(upload, GZIP_BUFFER_SIZE) : upload;
+      target.write(content);
+      target.close();
+    }
+    catch (IOException | RuntimeException e) {
+      upload.abort();
+      throw e instanceof IOException ioe ? new UncheckedIOException(ioe) : (RuntimeException) e;
+    }
+    relocatedBytes.add(content.length);
+    uploadedBytes.add(upload.getUploadedBytes());
+    UPLOAD_TIME.recordNanos(System.nanoTime() - start);
+  }
+
+  /**
+   * @return The total number of bytes which have been passed for relocation to all relocation clients (before compression)
+   */
+  public static long getRelocatedBytes() {
+    return relocatedBytes.sum();
+  }
+
+  /**
+   * @return The total number of bytes which have been uploaded to S3 by all relocation clients
+   */
+  public static long getUploadedBytes() {
+    return uploadedBytes.sum();
   }
 
   private String createS3Uri(String bucket, String key) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.connectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+public class MultipartUploadOutputStreamTest {
+
+  private static final int PART_SIZE = 1024;
+
+  @Test
+  public void testSmallContentIsPut() throws IOException {
+    InMemoryS3Client s3 = new InMemoryS3Client();
+    byte[] content = randomBytes(PART_SIZE);
+
+    MultipartUploadOutputStream upload = new MultipartUploadOutputStream(s3, "bucket", "key", PART_SIZE);
+    upload.write(content);
+    upload.close();
+
+    assertArrayEquals(content, s3.object);
+    assertEquals(0, upload.getPartCount());
+    assertEquals(content.length, upload.getUploadedBytes());
+  }
+
+  @Test
+  public void testLargeContentIsUploadedInParts() throws IOException {
+    InMemoryS3Client s3 = new InMemoryS3Client();
+    byte[] content = randomBytes(3 * PART_SIZE + 17);
+
+    MultipartUploadOutputStream upload = new MultipartUploadOutputStream(s3, "bucket", "key", PART_SIZE);
+    //Write in chunks which are not aligned to the part size
+    for (int i = 0; i < content.length; i += 100)
+      upload.write(content, i, Math.min(100, content.length - i));
+    upload.close();
+
+    assertArrayEquals(content, s3.object);
+    assertEquals(4, upload.getPartCount());
+    assertEquals(content.length, upload.getUploadedBytes());
+  }
+
+  @Test
+  public void testAbortDiscardsUploadedParts() throws IOException {
+    InMemoryS3Client s3 = new InMemoryS3Client();
+
+    MultipartUploadOutputStream upload = new MultipartUploadOutputStream(s3, "bucket", "key", PART_SIZE);
+    upload.write(randomBytes(2 * PART_SIZE + 1));
+    upload.abort();
+
+    assertTrue(s3.aborted);
+    assertNull(s3.object);
+    assertFalse(s3.parts.isEmpty());
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(42).nextBytes(bytes);
+    return bytes;
+  }
+
+  private static class InMemoryS3Client implements S3Client {
+    byte[] object;
+    Map<Integer, byte[]> parts = new TreeMap<>();
+    boolean aborted;
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+      object = read(body);
+      return PutObjectResponse.builder().build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+      return CreateMultipartUploadResponse.builder().uploadId("upload").build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+      parts.put(request.partNumber(), read(body));
+      return UploadPartResponse.builder().eTag("etag" + request.partNumber()).build();
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      request.multipartUpload().parts().forEach(part -> os.writeBytes(parts.get(part.partNumber())));
+      object = os.toByteArray();
+      return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+      aborted = true;
+      return AbortMultipartUploadResponse.builder().build();
+    }
+
+    private static byte[] read(RequestBody body) {
+      try (InputStream is = body.contentStreamProvider().newStream()) {
+        return is.readAllBytes();
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public String serviceName() {
+      return "s3";
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -21,16 +21,21 @@ package com.here.xyz.hub;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+import static io.vertx.core.http.HttpHeaders.CONTENT_LENGTH;
 
+import com.here.xyz.hub.util.FeatureStreamReader;
 import com.here.xyz.util.service.BaseConfig;
 import com.here.xyz.util.service.BaseHttpServerVerticle;
 import com.here.xyz.util.service.HttpException;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -38,6 +43,7 @@ public abstract class AbstractHttpServerVerticle extends BaseHttpServerVerticle
 
   private static final Logger logger = LogManager.getLogger();
   private static List<Consumer<RoutingContext>> responseEndObservers = new ArrayList<>();
+  private static final Pattern FEATURES_PATH = Pattern.compile("^/hub/spaces/[^/]+/features/?$");
 
   /**
    * The max request size handler.
@@ -45,44 +51,8 @@ public abstract class AbstractHttpServerVerticle extends BaseHttpServerVerticle
   @Override
   protected Handler<RoutingContext> createMaxRequestSizeHandler() {
     return context -> {
-      if (Service.configuration != null) {
-        long limit = BaseConfig.instance.MAX_UNCOMPRESSED_REQUEST_SIZE;
-
-        String errorMessage = "The request payload is bigger than the maximum allowed.";
-        String limitSizeMessage = " Allowed maximum byte size is: ";
-        String uploadLimit;
-        HttpResponseStatus status = REQUEST_ENTITY_TOO_LARGE;
-
-        if (BaseConfig.instance.UPLOAD_LIMIT_HEADER_NAME != null
-            && (uploadLimit = context.request().headers().get(Service.configuration.UPLOAD_LIMIT_HEADER_NAME)) != null) {
-
-          try {
-            //Override limit if we are receiving an UPLOAD_LIMIT_HEADER_NAME value
-            limit = Long.parseLong(uploadLimit);
-
-            //Add limit to streamInfo response header
-            XYZHubRESTVerticle.addStreamInfo(context, "MaxReqSize", limit);
-          }
-          catch (NumberFormatException e) {
-            sendErrorResponse(context, new HttpException(BAD_REQUEST,
-                "Value of header: " + Service.configuration.UPLOAD_LIMIT_HEADER_NAME + " has to be a number."));
-            return;
-          }
-
-          //Override http response code if it's configured
-          if (Service.configuration.UPLOAD_LIMIT_REACHED_HTTP_CODE > 0)
-            status = HttpResponseStatus.valueOf(Service.configuration.UPLOAD_LIMIT_REACHED_HTTP_CODE);
-
-          //Override error Message if its configured
-          if (Service.configuration.UPLOAD_LIMIT_REACHED_MESSAGE != null)
-            errorMessage = Service.configuration.UPLOAD_LIMIT_REACHED_MESSAGE + limitSizeMessage + limit;
-        }
-
-        if (limit > 0 && context.getBody() != null && context.getBody().length() > limit) {
-          sendErrorResponse(context, new HttpException(status, errorMessage + limitSizeMessage + limit));
-          return;
-        }
-      }
+      if (context.getBody() != null && !checkRequestSize(context, context.getBody().length()))
+        return;
 
       try {
         context.next();
@@ -94,6 +64,106 @@ public abstract class AbstractHttpServerVerticle extends BaseHttpServerVerticle
     };
   }
 
+  /**
+   * Rejects requests of which the declared content length already exceeds the max request size before their body gets buffered.
+   * Requests without a Content-Length header (e.g., chunked ones) are checked after buffering by the max request size handler.
+   * The bodies of feature write requests which are read incrementally (see {@link #isStreamedWriteRequest(RoutingContext)}) are not
+   * buffered at all. Their request gets paused instead until the {@link FeatureStreamReader} starts reading it.
+   */
+  @Override
+  protected Handler<RoutingContext> createRequestBodyHandler() {
+    final BodyHandler bodyHandler = createBodyHandler();
+    return context -> {
+      String contentLength = context.request().getHeader(CONTENT_LENGTH);
+      if (contentLength != null) {
+        try {
+          if (!checkRequestSize(context, Long.parseLong(contentLength)))
+            return;
+        }
+        catch (NumberFormatException e) {
+          //Ignore, the body will be checked after it was buffered
+        }
+      }
+
+      if (isStreamedWriteRequest(context)) {
+        if (!context.request().isEnded())
+          context.request().pause();
+        context.next();
+      }
+      else
+        bodyHandler.handle(context);
+    };
+  }
+
+  /**
+   * Whether the body of the request is a feature write request which gets read incrementally while it is being received rather than
+   * being buffered completely before processing it.
+   */
+  public static boolean isStreamedWriteRequest(RoutingContext context) {
+    HttpMethod method = context.request().method();
+    return Service.configuration != null && !Service.configuration.USE_WRITE_FEATURES_EVENT
+        && (method == HttpMethod.PUT || method == HttpMethod.POST) && FEATURES_PATH.matcher(context.normalizedPath()).matches();
+  }
+
+  /**
+   * Checks the provided request size against the max request size and sends an error response if it's exceeded.
+   *
+   * @return false if an error response has been sent
+   */
+  private static boolean checkRequestSize(RoutingContext context, long size) {
+    try {
+      verifyRequestSize(context, size);
+      return true;
+    }
+    catch (HttpException e) {
+      sendErrorResponse(context, e);
+      return false;
+    }
+  }
+
+  /**
+   * Checks the provided request size against the max request size.
+   *
+   * @throws HttpException if the max request size is exceeded
+   */
+  public static void verifyRequestSize(RoutingContext context, long size) throws HttpException {
+    if (Service.configuration == null)
+      return;
+
+    long limit = BaseConfig.instance.MAX_UNCOMPRESSED_REQUEST_SIZE;
+
+    String errorMessage = "The request payload is bigger than the maximum allowed.";
+    String limitSizeMessage = " Allowed maximum byte size is: ";
+    String uploadLimit;
+    HttpResponseStatus status = REQUEST_ENTITY_TOO_LARGE;
+
+    if (BaseConfig.instance.UPLOAD_LIMIT_HEADER_NAME != null
+        && (uploadLimit = context.request().headers().get(Service.configuration.UPLOAD_LIMIT_HEADER_NAME)) != null) {
+
+      try {
+        //Override limit if we are receiving an UPLOAD_LIMIT_HEADER_NAME value
+        limit = Long.parseLong(uploadLimit);
+
+        //Add limit to streamInfo response header
+        XYZHubRESTVerticle.addStreamInfo(context, "MaxReqSize", limit);
+      }
+      catch (NumberFormatException e) {
+        throw new HttpException(BAD_REQUEST, "Value of header: " + Service.configuration.UPLOAD_LIMIT_HEADER_NAME + " has to be a number.");
+      }
+
+      //Override http response code if it's configured
+      if (Service.configuration.UPLOAD_LIMIT_REACHED_HTTP_CODE > 0)
+        status = HttpResponseStatus.valueOf(Service.configuration.UPLOAD_LIMIT_REACHED_HTTP_CODE);
+
+      //Override error Message if its configured
+      if (Service.configuration.UPLOAD_LIMIT_REACHED_MESSAGE != null)
+        errorMessage = Service.configuration.UPLOAD_LIMIT_REACHED_MESSAGE + limitSizeMessage + limit;
+    }
+
+    if (limit > 0 && size > limit)
+      throw new HttpException(status, errorMessage + limitSizeMessage + limit);
+  }
+
   public static void registerResponseEndObservers(Consumer<RoutingContext> consumer) {
     responseEndObservers.add(consumer);
   }
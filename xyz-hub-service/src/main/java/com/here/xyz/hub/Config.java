@@ -51,10 +51,27 @@ public class Config extends BaseConfig {
   public int MAX_GLOBAL_HTTP_CLIENT_CONNECTIONS;
 
   /**
-   * Size of the in-memory cache in megabytes. (Maximum 2GB)
+   * Size of the in-memory cache in megabytes. (Maximum 2GB, if the cache is not kept off-heap)
    */
   public int CACHE_SIZE_MB;
 
+  /**
+   * Whether to keep the values of the in-memory cache outside the Java heap.
+   * NOTE: The maximum direct memory size of the JVM has to be large enough to hold the whole cache.
+   */
+  public boolean CACHE_OFF_HEAP;
+
+  /**
+   * For how many seconds a response may still be served from the service cache after it expired, while it gets refreshed in the
+   * background. (0 = disabled)
+   */
+  public int CACHE_STALE_WHILE_REVALIDATE_SECONDS;
+
+  /**
+   * The minimum size in bytes of a response body to be stored compressed in the service cache. (0 = disabled)
+   */
+  public int CACHE_COMPRESSION_THRESHOLD;
+
   /**
    * The hostname, which under instances can use to contact the this service node.
    */
@@ -70,6 +87,18 @@ public class Config extends BaseConfig {
    */
   public String XYZ_HUB_S3_BUCKET;
 
+  /**
+   * The S3 Bucket which contains the tiles pre-generated by the PreGenerateTiles job step (the bucket of the job service).
+   * If not set, tile requests are never served from pre-generated tiles.
+   */
+  public String PRE_GENERATED_TILES_S3_BUCKET;
+
+  /**
+   * The maximum number of events which are relocated (compressed & uploaded to the S3 bucket) concurrently.
+   * Further relocations are queued until one of the running relocations is finished.
+   */
+  public int MAX_CONCURRENT_RELOCATIONS = 8;
+
   /**
    * The public endpoint.
    */
@@ -331,6 +360,29 @@ public class Config extends BaseConfig {
    */
   public float REMOTE_FUNCTION_CONNECTION_HIGH_UTILIZATION_THRESHOLD;
 
+  /**
+   * Whether the queued requests of a RemoteFunction should be scheduled fairly between their requesters rather than in FIFO order.
+   * If activated, the requesters are taking turns and a full queue discards the requests of the requester with the most queued requests
+   * first.
+   */
+  public boolean REMOTE_FUNCTION_FAIR_QUEUING;
+
+  /**
+   * The weights of the requesters (by requester ID) when scheduling the queued requests of a RemoteFunction fairly.
+   * In each round a requester may take as many requests from the queue as its weight is. Requesters without a configured weight have a
+   * weight of 1.
+   *
+   * @see Config#REMOTE_FUNCTION_FAIR_QUEUING
+   */
+  public Map<String, Integer> REMOTE_FUNCTION_REQUESTER_WEIGHTS;
+
+  /**
+   * Whether the number of concurrent calls to a RemoteFunction should be adapted to its observed latency.
+   * If activated, the limit of concurrent calls gets reduced once the latency of the remote function increases and grows back up to the
+   * static maximum connections once the latency recovers. If deactivated, only the static connection limits are applied.
+   */
+  public boolean REMOTE_FUNCTION_ADAPTIVE_CONCURRENCY;
+
   /**
    * A value between 0 and 1 defining a threshold as percentage of utilized service memory for in-flight request after which to start
    * prioritizing more important connectors over less important ones.
@@ -438,6 +490,43 @@ public class Config extends BaseConfig {
    */
   public String DECOMPRESSED_OUTPUT_SIZE_HEADER_NAME = "X-Decompressed-Output-Size";
 
+  /**
+   * The minimum number of characters of a GeoJSON response body, starting from which the body gets written to the client chunk by chunk
+   * rather than being copied into a single buffer first. A value <= 0 deactivates the chunked response mode.
+   */
+  public int CHUNKED_RESPONSE_THRESHOLD = 1024 * 1024;
+
+  /**
+   * The maximum number of characters being encoded & written at once when using the chunked response mode.
+   */
+  public int CHUNKED_RESPONSE_CHUNK_SIZE = 64 * 1024;
+
+  /**
+   * The maximum number of features which are accepted in the body of a feature write request. A value <= 0 means unlimited.
+   * NOTE: The limit is only enforced for requests which are not using the WriteFeaturesEvent.
+   */
+  public int MAX_FEATURES_PER_WRITE_REQUEST;
+
+  /**
+   * The number of features (or feature modifications) which are written at once, when the body of a non-transactional feature write
+   * request is read incrementally. The next batch is only read from the request after the previous one was written.
+   * A value <= 0 means that all features of a request are written at once.
+   * NOTE: Transactional write requests are always written at once.
+   */
+  public int WRITE_REQUEST_BATCH_SIZE = 1000;
+
+  /**
+   * Whether to skip the validation of (multi-)polygons when creating MVT tiles in the service.
+   * Should only be activated if the geometries of all spaces are known to be valid, e.g., because they got validated at write time.
+   */
+  public boolean MVT_SKIP_GEOMETRY_VALIDATION;
+
+  /**
+   * The minimum number of features of a tile, starting from which the geometries get projected and clipped in parallel when creating
+   * MVT tiles in the service. A value <= 0 deactivates the parallel encoding.
+   */
+  public int MVT_PARALLEL_ENCODING_THRESHOLD = 1000;
+
   /**
    * Name of the tag created for spaces with subscription.
    */
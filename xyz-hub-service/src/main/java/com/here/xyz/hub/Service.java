@@ -22,6 +22,7 @@ package com.here.xyz.hub;
 import com.here.xyz.hub.cache.CacheClient;
 import com.here.xyz.hub.cache.InMemoryCacheClient;
 import com.here.xyz.hub.cache.MultiLevelCacheClient;
+import com.here.xyz.hub.cache.OffHeapCacheClient;
 import com.here.xyz.hub.cache.RedisCacheClient;
 import com.here.xyz.hub.cache.S3CacheClient;
 import com.here.xyz.hub.config.BranchConfigClient;
@@ -36,11 +37,14 @@ import com.here.xyz.hub.connectors.ConfigUpdateThread;
 import com.here.xyz.hub.connectors.WarmupRemoteFunctionThread;
 import com.here.xyz.hub.rest.admin.MessageBroker;
 import com.here.xyz.hub.rest.admin.Node;
+import com.here.xyz.hub.util.metrics.EmbeddedConnectorPoolHitRatio;
 import com.here.xyz.hub.util.metrics.GcDurationMetric;
 import com.here.xyz.hub.util.metrics.GlobalInflightRequestMemory;
 import com.here.xyz.hub.util.metrics.GlobalUsedRfcConnections;
 import com.here.xyz.hub.util.metrics.MajorGcCountMetric;
 import com.here.xyz.hub.util.metrics.MemoryMetric;
+import com.here.xyz.hub.util.metrics.OffHeapCacheEvictions;
+import com.here.xyz.hub.util.metrics.OffHeapCacheHitRatio;
 import com.here.xyz.hub.util.metrics.base.CWBareValueMetricPublisher;
 import com.here.xyz.hub.util.metrics.base.MetricPublisher;
 import com.here.xyz.hub.util.metrics.net.ConnectionMetrics;
@@ -210,8 +214,9 @@ public class Service extends Core {
   }
 
   private static Future<JsonObject> initializeClients(JsonObject config) {
-    volatileCacheClient = new MultiLevelCacheClient(InMemoryCacheClient.getInstance(), RedisCacheClient.getInstance());
-    staticCacheClient = new MultiLevelCacheClient(InMemoryCacheClient.getInstance(), S3CacheClient.getInstance());
+    CacheClient inMemoryCacheClient = configuration.CACHE_OFF_HEAP ? OffHeapCacheClient.getInstance() : InMemoryCacheClient.getInstance();
+    volatileCacheClient = new MultiLevelCacheClient(inMemoryCacheClient, RedisCacheClient.getInstance());
+    staticCacheClient = new MultiLevelCacheClient(inMemoryCacheClient, S3CacheClient.getInstance());
     MessageBroker.getInstance().onSuccess(mb -> {
       messageBroker = mb;
       Node.initialize();
@@ -343,6 +348,13 @@ public class Service extends Core {
       metricPublishers.add(new CWBareValueMetricPublisher(new GcDurationMetric("GcDuration")));
       metricPublishers.add(new CWBareValueMetricPublisher(new GlobalUsedRfcConnections("GlobalUsedRfcConnections")));
       metricPublishers.add(new CWBareValueMetricPublisher(new GlobalInflightRequestMemory("GlobalInflightRequestMemory")));
+      metricPublishers.add(new CWBareValueMetricPublisher(new EmbeddedConnectorPoolHitRatio("EmbeddedConnectorPoolHitRatio")));
+      if (configuration.CACHE_OFF_HEAP) {
+        metricPublishers.add(new CWBareValueMetricPublisher(new OffHeapCacheHitRatio("OffHeapCacheHitRatio",
+            OffHeapCacheClient.getInstance())));
+        metricPublishers.add(new CWBareValueMetricPublisher(new OffHeapCacheEvictions("OffHeapCacheEvictions",
+            OffHeapCacheClient.getInstance())));
+      }
       metricPublishers.addAll(ConnectionMetrics.startConnectionMetricPublishers());
     }
   }
@@ -129,7 +129,8 @@ public class XYZHubRESTVerticle extends AbstractHttpServerVerticle {
 
       final AuthenticationHandler jwtHandler = createJWTHandler();
       for (OpenAPIRoute route : rb.getRoutes()) {
-        route.addHandler(createBodyHandler());
+        //Reject requests which are declared to be too large before buffering their body
+        route.addHandler(createRequestBodyHandler());
         route.addHandler(jwtHandler);
       }
 
@@ -25,6 +25,17 @@ public interface CacheClient {
 
 	Future<byte[]> get(String key);
 
+	/**
+	 * Reads the value for the key together with its remaining live time.
+	 * Implementations which don't know the remaining live time of their records report it as {@link CacheEntry#UNKNOWN_TTL}.
+	 *
+	 * @param key
+	 * @return The cache-record or null if there is no value for the key
+	 */
+	default Future<CacheEntry> getEntry(String key) {
+		return get(key).map(value -> value == null ? null : new CacheEntry(value, CacheEntry.UNKNOWN_TTL));
+	}
+
 	/**
 	 *
 	 * @param key
@@ -37,4 +48,11 @@ public interface CacheClient {
 
 	void shutdown();
 
+	/**
+	 * @param value The value of the cache-record
+	 * @param ttl The remaining live time of the cache-record in seconds or {@link #UNKNOWN_TTL}
+	 */
+	record CacheEntry(byte[] value, long ttl) {
+		public static final long UNKNOWN_TTL = -1;
+	}
 }
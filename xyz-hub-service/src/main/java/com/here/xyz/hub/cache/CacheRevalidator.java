@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import com.here.xyz.hub.cache.CacheClient.CacheEntry;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes stale cache entries in the background, while the stale entries are still being served (stale-while-revalidate).
+ * Only one refresh is performed per cache key at a time. If a refresh fails, the stale entry is kept and the next read of it triggers a
+ * new refresh.
+ *
+ * @param <V> the type of the cache values
+ */
+public class CacheRevalidator<V> {
+
+  private final Set<String> revalidatingKeys = ConcurrentHashMap.newKeySet();
+
+  /**
+   * A cache entry is stale if it's within its stale-while-revalidate window, which is the last part of its live time in the cache.
+   *
+   * @param cacheEntry the cache entry which was read
+   * @param staleWhileRevalidate the length of the stale-while-revalidate window in milliseconds
+   * @return Whether the cache entry is stale
+   */
+  public static boolean isStale(CacheEntry cacheEntry, long staleWhileRevalidate) {
+    return cacheEntry.ttl() != CacheEntry.UNKNOWN_TTL && TimeUnit.SECONDS.toMillis(cacheEntry.ttl()) < staleWhileRevalidate;
+  }
+
+  /**
+   * Refreshes the stale cache entry of the specified key in the background, unless it's being refreshed already.
+   *
+   * @param key the cache key of the stale entry
+   * @param refresh starts the refresh and provides the fresh value; a failed future or null means that the entry could not be refreshed
+   * @param store stores the fresh value in the cache
+   * @return Whether a refresh was started
+   */
+  public boolean revalidate(String key, Callable<Future<V>> refresh, Handler<V> store) {
+    if (!revalidatingKeys.add(key))
+      return false;
+    Future<V> refreshed;
+    try {
+      refreshed = refresh.call();
+    }
+    catch (Exception e) {
+      refreshed = Future.failedFuture(e);
+    }
+    refreshed.onComplete(ar -> {
+      revalidatingKeys.remove(key);
+      if (ar.succeeded() && ar.result() != null)
+        store.handle(ar.result());
+    });
+    return true;
+  }
+
+  /**
+   * @param key the cache key
+   * @return Whether the entry of the specified key is currently being refreshed
+   */
+  public boolean isRevalidating(String key) {
+    return revalidatingKeys.contains(key);
+  }
+}
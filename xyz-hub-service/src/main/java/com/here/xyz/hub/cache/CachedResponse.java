@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+package com.here.xyz.hub.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.ByteStreams;
+import com.here.xyz.Payload;
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.responses.BinaryResponse;
+import com.here.xyz.responses.XyzResponse;
+import io.vertx.core.buffer.Buffer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A response as it was read from the service cache.
+ * The cache value is a versioned envelope which contains some metadata (type, e-tag, mime-type, encoding) of the cached response
+ * followed by its (optionally gzip compressed) body.
+ * Cached feature collections don't have to be deserialized to be sent to the client, their body can be written to the HTTP response
+ * as-is (see {@link #getBody()}, {@link #isCompressed()}). All other responses have to be {@link #toResponse() materialized} first.
+ *
+ * Envelope (version 1):
+ * <pre>
+ * | version (1 byte) | type (1 byte) | encoding (1 byte) | decompressed body length (4 bytes) | e-tag | mime-type | body |
+ * </pre>
+ * Strings are written as their UTF-8 byte length (2 bytes, -1 for null) followed by their UTF-8 bytes.
+ * Cache values which were written by previous versions of the service (starting with the type directly) can still be read.
+ */
+public class CachedResponse extends XyzResponse<CachedResponse> {
+
+  private static final byte JSON_VALUE = 1;
+  private static final byte BINARY_VALUE = 2;
+  private static final byte FEATURE_COLLECTION_VALUE = 3;
+  private static final byte ENVELOPE_V1 = (byte) 0xE1;
+  private static final byte IDENTITY = 0;
+  private static final byte GZIP = 1;
+
+  private final byte type;
+  private final String mimeType;
+  private final boolean compressed;
+  private int decompressedLength;
+  private final byte[] body;
+
+  private CachedResponse(byte type, String etag, String mimeType, boolean compressed, int decompressedLength, byte[] body) {
+    this.type = type;
+    this.mimeType = mimeType;
+    this.compressed = compressed;
+    this.decompressedLength = decompressedLength;
+    this.body = body;
+    setEtag(etag);
+  }
+
+  /**
+   * Creates the cache value for a response.
+   *
+   * @param response The response to be cached
+   * @param compressionThreshold The minimum body size in bytes for which the body gets compressed (a value <= 0 disables the compression)
+   * @return The cache value
+   */
+  public static byte[] encode(XyzResponse response, int compressionThreshold) {
+    byte type;
+    String mimeType = null;
+    byte[] body;
+    if (response instanceof BinaryResponse binaryResponse) {
+      type = BINARY_VALUE;
+      mimeType = binaryResponse.getMimeType();
+      body = binaryResponse.getBytes() == null ? new byte[0] : binaryResponse.getBytes();
+    }
+    else {
+      type = response instanceof FeatureCollection ? FEATURE_COLLECTION_VALUE : JSON_VALUE;
+      body = response.toByteArray();
+    }
+    return encode(type, response.getEtag(), mimeType, body, compressionThreshold);
+  }
+
+  /**
+   * Creates the cache value for a feature collection which is available in its serialized form already.
+   *
+   * @param body The serialized feature collection
+   * @param compressionThreshold The minimum body size in bytes for which the body gets compressed (a value <= 0 disables the compression)
+   * @return The cache value
+   */
+  public static byte[] encodeFeatureCollection(byte[] body, int compressionThreshold) {
+    return encode(FEATURE_COLLECTION_VALUE, null, null, body, compressionThreshold);
+  }
+
+  private static byte[] encode(byte type, String etag, String mimeType, byte[] body, int compressionThreshold) {
+    //Bodies which are compressed already (e.g., by the connector) are kept as they are
+    boolean compressed = Payload.isGzipped(body);
+    int decompressedLength = compressed ? decompressedLengthOf(body) : body.length;
+    if (!compressed && compressionThreshold > 0 && body.length >= compressionThreshold) {
+      byte[] compressedBody = Payload.compress(body);
+      if (compressedBody != null && compressedBody.length < body.length) {
+        body = compressedBody;
+        compressed = true;
+      }
+    }
+
+    Buffer buffer = Buffer.buffer(body.length + 64)
+        .appendByte(ENVELOPE_V1)
+        .appendByte(type)
+        .appendByte(compressed ? GZIP : IDENTITY)
+        .appendInt(decompressedLength);
+    appendString(buffer, etag);
+    appendString(buffer, mimeType);
+    return buffer.appendBytes(body).getBytes();
+  }
+
+  /**
+   * Reads a cache value.
+   *
+   * @param value The cache value as it was created by {@link #encode(XyzResponse, int)}
+   * @return The cached response
+   */
+  public static CachedResponse decode(byte[] value) {
+    Buffer buffer = Buffer.buffer(value);
+    if (value[0] != ENVELOPE_V1)
+      return decodeLegacy(value[0], buffer.getBytes(1, value.length));
+
+    byte type = buffer.getByte(1);
+    boolean compressed = buffer.getByte(2) == GZIP;
+    int decompressedLength = buffer.getInt(3);
+    int pos = 7;
+    String etag = readString(buffer, pos);
+    pos += 2 + (etag == null ? 0 : buffer.getShort(pos));
+    String mimeType = readString(buffer, pos);
+    pos += 2 + (mimeType == null ? 0 : buffer.getShort(pos));
+    return new CachedResponse(type, etag, mimeType, compressed, decompressedLength, buffer.getBytes(pos, value.length));
+  }
+
+  private static CachedResponse decodeLegacy(byte type, byte[] body) {
+    if (type == BINARY_VALUE) {
+      BinaryResponse binaryResponse = BinaryResponse.fromByteArray(body);
+      return new CachedResponse(type, binaryResponse.getEtag(), binaryResponse.getMimeType(), Payload.isGzipped(binaryResponse.getBytes()),
+          -1, binaryResponse.getBytes());
+    }
+    return new CachedResponse(type, null, null, false, body.length, body);
+  }
+
+  /**
+   * @return The length of the decompressed body in bytes or -1 if the body can not be decompressed
+   */
+  private static int decompressedLengthOf(byte[] compressedBody) {
+    try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressedBody))) {
+      return (int) Math.min(ByteStreams.exhaust(is), Integer.MAX_VALUE);
+    }
+    catch (IOException e) {
+      return -1;
+    }
+  }
+
+  private static void appendString(Buffer buffer, String s) {
+    if (s == null)
+      buffer.appendShort((short) -1);
+    else {
+      byte[] bytes = s.getBytes(UTF_8);
+      buffer.appendShort((short) bytes.length).appendBytes(bytes);
+    }
+  }
+
+  private static String readString(Buffer buffer, int pos) {
+    short length = buffer.getShort(pos);
+    return length < 0 ? null : buffer.getString(pos + 2, pos + 2 + length, UTF_8.name());
+  }
+
+  /**
+   * @return Whether the cached response is a feature collection whose body can be sent to the client as-is
+   */
+  public boolean isFeatureCollection() {
+    return type == FEATURE_COLLECTION_VALUE;
+  }
+
+  /**
+   * @return Whether the body is gzip compressed
+   */
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  /**
+   * @return The (potentially compressed) body of the cached response
+   */
+  public byte[] getBody() {
+    return body;
+  }
+
+  /**
+   * @return The decompressed body of the cached response
+   */
+  public byte[] getDecompressedBody() throws IOException {
+    return compressed ? Payload.decompress(body) : body;
+  }
+
+  /**
+   * Returns the length of the decompressed body. If the length is not contained in the cache value (e.g., for legacy values),
+   * it's calculated by decompressing the body once.
+   *
+   * @return The length of the decompressed body in bytes
+   * @throws IOException If the body can not be decompressed
+   */
+  public int getDecompressedLength() throws IOException {
+    if (decompressedLength < 0)
+      decompressedLength = compressed ? decompressedLengthOf(body) : body.length;
+    if (decompressedLength < 0)
+      throw new IOException("Unable to decompress the cached response body.");
+    return decompressedLength;
+  }
+
+  /**
+   * Deserializes the cached response.
+   * Binary responses keep a compressed body as it is, because it gets handled when the response is sent to the client.
+   *
+   * @return The response as it was cached originally
+   */
+  public XyzResponse toResponse() throws IOException {
+    return switch (type) {
+      case JSON_VALUE, FEATURE_COLLECTION_VALUE -> XyzSerializable.deserialize(new String(getDecompressedBody()));
+      case BINARY_VALUE -> new BinaryResponse().withMimeType(mimeType).withBytes(body).withEtag(getEtag());
+      default -> null;
+    };
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+/**
+ * A count-min sketch which estimates how often a key was accessed recently using 4-bit counters.
+ * Once the number of recorded accesses reaches the sample size, all counters get halved, so that the frequencies age over time.
+ * NOTE: This class is not thread-safe.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final int MAX_FREQUENCY = 15;
+  private static final int MAX_WIDTH = 1 << 24;
+  private final byte[][] counters;
+  private final int mask;
+  private final int sampleSize;
+  private int additions;
+
+  /**
+   * @param expectedEntries The number of entries the cache is expected to hold at most
+   */
+  FrequencySketch(int expectedEntries) {
+    int width = Integer.highestOneBit(Math.max(64, Math.min(expectedEntries, MAX_WIDTH) - 1) << 1);
+    counters = new byte[SEEDS.length][width];
+    mask = width - 1;
+    sampleSize = 10 * width;
+  }
+
+  /**
+   * Records an access of the key with the specified hash.
+   *
+   * @param hash The hash of the key
+   */
+  void increment(int hash) {
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int index = indexOf(hash, i);
+      if (counters[i][index] < MAX_FREQUENCY) {
+        counters[i][index]++;
+        added = true;
+      }
+    }
+    if (added && ++additions >= sampleSize)
+      reset();
+  }
+
+  /**
+   * @param hash The hash of the key
+   * @return The estimated number of recent accesses of the key with the specified hash
+   */
+  int frequency(int hash) {
+    int frequency = MAX_FREQUENCY;
+    for (int i = 0; i < SEEDS.length; i++)
+      frequency = Math.min(frequency, counters[i][indexOf(hash, i)]);
+    return frequency;
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return (int) h & mask;
+  }
+
+  private void reset() {
+    for (byte[] row : counters)
+      for (int i = 0; i < row.length; i++)
+        row[i] >>= 1;
+    additions /= 2;
+  }
+}
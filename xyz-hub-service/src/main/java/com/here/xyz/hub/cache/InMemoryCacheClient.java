@@ -23,14 +23,16 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.Weigher;
 import com.here.xyz.hub.Service;
+import com.here.xyz.util.service.Core;
 import io.vertx.core.Future;
+import java.util.concurrent.TimeUnit;
 
 public class InMemoryCacheClient implements CacheClient {
 
-  private Cache<String, byte[]> cache = CacheBuilder
+  private Cache<String, Entry> cache = CacheBuilder
       .newBuilder()
-      .maximumWeight(Service.configuration.CACHE_SIZE_MB * 1024 * 1024)
-      .weigher((Weigher<String, byte[]>) (key, value) -> value.length)
+      .maximumWeight(Service.configuration.CACHE_SIZE_MB * 1024L * 1024)
+      .weigher((Weigher<String, Entry>) (key, entry) -> entry.value.length)
       .build();
 
   private static InMemoryCacheClient instance;
@@ -44,13 +46,30 @@ public class InMemoryCacheClient implements CacheClient {
 
   @Override
   public Future<byte[]> get(String key) {
-    return Future.succeededFuture(cache.getIfPresent(key));
+    Entry entry = getIfNotExpired(key);
+    return Future.succeededFuture(entry == null ? null : entry.value);
+  }
+
+  @Override
+  public Future<CacheEntry> getEntry(String key) {
+    Entry entry = getIfNotExpired(key);
+    return Future.succeededFuture(entry == null ? null
+        : new CacheEntry(entry.value, TimeUnit.MILLISECONDS.toSeconds(entry.expiresAt - Core.currentTimeMillis())));
+  }
+
+  private Entry getIfNotExpired(String key) {
+    Entry entry = cache.getIfPresent(key);
+    if (entry != null && entry.expiresAt <= Core.currentTimeMillis()) {
+      cache.invalidate(key);
+      return null;
+    }
+    return entry;
   }
 
   @Override
   public void set(String key, byte[] value, long ttl) {
-    //NOTE: ttl is ignored - Values will get evicted when the cache reaches its size limit on an LRU basis
-    cache.put(key, value);
+    //NOTE: Values will get evicted when they expired or when the cache reaches its size limit on an LRU basis
+    cache.put(key, new Entry(value, Core.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl)));
   }
 
   @Override
@@ -62,4 +81,6 @@ public class InMemoryCacheClient implements CacheClient {
   public void shutdown() {
     //Nothing to do
   }
+
+  private record Entry(byte[] value, long expiresAt) {}
 }
@@ -19,6 +19,8 @@
 
 package com.here.xyz.hub.cache;
 
+import static com.here.xyz.hub.cache.CacheClient.CacheEntry.UNKNOWN_TTL;
+
 import io.vertx.core.Future;
 import java.util.Arrays;
 import java.util.List;
@@ -33,21 +35,28 @@ public class MultiLevelCacheClient implements CacheClient {
 
   @Override
   public Future<byte[]> get(String key) {
-    return get(0, key);
+    return getEntry(key).map(entry -> entry == null ? null : entry.value());
+  }
+
+  @Override
+  public Future<CacheEntry> getEntry(String key) {
+    return getEntry(0, key);
   }
 
-  private Future<byte[]> get(final int i, final String key) {
-    return clients.get(i).get(key).compose(result -> {
+  private Future<CacheEntry> getEntry(final int i, final String key) {
+    return clients.get(i).getEntry(key).compose(result -> {
       if (result == null) {
         if (clients.size() > i + 1)
-          return get(i + 1, key);
+          return getEntry(i + 1, key);
         else
           return Future.succeededFuture(null);
       }
       else {
+        //Backfill the preceding levels, but only for the remaining live time of the record
+        long ttl = result.ttl() == UNKNOWN_TTL ? Integer.MAX_VALUE : result.ttl();
         int j = i;
-        while (--j >= 0) {
-          clients.get(j).set(key, result, Integer.MAX_VALUE);
+        while (ttl > 0 && --j >= 0) {
+          clients.get(j).set(key, result.value(), ttl);
         }
         return Future.succeededFuture(result);
       }
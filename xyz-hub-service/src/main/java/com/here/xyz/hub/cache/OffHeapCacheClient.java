@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import com.here.xyz.hub.Service;
+import com.here.xyz.util.service.Core;
+import io.vertx.core.Future;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory cache which keeps its values outside the Java heap, so that even large caches are not adding to the GC pressure.
+ * The memory of size {@link com.here.xyz.hub.Config#CACHE_SIZE_MB} is allocated upfront as direct memory and split into
+ * fixed-size blocks. Only the keys and the block-indices of the values are kept on the heap.
+ * NOTE: The maximum direct memory size of the JVM (-XX:MaxDirectMemorySize) has to be large enough to hold the cache.
+ *
+ * The cache is split into segments, each having its own lock and its own memory.
+ * Values get evicted when they expired or when the segment reaches its size limit. Eviction follows the W-TinyLFU policy:
+ * New values are put into a small LRU window. Values which are evicted from the window are only admitted to the main LRU area
+ * if they have been accessed more frequently than the values which would have to be evicted from the main area in exchange.
+ */
+public class OffHeapCacheClient implements CacheClient {
+
+  private static final int BLOCK_SIZE = 1024;
+  private static final long MAX_SEGMENT_SIZE = 1024L * 1024 * 1024;
+  private static final int MIN_SEGMENT_COUNT = 16;
+  private static final double WINDOW_SHARE = 0.01;
+  private static OffHeapCacheClient instance;
+  private final Segment[] segments;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  OffHeapCacheClient(long capacity) {
+    this(capacity, MIN_SEGMENT_COUNT);
+  }
+
+  /**
+   * @param capacity The size of the memory to allocate in bytes
+   * @param minSegmentCount The minimum number of segments, must be a power of two
+   */
+  OffHeapCacheClient(long capacity, int minSegmentCount) {
+    int segmentCount = minSegmentCount;
+    while (capacity / segmentCount > MAX_SEGMENT_SIZE)
+      segmentCount <<= 1;
+    int blocksPerSegment = (int) Math.max(1, capacity / segmentCount / BLOCK_SIZE);
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++)
+      segments[i] = new Segment(blocksPerSegment);
+  }
+
+  public static synchronized OffHeapCacheClient getInstance() {
+    if (instance == null) instance = new OffHeapCacheClient(Service.configuration.CACHE_SIZE_MB * 1024L * 1024);
+    return instance;
+  }
+
+  private Segment segmentFor(int hash) {
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  @Override
+  public Future<byte[]> get(String key) {
+    CacheEntry entry = read(key);
+    return Future.succeededFuture(entry == null ? null : entry.value());
+  }
+
+  @Override
+  public Future<CacheEntry> getEntry(String key) {
+    return Future.succeededFuture(read(key));
+  }
+
+  private CacheEntry read(String key) {
+    CacheEntry entry = segmentFor(key.hashCode()).get(key, key.hashCode());
+    if (entry == null)
+      misses.increment();
+    else
+      hits.increment();
+    return entry;
+  }
+
+  @Override
+  public void set(String key, byte[] value, long ttl) {
+    if (ttl <= 0)
+      return;
+    segmentFor(key.hashCode()).put(key, key.hashCode(), value, Core.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl));
+  }
+
+  @Override
+  public void remove(String key) {
+    segmentFor(key.hashCode()).remove(key);
+  }
+
+  @Override
+  public void shutdown() {
+    //Nothing to do
+  }
+
+  /**
+   * @return The number of reads which could be served from this cache
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return The number of reads which could not be served from this cache
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return The number of values which have been evicted or have not been admitted because of the size limit
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return The number of bytes of the allocated memory which are occupied by values
+   */
+  long getUsedBytes() {
+    long usedBlocks = 0;
+    for (Segment segment : segments)
+      usedBlocks += segment.getUsedBlocks();
+    return usedBlocks * BLOCK_SIZE;
+  }
+
+  private record Entry(int hash, int[] blocks, int length, long expiresAt) {
+
+    boolean isExpired(long now) {
+      return expiresAt <= now;
+    }
+  }
+
+  private class Segment {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer memory;
+    private final int[] freeBlocks;
+    private int freeCount;
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private int windowSize;
+    private int mainSize;
+    //Both maps are in access-order, so their first entry is always the least recently used one
+    private final LinkedHashMap<String, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    Segment(int blocks) {
+      memory = ByteBuffer.allocateDirect(blocks * BLOCK_SIZE);
+      freeBlocks = new int[blocks];
+      for (int i = 0; i < blocks; i++)
+        freeBlocks[i] = blocks - 1 - i;
+      freeCount = blocks;
+      windowCapacity = Math.max(1, (int) (blocks * WINDOW_SHARE));
+      mainCapacity = blocks - windowCapacity;
+      sketch = new FrequencySketch(blocks / 4);
+    }
+
+    CacheEntry get(String key, int hash) {
+      lock.lock();
+      try {
+        sketch.increment(hash);
+        Entry entry = window.get(key);
+        if (entry == null)
+          entry = main.get(key);
+        if (entry == null)
+          return null;
+        long ttl = entry.expiresAt() - Core.currentTimeMillis();
+        if (ttl <= 0) {
+          remove(key);
+          return null;
+        }
+        return new CacheEntry(read(entry), TimeUnit.MILLISECONDS.toSeconds(ttl));
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+
+    void put(String key, int hash, byte[] value, long expiresAt) {
+      int blocks = (value.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+      lock.lock();
+      try {
+        remove(key);
+        sketch.increment(hash);
+        if (blocks <= windowCapacity) {
+          while (windowSize + blocks > windowCapacity)
+            evictFromWindow();
+          window.put(key, write(hash, value, blocks, expiresAt));
+          windowSize += blocks;
+        }
+        //Values which are too large for the window have to pass the admission directly
+        else if (makeRoomInMain(hash, blocks)) {
+          main.put(key, write(hash, value, blocks, expiresAt));
+          mainSize += blocks;
+        }
+        else
+          evictions.increment();
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+
+    int getUsedBlocks() {
+      lock.lock();
+      try {
+        return windowSize + mainSize;
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+
+    void remove(String key) {
+      lock.lock();
+      try {
+        Entry entry = window.remove(key);
+        if (entry != null)
+          windowSize -= entry.blocks().length;
+        else if ((entry = main.remove(key)) != null)
+          mainSize -= entry.blocks().length;
+        if (entry != null)
+          free(entry);
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Moves the least recently used value of the window into the main area if it passes the admission, drops it otherwise.
+     */
+    private void evictFromWindow() {
+      Iterator<Map.Entry<String, Entry>> it = window.entrySet().iterator();
+      Map.Entry<String, Entry> candidate = it.next();
+      it.remove();
+      Entry entry = candidate.getValue();
+      windowSize -= entry.blocks().length;
+      if (entry.isExpired(Core.currentTimeMillis()))
+        free(entry);
+      else if (makeRoomInMain(entry.hash(), entry.blocks().length)) {
+        main.put(candidate.getKey(), entry);
+        mainSize += entry.blocks().length;
+      }
+      else {
+        free(entry);
+        evictions.increment();
+      }
+    }
+
+    /**
+     * Evicts the least recently used values from the main area until there is enough room for the candidate.
+     * Expired values are always evicted, all others only if they have been accessed less frequently than the candidate.
+     *
+     * @param candidateHash The hash of the key of the candidate
+     * @param blocks The number of blocks needed by the candidate
+     * @return Whether the candidate was admitted
+     */
+    private boolean makeRoomInMain(int candidateHash, int blocks) {
+      if (blocks > mainCapacity)
+        return false;
+      final long now = Core.currentTimeMillis();
+      final int candidateFrequency = sketch.frequency(candidateHash);
+      while (mainSize + blocks > mainCapacity) {
+        Iterator<Entry> it = main.values().iterator();
+        Entry victim = it.next();
+        boolean expired = victim.isExpired(now);
+        if (!expired && sketch.frequency(victim.hash()) >= candidateFrequency)
+          return false;
+        it.remove();
+        mainSize -= victim.blocks().length;
+        free(victim);
+        if (!expired)
+          evictions.increment();
+      }
+      return true;
+    }
+
+    private Entry write(int hash, byte[] value, int blocks, long expiresAt) {
+      int[] blockIndices = new int[blocks];
+      for (int i = 0; i < blocks; i++) {
+        blockIndices[i] = freeBlocks[--freeCount];
+        int offset = i * BLOCK_SIZE;
+        memory.put(blockIndices[i] * BLOCK_SIZE, value, offset, Math.min(BLOCK_SIZE, value.length - offset));
+      }
+      return new Entry(hash, blockIndices, value.length, expiresAt);
+    }
+
+    private byte[] read(Entry entry) {
+      byte[] value = new byte[entry.length()];
+      for (int i = 0; i < entry.blocks().length; i++) {
+        int offset = i * BLOCK_SIZE;
+        memory.get(entry.blocks()[i] * BLOCK_SIZE, value, offset, Math.min(BLOCK_SIZE, value.length - offset));
+      }
+      return value;
+    }
+
+    private void free(Entry entry) {
+      for (int block : entry.blocks())
+        freeBlocks[freeCount++] = block;
+    }
+  }
+}
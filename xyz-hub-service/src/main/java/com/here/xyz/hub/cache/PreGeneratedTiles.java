@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static com.here.xyz.events.ContextAwareEvent.SpaceContext.DEFAULT;
+import static com.here.xyz.events.GetFeaturesByTileEvent.ResponseType.GEO_JSON;
+import static com.here.xyz.util.service.BaseHttpServerVerticle.HeaderValues.APPLICATION_VND_MAPBOX_VECTOR_TILE;
+
+import com.here.xyz.events.GetFeaturesByTileEvent;
+import com.here.xyz.hub.Service;
+import com.here.xyz.models.hub.Ref;
+import com.here.xyz.responses.BinaryResponse;
+import com.here.xyz.util.Async;
+import com.here.xyz.util.service.aws.s3.S3Client;
+import io.vertx.core.Future;
+import java.util.Base64;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+/**
+ * Reads the tiles which have been pre-generated by the PreGenerateTiles job step.
+ * The job step writes each tile into the bucket {@link com.here.xyz.hub.Config#PRE_GENERATED_TILES_S3_BUCKET}, keyed by the space,
+ * the quad type, the level and the tile ID. The key layout must be kept in sync with {@code PreGenerateTiles#toTileS3Key()}.
+ *
+ * Only plain tile requests (no filters, no margin, default limit & clipping, latest version) can be served from pre-generated tiles.
+ * A pre-generated tile is only used if it was written after the latest content change of the space.
+ */
+public class PreGeneratedTiles {
+
+  private static final String PREFIX = "preGeneratedTiles/";
+  //The same limit as the one which is applied to tile requests by default
+  private static final long DEFAULT_FEATURE_LIMIT = 30_000;
+  private static final Async ASYNC = new Async(20, PreGeneratedTiles.class);
+
+  /**
+   * @return Whether tile requests may be served from pre-generated tiles at all
+   */
+  public static boolean isEnabled() {
+    return Service.configuration.PRE_GENERATED_TILES_S3_BUCKET != null;
+  }
+
+  /**
+   * @param event The tile request
+   * @return The S3 key of the pre-generated tile for the request or null if the request can not be served from pre-generated tiles
+   */
+  public static String s3Key(GetFeaturesByTileEvent event) {
+    if (!isPlainTileRequest(event))
+      return null;
+
+    String suffix = switch (event.getResponseType()) {
+      case GEO_JSON -> ".geojson";
+      case MVT -> ".mvt.b64";
+      case MVT_FLATTENED -> ".mvtf.b64";
+      case BINARY -> null;
+    };
+    if (suffix == null)
+      return null;
+
+    //HERE tile IDs are written as the quadkey (base 10) long value incl. a leading level bit
+    String tileId = event.getHereTileFlag() ? Long.toString(Long.parseLong("1" + event.getQuadkey(), 4)) : event.getQuadkey();
+    return PREFIX + event.getSpace() + "/" + (event.getHereTileFlag() ? "HERE_QUAD" : "MERCATOR_QUAD") + "/" + event.getLevel() + "/"
+        + tileId + suffix;
+  }
+
+  static boolean isPlainTileRequest(GetFeaturesByTileEvent event) {
+    Ref ref = event.getRef();
+    boolean defaultClip = event.getResponseType() != GEO_JSON;
+    return (ref == null || ref.isHead() && ref.isMainBranch())
+        && (event.getContext() == null || event.getContext() == DEFAULT)
+        && event.getMargin() == 0
+        && event.getLimit() == DEFAULT_FEATURE_LIMIT
+        && (event.getClip() == null ? !defaultClip : event.getClip() == defaultClip)
+        && (event.getPropertiesQuery() == null || event.getPropertiesQuery().isEmpty())
+        && event.getSelection() == null
+        && !event.isForce2D()
+        && event.getAuthor() == null
+        && event.getClusteringType() == null
+        && event.getTweakType() == null
+        && (event.getOptimizationMode() == null || "raw".equals(event.getOptimizationMode()));
+  }
+
+  /**
+   * Loads a pre-generated tile.
+   *
+   * @param s3Key The S3 key of the tile as it was returned by {@link #s3Key(GetFeaturesByTileEvent)}
+   * @param contentUpdatedAt The time of the latest content change of the space
+   * @return The tile as cache value or null if there is no pre-generated tile or if it is outdated
+   */
+  public static Future<byte[]> load(String s3Key, long contentUpdatedAt) {
+    return ASYNC.run(() -> {
+      try (ResponseInputStream<GetObjectResponse> tile = S3Client.getInstance(Service.configuration.PRE_GENERATED_TILES_S3_BUCKET)
+          .streamObjectContent(s3Key)) {
+        if (tile.response().lastModified().toEpochMilli() < contentUpdatedAt) {
+          S3Client.abortS3Streaming(tile);
+          return null;
+        }
+        return toCacheValue(s3Key, tile.readAllBytes());
+      }
+      catch (NoSuchKeyException e) {
+        return null;
+      }
+    });
+  }
+
+  static byte[] toCacheValue(String s3Key, byte[] content) {
+    int compressionThreshold = Service.configuration.CACHE_COMPRESSION_THRESHOLD;
+    if (s3Key.endsWith(".geojson"))
+      return CachedResponse.encodeFeatureCollection(content, compressionThreshold);
+    //MVTs are written base64 encoded, as the export plugin only writes text
+    return CachedResponse.encode(new BinaryResponse()
+        .withMimeType(APPLICATION_VND_MAPBOX_VECTOR_TILE)
+        .withBytes(Base64.getDecoder().decode(content)), compressionThreshold);
+  }
+}
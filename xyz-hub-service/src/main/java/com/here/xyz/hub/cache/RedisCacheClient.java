@@ -19,6 +19,8 @@
 
 package com.here.xyz.hub.cache;
 
+import static com.here.xyz.hub.cache.CacheClient.CacheEntry.UNKNOWN_TTL;
+
 import com.here.xyz.hub.Service;
 import com.here.xyz.util.service.Core;
 import io.vertx.core.Future;
@@ -27,6 +29,8 @@ import io.vertx.redis.client.Command;
 import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisOptions;
 import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -87,6 +91,23 @@ public class RedisCacheClient implements CacheClient {
         });
   }
 
+  @Override
+  public Future<CacheEntry> getEntry(String key) {
+    //Read the value and its remaining live time within one round-trip
+    return getClient().batch(List.of(Request.cmd(Command.GET).arg(key), Request.cmd(Command.TTL).arg(key)))
+        .compose(responses -> {
+          Response value = responses.get(0);
+          Response ttl = responses.get(1);
+          if (value == null)
+            return Future.succeededFuture(null);
+          //NOTE: Redis reports negative values for keys without an expiry
+          return Future.succeededFuture(new CacheEntry(value.toBytes(), ttl == null || ttl.toLong() < 0 ? UNKNOWN_TTL : ttl.toLong()));
+        }, t -> {
+          logger.warn("Error when trying to read key " + key + " from redis cache", t);
+          return Future.succeededFuture(null);
+        });
+  }
+
   @Override
   public void set(String key, byte[] value, long ttl) {
     Request req = Request.cmd(Command.SET).arg(key).arg(value).arg("EX").arg(ttl);
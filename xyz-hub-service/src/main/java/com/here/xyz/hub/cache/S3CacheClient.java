@@ -93,6 +93,11 @@ public class S3CacheClient implements CacheClient {
 
     @Override
     public Future<byte[]> get(String key) {
+        return getEntry(key).map(entry -> entry == null ? null : entry.value());
+    }
+
+    @Override
+    public Future<CacheEntry> getEntry(String key) {
         return Core.vertx.executeBlocking(promise -> {
             try {
                 GetObjectRequest request = GetObjectRequest.builder()
@@ -108,7 +113,10 @@ public class S3CacheClient implements CacheClient {
                     updateLastAccessedAt(key, metadata, Core.currentTimeMillis());
                 }
 
-                promise.complete(payload.asByteArray());
+                String expiresAt = metadata.get(EXPIRES_AT.toLowerCase());
+                long ttl = expiresAt == null ? CacheEntry.UNKNOWN_TTL
+                        : Math.max(0, TimeUnit.MILLISECONDS.toSeconds(Long.parseLong(expiresAt) - Core.currentTimeMillis()));
+                promise.complete(new CacheEntry(payload.asByteArray(), ttl));
             } catch (NoSuchKeyException e) {
                 logger.warn("Cache miss: S3 key not found {}", key);
                 promise.complete(null);
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+/**
+ * An adaptive limit for the number of concurrent (in-flight) calls to a remote function, which is derived from the observed round-trip
+ * times (gradient algorithm, similar to TCP Vegas).
+ * The limit is compared against a long-term average of the RTT which approximates the RTT without load. As long as the short-term RTT
+ * stays near that average the limit grows, once the remote function gets slower (e.g. because the database is saturated) the limit
+ * shrinks proportionally to the RTT increase.
+ * The RTTs are tracked separately per {@link CallClass}, so that a change of the mix of reads & writes is not mistaken as a change of the
+ * load. The limit always stays between the specified minimum & maximum.
+ */
+class AdaptiveConcurrencyLimit {
+
+  /**
+   * The classes of calls of which the RTTs are tracked separately, as they are differing largely.
+   */
+  enum CallClass {
+    READ,
+    WRITE
+  }
+
+  /**
+   * The factor by which the short-term RTT may exceed the long-term RTT before the limit gets reduced.
+   */
+  private static final double RTT_TOLERANCE = 1.5;
+  /**
+   * The relevance of a new sample for the long-term RTT average. (Corresponds to a window of ~600 samples)
+   */
+  private static final double LONG_RTT_SMOOTHING = 2d / 601;
+  /**
+   * The relevance of a new sample for the short-term RTT average. (Corresponds to a window of ~10 samples)
+   */
+  private static final double SHORT_RTT_SMOOTHING = 2d / 11;
+  /**
+   * The relevance of a newly calculated limit in relation to the current one.
+   */
+  private static final double LIMIT_SMOOTHING = 0.2;
+  /**
+   * The minimum factor by which the limit may be reduced at once.
+   */
+  private static final double MIN_GRADIENT = 0.5;
+
+  private volatile int minLimit;
+  private volatile int maxLimit;
+  private volatile double estimatedLimit;
+  private final RttAverages[] rtts = new RttAverages[CallClass.values().length];
+
+  AdaptiveConcurrencyLimit(int minLimit, int maxLimit) {
+    setBounds(minLimit, maxLimit);
+    estimatedLimit = this.maxLimit;
+    for (CallClass callClass : CallClass.values())
+      rtts[callClass.ordinal()] = new RttAverages();
+  }
+
+  /**
+   * @return The current number of calls which may be in-flight concurrently
+   */
+  int getLimit() {
+    return (int) estimatedLimit;
+  }
+
+  /**
+   * Updates the bounds of the limit, e.g. after the connector configuration changed.
+   *
+   * @param minLimit The new lower bound
+   * @param maxLimit The new upper bound
+   */
+  synchronized void setBounds(int minLimit, int maxLimit) {
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, estimatedLimit));
+  }
+
+  /**
+   * @return The long-term average RTT of the specified class of calls in milliseconds
+   */
+  synchronized double getLongRtt(CallClass callClass) {
+    return rtts[callClass.ordinal()].longRttNanos / 1_000_000d;
+  }
+
+  /**
+   * @return The short-term average RTT of the specified class of calls in milliseconds
+   */
+  synchronized double getShortRtt(CallClass callClass) {
+    return rtts[callClass.ordinal()].shortRttNanos / 1_000_000d;
+  }
+
+  /**
+   * Takes a new RTT measurement into account and adjusts the limit accordingly.
+   *
+   * @param callClass The class of the completed call
+   * @param rttNanos The round-trip time of the completed call
+   * @param inFlight The number of calls having been in-flight when the call completed (including the completed one)
+   */
+  synchronized void onSample(CallClass callClass, long rttNanos, int inFlight) {
+    if (rttNanos <= 0)
+      return;
+
+    RttAverages rtt = rtts[callClass.ordinal()];
+    if (rtt.samples++ == 0) {
+      rtt.longRttNanos = rtt.shortRttNanos = rttNanos;
+      return;
+    }
+    rtt.shortRttNanos += (rttNanos - rtt.shortRttNanos) * SHORT_RTT_SMOOTHING;
+    rtt.longRttNanos += (rttNanos - rtt.longRttNanos) * LONG_RTT_SMOOTHING;
+
+    //Once the load decreased, decay the long-term RTT faster to be able to detect a new increase of the RTT early
+    if (rtt.longRttNanos / rtt.shortRttNanos > 2)
+      rtt.longRttNanos *= 0.95;
+
+    //The limit is not increased as long as it is not utilized anyways
+    if (inFlight < estimatedLimit / 2)
+      return;
+
+    double gradient = Math.max(MIN_GRADIENT, Math.min(1d, RTT_TOLERANCE * rtt.longRttNanos / rtt.shortRttNanos));
+    //Allow some queueing to be able to probe for a higher limit
+    double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    newLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+  }
+
+  private static class RttAverages {
+
+    double longRttNanos;
+    double shortRttNanos;
+    long samples;
+  }
+}
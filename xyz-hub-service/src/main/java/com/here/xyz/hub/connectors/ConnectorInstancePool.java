@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+import com.here.xyz.connectors.AbstractConnectorHandler;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of instances of the main class of an embedded connector.
+ * Instances are handed out exclusively, so each instance is only used by one thread at a time.
+ * Only instances of handlers which declare themselves as {@link AbstractConnectorHandler#isReusable() reusable} are put back into the
+ * pool, all others are simply dropped after their usage.
+ */
+class ConnectorInstancePool {
+
+  private final MethodHandle constructor;
+  private final int maxIdleInstances;
+  private final Deque<Object> idleInstances = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private volatile boolean closed;
+
+  ConnectorInstancePool(String className, int maxIdleInstances) throws ClassNotFoundException, NoSuchMethodException,
+      IllegalAccessException {
+    constructor = MethodHandles.publicLookup().findConstructor(Class.forName(className), MethodType.methodType(void.class));
+    this.maxIdleInstances = maxIdleInstances;
+  }
+
+  /**
+   * Takes an idle instance from the pool or creates a new one if there is none.
+   *
+   * @return An instance which is exclusively owned by the caller until it gets {@link #release(Object) released}
+   */
+  Object acquire() throws Throwable {
+    Object instance = idleInstances.pollFirst();
+    if (instance != null) {
+      idleCount.decrementAndGet();
+      hits.increment();
+      return instance;
+    }
+    misses.increment();
+    return constructor.invoke();
+  }
+
+  /**
+   * Puts an instance back into the pool after it was used successfully.
+   * Instances which are not re-usable or which would exceed the maximum number of idle instances get dropped.
+   *
+   * @param instance The instance which was {@link #acquire() acquired} before
+   */
+  void release(Object instance) {
+    if (closed || !(instance instanceof AbstractConnectorHandler handler) || !handler.isReusable())
+      return;
+    if (idleCount.incrementAndGet() > maxIdleInstances) {
+      idleCount.decrementAndGet();
+      return;
+    }
+    //Most recently used instances are taken first as they are most likely to be warm
+    idleInstances.offerFirst(instance);
+  }
+
+  /**
+   * Creates the specified number of idle instances upfront, if the main class is re-usable at all.
+   *
+   * @param count The number of instances to create
+   */
+  void prewarm(int count) throws Throwable {
+    for (int i = 0; i < Math.min(count, maxIdleInstances) && idleCount.get() < count; i++)
+      release(constructor.invoke());
+  }
+
+  /**
+   * Drops all idle instances and prevents any further instances from being put back into the pool.
+   */
+  void close() {
+    closed = true;
+    idleInstances.clear();
+    idleCount.set(0);
+  }
+
+  long getHits() {
+    return hits.sum();
+  }
+
+  long getMisses() {
+    return misses.sum();
+  }
+}
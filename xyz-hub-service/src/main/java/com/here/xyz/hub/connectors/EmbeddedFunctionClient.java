@@ -20,6 +20,7 @@
 package com.here.xyz.hub.connectors;
 
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.here.xyz.Typed;
 import com.here.xyz.connectors.EntryConnectorHandler;
 import com.here.xyz.hub.connectors.models.Connector;
 import com.here.xyz.hub.connectors.models.Connector.RemoteFunctionConfig;
@@ -46,6 +47,10 @@ public class EmbeddedFunctionClient extends RemoteFunctionClient {
    * The thread pool being used for running calls to embedded connectors asynchronously.
    */
   private ExecutorService embeddedExecutor;
+  /**
+   * The pool of connector instances, gets created lazily on the first invocation.
+   */
+  private volatile ConnectorInstancePool instancePool;
 
   EmbeddedFunctionClient(Connector connectorConfig) {
     super(connectorConfig);
@@ -55,6 +60,7 @@ public class EmbeddedFunctionClient extends RemoteFunctionClient {
   synchronized protected void setConnectorConfig(final Connector newConnectorConfig) throws NullPointerException, IllegalArgumentException {
     super.setConnectorConfig(newConnectorConfig);
     shutdown(embeddedExecutor);
+    closeInstancePool();
     createExecutorService(newConnectorConfig.id);
   }
 
@@ -71,6 +77,46 @@ public class EmbeddedFunctionClient extends RemoteFunctionClient {
   void destroy() {
     super.destroy();
     shutdown(embeddedExecutor);
+    closeInstancePool();
+  }
+
+  private ConnectorInstancePool getInstancePool() throws Throwable {
+    ConnectorInstancePool pool = instancePool;
+    if (pool == null) {
+      synchronized (this) {
+        pool = instancePool;
+        if (pool == null) {
+          pool = new ConnectorInstancePool(((Connector.RemoteFunctionConfig.Embedded) getConnectorConfig().getRemoteFunction()).className,
+              getMaxConnections());
+          pool.prewarm(getMinConnections());
+          instancePool = pool;
+        }
+      }
+    }
+    return pool;
+  }
+
+  private synchronized void closeInstancePool() {
+    if (instancePool != null) {
+      instancePool.close();
+      instancePool = null;
+    }
+  }
+
+  /**
+   * @return The number of invocations which were served by a pooled (warm) connector instance
+   */
+  public long getInstancePoolHits() {
+    ConnectorInstancePool pool = instancePool;
+    return pool == null ? 0 : pool.getHits();
+  }
+
+  /**
+   * @return The number of invocations which had to create a new connector instance
+   */
+  public long getInstancePoolMisses() {
+    ConnectorInstancePool pool = instancePool;
+    return pool == null ? 0 : pool.getMisses();
   }
 
   private static void shutdown(ExecutorService execService) {
@@ -90,19 +136,41 @@ public class EmbeddedFunctionClient extends RemoteFunctionClient {
   protected void invoke(FunctionCall fc, Handler<AsyncResult<byte[]>> callback) {
     final RemoteFunctionConfig remoteFunction = getConnectorConfig().getRemoteFunction();
     logger.info(fc.marker, "Invoke embedded lambda '{}' for event: {}", remoteFunction.id, new String(fc.bytes));
+    execute(fc, (instance, context) -> {
+      final RequestStreamHandler reqHandler = (RequestStreamHandler) instance;
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      reqHandler.handleRequest(new ByteArrayInputStream(fc.bytes), output, context);
+      return output.toByteArray();
+    }, callback);
+  }
+
+  @Override
+  protected void invokeInProcess(FunctionCall fc, Handler<AsyncResult<Typed>> callback) {
+    final RemoteFunctionConfig remoteFunction = getConnectorConfig().getRemoteFunction();
+    logger.info(fc.marker, "Invoke embedded lambda '{}' in-process for event of type: {}", remoteFunction.id,
+        fc.event.getClass().getSimpleName());
+    execute(fc, (instance, context) -> {
+      if (!(instance instanceof EntryConnectorHandler reqHandler))
+        throw new IllegalArgumentException("Configuration error, the class '" + instance.getClass().getName()
+            + "' does not support in-process invocations.");
+      return reqHandler.handleInProcessEvent(fc.event, context);
+    }, callback);
+  }
+
+  private <R> void execute(FunctionCall fc, EmbeddedCall<R> call, Handler<AsyncResult<R>> callback) {
+    final RemoteFunctionConfig remoteFunction = getConnectorConfig().getRemoteFunction();
     embeddedExecutor.execute(() -> {
       String className = null;
       try {
         className = ((Connector.RemoteFunctionConfig.Embedded) remoteFunction).className;
-        final Class<?> mainClass = Class.forName(className);
-        final RequestStreamHandler reqHandler = (RequestStreamHandler) mainClass.newInstance();
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-        reqHandler.handleRequest(new ByteArrayInputStream(fc.bytes), output,
-            new EmbeddedContext(fc.marker, remoteFunction.id,
-                ((Connector.RemoteFunctionConfig.Embedded) remoteFunction).env));
+        final ConnectorInstancePool pool = getInstancePool();
+        final Object instance = pool.acquire();
+        R result = call.call(instance, new EmbeddedContext(fc.marker, remoteFunction.id,
+            ((Connector.RemoteFunctionConfig.Embedded) remoteFunction).env));
+        //Only instances which completed their call successfully get re-used
+        pool.release(instance);
         logger.info(fc.marker, "Handling response of embedded lambda call to '{}'.", remoteFunction.id);
-        byte[] responseBytes = output.toByteArray();
-        callback.handle(Future.succeededFuture(responseBytes));
+        callback.handle(Future.succeededFuture(result));
       }
       catch (ClassNotFoundException e) {
         logger.error(fc.marker, "Configuration error, the specified class '{}' was not found {}", className, e);
@@ -120,6 +188,11 @@ public class EmbeddedFunctionClient extends RemoteFunctionClient {
     });
   }
 
+  @FunctionalInterface
+  private interface EmbeddedCall<R> {
+    R call(Object instance, EmbeddedContext context) throws Exception;
+  }
+
   /**
    * Context used by embedded lambda connectors.
    */
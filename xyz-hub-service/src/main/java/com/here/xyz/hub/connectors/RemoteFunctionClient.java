@@ -19,6 +19,8 @@
 
 package com.here.xyz.hub.connectors;
 
+import static com.here.xyz.hub.connectors.AdaptiveConcurrencyLimit.CallClass.READ;
+import static com.here.xyz.hub.connectors.AdaptiveConcurrencyLimit.CallClass.WRITE;
 import static com.here.xyz.hub.util.AtomicUtils.compareAndDecrement;
 import static com.here.xyz.hub.util.AtomicUtils.compareAndIncrementUpTo;
 import static com.here.xyz.util.service.rest.TooManyRequestsException.ThrottlingReason.QUOTA;
@@ -26,10 +28,14 @@ import static com.here.xyz.util.service.rest.TooManyRequestsException.Throttling
 
 import com.google.common.io.ByteStreams;
 import com.here.xyz.Payload;
+import com.here.xyz.Typed;
+import com.here.xyz.events.Event;
 import com.here.xyz.hub.Service;
+import com.here.xyz.hub.connectors.AdaptiveConcurrencyLimit.CallClass;
 import com.here.xyz.hub.connectors.RpcClient.RpcContext;
 import com.here.xyz.hub.connectors.models.Connector;
 import com.here.xyz.hub.util.ByteSizeAware;
+import com.here.xyz.hub.util.FairLimitedQueue;
 import com.here.xyz.hub.util.LimitedQueue;
 import com.here.xyz.psql.DatabaseHandler;
 import com.here.xyz.util.db.AuroraAcuMonitor;
@@ -38,6 +44,7 @@ import com.here.xyz.util.db.ConnectorParameters;
 import com.here.xyz.util.db.DBClusterResolver;
 import com.here.xyz.util.db.ECPSTool;
 import com.here.xyz.util.db.datasource.DatabaseSettings;
+import com.here.xyz.util.metrics.LatencyHistogram;
 import com.here.xyz.util.service.Core;
 import com.here.xyz.util.service.rest.TooManyRequestsException;
 import io.vertx.core.AsyncResult;
@@ -48,6 +55,7 @@ import io.vertx.core.impl.ConcurrentHashSet;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -91,6 +99,8 @@ public abstract class RemoteFunctionClient {
   private static final Set<RemoteFunctionClient> clientInstances = new ConcurrentHashSet<>();
   private static final LongAdder globalMinConnectionSum = new LongAdder();
   private static final LongAdder globalMaxConnectionSum = new LongAdder();
+  private static final LatencyHistogram QUEUE_WAIT_TIME = LatencyHistogram.register("xyz_hub_rfc_queue_wait_time_seconds",
+      "The time function calls waited in the queue of a RemoteFunctionClient before being invoked");
 //  private static AtomicLong lastSizeAdjustment;
 
   protected Connector connectorConfig;
@@ -100,8 +110,16 @@ public abstract class RemoteFunctionClient {
 
   private final LongAdder responsesSinceLastThroughputMeasurement = new LongAdder();
   private final AtomicLong lastThroughputMeasurement = new AtomicLong(Core.currentTimeMillis());
-  private final LimitedQueue<FunctionCall> queue = new LimitedQueue<>(0, 0);
+  private final LimitedQueue<FunctionCall> queue = Service.configuration != null && Service.configuration.REMOTE_FUNCTION_FAIR_QUEUING
+      ? new FairLimitedQueue<>(0, 0, fc -> fc.requesterId,
+          FairLimitedQueue.weightsOf(Service.configuration.REMOTE_FUNCTION_REQUESTER_WEIGHTS))
+      : new LimitedQueue<>(0, 0);
   private final AtomicInteger usedConnections = new AtomicInteger(0);
+  /**
+   * The limit of concurrent calls being adapted to the observed latency of the remote function or null if adaptive concurrency limiting
+   * is not active.
+   */
+  private final AdaptiveConcurrencyLimit adaptiveLimit;
   private static final ConcurrentHashMap<String, AtomicInteger> usedConnectionsByRequesterAndClusterRole = new ConcurrentHashMap<>();
   private static final ConcurrentHashMap<String, AuroraAcuMonitor> acuMonitorsByClusterRole = new ConcurrentHashMap<>();
 //  /**
@@ -129,6 +147,9 @@ public abstract class RemoteFunctionClient {
       throw new NullPointerException();
     }
     setConnectorConfig(connectorConfig);
+    adaptiveLimit = Service.configuration != null && Service.configuration.REMOTE_FUNCTION_ADAPTIVE_CONCURRENCY
+        ? new AdaptiveConcurrencyLimit(getMinConnections(), getMaxConnections())
+        : null;
 
 //    recalculateRateOfService();
 
@@ -181,15 +202,38 @@ public abstract class RemoteFunctionClient {
       callback.handle(Future.succeededFuture(r.result()));
     });
 
+    return submit(fc, callback, context);
+  }
+
+  /**
+   * Submits an event which should be passed to the remote function in-process without serializing it.
+   * The call is queued & throttled the same way as a serialized one.
+   * Only supported by remote function clients which are overriding {@link #invokeInProcess(FunctionCall, Handler)}.
+   */
+  protected FunctionCall submit(final Marker marker, Event event, boolean hasPriority, final Handler<AsyncResult<Typed>> callback, RpcClient.RpcContext context) {
+    //This is the point where new requests arrive so measure the arrival time
+    invokeStarted();
 
-    if (!hasPriority){
+    FunctionCall fc = new FunctionCall(marker, event, hasPriority, r -> {
+      //This is the point where the request's response came back so measure the throughput
+      invokeCompleted();
+      callback.handle(r);
+    });
+
+    return submit(fc, fc.callback, context);
+  }
+
+  private <T> FunctionCall submit(FunctionCall fc, Handler<AsyncResult<T>> callback, RpcClient.RpcContext context) {
+    fc.readOnly = context.readOnly();
+    if (!fc.hasPriority){
       if (context.getRequesterId() != null) {
         String role = resolveEffectiveRole(context);
         String key = buildRequesterKey(role, context);
-        if (checkRequesterThrottling(marker, callback, context, key)) {
+        if (checkRequesterThrottling(fc.marker, callback, context, key)) {
           return fc;
         }
         fc.requesterKey = key;
+        fc.requesterId = context.getRequesterId();
       }
       if (!compareAndIncrementUpTo(getWeightedMaxConnections(), usedConnections)) {
         enqueue(fc);
@@ -234,7 +278,7 @@ public abstract class RemoteFunctionClient {
     }
   }
 
-  private boolean checkRequesterThrottling(Marker marker, Handler<AsyncResult<byte[]>> callback, RpcContext context, String key) {
+  private <T> boolean checkRequesterThrottling(Marker marker, Handler<AsyncResult<T>> callback, RpcContext context, String key) {
       AtomicInteger connectionCount = usedConnectionsByRequesterAndClusterRole.computeIfAbsent(key, k -> new AtomicInteger());
       AuroraAcuMonitor acuMonitor = getEffectiveMonitor(context);
       int maxConnectionsPerRequester = (acuMonitor != null && acuMonitor.getUtilization() < HIGH_THRESHOLD)
@@ -345,6 +389,15 @@ public abstract class RemoteFunctionClient {
 
   protected abstract void invoke(final FunctionCall fc, final Handler<AsyncResult<byte[]>> callback);
 
+  /**
+   * Invokes the remote function in-process by passing the event object of the provided function call directly.
+   * Remote function clients which are able to do so should override this method.
+   */
+  protected void invokeInProcess(final FunctionCall fc, final Handler<AsyncResult<Typed>> callback) {
+    callback.handle(Future.failedFuture(new UnsupportedOperationException("In-process invocation is not supported by "
+        + getClass().getSimpleName())));
+  }
+
   public double getThroughput() {
     measureThroughput();
     return throughput;
@@ -381,6 +434,8 @@ public abstract class RemoteFunctionClient {
     this.connectorConfig = connectorConfig;
     globalMinConnectionSum.add(getMinConnections() - oldMinConnections);
     globalMaxConnectionSum.add(getMaxConnections() - oldMaxConnections);
+    if (adaptiveLimit != null)
+      adaptiveLimit.setBounds(getMinConnections(), getMaxConnections());
     adjustQueueByteSizes();
   }
 
@@ -453,13 +508,17 @@ public abstract class RemoteFunctionClient {
   }
 
   private void _invoke(final FunctionCall fc, RpcClient.RpcContext context) {
-    //long start = System.nanoTime();
-    invoke(fc, r -> {
+    long start = System.nanoTime();
+    if (fc.enqueuedAt != 0)
+      QUEUE_WAIT_TIME.recordNanos(start - fc.enqueuedAt);
+    final Handler<AsyncResult<byte[]>> responseHandler = r -> {
       //long end = System.nanoTime();
       //TODO: Activate performance calculation once it's implemented completely
       //recalculatePerformance(end - start, TimeUnit.NANOSECONDS);
-      //Look into queue if there is something further to do
-      FunctionCall nextFc = queue.remove();
+      if (adaptiveLimit != null && !fc.hasPriority)
+        adaptiveLimit.onSample(fc.readOnly ? READ : WRITE, System.nanoTime() - start, usedConnections.get());
+      //Look into queue if there is something further to do (unless the adaptive limit was reduced below the used connections)
+      FunctionCall nextFc = adaptiveLimit == null || usedConnections.get() <= getWeightedMaxConnections() ? queue.remove() : null;
       if (nextFc == null && !fc.hasPriority) {
         if(usedConnections.intValue() > 0) {
           usedConnections.getAndDecrement(); //Free the connection only in case it's not needed for the next invocation
@@ -480,7 +539,16 @@ public abstract class RemoteFunctionClient {
       if (nextFc != null) {
         _invoke(nextFc, context);
       }
-    });
+    };
+
+    if (fc.event != null)
+      invokeInProcess(fc, r -> {
+        if (r.succeeded())
+          fc.response = r.result();
+        responseHandler.handle(r.map((byte[]) null));
+      });
+    else
+      invoke(fc, responseHandler);
   }
 
 //  private void recalculatePerformance(long executionTime, TimeUnit timeUnit) {
@@ -512,15 +580,36 @@ public abstract class RemoteFunctionClient {
   }
 
   public int getWeightedMaxConnections() {
+    int maxConnections = adaptiveLimit != null ? adaptiveLimit.getLimit() : getMaxConnections();
     if (getGlobalUsedConnectionsPercentage() > Service.configuration.REMOTE_FUNCTION_CONNECTION_HIGH_UTILIZATION_THRESHOLD) {
       //Distribute available connections based on the client's priority
-      return Math.min((int) (Service.configuration.REMOTE_FUNCTION_MAX_CONNECTIONS * getPriority()), getMaxConnections());
+      return Math.min((int) (Service.configuration.REMOTE_FUNCTION_MAX_CONNECTIONS * getPriority()), maxConnections);
     }
     else {
-      return getMaxConnections();
+      return maxConnections;
     }
   }
 
+  /**
+   * @return The current concurrency limit as adapted to the observed latency of the remote function or -1 if adaptive concurrency
+   *  limiting is not active
+   */
+  public int getAdaptiveConcurrencyLimit() {
+    return adaptiveLimit != null ? adaptiveLimit.getLimit() : -1;
+  }
+
+  /**
+   * @return The long-term average round-trip times (in ms) by call class as observed by the adaptive concurrency limiting or an empty
+   *  map if it is not active
+   */
+  public Map<String, Double> getAdaptiveConcurrencyLongRtt() {
+    Map<String, Double> longRtts = new HashMap<>();
+    if (adaptiveLimit != null)
+      for (CallClass callClass : CallClass.values())
+        longRtts.put(callClass.name().toLowerCase(), adaptiveLimit.getLongRtt(callClass));
+    return longRtts;
+  }
+
   public int getUsedConnections() {
     return usedConnections.intValue();
   }
@@ -550,6 +639,13 @@ public abstract class RemoteFunctionClient {
     return queue.getByteSize();
   }
 
+  /**
+   * @return The number of queued requests by requester, if the requests are scheduled fairly between the requesters
+   */
+  public Map<String, Integer> getQueueSizeByRequester() {
+    return queue instanceof FairLimitedQueue<FunctionCall> fairQueue ? fairQueue.getSizeByKey() : Collections.emptyMap();
+  }
+
 //  /**
 //   * Sets the maximum feasible element count of the queue with respect to the {@link #REQUEST_TIMEOUT} and the {@link #rateOfService} of
 //   * this RemoteFunctionClient.
@@ -566,6 +662,7 @@ public abstract class RemoteFunctionClient {
       adjustQueueByteSizes();
     }*/
 
+    fc.enqueuedAt = System.nanoTime();
     //In any case add the element to the queue
     queue.add(fc)
         //Send timeout for discarded (old) calls
@@ -576,8 +673,15 @@ public abstract class RemoteFunctionClient {
 
   public class FunctionCall implements ByteSizeAware {
 
+    /**
+     * The byte size being accounted for the event of an in-process call.
+     * The event is not serialized in that case, so its actual size is unknown. As the event object is referenced by the calling task
+     * anyway, only a small constant amount is accounted for it.
+     */
+    private static final int IN_PROCESS_EVENT_BYTE_SIZE = 1024;
     final Marker marker;
     final byte[] bytes;
+    final Event event;
     final boolean fireAndForget;
     final boolean hasPriority;
     final Context context = Core.vertx.getOrCreateContext();
@@ -586,18 +690,33 @@ public abstract class RemoteFunctionClient {
     private Runnable cancelHandler;
     private volatile boolean cancelled;
     private String requesterKey;
+    private String requesterId;
+    private boolean readOnly;
+    private Typed response;
+    private long enqueuedAt;
 
     public FunctionCall(Marker marker, byte[] bytes, boolean fireAndForget, boolean hasPriority, Handler<AsyncResult<byte[]>> callback) {
       this.marker = marker;
       this.bytes = bytes;
+      this.event = null;
       this.callback = callback;
       this.fireAndForget = fireAndForget;
       this.hasPriority = hasPriority;
     }
 
+    public FunctionCall(Marker marker, Event event, boolean hasPriority, Handler<AsyncResult<Typed>> callback) {
+      this.marker = marker;
+      this.bytes = null;
+      this.event = event;
+      //The response object is passed besides the (non-existing) response bytes
+      this.callback = r -> callback.handle(r.failed() ? Future.failedFuture(r.cause()) : Future.succeededFuture(response));
+      this.fireAndForget = false;
+      this.hasPriority = hasPriority;
+    }
+
     @Override
     public long getByteSize() {
-      return bytes.length;
+      return bytes != null ? bytes.length : IN_PROCESS_EVENT_BYTE_SIZE;
     }
 
     public void setCancelHandler(Runnable cancelHandler) {
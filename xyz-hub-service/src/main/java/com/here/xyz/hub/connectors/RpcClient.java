@@ -55,6 +55,7 @@ import com.here.xyz.responses.ErrorResponse;
 import com.here.xyz.responses.HealthStatus;
 import com.here.xyz.responses.StatisticsResponse;
 import com.here.xyz.responses.XyzResponse;
+import com.here.xyz.util.Async;
 import com.here.xyz.util.service.Core;
 import com.here.xyz.util.service.HttpException;
 import com.here.xyz.util.service.errors.DetailedHttpException;
@@ -81,6 +82,7 @@ public class RpcClient {
 
   private static final ConcurrentHashMap<String, RpcClient> connectorIdToClient = new ConcurrentHashMap<>();
   private static final RelocationClient relocationClient = new RelocationClient(Service.configuration.XYZ_HUB_S3_BUCKET);
+  private static final Async RELOCATION = new Async(Math.max(1, Service.configuration.MAX_CONCURRENT_RELOCATIONS), RpcClient.class);
 
   private RemoteFunctionClient functionClient;
 
@@ -209,23 +211,16 @@ public class RpcClient {
 
   private void relocateAsync(Marker marker, byte[] bytes, Handler<AsyncResult<byte[]>> callback) {
     logger.info(marker, "Relocating event. Total event byte size: {}", bytes.length);
-    Core.vertx.executeBlocking(
-        future -> {
-          try {
-            future.complete(relocationClient.relocate(marker.getName(), Payload.compress(bytes)));
-          }
-          catch (Exception e) {
-            logger.error("An error occurred when trying to relocate the event.", e);
-            future.fail(new HttpException(BAD_GATEWAY, "Unable to relocate event.", e));
+    //The event gets compressed while being uploaded. The number of concurrent relocations is bounded to limit the memory being used.
+    RELOCATION.run(() -> relocationClient.relocate(marker.getName(), bytes, true))
+        .onComplete(ar -> {
+          if (ar.failed()) {
+            logger.error("An error occurred when trying to relocate the event.", ar.cause());
+            callback.handle(Future.failedFuture(new HttpException(BAD_GATEWAY, "Unable to relocate event.", ar.cause())));
           }
-        },
-        ar -> {
-          if (ar.failed())
-            callback.handle(Future.failedFuture(ar.cause()));
           else
-            callback.handle(Future.succeededFuture((byte[]) ar.result()));
-        }
-    );
+            callback.handle(Future.succeededFuture(ar.result()));
+        });
   }
 
   /**
@@ -268,6 +263,8 @@ public class RpcClient {
     tmpFillVersionsToKeepParam(event, tmpSpace);
     final Connector connector = getConnector();
     injectConnectorParams(event, connector);
+    if (supportsInProcessInvocation())
+      return executeInProcess(marker, event, hasPriority, callback, requesterId);
     final boolean expectBinaryResponse = expectBinaryResponse(event);
     final String eventJson = event.serialize();
     final byte[] eventBytes = eventJson.getBytes();
@@ -287,6 +284,7 @@ public class RpcClient {
 
     context.setRequesterId(requesterId);
     context.setExecuteOnPrimary(event.executeOnPrimary());
+    context.setReadOnly(event.canExecuteOnReplica());
 
     invokeWithRelocation(marker, context, eventBytes, false, hasPriority, bytesResult -> {
       if (functionClient == null) {
@@ -315,6 +313,83 @@ public class RpcClient {
     return context;
   }
 
+  /**
+   * @return Whether events can be passed to the connector in-process without serializing them and the responses
+   */
+  private boolean supportsInProcessInvocation() {
+    return getConnector().capabilities.inProcessInvocation && functionClient instanceof EmbeddedFunctionClient;
+  }
+
+  /**
+   * Executes an event by passing the event object to the (embedded) connector directly.
+   * The connector responds with the response object accordingly, so neither the event nor the response gets serialized & parsed.
+   * NOTE: The event instance is handed over to the connector, which may modify it while processing it. The caller must not rely on
+   *  the state of the event after calling this method. Callers which still need the original event afterwards (e.g. for request
+   *  listeners) take a copy of it before.
+   * NOTE: The sizes of the request & the response are not known in that case.
+   */
+  @SuppressWarnings("rawtypes")
+  private RpcContext executeInProcess(final Marker marker, final Event event, final boolean hasPriority,
+      final Handler<AsyncResult<XyzResponse>> callback, String requesterId) {
+    final Connector connector = getConnector();
+    final RpcContext context = new RpcContext(connector);
+
+    //Check whether the event type is allowed on the connector
+    String region = Service.configuration == null ? null : Service.configuration.AWS_REGION;
+    if (!connector.isAllowedEventType(event.getClass().getSimpleName(), region)) {
+      callback.handle(Future.failedFuture(new HttpException(FORBIDDEN, "Event is not allowed on connector " + connector.id + " from region "
+          + region)));
+      return context;
+    }
+    event.setSourceRegion(region);
+
+    logger.info(marker, "Invoking remote function \"{}\" in-process. Event type: {}", connector.id, event.getClass().getSimpleName());
+
+    context.setRequesterId(requesterId);
+    context.setExecuteOnPrimary(event.executeOnPrimary());
+    context.setReadOnly(event.canExecuteOnReplica());
+
+    context.functionCall = functionClient.submit(marker, event, hasPriority, responseResult -> {
+      if (functionClient == null) {
+        logger.warn("RpcClient for connector with ID {} was destroyed in the meantime, cancelling handling of response.",
+            connector.id);
+        context.cancelRequest();
+      }
+      if (context.cancelled)
+        return;
+      if (responseResult.failed()) {
+        callback.handle(Future.failedFuture(responseResult.cause()));
+        return;
+      }
+
+      try {
+        final Typed payload = responseResult.result();
+        if (payload instanceof BinaryResponse binaryResponse && isJsonMimeType(binaryResponse.getMimeType())) {
+          //In case we got a JSON string encoded within a BinaryResponse, it needs to be decoded the same way as for remote invocations
+          parseResponse(marker, binaryResponse.getBytes(), false, callback);
+          return;
+        }
+        validateResponsePayload(marker, payload);
+        postProcessResponsePayload(marker, payload);
+        callback.handle(Future.succeededFuture((XyzResponse) payload));
+      }
+      catch (NullPointerException e) {
+        logger.warn(marker, "Received empty response from connector \"{}\".", connector.id, e);
+        callback.handle(Future.failedFuture(new HttpException(BAD_GATEWAY, "Received an empty response from the connector.")));
+      }
+      catch (HttpException e) {
+        logger.warn(marker, "Error from connector.", e);
+        callback.handle(Future.failedFuture(e));
+      }
+      catch (Exception e) {
+        logger.warn(marker, "Unexpected exception while processing connector \"{}\" response.", connector.id, e);
+        callback.handle(
+            Future.failedFuture(new HttpException(BAD_GATEWAY, "Unexpected exception while processing connector response.")));
+      }
+    }, context);
+    return context;
+  }
+
   //TODO: Remove this injection of "connectorId" connector-param when the hash of ECPS is used as cache key for any connections in the PSQL connector
   private static void injectConnectorParams(Event event, Connector connector) {
     Map<String, Object> connectorParams = new HashMap<>(connector.params);
@@ -531,8 +606,7 @@ public class RpcClient {
       return;
     }
 
-    if (binaryResponse.getMimeType() != null && binaryResponse.getMimeType().startsWith("application/")
-        && binaryResponse.getMimeType().endsWith("json")) {
+    if (isJsonMimeType(binaryResponse.getMimeType())) {
       //In case we got a JSON string encoded within a BinaryResponse, it needs to be un-packed and continued with the JSON-decoding
       parseResponse(marker, binaryResponse.getBytes(), false, callback);
     }
@@ -540,12 +614,17 @@ public class RpcClient {
       callback.handle(Future.succeededFuture(binaryResponse));
   }
 
+  private static boolean isJsonMimeType(String mimeType) {
+    return mimeType != null && mimeType.startsWith("application/") && mimeType.endsWith("json");
+  }
+
   private void processRelocatedEventAsync(RelocatedEvent relocatedEvent, Handler<AsyncResult<byte[]>> callback) {
     Core.vertx.executeBlocking(
         future -> {
           try {
-            InputStream input = relocationClient.processRelocatedEvent(relocatedEvent, getConnector().getRemoteFunction().getRegion());
-            future.complete(ByteStreams.toByteArray(input));
+            try (InputStream input = relocationClient.processRelocatedEvent(relocatedEvent, getConnector().getRemoteFunction().getRegion())) {
+              future.complete(ByteStreams.toByteArray(input));
+            }
           }
           catch (Exception e) {
             logger.error("An error occurred when processing a relocated response.", e);
@@ -647,6 +726,7 @@ public class RpcClient {
     private volatile boolean cancelled = false;
 
     private boolean executeOnPrimary;
+    private boolean readOnly;
 
     private final Connector connector;
     private FunctionCall functionCall;
@@ -706,5 +786,16 @@ public class RpcClient {
       this.executeOnPrimary = executeOnPrimary;
     }
 
+    /**
+     * @return Whether the event is only reading, so it could be executed on a replica
+     */
+    public boolean readOnly() {
+      return readOnly;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+      this.readOnly = readOnly;
+    }
+
   }
 }
\ No newline at end of file
@@ -249,7 +249,8 @@ public class Space extends com.here.xyz.models.hub.Space implements Cloneable {
 
     //Cache is manually / user defined at the space -> use those settings instead
     if (getCacheTTL() > 0) {
-      return new CacheProfile(getCacheTTL() / 3, getCacheTTL(), Long.MAX_VALUE, getCacheTTL(), getContentUpdatedAt());
+      return new CacheProfile(getCacheTTL() / 3, getCacheTTL(), Long.MAX_VALUE, getCacheTTL(), getStaleWhileRevalidate(),
+          getContentUpdatedAt());
     }
 
     //Automatic cache configuration is not supported at all
@@ -272,11 +273,15 @@ public class Space extends com.here.xyz.models.hub.Space implements Cloneable {
     long volatilityPenalty = (long) (volatility * volatility * TimeUnit.DAYS.toMillis(7));
     long serviceCacheInterval = MIN_SERVICE_CACHE_INTERVAL_MILLIS + volatilityPenalty;
     if (!readOnlyAccess || timeSinceLastUpdate < serviceCacheInterval)
-      return new CacheProfile(0, 0, CacheProfile.MAX_SERVICE_TTL, staticTTL, getContentUpdatedAt());
+      return new CacheProfile(0, 0, CacheProfile.MAX_SERVICE_TTL, staticTTL, getStaleWhileRevalidate(), getContentUpdatedAt());
 
     //For all other responses of a space which was not changed for longer time -> cache in the service *and* in the browser / CDN
     return new CacheProfile(TimeUnit.MINUTES.toMillis(3), TimeUnit.HOURS.toMillis(24), CacheProfile.MAX_SERVICE_TTL, staticTTL,
-        getContentUpdatedAt());
+        getStaleWhileRevalidate(), getContentUpdatedAt());
+  }
+
+  private static long getStaleWhileRevalidate() {
+    return Service.configuration == null ? 0 : TimeUnit.SECONDS.toMillis(Service.configuration.CACHE_STALE_WHILE_REVALIDATE_SECONDS);
   }
 
   public String getRegion() {
@@ -341,15 +346,27 @@ public class Space extends com.here.xyz.models.hub.Space implements Cloneable {
      * How long to cache the response in the static / persistent service cache in milliseconds.
      */
     public final long staticTTL;
+
+    /**
+     * How long a response may still be served from the service cache after its TTL has expired in milliseconds.
+     * A stale response gets refreshed in the background when being served.
+     */
+    @JsonIgnore
+    public final long staleWhileRevalidate;
     @JsonIgnore
     public final long contentUpdatedAt;
 
-    @SuppressWarnings("UnstableApiUsage")
     public CacheProfile(long browserTTL, long cdnTTL, long serviceTTL, long staticTTL, long contentUpdatedAt) {
+      this(browserTTL, cdnTTL, serviceTTL, staticTTL, 0, contentUpdatedAt);
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    public CacheProfile(long browserTTL, long cdnTTL, long serviceTTL, long staticTTL, long staleWhileRevalidate, long contentUpdatedAt) {
       this.browserTTL = Longs.constrainToRange(browserTTL, 0, MAX_BROWSER_TTL);
       this.cdnTTL = Longs.constrainToRange(cdnTTL, 0, MAX_CDN_TTL);
       this.serviceTTL = Longs.constrainToRange(serviceTTL, 0, MAX_SERVICE_TTL);
       this.staticTTL = staticTTL;
+      this.staleWhileRevalidate = Math.max(0, staleWhileRevalidate);
       this.contentUpdatedAt = contentUpdatedAt;
     }
   }
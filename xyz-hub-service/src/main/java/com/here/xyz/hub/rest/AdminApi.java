@@ -30,6 +30,7 @@ import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 import com.google.common.base.Strings;
 import com.here.xyz.XyzSerializable;
 import com.here.xyz.XyzSerializable.Internal;
+import com.here.xyz.connectors.RelocationClient;
 import com.here.xyz.hub.Service;
 import com.here.xyz.hub.auth.Authorization;
 import com.here.xyz.hub.auth.XyzHubActionMatrix;
@@ -40,8 +41,12 @@ import com.here.xyz.hub.connectors.statistics.StorageStatisticsProvider;
 import com.here.xyz.hub.rest.ApiParam.Query;
 import com.here.xyz.models.hub.Branch.DeletedBranch;
 import com.here.xyz.models.hub.jwt.ActionMatrix;
+import com.here.xyz.util.db.StatementCache;
+import com.here.xyz.util.metrics.LatencyHistogram;
 import com.here.xyz.util.service.BaseHttpServerVerticle;
 import com.here.xyz.util.service.HttpException;
+import com.here.xyz.util.web.XyzWebClient;
+import com.here.xyz.util.web.XyzWebClient.EndpointStatistics;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
@@ -50,6 +55,7 @@ import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.AuthenticationHandler;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
@@ -201,6 +207,41 @@ public class AdminApi extends Api {
     sb.append(_buildPrometheusResponsePart("GlobalUsedRfcConnections",
         "The utilized portion of RemoteFunctionClient connections pool", globalUsedRfcConnections));
 
+    //Latency histograms (storage, processor, cache, RFC queue wait, SQL, web client requests)
+    LatencyHistogram.appendAll(sb);
+
+    //Prepared statement cache of the embedded connectors
+    sb.append(_buildPrometheusCounterPart("xyz_sql_statement_cache_hits_total",
+        "The number of query executions which re-used a cached prepared statement", StatementCache.getHits()));
+    sb.append(_buildPrometheusCounterPart("xyz_sql_statement_cache_misses_total",
+        "The number of query executions which had to prepare a new statement", StatementCache.getMisses()));
+
+    //Failed requests of the web clients per endpoint
+    sb.append(_buildPrometheusWebClientFailuresPart());
+
+    //Relocation of oversized events / responses
+    sb.append(_buildPrometheusCounterPart("xyz_relocated_bytes_total",
+        "The number of bytes which have been relocated to S3 before compression", RelocationClient.getRelocatedBytes()));
+    sb.append(_buildPrometheusCounterPart("xyz_relocation_uploaded_bytes_total",
+        "The number of bytes which have been uploaded to S3 for relocation", RelocationClient.getUploadedBytes()));
+
+    return sb.toString();
+  }
+
+  private String _buildPrometheusCounterPart(String name, String description, long value) {
+    return "# HELP " + name + " " + description + "\n# TYPE " + name + " counter\n" + name + " " + value + "\n";
+  }
+
+  private String _buildPrometheusWebClientFailuresPart() {
+    Map<String, EndpointStatistics> endpointStatistics = XyzWebClient.getEndpointStatistics();
+    if (endpointStatistics.isEmpty())
+      return "";
+
+    String name = "xyz_web_client_request_failures_total";
+    StringBuilder sb = new StringBuilder("# HELP " + name + " The number of failed requests of the web clients per endpoint\n# TYPE "
+        + name + " counter\n");
+    endpointStatistics.forEach((endpoint, statistics) -> sb.append(name).append('{')
+        .append(LatencyHistogram.formatLabel("endpoint", endpoint)).append("} ").append(statistics.getFailures()).append('\n'));
     return sb.toString();
   }
 
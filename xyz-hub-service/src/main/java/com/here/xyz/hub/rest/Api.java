@@ -34,17 +34,20 @@ import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.vertx.core.http.HttpHeaders.ACCEPT_ENCODING;
 import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_LENGTH;
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.here.xyz.XyzSerializable.Public;
 import com.here.xyz.hub.Service;
+import com.here.xyz.hub.cache.CachedResponse;
 import com.here.xyz.hub.XYZHubRESTVerticle;
 import com.here.xyz.hub.connectors.models.Space.CacheProfile;
 import com.here.xyz.hub.rest.ApiParam.Query;
 import com.here.xyz.hub.task.FeatureTask;
 import com.here.xyz.hub.task.SpaceTask;
 import com.here.xyz.hub.task.Task;
+import com.here.xyz.hub.util.ChunkedResponseWriter;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
 import com.here.xyz.models.hub.Space.Internal;
 import com.here.xyz.models.hub.Space.WithConnectors;
@@ -72,6 +75,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -157,6 +161,11 @@ public abstract class Api extends com.here.xyz.util.service.rest.Api {
       return;
     }
 
+    if (response instanceof CachedResponse cachedResponse) {
+      sendCachedResponse(task, cachedResponse);
+      return;
+    }
+
     if (task.responseType.binary && response instanceof BinaryResponse) {
       sendBinaryResponse(task, ((BinaryResponse) response).getMimeType(), ((BinaryResponse) response).getBytes());
       return;
@@ -170,9 +179,7 @@ public abstract class Api extends com.here.xyz.util.service.rest.Api {
           }
 
           if (response instanceof FeatureCollection) {
-            // Warning: We need to use "toString()" here and NOT Json.encode, because in fact the feature collection may be an
-            // LazyParsedFeatureCollection and in that case only toString will work as intended!
-            sendGeoJsonResponse(task, response.serialize());
+            sendFeatureCollectionResponse(task, (FeatureCollection) response);
             return;
           }
           break;
@@ -355,7 +362,99 @@ public abstract class Api extends com.here.xyz.util.service.rest.Api {
    * @param task the task for which to return the GeoJSON response.
    */
   private void sendGeoJsonResponse(final Task task, final String geoJson) {
-    sendResponse(task, OK, APPLICATION_GEO_JSON, geoJson.getBytes());
+    if (isChunkedResponse(geoJson.length()))
+      sendChunkedResponse(task, APPLICATION_GEO_JSON, List.of(geoJson));
+    else
+      sendResponse(task, OK, APPLICATION_GEO_JSON, geoJson.getBytes());
+  }
+
+  /**
+   * Returns a feature collection to the client with status 200.
+   * If the collection holds its features as raw JSON (e.g. as read from the database) and is large, the raw features are written
+   * directly in between the serialized other parts of the collection, so that the collection never gets serialized into one large string.
+   *
+   * @param task the task for which to return the feature collection.
+   * @param collection the feature collection to be returned.
+   */
+  private void sendFeatureCollectionResponse(final Task task, final FeatureCollection collection) {
+    String rawFeatures = collection.getRawFeatures();
+    if (rawFeatures != null && isChunkedResponse(rawFeatures.length())) {
+      String[] surroundings = collection.serializeAroundFeatures();
+      sendChunkedResponse(task, APPLICATION_GEO_JSON, List.of(surroundings[0], rawFeatures, surroundings[1]));
+    }
+    else
+      // Warning: We need to use "serialize()" here and NOT Json.encode, because in fact the feature collection may be an
+      // LazyParsedFeatureCollection and in that case only serialize will work as intended!
+      sendGeoJsonResponse(task, collection.serialize());
+  }
+
+  private static boolean isChunkedResponse(int bodyLength) {
+    return Service.configuration != null && Service.configuration.CHUNKED_RESPONSE_THRESHOLD > 0
+        && bodyLength >= Service.configuration.CHUNKED_RESPONSE_THRESHOLD;
+  }
+
+  /**
+   * Returns a response to the client with status 200 by writing the textual body chunk by chunk.
+   * That way the (potentially very large) body does not have to be copied into one byte-array & buffer before sending it.
+   *
+   * @param task the task for which to return the response.
+   * @param contentType the content-type of the response.
+   * @param bodyParts the parts of the body to be written one after another.
+   */
+  private void sendChunkedResponse(final Task task, String contentType, List<String> bodyParts) {
+    HttpServerResponse httpResponse = task.context.response().setStatusCode(OK.code());
+    setCacheControlHeader(task, httpResponse);
+
+    long contentLength = 0;
+    for (String part : bodyParts)
+      contentLength += ChunkedResponseWriter.utf8Length(part);
+    setDecompressedSizeHeaders(contentLength, task.context);
+
+    if (contentLength > getMaxResponseLength(task.context))
+      sendErrorResponse(task.context, new HttpException(RESPONSE_PAYLOAD_TOO_LARGE, RESPONSE_PAYLOAD_TOO_LARGE_MESSAGE));
+    else {
+      httpResponse.putHeader(CONTENT_TYPE, contentType);
+      httpResponse.putHeader(CONTENT_LENGTH, String.valueOf(contentLength));
+      ChunkedResponseWriter.write(httpResponse, bodyParts, Service.configuration.CHUNKED_RESPONSE_CHUNK_SIZE)
+          .onFailure(t -> logger.warn(task.getMarker(), "Unable to write the response completely.", t));
+    }
+  }
+
+  /**
+   * Returns a feature collection which was read from the service cache to the client with status 200 without deserializing it.
+   * If the client accepts it, a compressed body is sent as it is.
+   *
+   * @param task the task for which to return the cached response.
+   * @param cachedResponse the cached feature collection.
+   */
+  private void sendCachedResponse(final Task task, CachedResponse cachedResponse) {
+    HttpServerResponse httpResponse = task.context.response().setStatusCode(OK.code());
+    setCacheControlHeader(task, httpResponse);
+
+    byte[] body = cachedResponse.getBody();
+    boolean compressed = cachedResponse.isCompressed() && acceptsGzip(task);
+    long contentLength;
+    try {
+      if (cachedResponse.isCompressed() && !compressed)
+        body = cachedResponse.getDecompressedBody();
+      contentLength = compressed ? cachedResponse.getDecompressedLength() : body.length;
+    }
+    catch (IOException e) {
+      logger.error(task.getMarker(), "Unable to decompress the cached response.", e);
+      sendErrorResponse(task.context, INTERNAL_SERVER_ERROR, XyzError.EXCEPTION, "Unable to decompress the cached response.");
+      return;
+    }
+
+    setDecompressedSizeHeaders(contentLength, task.context);
+
+    if (contentLength > getMaxResponseLength(task.context))
+      sendErrorResponse(task.context, new HttpException(RESPONSE_PAYLOAD_TOO_LARGE, RESPONSE_PAYLOAD_TOO_LARGE_MESSAGE));
+    else {
+      if (compressed)
+        httpResponse.putHeader(CONTENT_ENCODING, "gzip");
+      httpResponse.putHeader(CONTENT_TYPE, APPLICATION_GEO_JSON);
+      httpResponse.end(Buffer.buffer(body));
+    }
   }
 
   /**
@@ -377,11 +476,7 @@ public abstract class Api extends com.here.xyz.util.service.rest.Api {
 
   private void sendResponse(final Task task, HttpResponseStatus status, String contentType, byte[] response) {
     HttpServerResponse httpResponse = task.context.response().setStatusCode(status.code());
-
-    CacheProfile cacheProfile = task.getCacheProfile();
-    if (cacheProfile.browserTTL > 0)
-      httpResponse.putHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + (cacheProfile.browserTTL / 1000));
-
+    setCacheControlHeader(task, httpResponse);
     setDecompressedSizeHeaders(response, task.context);
 
     if (response == null || response.length == 0) {
@@ -399,13 +494,16 @@ public abstract class Api extends com.here.xyz.util.service.rest.Api {
     }
   }
 
+  private static void setCacheControlHeader(Task task, HttpServerResponse httpResponse) {
+    CacheProfile cacheProfile = task.getCacheProfile();
+    if (cacheProfile.browserTTL > 0)
+      httpResponse.putHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + (cacheProfile.browserTTL / 1000));
+  }
+
   private static byte[] ensureContentEncoding(Task task, byte[] response) {
     HttpServerResponse httpResponse = task.context.response();
     if (task.responseType.binary) {
-      final String acceptedContentEncoding = task.context.request().getHeader(ACCEPT_ENCODING);
-      String acceptEncoding = acceptedContentEncoding == null ? acceptedContentEncoding : acceptedContentEncoding.toLowerCase();
-      if (acceptedContentEncoding != null && (acceptEncoding.contains("gzip") || acceptEncoding.contains("*"))
-          && !acceptEncoding.contains("gzip;q=0") && !isPreventCompression(task)) {
+      if (acceptsGzip(task) && !isPreventCompression(task)) {
         httpResponse.putHeader(CONTENT_ENCODING, "gzip");
         if (!isGzipped(response))
           response = compress(response);
@@ -422,6 +520,14 @@ public abstract class Api extends com.here.xyz.util.service.rest.Api {
     return response;
   }
 
+  private static boolean acceptsGzip(Task task) {
+    final String acceptedContentEncoding = task.context.request().getHeader(ACCEPT_ENCODING);
+    if (acceptedContentEncoding == null)
+      return false;
+    String acceptEncoding = acceptedContentEncoding.toLowerCase();
+    return (acceptEncoding.contains("gzip") || acceptEncoding.contains("*")) && !acceptEncoding.contains("gzip;q=0");
+  }
+
   private static boolean isPreventCompression(Task task) {
     if (!(task instanceof FeatureTask featureTask) || featureTask.storage.blockMimetypeCompression == null
         || !(featureTask.getResponse() instanceof BinaryResponse binaryResponse))
@@ -431,10 +537,13 @@ public abstract class Api extends com.here.xyz.util.service.rest.Api {
   }
 
   private void setDecompressedSizeHeaders(byte[] response, RoutingContext context) {
+    setDecompressedSizeHeaders(response == null ? 0 : response.length, context);
+  }
+
+  private void setDecompressedSizeHeaders(long responseSize, RoutingContext context) {
     if (Service.configuration != null && Service.configuration.INCLUDE_HEADERS_FOR_DECOMPRESSED_IO_SIZE) {
       //The body is discarded already, but the request size is stored in the access log object
       long requestSize = LogUtil.getAccessLog(context).reqInfo.size;
-      long responseSize = response == null ? 0 : response.length;
       context.response().putHeader(Service.configuration.DECOMPRESSED_INPUT_SIZE_HEADER_NAME, String.valueOf(requestSize));
       context.response().putHeader(Service.configuration.DECOMPRESSED_OUTPUT_SIZE_HEADER_NAME, String.valueOf(responseSize));
     }
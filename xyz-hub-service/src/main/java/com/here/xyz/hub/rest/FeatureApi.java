@@ -48,6 +48,8 @@ import static com.here.xyz.util.service.BaseHttpServerVerticle.HeaderValues.APPL
 import static com.here.xyz.util.service.BaseHttpServerVerticle.HeaderValues.APPLICATION_VND_HERE_FEATURE_MODIFICATION_LIST;
 import static com.here.xyz.util.service.BaseHttpServerVerticle.HeaderValues.AUTHOR_HEADER;
 import static com.here.xyz.util.service.BaseHttpServerVerticle.getAuthor;
+import static com.here.xyz.hub.AbstractHttpServerVerticle.isStreamedWriteRequest;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_GATEWAY;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 import static io.vertx.core.http.HttpHeaders.ACCEPT;
@@ -78,6 +80,7 @@ import com.here.xyz.hub.task.FeatureTask.ConditionalOperation;
 import com.here.xyz.hub.task.FeatureTask.IdsQuery;
 import com.here.xyz.hub.task.ModifyFeatureOp;
 import com.here.xyz.hub.task.ModifyFeatureOp.FeatureEntry;
+import com.here.xyz.hub.util.FeatureStreamReader;
 import com.here.xyz.models.geojson.implementation.Feature;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
 import com.here.xyz.models.hub.FeatureModificationList;
@@ -86,7 +89,9 @@ import com.here.xyz.models.hub.FeatureModificationList.FeatureModification;
 import com.here.xyz.models.hub.FeatureModificationList.IfExists;
 import com.here.xyz.models.hub.FeatureModificationList.IfNotExists;
 import com.here.xyz.models.hub.Ref;
+import com.here.xyz.responses.ErrorResponse;
 import com.here.xyz.responses.SuccessResponse;
+import com.here.xyz.responses.XyzResponse;
 import com.here.xyz.util.Async;
 import com.here.xyz.util.service.BaseHttpServerVerticle;
 import com.here.xyz.util.service.Core;
@@ -234,6 +239,9 @@ public class FeatureApi extends SpaceBasedApi {
       executeWriteFeatures(context, responseType,
           toFeatureModificationList(readFeatureOrFeatureCollection(context), IfNotExists.CREATE, IfExists.REPLACE, ConflictResolution.ERROR),
           getSpaceContext(context));
+    else if (isStreamedWriteRequest(context))
+      executeStreamedConditionalOperationChain(context, responseType, IfExists.REPLACE, IfNotExists.CREATE, true,
+          ConflictResolution.ERROR, DEFAULT);
     else
       executeConditionalOperationChain(false, context, responseType,
           IfExists.REPLACE, IfNotExists.CREATE, true, ConflictResolution.ERROR);
@@ -392,6 +400,9 @@ public class FeatureApi extends SpaceBasedApi {
 
       executeWriteFeatures(context, responseType, featureModificationList, getSpaceContext(context));
     }
+    else if (isStreamedWriteRequest(context))
+      executeStreamedConditionalOperationChain(context, responseType, ifExists, ifNotExists, transactional, conflictResolution,
+          getSpaceContext(context));
     else
       executeConditionalOperationChain(false, context, responseType, ifExists, ifNotExists, transactional,
           conflictResolution, true);
@@ -733,28 +744,9 @@ public class FeatureApi extends SpaceBasedApi {
       ApiResponseType apiResponseTypeType, IfExists ifExists, IfNotExists ifNotExists, boolean transactional, ConflictResolution cr,
       List<Map<String, Object>> featureModifications, SpaceContext spaceContext) {
     try {
-      Ref baseRef = getBaseRef(context);
-      checkModificationOnSuper(spaceContext);
-
-      String author = getAuthor(context);
-      ModifyFeaturesEvent event = new ModifyFeaturesEvent()
-          .withAuthor(author)
-          .withTransaction(transactional)
-          .withContext(spaceContext)
-          .withConflictDetectionEnabled(isConflictDetectionEnabled(context, baseRef))
-          .withEraseContent(eraseContent(context))
-          .withRef(baseRef);
       int bodySize = context.getBody() != null ? context.getBody().length() : 0;
-
-      ConditionalOperation task = buildConditionalOperation(event, context, apiResponseTypeType, featureModifications, ifNotExists,
-          ifExists, transactional, cr, requireResourceExists, bodySize);
-      final List<String> addTags = getAddTags(context);
-      final List<String> removeTags = getRemoveTags(context);
-      task.addTags = normalizeTags(addTags);
-      task.removeTags = normalizeTags(removeTags);
-      task.prefixId = getIdPrefix(context);
-      task.author = author;
-      task.execute(this::sendResponse, this::sendErrorResponse);
+      createConditionalOperation(requireResourceExists, context, apiResponseTypeType, ifExists, ifNotExists, transactional, cr,
+          featureModifications, spaceContext, bodySize).execute(this::sendResponse, this::sendErrorResponse);
     }
     catch (HttpException e) {
       logger.warn(getMarker(context), e.getMessage(), e);
@@ -762,6 +754,120 @@ public class FeatureApi extends SpaceBasedApi {
     }
   }
 
+  /**
+   * Executes a conditional operation chain for each batch of features (or feature modifications) while they are read from the body of
+   * the request. The next batch is only read after the previous one has been written.
+   * Transactional writes are performed in one batch, but still without buffering the request body.
+   * If the body got split into several batches, the responses of all batches are merged into one response.
+   * NOTE: Batches which have been written before a failing one stay written, the same as with failing features of non-transactional
+   * writes.
+   */
+  private void executeStreamedConditionalOperationChain(final RoutingContext context, ApiResponseType apiResponseType, IfExists ifExists,
+      IfNotExists ifNotExists, boolean transactional, ConflictResolution cr, SpaceContext spaceContext) {
+    try {
+      checkModificationOnSuper(getSpaceContext(context));
+    }
+    catch (HttpException e) {
+      sendErrorResponse(context, e);
+      return;
+    }
+
+    final boolean isModificationList = APPLICATION_VND_HERE_FEATURE_MODIFICATION_LIST.equals(context.parsedHeaders().contentType().value());
+    final int batchSize = transactional ? 0 : Service.configuration.WRITE_REQUEST_BATCH_SIZE;
+    final List<ConditionalOperation> tasks = new ArrayList<>();
+    final FeatureCollection mergedResponse = new FeatureCollection().withFeatures(new ArrayList<>());
+
+    FeatureStreamReader.readBatches(context, Service.configuration.MAX_FEATURES_PER_WRITE_REQUEST, batchSize, (objects, byteSize) -> {
+      Promise<Void> batchWritten = Promise.promise();
+      try {
+        List<Map<String, Object>> featureModifications = isModificationList ? objects
+            : List.of(Map.of("featureData", Map.of("features", objects)));
+        createConditionalOperation(false, context, apiResponseType, ifExists, ifNotExists, transactional, cr, featureModifications,
+            spaceContext, byteSize).execute(task -> {
+              tasks.add(task);
+              try {
+                if (task.getResponse() instanceof ErrorResponse)
+                  batchWritten.fail(new HttpException(BAD_GATEWAY, "Writing a batch of features failed."));
+                else {
+                  mergeWriteResponse(mergedResponse, task.getResponse());
+                  batchWritten.complete();
+                }
+              }
+              catch (JsonProcessingException e) {
+                batchWritten.fail(e);
+              }
+            }, (task, e) -> {
+              tasks.add(task);
+              batchWritten.fail(e);
+            });
+      }
+      catch (HttpException e) {
+        batchWritten.fail(e);
+      }
+      return batchWritten.future();
+    })
+        .onSuccess(v -> {
+          ConditionalOperation lastTask = tasks.get(tasks.size() - 1);
+          if (tasks.size() > 1)
+            lastTask.setResponse(mergedResponse);
+          sendResponse(lastTask);
+        })
+        .onFailure(t -> {
+          ConditionalOperation lastTask = tasks.isEmpty() ? null : tasks.get(tasks.size() - 1);
+          if (lastTask != null && lastTask.getResponse() instanceof ErrorResponse)
+            sendResponse(lastTask);
+          else if (lastTask != null)
+            sendErrorResponse(lastTask, t);
+          else
+            sendErrorResponse(context, t);
+        });
+  }
+
+  private static void mergeWriteResponse(FeatureCollection mergedResponse, XyzResponse response) throws JsonProcessingException {
+    if (!(response instanceof FeatureCollection batchResponse))
+      return;
+    if (batchResponse.getFeatures() != null)
+      mergedResponse.getFeatures().addAll(batchResponse.getFeatures());
+    mergedResponse.setInserted(concat(mergedResponse.getInserted(), batchResponse.getInserted()));
+    mergedResponse.setUpdated(concat(mergedResponse.getUpdated(), batchResponse.getUpdated()));
+    mergedResponse.setDeleted(concat(mergedResponse.getDeleted(), batchResponse.getDeleted()));
+    mergedResponse.setFailed(concat(mergedResponse.getFailed(), batchResponse.getFailed()));
+  }
+
+  private static <T> List<T> concat(List<T> list, List<T> other) {
+    if (other == null || other.isEmpty())
+      return list;
+    List<T> result = list != null ? list : new ArrayList<>();
+    result.addAll(other);
+    return result;
+  }
+
+  private ConditionalOperation createConditionalOperation(boolean requireResourceExists, final RoutingContext context,
+      ApiResponseType apiResponseTypeType, IfExists ifExists, IfNotExists ifNotExists, boolean transactional, ConflictResolution cr,
+      List<Map<String, Object>> featureModifications, SpaceContext spaceContext, int bodySize) throws HttpException {
+    Ref baseRef = getBaseRef(context);
+    checkModificationOnSuper(spaceContext);
+
+    String author = getAuthor(context);
+    ModifyFeaturesEvent event = new ModifyFeaturesEvent()
+        .withAuthor(author)
+        .withTransaction(transactional)
+        .withContext(spaceContext)
+        .withConflictDetectionEnabled(isConflictDetectionEnabled(context, baseRef))
+        .withEraseContent(eraseContent(context))
+        .withRef(baseRef);
+
+    ConditionalOperation task = buildConditionalOperation(event, context, apiResponseTypeType, featureModifications, ifNotExists,
+        ifExists, transactional, cr, requireResourceExists, bodySize);
+    final List<String> addTags = getAddTags(context);
+    final List<String> removeTags = getRemoveTags(context);
+    task.addTags = normalizeTags(addTags);
+    task.removeTags = normalizeTags(removeTags);
+    task.prefixId = getIdPrefix(context);
+    task.author = author;
+    return task;
+  }
+
   private static String getFeatureId(RoutingContext context) {
     return context.pathParam(Path.FEATURE_ID);
   }
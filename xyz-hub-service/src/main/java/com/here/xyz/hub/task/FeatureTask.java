@@ -76,6 +76,7 @@ import com.here.xyz.util.geo.GeometryValidator;
 import com.here.xyz.util.service.HttpException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.ext.web.RoutingContext;
 import java.nio.charset.Charset;
 import java.util.Collection;
@@ -116,6 +117,12 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
    */
   private String cacheKey;
 
+  /**
+   * The read of this task's response which other concurrent tasks with the same cache key are waiting for.
+   * Only set if this task is the one actually invoking the connector.
+   */
+  volatile Promise<byte[]> inflightRead;
+
   /**
    * The number of bytes the request body is / was having initially.
    */
@@ -148,6 +155,15 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
     this.requestBodySize = requestBodySize;
   }
 
+  @Override
+  public void execute(C1<X> onSuccess, C2<X, Throwable> onException) {
+    super.execute(onSuccess, (task, t) -> {
+      //Release the tasks which might be waiting for the response of this task
+      FeatureTaskHandler.completeInflightRead(task, null);
+      onException.call(task, t);
+    });
+  }
+
   void resolveVersionRef(final X task, final Callback<X> callback) {
     try {
       if (task.getEvent() instanceof ContextAwareEvent<?> event) {
@@ -505,6 +521,7 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
           .then(FeatureTaskHandler::checkImmutability)
           .then(FeatureTaskHandler::validate)
           .then(FeatureTaskHandler::readCache)
+          .then(FeatureTaskHandler::readPreGeneratedTile)
           .then(FeatureTaskHandler::invoke)
           .then(FeatureTaskHandler::transformResponse)
           .then(FeatureTaskHandler::writeCache);
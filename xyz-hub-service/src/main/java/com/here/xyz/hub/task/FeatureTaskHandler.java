@@ -59,6 +59,9 @@ import com.here.xyz.events.SelectiveEvent;
 import com.here.xyz.hub.Service;
 import com.here.xyz.hub.XYZHubRESTVerticle;
 import com.here.xyz.hub.cache.CacheClient;
+import com.here.xyz.hub.cache.CacheRevalidator;
+import com.here.xyz.hub.cache.CachedResponse;
+import com.here.xyz.hub.cache.PreGeneratedTiles;
 import com.here.xyz.hub.connectors.RpcClient;
 import com.here.xyz.hub.connectors.RpcClient.RpcContext;
 import com.here.xyz.hub.connectors.models.Connector;
@@ -80,6 +83,8 @@ import com.here.xyz.hub.task.ModifyFeatureOp.FeatureEntry;
 import com.here.xyz.hub.task.ModifyOp.Entry;
 import com.here.xyz.hub.task.ModifyOp.ModifyOpError;
 import com.here.xyz.hub.task.TaskPipeline.Callback;
+import com.here.xyz.hub.util.FeatureStreamReader;
+import com.here.xyz.hub.util.InflightReads;
 import com.here.xyz.hub.util.geo.MapBoxVectorTileBuilder;
 import com.here.xyz.hub.util.geo.MapBoxVectorTileFlattenedBuilder;
 import com.here.xyz.models.geojson.WebMercatorTile;
@@ -102,6 +107,7 @@ import com.here.xyz.responses.StatisticsResponse;
 import com.here.xyz.responses.StatisticsResponse.PropertiesStatistics.Searchable;
 import com.here.xyz.responses.SuccessResponse;
 import com.here.xyz.responses.XyzResponse;
+import com.here.xyz.util.metrics.LatencyHistogram;
 import com.here.xyz.util.service.Core;
 import com.here.xyz.util.service.HttpException;
 import com.here.xyz.util.service.errors.DetailedHttpException;
@@ -112,13 +118,11 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.Cookie;
-import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
-import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -152,8 +156,6 @@ public class FeatureTaskHandler {
       .variableExpiration()
       .expirationPolicy(ExpirationPolicy.CREATED)
       .build();
-  private static final byte JSON_VALUE = 1;
-  private static final byte BINARY_VALUE = 2;
   private static SnsAsyncClient snsClient;
   private static final ConcurrentHashMap<String, Long> contentModificationTimers = new ConcurrentHashMap<>();
   private static final ConcurrentHashMap<String, Long> contentModificationAdminTimers = new ConcurrentHashMap<>();
@@ -176,6 +178,26 @@ public class FeatureTaskHandler {
   private static final ConcurrentHashMap<String, LongAdder> inflightRequestMemory = new ConcurrentHashMap<>();
   private static final LongAdder globalInflightRequestMemory = new LongAdder();
 
+  /**
+   * Contains the pending reads of cacheable responses by their cache key.
+   * Concurrent tasks which are missing the cache for the same key are waiting for the task which is reading the response already
+   * instead of invoking the connector themselves. The value the read gets completed with is the cache value of the response
+   * or null if the response could not be shared.
+   */
+  private static final InflightReads<byte[]> inflightReads = new InflightReads<>();
+
+  /**
+   * Refreshes the stale cache entries in the background.
+   */
+  private static final CacheRevalidator<byte[]> cacheRevalidator = new CacheRevalidator<>();
+
+  private static final LatencyHistogram CACHE_TIME = LatencyHistogram.register("xyz_hub_cache_time_seconds",
+      "The time of the cache lookups for read requests (CTime)");
+  private static final LatencyHistogram STORAGE_TIME = LatencyHistogram.register("xyz_hub_storage_time_seconds",
+      "The time of the storage connector calls (STime / LFTime)");
+  private static final LatencyHistogram PROCESSOR_TIME = LatencyHistogram.register("xyz_hub_processor_time_seconds",
+      "The time of the processor connector calls (P<n>Time)");
+
   /**
    * Sends the event to the connector client and write the response as the responseCollection of the task.
    *
@@ -336,33 +358,35 @@ public class FeatureTaskHandler {
   }
 
   private static <T extends FeatureTask> void addConnectorPerformanceInfo(T task, long storageTime, RpcContext rpcContext, String eventPrefix) {
+    STORAGE_TIME.recordMillis(storageTime);
+    addPerformanceInfo(task, storageTime, rpcContext, eventPrefix);
+  }
+
+  private static <T extends FeatureTask> void addPerformanceInfo(T task, long storageTime, RpcContext rpcContext, String eventPrefix) {
     XYZHubRESTVerticle.addStreamInfo(task.context, eventPrefix + "Time", storageTime);
     if (rpcContext != null)
       XYZHubRESTVerticle.addStreamInfo(task.context, eventPrefix + "ResSize", rpcContext.getResponseSize());
   }
 
   private static <T extends FeatureTask> void addProcessorPerformanceInfo(T task, long processorTime, RpcContext rpcContext, int processorNo) {
-    addConnectorPerformanceInfo(task, processorTime, rpcContext, "P" + processorNo);
+    PROCESSOR_TIME.recordMillis(processorTime);
+    addPerformanceInfo(task, processorTime, rpcContext, "P" + processorNo);
   }
 
-  private static XyzResponse transformCacheValue(byte[] value) throws JsonProcessingException {
-    byte type = value[0];
-    byte[] byteValue = Buffer.buffer(value).getBytes(1, value.length);
-    switch (type) {
-      case JSON_VALUE: {
-        return XyzSerializable.deserialize(new String(byteValue));
-      }
-      case BINARY_VALUE: {
-        return BinaryResponse.fromByteArray(byteValue);
-      }
-    }
-    return null;
+  /**
+   * Reads a response from its cache value.
+   * Feature collections which are sent to the client as they are, don't get deserialized but are passed through as
+   * {@link CachedResponse}.
+   */
+  private static XyzResponse transformCacheValue(FeatureTask task, byte[] value) throws IOException {
+    CachedResponse cachedResponse = CachedResponse.decode(value);
+    if (task.responseType == ApiResponseType.FEATURE_COLLECTION && cachedResponse.isFeatureCollection())
+      return cachedResponse;
+    return cachedResponse.toResponse();
   }
 
   private static byte[] transformCacheValue(XyzResponse value) {
-    byte[] type = {value instanceof BinaryResponse ? BINARY_VALUE : JSON_VALUE};
-    Buffer b = Buffer.buffer(type).appendBytes(value.toByteArray());
-    return b.getBytes();
+    return CachedResponse.encode(value, Service.configuration.CACHE_COMPRESSION_THRESHOLD);
   }
 
   public static <T extends FeatureTask> void readCache(T task, Callback<T> callback) {
@@ -385,74 +409,256 @@ public class FeatureTaskHandler {
 
     final long cacheRequestStart = Core.currentTimeMillis();
     CacheClient cacheClient = task.getCacheProfile().staticTTL > 0 ? Service.staticCacheClient : Service.volatileCacheClient;
-    cacheClient.get(cacheKey)
-        .onSuccess(cacheResult -> {
-          if (cacheResult == null) {
+    cacheClient.getEntry(cacheKey)
+        .onSuccess(cacheEntry -> {
+          long cacheTime = Core.currentTimeMillis() - cacheRequestStart;
+          CACHE_TIME.recordMillis(cacheTime);
+          XYZHubRESTVerticle.addStreamInfo(task.context, "CTime", cacheTime);
+          boolean stale = cacheEntry != null && CacheRevalidator.isStale(cacheEntry, task.getCacheProfile().staleWhileRevalidate);
+          if (cacheEntry == null || stale && !canRevalidate(task)) {
             //Cache MISS: Just go on in the task pipeline
             XYZHubRESTVerticle.addStreamInfo(task.context, "CH",0);
             logger.info(task.getMarker(), "Cache MISS for cache key {}", cacheKey);
+            joinInflightRead(task, cacheKey, callback);
+            return;
           }
-          else {
-            //Cache HIT: Set the response for the task to the result from the cache so invoke (in the task pipeline) won't have anything to do
-            try {
-              task.setResponse(transformCacheValue(cacheResult));
-              task.setCacheHit(true);
-              //Add "Cache-Hit" stream-info
-              XYZHubRESTVerticle.addStreamInfo(task.context, "CH", 1);
-              //Add "Cache-Type" stream-info (static / volatile)
-              XYZHubRESTVerticle.addStreamInfo(task.context, "CT", cacheClient == Service.staticCacheClient ? "S" : "V");
-              logger.info(task.getMarker(), "Cache HIT for cache key {}", cacheKey);
-            }
-            catch (JsonProcessingException e) {
-              //Actually, this should never happen as we're controlling how the data is written to the cache, but you never know ;-)
-              //Treating an error as a Cache MISS
-              logger.info(task.getMarker(), "Cache MISS (as of JSON parse exception) for cache key {} {}", cacheKey, e);
-            }
+          //Cache HIT: Set the response for the task to the result from the cache so invoke (in the task pipeline) won't have anything to do
+          try {
+            task.setResponse(transformCacheValue(task, cacheEntry.value()));
+            task.setCacheHit(true);
+            //Add "Cache-Hit" stream-info
+            XYZHubRESTVerticle.addStreamInfo(task.context, "CH", 1);
+            //Add "Cache-Type" stream-info (static / volatile)
+            XYZHubRESTVerticle.addStreamInfo(task.context, "CT", cacheClient == Service.staticCacheClient ? "S" : "V");
+            logger.info(task.getMarker(), "Cache HIT for cache key {}", cacheKey);
+          }
+          catch (IOException e) {
+            //Actually, this should never happen as we're controlling how the data is written to the cache, but you never know ;-)
+            //Treating an error as a Cache MISS
+            logger.info(task.getMarker(), "Cache MISS (as of parse exception) for cache key {} {}", cacheKey, e);
+            joinInflightRead(task, cacheKey, callback);
+            return;
+          }
+          if (stale) {
+            //Add "Cache-Stale" stream-info
+            XYZHubRESTVerticle.addStreamInfo(task.context, "CS", 1);
+            revalidateCacheEntry(task, cacheKey, cacheClient);
           }
-          XYZHubRESTVerticle.addStreamInfo(task.context, "CTime", Core.currentTimeMillis() - cacheRequestStart);
           callback.call(task);
         })
         .onFailure(t -> {
           //Treating an error as a Cache MISS
           logger.info(task.getMarker(), "Cache MISS (as of error) on all caches {} {}", cacheKey, t);
-          callback.call(task);
+          joinInflightRead(task, cacheKey, callback);
         });
   }
 
-  public static <T extends FeatureTask> void writeCache(T task, Callback<T> callback) {
-    callback.call(task);
-    //From here everything is done asynchronous
+  /**
+   * Stale cache entries can only be refreshed in the background if the response does not have to be pre- / post-processed.
+   */
+  private static <T extends FeatureTask> boolean canRevalidate(T task) {
+    return task.space.getProcessors() == null || task.space.getProcessors().isEmpty();
+  }
+
+  /**
+   * Refreshes a stale cache entry in the background by sending a copy of the task's event to the connector.
+   * Only one refresh is performed per cache key at a time.
+   *
+   * @param task the FeatureTask instance which was served with the stale cache entry
+   * @param cacheKey the cache key of the task's response
+   * @param cacheClient the cache client which the stale cache entry was read from
+   * @param <T> the type of the FeatureTask
+   */
+  private static <T extends FeatureTask> void revalidateCacheEntry(T task, String cacheKey, CacheClient cacheClient) {
     final CacheProfile cacheProfile = task.getCacheProfile();
-    //noinspection rawtypes
-    XyzResponse response = task.getResponse();
+    cacheRevalidator.revalidate(cacheKey,
+        () -> refreshCacheValue(task)
+            .onFailure(t -> logger.warn(task.getMarker(), "Unable to refresh the stale cache entry for cache key {}", cacheKey, t)),
+        cacheValue -> {
+          logger.debug(task.getMarker(), "Refreshing the stale cache entry for cache key {}", cacheKey);
+          cacheClient.set(cacheKey, cacheValue, getCacheTTL(cacheProfile));
+        });
+  }
+
+  /**
+   * Reads the response of a copy of the task's event from the connector.
+   *
+   * @param task the FeatureTask instance which was served with the stale cache entry
+   * @return The fresh cache value of the task's response
+   * @param <T> the type of the FeatureTask
+   */
+  private static <T extends FeatureTask> Future<byte[]> refreshCacheValue(T task) throws Exception {
+    Event event = task.getEvent().copy();
+    event.setIfNoneMatch(null);
+    setAdditionalEventProps(task, task.storage, event);
+    Promise<XyzResponse> response = Promise.promise();
+    getRpcClient(task.storage).execute(task.getMarker(), event, response, task.space, task.getRequesterId());
+    return response.future().compose(r -> {
+      if (r == null || r instanceof ErrorResponse || r instanceof NotModifiedResponse)
+        return Future.failedFuture(new IllegalStateException("The connector responded with "
+            + (r == null ? "no response" : r.getClass().getSimpleName()) + "."));
+      try {
+        return Future.succeededFuture(transformCacheValue(task instanceof TileQuery tileQuery ? transformResponse(tileQuery, r) : r));
+      }
+      catch (Exception e) {
+        return Future.failedFuture(e);
+      }
+    });
+  }
+
+  /**
+   * @param cacheProfile the cache profile of the task
+   * @return The live time of the response in the cache in seconds, including its stale-while-revalidate window
+   */
+  private static long getCacheTTL(CacheProfile cacheProfile) {
+    long ttl = cacheProfile.staticTTL > 0 ? cacheProfile.staticTTL : cacheProfile.serviceTTL;
+    return TimeUnit.MILLISECONDS.toSeconds(ttl + cacheProfile.staleWhileRevalidate);
+  }
+
+  /**
+   * Collapses concurrent reads of the same cacheable response after a cache MISS.
+   * The first task missing the cache for a key goes on in the task pipeline and invokes the connector. All further tasks missing the
+   * cache for the same key while that read is still in flight are waiting for it and get its response as if it was a cache HIT.
+   * If the response could not be shared (e.g., because the first task failed or was cancelled) the waiting tasks go on in the task
+   * pipeline and invoke the connector themselves.
+   *
+   * @param task the FeatureTask instance
+   * @param cacheKey the cache key of the task's response
+   * @param callback the callback handler
+   * @param <T> the type of the FeatureTask
+   */
+  private static <T extends FeatureTask> void joinInflightRead(T task, String cacheKey, Callback<T> callback) {
+    final long waitStart = Core.currentTimeMillis();
+    //Waiting tasks are released at the latest when the connector request of the reading task would time out
+    long timeoutMs = TimeUnit.SECONDS.toMillis(Service.configuration.getRemoteFunctionMaxRequestTimeout());
+    Promise<byte[]> read = inflightReads.join(cacheKey, timeoutMs, cacheValue -> {
+      if (task.getState().isFinal()) return;
+      if (cacheValue != null) {
+        try {
+          task.setResponse(transformCacheValue(task, cacheValue));
+          task.setCacheHit(true);
+          //Add "Coalesced-Read" stream-info
+          XYZHubRESTVerticle.addStreamInfo(task.context, "CR", Core.currentTimeMillis() - waitStart);
+          logger.info(task.getMarker(), "Using the response of the in-flight read for cache key {}", cacheKey);
+        }
+        catch (IOException e) {
+          logger.info(task.getMarker(), "Unable to use the response of the in-flight read for cache key {} {}", cacheKey, e);
+        }
+      }
+      callback.call(task);
+    });
+
+    if (read != null) {
+      //This task is the first one reading the response for the cache key
+      task.inflightRead = read;
+      task.addCancellingHandler(t -> completeInflightRead(task, null));
+      callback.call(task);
+    }
+  }
 
-    boolean isCacheable = response != null && !task.isCacheHit()
-        && !(response instanceof NotModifiedResponse) && !(response instanceof ErrorResponse);
-    if (!isCacheable)
+  /**
+   * Completes the in-flight read of the task (if it's the one performing the read for its cache key) and thereby releases all other
+   * tasks which are waiting for its response.
+   *
+   * @param task the FeatureTask instance
+   * @param cacheValue the cache value of the task's response or null if the response can not be shared
+   */
+  static void completeInflightRead(FeatureTask task, byte[] cacheValue) {
+    Promise<byte[]> read = task.inflightRead;
+    if (read == null)
       return;
+    task.inflightRead = null;
+    inflightReads.complete(task.getCacheKey(), read, cacheValue);
+  }
 
-    String cacheKey = null;
-    byte[] cacheValue = null;
-    if (cacheProfile.serviceTTL > 0 || cacheProfile.staticTTL > 0) {
-      cacheKey = task.getCacheKey();
-      if (cacheKey == null) {
-        String npe = "cacheKey is null. Couldn't write cache.";
-        logger.error(task.getMarker(), npe);
-        throw new NullPointerException(npe);
+  public static <T extends FeatureTask> void writeCache(T task, Callback<T> callback) {
+    try {
+      callback.call(task);
+      //From here everything is done asynchronous
+      final CacheProfile cacheProfile = task.getCacheProfile();
+      //noinspection rawtypes
+      XyzResponse response = task.getResponse();
+
+      boolean isCacheable = response != null && !task.isCacheHit()
+          && !(response instanceof NotModifiedResponse) && !(response instanceof ErrorResponse);
+      if (!isCacheable)
+        return;
+
+      String cacheKey = null;
+      byte[] cacheValue = null;
+      if (cacheProfile.serviceTTL > 0 || cacheProfile.staticTTL > 0) {
+        cacheKey = task.getCacheKey();
+        if (cacheKey == null) {
+          String npe = "cacheKey is null. Couldn't write cache.";
+          logger.error(task.getMarker(), npe);
+          throw new NullPointerException(npe);
+        }
+        cacheValue = transformCacheValue(response);
       }
-      cacheValue = transformCacheValue(response);
+      completeInflightRead(task, cacheValue);
+      setCacheValue(task, cacheKey, cacheValue);
     }
+    finally {
+      //Always release the waiting tasks, also if the response could not be shared or anything above failed
+      completeInflightRead(task, null);
+    }
+  }
+
+  private static <T extends FeatureTask> void setCacheValue(T task, String cacheKey, byte[] cacheValue) {
+    final CacheProfile cacheProfile = task.getCacheProfile();
     //Prefer the static cache over the volatile cache for values which are immutable
     if (cacheProfile.staticTTL > 0) {
       logger.debug(task.getMarker(), "Writing entry with cache key {} to static cache", cacheKey);
-      Service.staticCacheClient.set(cacheKey, cacheValue, TimeUnit.MILLISECONDS.toSeconds(cacheProfile.staticTTL));
+      Service.staticCacheClient.set(cacheKey, cacheValue, getCacheTTL(cacheProfile));
     }
     else if (cacheProfile.serviceTTL > 0) {
       logger.debug(task.getMarker(), "Writing entry with cache key {} to volatile cache", cacheKey);
-      Service.volatileCacheClient.set(cacheKey, cacheValue, TimeUnit.MILLISECONDS.toSeconds(cacheProfile.serviceTTL));
+      Service.volatileCacheClient.set(cacheKey, cacheValue, getCacheTTL(cacheProfile));
     }
   }
 
+  /**
+   * Serves a plain tile request from the tile which has been pre-generated by the PreGenerateTiles job step, if there is a current
+   * one. The pre-generated tile is written to the cache, so that subsequent requests for the same tile are served from the cache.
+   *
+   * @see PreGeneratedTiles
+   */
+  static void readPreGeneratedTile(TileQuery task, Callback<TileQuery> callback) {
+    final String s3Key = task.getResponse() != null || !PreGeneratedTiles.isEnabled() || task.space.getExtension() != null ? null
+        : PreGeneratedTiles.s3Key(task.getEvent());
+    if (s3Key == null) {
+      callback.call(task);
+      return;
+    }
+
+    PreGeneratedTiles.load(s3Key, task.space.getContentUpdatedAt())
+        .onSuccess(cacheValue -> {
+          if (cacheValue != null) {
+            try {
+              task.setResponse(transformCacheValue(task, cacheValue));
+              //The response must not be written to the cache once more
+              task.setCacheHit(true);
+              //Add "Cache-Type" stream-info (pre-generated)
+              XYZHubRESTVerticle.addStreamInfo(task.context, "CT", "P");
+              logger.info(task.getMarker(), "Serving pre-generated tile {}", s3Key);
+              String cacheKey = task.getCacheKey();
+              completeInflightRead(task, cacheValue);
+              if (cacheKey != null)
+                setCacheValue(task, cacheKey, cacheValue);
+            }
+            catch (IOException e) {
+              logger.warn(task.getMarker(), "Unable to read pre-generated tile {}", s3Key, e);
+            }
+          }
+          callback.call(task);
+        })
+        .onFailure(t -> {
+          logger.warn(task.getMarker(), "Error loading pre-generated tile {}", s3Key, t);
+          callback.call(task);
+        });
+  }
+
+
   /**
    * @param task the FeatureTask instance
    * @param event The pre-processed event
@@ -1043,22 +1249,13 @@ public class FeatureTaskHandler {
   private static List<Map<String, Object>> getObjectsAsList(final RoutingContext context) throws HttpException {
     final Marker logMarker = LogUtil.getMarker(context);
     try {
-      JsonObject json = context.body().asJsonObject();
-      return getJsonObjects(json, context);
+      return FeatureStreamReader.readObjects(context.body().buffer(), Service.configuration.MAX_FEATURES_PER_WRITE_REQUEST);
     }
-    catch (DecodeException e) {
-      logger.warn(logMarker, "Invalid input encoding.", e);
-      try {
-        //Some types of exceptions could be avoided by reading the entire string.
-        JsonObject json = new JsonObject(context.body().asString());
-        return getJsonObjects(json, context);
-      }
-      catch (DecodeException ex) {
-        logger.info(logMarker, "Error in the provided content", ex.getCause());
-        throw new HttpException(BAD_REQUEST, "Invalid JSON input string: " + ex.getMessage());
-      }
+    catch (HttpException e) {
+      logger.info(logMarker, "Error in the provided content", e);
+      throw e;
     }
-    catch (Exception e) {
+    catch (RuntimeException e) {
       logger.info(logMarker, "Error in the provided content", e);
       throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
     }
@@ -1069,33 +1266,6 @@ public class FeatureTaskHandler {
     }
   }
 
-  private static List<Map<String, Object>> getJsonObjects(JsonObject json, RoutingContext context) throws HttpException {
-    try {
-      if (json == null) {
-        throw new HttpException(BAD_REQUEST, "Missing content");
-      }
-      if ("FeatureCollection".equals(json.getString("type"))) {
-        //noinspection unchecked
-        return json.getJsonArray("features", new JsonArray()).getList();
-      }
-      if ("FeatureModificationList".equals(json.getString("type"))) {
-        //noinspection unchecked
-        return json.getJsonArray("modifications", new JsonArray()).getList();
-      }
-      if ("Feature".equals(json.getString("type"))) {
-        return Collections.singletonList(json.getMap());
-      }
-      else {
-        throw new HttpException(BAD_REQUEST, "The provided content does not have a type of FeatureCollection,"
-            + " Feature or FeatureModificationList.");
-      }
-    }
-    catch (Exception e) {
-      logger.info(LogUtil.getMarker(context), "Error in the provided content", e);
-      throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
-    }
-  }
-
   static void preprocessConditionalOp(ConditionalOperation task, Callback<ConditionalOperation> callback) throws Exception {
     try {
       // Ensure that the ID is a string or null and check for duplicate IDs
@@ -1393,32 +1563,14 @@ public class FeatureTaskHandler {
   }
 
   static void transformResponse(TileQuery task, Callback<TileQuery> callback) {
-    if (task.responseType != MVT
-        && task.responseType != MVT_FLATTENED
-        || !(task.getResponse() instanceof FeatureCollection)
-        //The mvt transformation is not executed, if the source feature collection is the same.
-        || task.etagMatches()) {
+    //The mvt transformation is not executed, if the source feature collection is the same.
+    if (task.etagMatches()) {
       callback.call(task);
       return;
     }
 
-    TransformationContext tc = task.transformationContext;
     try {
-      byte[] mvt;
-      if (MVT == task.responseType) {
-        mvt = new MapBoxVectorTileBuilder()
-            .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, task.space.getId(),
-                ((FeatureCollection) task.getResponse()).getFeatures());
-      }
-      else {
-        mvt = new MapBoxVectorTileFlattenedBuilder()
-            .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, task.space.getId(),
-                ((FeatureCollection) task.getResponse()).getFeatures());
-      }
-      task.setResponse(new BinaryResponse()
-              .withMimeType(APPLICATION_VND_MAPBOX_VECTOR_TILE)
-              .withBytes(mvt)
-              .withEtag(task.getResponse().getEtag()));
+      task.setResponse(transformResponse(task, task.getResponse()));
       callback.call(task);
     }
     catch (Exception e) {
@@ -1427,6 +1579,32 @@ public class FeatureTaskHandler {
     }
   }
 
+  private static XyzResponse transformResponse(TileQuery task, XyzResponse response) throws Exception {
+    if (task.responseType != MVT && task.responseType != MVT_FLATTENED || !(response instanceof FeatureCollection))
+      return response;
+
+    TransformationContext tc = task.transformationContext;
+    byte[] mvt;
+    if (MVT == task.responseType) {
+      mvt = new MapBoxVectorTileBuilder()
+          .withGeometryValidation(!Service.configuration.MVT_SKIP_GEOMETRY_VALIDATION)
+          .withParallelEncodingThreshold(Service.configuration.MVT_PARALLEL_ENCODING_THRESHOLD)
+          .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, task.space.getId(),
+              ((FeatureCollection) response).getFeatures());
+    }
+    else {
+      mvt = new MapBoxVectorTileFlattenedBuilder()
+          .withGeometryValidation(!Service.configuration.MVT_SKIP_GEOMETRY_VALIDATION)
+          .withParallelEncodingThreshold(Service.configuration.MVT_PARALLEL_ENCODING_THRESHOLD)
+          .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, task.space.getId(),
+              ((FeatureCollection) response).getFeatures());
+    }
+    return new BinaryResponse()
+        .withMimeType(APPLICATION_VND_MAPBOX_VECTOR_TILE)
+        .withBytes(mvt)
+        .withEtag(response.getEtag());
+  }
+
   public static <X extends FeatureTask<?, X>> void checkImmutability(X task, Callback<X> callback) {
     if (task.getEvent() instanceof SelectiveEvent selectiveEvent) {
       Ref ref = selectiveEvent.getRef();
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import java.util.List;
+
+/**
+ * Writes a (potentially very large) textual response body into an {@link HttpServerResponse} chunk by chunk.
+ * Each chunk is only encoded right before it gets written, so the body never has to be copied into one large byte-array / buffer.
+ * The body can consist of several parts (e.g. the raw JSON of some features and the JSON around it), so that the parts do not have
+ * to be concatenated into one large string first.
+ * The writer respects the backpressure of the response by pausing whenever the write-queue of the response is full and continuing
+ * once it was drained.
+ */
+public class ChunkedResponseWriter {
+
+  public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+  private final HttpServerResponse response;
+  private final List<? extends CharSequence> parts;
+  private final int chunkSize;
+  private final Promise<Void> promise = Promise.promise();
+  private int partIndex;
+  private int position;
+
+  private ChunkedResponseWriter(HttpServerResponse response, List<? extends CharSequence> parts, int chunkSize) {
+    this.response = response;
+    this.parts = parts;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Writes the provided body into the response and ends it afterwards.
+   * NOTE: The headers (incl. the content-length if applicable) have to be set on the response before calling this method.
+   *
+   * @param response The response to write to
+   * @param body The body to be written
+   * @param chunkSize The (maximum) number of characters to be encoded & written per chunk
+   * @return A future which gets completed once the whole body was written or fails if the connection was closed before
+   */
+  public static Future<Void> write(HttpServerResponse response, String body, int chunkSize) {
+    return write(response, List.of(body), chunkSize);
+  }
+
+  /**
+   * Writes the provided parts one after another as the body of the response and ends it afterwards.
+   * No chunk spans over two parts.
+   * NOTE: The headers (incl. the content-length if applicable) have to be set on the response before calling this method.
+   *
+   * @param response The response to write to
+   * @param parts The parts of the body to be written
+   * @param chunkSize The (maximum) number of characters to be encoded & written per chunk
+   * @return A future which gets completed once the whole body was written or fails if the connection was closed before
+   */
+  public static Future<Void> write(HttpServerResponse response, List<? extends CharSequence> parts, int chunkSize) {
+    ChunkedResponseWriter writer = new ChunkedResponseWriter(response, parts, chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE);
+    response.exceptionHandler(writer::fail);
+    response.closeHandler(v -> writer.fail(new IllegalStateException("Connection was closed before the response was written completely.")));
+    writer.writeNext();
+    return writer.promise.future();
+  }
+
+  private void writeNext() {
+    try {
+      while (partIndex < parts.size()) {
+        CharSequence part = parts.get(partIndex);
+        if (position >= part.length()) {
+          partIndex++;
+          position = 0;
+          continue;
+        }
+        if (response.closed()) {
+          fail(new IllegalStateException("Connection was closed before the response was written completely."));
+          return;
+        }
+        if (response.writeQueueFull()) {
+          response.drainHandler(v -> writeNext());
+          return;
+        }
+        int end = Math.min(position + chunkSize, part.length());
+        //Never split a surrogate pair
+        if (end < part.length() && end - 1 > position && Character.isHighSurrogate(part.charAt(end - 1)))
+          end--;
+        response.write(Buffer.buffer(part.subSequence(position, end).toString()));
+        position = end;
+      }
+      response.drainHandler(null);
+      response.end().onComplete(ar -> {
+        if (ar.succeeded())
+          promise.tryComplete();
+        else
+          fail(ar.cause());
+      });
+    }
+    catch (Exception e) {
+      fail(e);
+    }
+  }
+
+  private void fail(Throwable t) {
+    promise.tryFail(t);
+  }
+
+  /**
+   * Calculates the number of bytes the provided string will take when encoded as UTF-8 without actually encoding it.
+   *
+   * @param s The string to measure
+   * @return The UTF-8 encoded length of the string in bytes
+   */
+  public static long utf8Length(CharSequence s) {
+    long length = 0;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c < 0x80)
+        length++;
+      else if (c < 0x800)
+        length += 2;
+      else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+        length += 4;
+        i++;
+      }
+      else if (Character.isSurrogate(c))
+        //A malformed surrogate gets replaced by "?" during encoding
+        length++;
+      else
+        length += 3;
+    }
+    return length;
+  }
+}
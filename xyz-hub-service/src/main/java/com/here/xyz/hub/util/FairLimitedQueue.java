@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+package com.here.xyz.hub.util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link LimitedQueue} which schedules its elements fairly between the senders (keys) of the elements using weighted deficit
+ * round-robin. Each sender has its own FIFO sub-queue. In every round each sender with queued elements may take as many elements as
+ * its weight is.
+ * If the queue needs to discard elements to comply with its limits, the oldest element of the sender with the largest queued byte size
+ * is discarded, so that a single sender can not push out the elements of all other senders.
+ */
+public class FairLimitedQueue<E extends ByteSizeAware> extends LimitedQueue<E> {
+
+  private final Function<E, String> keyFunction;
+  private final ToIntFunction<String> weightFunction;
+  private final Map<String, SubQueue<E>> subQueues = new HashMap<>();
+  private final ArrayDeque<SubQueue<E>> activeQueues = new ArrayDeque<>();
+
+  /**
+   * @param maxSize The maximum number of elements
+   * @param maxByteSize The maximum byte size of all elements
+   * @param keyFunction Provides the key of the sender of an element (null is a valid key)
+   * @param weightFunction Provides the weight (>= 1) of a sender key
+   */
+  public FairLimitedQueue(long maxSize, long maxByteSize, Function<E, String> keyFunction, ToIntFunction<String> weightFunction) {
+    super(maxSize, maxByteSize);
+    this.keyFunction = keyFunction;
+    this.weightFunction = weightFunction;
+  }
+
+  /**
+   * Creates a weight function which takes the weights from the provided map.
+   *
+   * @param weights The weights by sender key, may be null
+   * @return A weight function which returns the configured weight of a key or 1, if there is no weight configured for it
+   */
+  public static ToIntFunction<String> weightsOf(Map<String, Integer> weights) {
+    return key -> {
+      Integer weight = weights == null || key == null ? null : weights.get(key);
+      return weight == null ? 1 : Math.max(1, weight);
+    };
+  }
+
+  @Override
+  protected synchronized void offer(E element) {
+    SubQueue<E> subQueue = subQueues.computeIfAbsent(keyFunction.apply(element), SubQueue::new);
+    subQueue.elements.add(element);
+    subQueue.byteSize += element.getByteSize();
+    if (subQueue.elements.size() == 1)
+      activeQueues.add(subQueue);
+  }
+
+  @Override
+  protected synchronized E poll() {
+    SubQueue<E> subQueue = activeQueues.peek();
+    if (subQueue == null)
+      return null;
+
+    if (subQueue.deficit <= 0)
+      subQueue.deficit += Math.max(1, weightFunction.applyAsInt(subQueue.key));
+    subQueue.deficit--;
+    E element = take(subQueue);
+    //Move on to the next sender, if this one has used up its share of the current round
+    if (!subQueue.elements.isEmpty() && subQueue.deficit <= 0)
+      activeQueues.add(activeQueues.poll());
+    return element;
+  }
+
+  @Override
+  protected synchronized E evict() {
+    SubQueue<E> largest = null;
+    for (SubQueue<E> subQueue : activeQueues)
+      if (largest == null || subQueue.byteSize > largest.byteSize)
+        largest = subQueue;
+    return largest == null ? null : take(largest);
+  }
+
+  private E take(SubQueue<E> subQueue) {
+    E element = subQueue.elements.poll();
+    subQueue.byteSize -= element.getByteSize();
+    if (subQueue.elements.isEmpty()) {
+      activeQueues.remove(subQueue);
+      subQueues.remove(subQueue.key);
+    }
+    return element;
+  }
+
+  /**
+   * @return The number of queued elements by the key of their sender
+   */
+  public synchronized Map<String, Integer> getSizeByKey() {
+    Map<String, Integer> sizes = new HashMap<>();
+    subQueues.forEach((key, subQueue) -> sizes.put(String.valueOf(key), subQueue.elements.size()));
+    return sizes;
+  }
+
+  private static class SubQueue<E> {
+
+    final String key;
+    final ArrayDeque<E> elements = new ArrayDeque<>();
+    long byteSize;
+    int deficit;
+
+    SubQueue(String key) {
+      this.key = key;
+    }
+  }
+}
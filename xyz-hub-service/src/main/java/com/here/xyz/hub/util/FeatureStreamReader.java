@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.here.xyz.hub.AbstractHttpServerVerticle;
+import com.here.xyz.util.service.HttpException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.jackson.JacksonCodec;
+import io.vertx.ext.web.RoutingContext;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Reads the features (or feature modifications) of a write request directly from the request body token by token.
+ * Unlike decoding the whole body into a {@link io.vertx.core.json.JsonObject} first, the features are read one by one, so the limits can
+ * be enforced while reading and the body never gets copied into a String (unless it has an invalid encoding).
+ * When reading the body incrementally from the request (see {@link #readBatches(RoutingContext, int, int, BiFunction)}), the features
+ * are handed on in batches while the body is still being received, so neither the body nor all of its features have to be held in
+ * memory at once.
+ * The resulting objects are the same as the ones Vert.x is creating when decoding JSON (maps, lists, strings, numbers, booleans).
+ */
+public class FeatureStreamReader {
+
+  private static final String FEATURE_COLLECTION = "FeatureCollection";
+  private static final String FEATURE_MODIFICATION_LIST = "FeatureModificationList";
+  private static final String FEATURE = "Feature";
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final int maxFeatures;
+  private final int batchSize;
+  private final Deque<Frame> frames = new ArrayDeque<>();
+  private final Deque<Batch> batches = new ArrayDeque<>();
+  private List<Map<String, Object>> objects = new ArrayList<>();
+  private Map<String, Object> root;
+  private String type;
+  private String streamedArrayName;
+  private int featureCount;
+  private boolean batchCreated;
+  private long bytesRead;
+  private long bytesOfPreviousBatches;
+
+  //State for reading the body incrementally from the request
+  private final Promise<Void> promise = Promise.promise();
+  private HttpServerRequest request;
+  private BiFunction<List<Map<String, Object>>, Integer, Future<Void>> batchProcessor;
+  private boolean ended;
+  private boolean processing;
+
+  private FeatureStreamReader(int maxFeatures, int batchSize) {
+    this.maxFeatures = maxFeatures;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Reads the body of a request as a FeatureCollection, Feature or a FeatureModificationList object.
+   *
+   * @param body The request body
+   * @param maxFeatures The maximum number of features which may be contained in the body (a value <= 0 means unlimited)
+   * @return The features of a FeatureCollection, the modifications of a FeatureModificationList or the Feature itself
+   * @throws HttpException If the body is not valid or contains too many features
+   */
+  public static List<Map<String, Object>> readObjects(Buffer body, int maxFeatures) throws HttpException {
+    if (body == null || body.length() == 0)
+      throw new HttpException(BAD_REQUEST, "Missing content");
+
+    try {
+      try {
+        return new FeatureStreamReader(maxFeatures, 0).read(JacksonCodec.createParser(body));
+      }
+      catch (JsonProcessingException e) {
+        //Some types of exceptions (e.g., as of an invalid encoding) could be avoided by reading the entire string.
+        return new FeatureStreamReader(maxFeatures, 0).read(JacksonCodec.createParser(body.toString()));
+      }
+    }
+    catch (JsonProcessingException e) {
+      throw new HttpException(BAD_REQUEST, "Invalid JSON input string: " + e.getOriginalMessage());
+    }
+    catch (IOException | RuntimeException e) {
+      throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
+    }
+  }
+
+  /**
+   * Reads the body of a request as a FeatureCollection, Feature or a FeatureModificationList object incrementally while it is being
+   * received and hands the features of a FeatureCollection, the modifications of a FeatureModificationList or the Feature itself on
+   * in batches.
+   * The request gets paused while a batch is being processed, so only the current batch and the features which were read in the
+   * meantime are held in memory.
+   * NOTE: The features of a FeatureCollection can only be handed on before the end of the body, if the "type" property is preceding the
+   * "features" array. The same applies to the "modifications" of a FeatureModificationList.
+   * If the body of the request has been buffered already, the buffered body is read instead.
+   *
+   * @param context The routing context of the request to read
+   * @param maxFeatures The maximum number of features which may be contained in the body (a value <= 0 means unlimited)
+   * @param batchSize The maximum number of objects per batch (a value <= 0 means that all objects are handed on in one batch)
+   * @param batchProcessor Processes one batch of objects, gets the objects and the (approximate) number of bytes they have been read from
+   * @return A future which succeeds once all batches have been processed successfully or fails with the first error
+   */
+  public static Future<Void> readBatches(RoutingContext context, int maxFeatures, int batchSize,
+      BiFunction<List<Map<String, Object>>, Integer, Future<Void>> batchProcessor) {
+    return new FeatureStreamReader(maxFeatures, batchSize).readBatches(context, batchProcessor);
+  }
+
+  private Future<Void> readBatches(RoutingContext context, BiFunction<List<Map<String, Object>>, Integer, Future<Void>> batchProcessor) {
+    this.batchProcessor = batchProcessor;
+    JsonParser parser;
+    try {
+      parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+    }
+    catch (IOException e) {
+      return Future.failedFuture(e);
+    }
+    ByteArrayFeeder feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+
+    Buffer body = context.body().buffer();
+    if (body != null) {
+      handle(() -> {
+        feed(context, parser, feeder, body);
+        end(parser, feeder);
+      });
+      return promise.future();
+    }
+
+    //NOTE: The handlers have to be set before returning to the event-loop, otherwise received data would get lost
+    request = context.request();
+    request
+        .handler(chunk -> handle(() -> feed(context, parser, feeder, chunk)))
+        .endHandler(v -> handle(() -> end(parser, feeder)))
+        .exceptionHandler(this::fail);
+    if (!request.isEnded())
+      request.resume();
+    return promise.future();
+  }
+
+  private void feed(RoutingContext context, JsonParser parser, ByteArrayFeeder feeder, Buffer chunk) throws IOException, HttpException {
+    bytesRead += chunk.length();
+    AbstractHttpServerVerticle.verifyRequestSize(context, bytesRead);
+    byte[] bytes = chunk.getBytes();
+    feeder.feedInput(bytes, 0, bytes.length);
+    readAvailable(parser);
+  }
+
+  private void end(JsonParser parser, ByteArrayFeeder feeder) throws IOException, HttpException {
+    if (bytesRead == 0)
+      throw new HttpException(BAD_REQUEST, "Missing content");
+    feeder.endOfInput();
+    readAvailable(parser);
+    complete();
+    ended = true;
+  }
+
+  private void handle(BodyReader bodyReader) {
+    if (promise.future().isComplete())
+      return;
+
+    try {
+      bodyReader.read();
+    }
+    catch (HttpException e) {
+      fail(e);
+    }
+    catch (JsonProcessingException e) {
+      fail(new HttpException(BAD_REQUEST, "Invalid JSON input string: " + e.getOriginalMessage()));
+    }
+    catch (IOException | RuntimeException e) {
+      fail(new HttpException(BAD_REQUEST, "Cannot read input JSON string."));
+    }
+    processBatches();
+  }
+
+  private void processBatches() {
+    if (processing || promise.future().isComplete())
+      return;
+
+    Batch batch = batches.poll();
+    if (batch == null) {
+      if (ended)
+        promise.complete();
+      else if (request != null)
+        request.resume();
+      return;
+    }
+
+    //Do not read further while the batch is being processed
+    if (request != null)
+      request.pause();
+    processing = true;
+    batchProcessor.apply(batch.objects(), batch.byteSize()).onComplete(ar -> {
+      processing = false;
+      if (ar.failed())
+        fail(ar.cause());
+      else
+        processBatches();
+    });
+  }
+
+  private void fail(Throwable t) {
+    if (promise.tryFail(t)) {
+      batches.clear();
+      //Discard the rest of the body
+      if (request != null && !request.isEnded())
+        request.resume();
+    }
+  }
+
+  private List<Map<String, Object>> read(JsonParser parser) throws IOException, HttpException {
+    try (parser) {
+      readAvailable(parser);
+      complete();
+      return batches.poll().objects();
+    }
+  }
+
+  /**
+   * Reads all tokens which are currently available from the parser.
+   */
+  private void readAvailable(JsonParser parser) throws IOException, HttpException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE)
+      readToken(parser, token);
+  }
+
+  private void readToken(JsonParser parser, JsonToken token) throws IOException, HttpException {
+    if (root != null)
+      throw new HttpException(BAD_REQUEST, "Invalid JSON input string: Unexpected trailing token");
+
+    Frame frame = frames.peek();
+    if (frame == null && token != JsonToken.START_OBJECT)
+      throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
+
+    switch (token) {
+      case START_OBJECT -> frames.push(new Frame(new LinkedHashMap<>(), null));
+      case START_ARRAY -> {
+        //Read the features directly into the result, if it's already known that they are the relevant part of the content
+        if (frames.size() == 1 && isObjectArray(frame.fieldName)) {
+          streamedArrayName = frame.fieldName;
+          frames.push(new Frame(null, null));
+        }
+        else
+          frames.push(new Frame(null, new ArrayList<>()));
+      }
+      case FIELD_NAME -> frame.fieldName = parser.currentName();
+      case END_OBJECT -> addValue(frames.pop().object);
+      case END_ARRAY -> {
+        Frame array = frames.pop();
+        if (array.array != null)
+          addValue(array.array);
+      }
+      case VALUE_STRING -> addValue(parser.getText());
+      case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> addValue(parser.getNumberValue());
+      case VALUE_TRUE -> addValue(Boolean.TRUE);
+      case VALUE_FALSE -> addValue(Boolean.FALSE);
+      case VALUE_NULL -> addValue(null);
+      default -> throw new JsonParseException(parser, "Unexpected token");
+    }
+  }
+
+  private boolean isObjectArray(String fieldName) {
+    return FEATURE_COLLECTION.equals(type) && "features".equals(fieldName)
+        || FEATURE_MODIFICATION_LIST.equals(type) && "modifications".equals(fieldName);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addValue(Object value) throws HttpException {
+    Frame frame = frames.peek();
+    if (frame == null)
+      root = (Map<String, Object>) value;
+    else if (frame.object != null) {
+      if (frames.size() == 1 && "type".equals(frame.fieldName) && value instanceof String)
+        type = (String) value;
+      frame.object.put(frame.fieldName, value);
+    }
+    else if (frame.array != null)
+      frame.array.add(value);
+    else
+      addObject(value);
+  }
+
+  private void complete() throws HttpException {
+    if (root == null)
+      throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
+    if (streamedArrayName != null && !isObjectArray(streamedArrayName))
+      throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
+
+    if (FEATURE_COLLECTION.equals(type))
+      addObjects("features");
+    else if (FEATURE_MODIFICATION_LIST.equals(type))
+      addObjects("modifications");
+    else if (FEATURE.equals(type))
+      addObject(root);
+    else
+      throw new HttpException(BAD_REQUEST, "The provided content does not have a type of FeatureCollection,"
+          + " Feature or FeatureModificationList.");
+
+    if (!objects.isEmpty() || !batchCreated)
+      createBatch();
+  }
+
+  private void addObjects(String arrayName) throws HttpException {
+    //A missing array means no objects, but an explicit null is invalid
+    if (!root.containsKey(arrayName))
+      return;
+    if (!(root.get(arrayName) instanceof List<?> list))
+      throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
+    for (Object object : list)
+      addObject(object);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addObject(Object object) throws HttpException {
+    if (!(object instanceof Map))
+      throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
+    Map<String, Object> map = (Map<String, Object>) object;
+    countFeatures(map);
+    objects.add(map);
+    if (batchSize > 0 && objects.size() >= batchSize)
+      createBatch();
+  }
+
+  private void createBatch() {
+    batches.add(new Batch(objects, (int) Math.min(bytesRead - bytesOfPreviousBatches, Integer.MAX_VALUE)));
+    bytesOfPreviousBatches = bytesRead;
+    objects = new ArrayList<>();
+    batchCreated = true;
+  }
+
+  private void countFeatures(Map<String, Object> object) throws HttpException {
+    if (object.get("featureData") instanceof Map<?, ?> featureData && featureData.get("features") instanceof List<?> features)
+      //A feature modification
+      featureCount += features.size();
+    else
+      featureCount++;
+    if (maxFeatures > 0 && featureCount > maxFeatures)
+      throw new HttpException(REQUEST_ENTITY_TOO_LARGE, "The request contains more than the maximum of " + maxFeatures + " features.");
+  }
+
+  /**
+   * An object or array which is currently being read. The array of which the objects are handed on directly has neither an object nor
+   * an array.
+   */
+  private static class Frame {
+
+    final Map<String, Object> object;
+    final List<Object> array;
+    String fieldName;
+
+    Frame(Map<String, Object> object, List<Object> array) {
+      this.object = object;
+      this.array = array;
+    }
+  }
+
+  private record Batch(List<Map<String, Object>> objects, int byteSize) {}
+
+  @FunctionalInterface
+  private interface BodyReader {
+
+    void read() throws IOException, HttpException;
+  }
+}
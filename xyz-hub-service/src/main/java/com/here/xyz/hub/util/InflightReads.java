@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+package com.here.xyz.hub.util;
+
+import com.here.xyz.util.service.Core;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collapses concurrent reads of the same value by their key.
+ * The first caller joining a key becomes the reader of the value and has to {@link #complete(String, Promise, Object) complete}
+ * the read. All further callers joining the same key while that read is still in flight are waiting for it.
+ * If the read is not completed within the timeout, the waiting callers get released with null, so that they can read the value
+ * themselves.
+ *
+ * @param <V> the type of the values
+ */
+public class InflightReads<V> {
+
+  private final ConcurrentHashMap<String, Promise<V>> reads = new ConcurrentHashMap<>();
+
+  /**
+   * Joins the read for the specified key.
+   *
+   * @param key the key of the value to be read
+   * @param timeoutMs the maximum time in milliseconds to wait for an in-flight read (<= 0 means no timeout)
+   * @param waiter the handler to be called with the value of the in-flight read or with null if the value could not be shared or the
+   *  read timed out; only called if the caller is not the reader itself
+   * @return the read to be completed by the caller if it is the first one reading the key, null if the caller is waiting
+   */
+  public Promise<V> join(String key, long timeoutMs, Handler<V> waiter) {
+    Promise<V> read = Promise.promise();
+    Promise<V> inflightRead = reads.putIfAbsent(key, read);
+    if (inflightRead == null)
+      return read;
+
+    AtomicBoolean released = new AtomicBoolean();
+    long timerId = timeoutMs > 0 ? Core.vertx.setTimer(timeoutMs, tId -> {
+      if (released.compareAndSet(false, true)) {
+        //Do not let further readers join the stuck read
+        reads.remove(key, inflightRead);
+        waiter.handle(null);
+      }
+    }) : -1;
+    inflightRead.future().onComplete(ar -> {
+      if (released.compareAndSet(false, true)) {
+        if (timerId != -1)
+          Core.vertx.cancelTimer(timerId);
+        waiter.handle(ar.succeeded() ? ar.result() : null);
+      }
+    });
+    return null;
+  }
+
+  /**
+   * Completes the in-flight read and thereby releases all callers which are waiting for it.
+   *
+   * @param key the key of the value
+   * @param read the read as it was returned by {@link #join(String, long, Handler)}
+   * @param value the value or null if the value can not be shared
+   */
+  public void complete(String key, Promise<V> read, V value) {
+    //Remove the read first, so that new callers are not joining it anymore
+    reads.remove(key, read);
+    read.tryComplete(value);
+  }
+
+  /**
+   * @return The number of reads which are currently in flight
+   */
+  public int size() {
+    return reads.size();
+  }
+}
@@ -27,6 +27,8 @@ import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A queue with limits on the number of elements and their size.
+ * Elements are taken and discarded in FIFO order. Sub-classes may change the scheduling by overriding {@link #offer(ByteSizeAware)},
+ * {@link #poll()} and {@link #evict()}.
  */
 public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
 
@@ -37,6 +39,7 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
 
   private final ConcurrentLinkedQueue<E> _queue = new ConcurrentLinkedQueue<>();
   private final LongAdder byteSize = new LongAdder();
+  private final LongAdder size = new LongAdder();
   private long maxByteSize;
   private long maxSize;
 
@@ -53,9 +56,10 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
 
     // Add the element and update the size
     byteSize.add(element.getByteSize());
+    size.increment();
     // Note: When a context switch happens exactly at this point, then we have a disconnection between the
     //       added element and the byte size!
-    _queue.add(element);
+    offer(element);
 
     return discard();
   }
@@ -66,9 +70,13 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
    * @return The head of the queue or null if the queue is empty
    */
   public E remove() {
-    E removed = _queue.poll();
+    return removed(poll());
+  }
+
+  private E removed(E removed) {
     if (removed != null) {
       byteSize.add(-removed.getByteSize());
+      size.decrement();
     }
     return removed;
   }
@@ -76,17 +84,43 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
   private List<E> discard() {
     List<E> discardedElements = new ArrayList<>();
 
-    // Check if older elements need to be discarded to make space for the new one.
-    while (byteSize.longValue() > maxByteSize || _queue.size() > maxSize) {
-      E discarded = remove();
-      if (discarded != null) {
-        discardedElements.add(discarded);
+    // Check if elements need to be discarded to make space for the new one.
+    while (byteSize.longValue() > maxByteSize || size.longValue() > maxSize) {
+      E discarded = removed(evict());
+      if (discarded == null) {
+        break;
       }
+      discardedElements.add(discarded);
     }
 
     return discardedElements;
   }
 
+  /**
+   * Adds the element to the underlying data structure.
+   */
+  protected void offer(E element) {
+    _queue.add(element);
+  }
+
+  /**
+   * Removes the element which should be processed next from the underlying data structure.
+   *
+   * @return The next element or null if the queue is empty
+   */
+  protected E poll() {
+    return _queue.poll();
+  }
+
+  /**
+   * Removes the element which should be discarded next (to comply with the limits) from the underlying data structure.
+   *
+   * @return The element to be discarded or null if the queue is empty
+   */
+  protected E evict() {
+    return _queue.poll();
+  }
+
   public List<E> setMaxByteSize(long byteSize) {
     if (byteSize < 0) {
       throw new IllegalArgumentException("The maximum byte size of a queue can not be negative.");
@@ -112,7 +146,7 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
   }
 
   public long getSize() {
-    return _queue.size();
+    return size.longValue();
   }
 
   /**
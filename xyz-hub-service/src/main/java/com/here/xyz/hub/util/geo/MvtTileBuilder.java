@@ -20,8 +20,10 @@
 package com.here.xyz.hub.util.geo;
 
 
-import static com.here.xyz.util.geo.GeoTools.WEB_MERCATOR_EPSG;
-import static com.here.xyz.util.geo.GeoTools.WGS84_EPSG;
+import static com.here.xyz.models.geojson.WebMercatorTile.EarthRadius;
+import static com.here.xyz.models.geojson.WebMercatorTile.MaxLatitude;
+import static com.here.xyz.models.geojson.WebMercatorTile.MinLatitude;
+import static com.here.xyz.models.geojson.WebMercatorTile.clip;
 
 import com.here.xyz.models.geojson.WebMercatorTile;
 import com.here.xyz.models.geojson.implementation.Feature;
@@ -37,10 +39,14 @@ import com.wdtinc.mapbox_vector_tile.build.MvtLayerBuild;
 import com.wdtinc.mapbox_vector_tile.build.MvtLayerParams;
 import com.wdtinc.mapbox_vector_tile.build.MvtLayerProps;
 import java.util.List;
-import org.geotools.api.geometry.MismatchedDimensionException;
-import org.geotools.api.referencing.operation.MathTransform;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 import org.geotools.api.referencing.operation.TransformException;
-import org.geotools.geometry.jts.JTS;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.PrecisionModel;
@@ -50,9 +56,45 @@ import org.locationtech.jts.geom.PrecisionModel;
  */
 public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFilter {
 
+  /**
+   * Projects WGS'84 coordinates in place to spherical (web) mercator coordinates using the closed-form formula of EPSG:3857.
+   * Latitudes are clamped to the bounds of the web mercator world, as the projection of the poles is infinite.
+   */
+  private static final CoordinateSequenceFilter WEB_MERCATOR_PROJECTION = new CoordinateSequenceFilter() {
+    @Override
+    public void filter(CoordinateSequence sequence, int i) {
+      final double longitude = sequence.getX(i);
+      final double latitude = clip(sequence.getY(i), MinLatitude, MaxLatitude);
+      sequence.setOrdinate(i, CoordinateSequence.X, EarthRadius * Math.toRadians(longitude));
+      sequence.setOrdinate(i, CoordinateSequence.Y, EarthRadius * Math.log(Math.tan(Math.PI / 4 + Math.toRadians(latitude) / 2)));
+    }
+
+    @Override
+    public boolean isDone() {
+      return false;
+    }
+
+    @Override
+    public boolean isGeometryChanged() {
+      return true;
+    }
+  };
+
+  /**
+   * The pool in which large tiles are encoded in parallel. It's separate from the common pool, so the tile encoding neither gets
+   * delayed by nor delays other tasks which are running in the common pool.
+   */
+  private static final ForkJoinPool ENCODING_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("mvt-encoding-" + thread.getPoolIndex());
+    return thread;
+  }, null, false);
+
   private Feature feature;
   protected MvtLayerProps layerProps;
   protected VectorTile.Tile.Feature.Builder featureBuilder;
+  private boolean validateGeometries = true;
+  private int parallelEncodingThreshold;
 
   /**
    * Create a new empty tile creator.
@@ -60,12 +102,28 @@ public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFil
   public MvtTileBuilder() {
   }
 
+  /**
+   * @param validateGeometries Whether (multi-)polygons should be validated (and repaired if necessary) before being encoded.
+   *  Validation may only be skipped if it's known that the geometries are valid already, e.g., because they got validated at write time.
+   */
+  public MvtTileBuilder withGeometryValidation(boolean validateGeometries) {
+    this.validateGeometries = validateGeometries;
+    return this;
+  }
+
+  /**
+   * @param parallelEncodingThreshold The minimum number of features, starting from which the geometries of a tile are projected and
+   *  clipped in parallel. A value <= 0 deactivates the parallel encoding.
+   */
+  public MvtTileBuilder withParallelEncodingThreshold(int parallelEncodingThreshold) {
+    this.parallelEncodingThreshold = parallelEncodingThreshold;
+    return this;
+  }
+
   /**
    * Create a new tile with only one layer that contains the given features.
    */
   public byte[] build(WebMercatorTile wmTile, int margin, String layerName, List<Feature> featureList) throws Exception {
-
-    final MathTransform mathTransform = GeoTools.mathTransform(WGS84_EPSG, WEB_MERCATOR_EPSG);
     final GeometryFactory geomFactory = new GeometryFactory(new PrecisionModel());
 
     Envelope tileEnvelope = new Envelope(wmTile.left, wmTile.right, wmTile.bottom, wmTile.top);
@@ -80,41 +138,29 @@ public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFil
 
     // Add all features with their geometry and properties.
     if (featureList != null) {
-      for (int f = 0; f < featureList.size(); f++) {
-        final Feature feature = featureList.get(f);
-        if (feature == null) {
-          continue;
-        }
-
-        final Geometry featureGeometry = feature.getGeometry();
-        if (featureGeometry == null) {
-          continue;
-        }
-        final org.locationtech.jts.geom.Geometry wgs84Geometry = featureGeometry.getJTSGeometry();
-        if (wgs84Geometry == null) {
-          continue;
-        }
-
-        org.locationtech.jts.geom.Geometry targetGeometry;
+      // Project & clip the geometries (optionally in parallel), the properties have to be added sequentially, as they share the layer props.
+      final TileGeomResult[] tileGeoms = new TileGeomResult[featureList.size()];
+      final AtomicReference<Exception> transformException = new AtomicReference<>();
+      final IntConsumer encoder = f -> {
         try {
-          targetGeometry = JTS.transform(wgs84Geometry, mathTransform);
-        } catch (MismatchedDimensionException | TransformException e) {
-          onTransformException(e);
-          continue;
+          tileGeoms[f] = createTileGeom(featureList.get(f), tileEnvelope, clipEnvelope, geomFactory, layerParams);
         }
+        catch (Exception e) {
+          transformException.compareAndSet(null, e);
+        }
+      };
+      if (parallelEncodingThreshold > 0 && featureList.size() >= parallelEncodingThreshold)
+        ENCODING_POOL.submit(() -> IntStream.range(0, featureList.size()).parallel().forEach(encoder)).get();
+      else
+        IntStream.range(0, featureList.size()).forEach(encoder);
+      if (transformException.get() != null)
+        throw transformException.get();
 
-        try {
-          targetGeometry = GeoTools.validate(targetGeometry);
-          if (targetGeometry == null) {
-            continue;
-          }
-        } catch (Exception e) {
+      for (int f = 0; f < tileGeoms.length; f++) {
+        if (tileGeoms[f] == null) {
           continue;
         }
-
-        final TileGeomResult tileGeom = JtsAdapter
-            .createTileGeom(JtsAdapter.flatFeatureList(targetGeometry), tileEnvelope, clipEnvelope, geomFactory, layerParams, this);
-        final List<Tile.Feature> features = JtsAdapter.toFeatures(tileGeom.mvtGeoms, layerProperties, process(feature));
+        final List<Tile.Feature> features = JtsAdapter.toFeatures(tileGeoms[f].mvtGeoms, layerProperties, process(featureList.get(f)));
         for (int j = 0; j < features.size(); j++) {
           layerBuilder.addFeatures(features.get(j));
         }
@@ -128,6 +174,62 @@ public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFil
     return tile.toByteArray();
   }
 
+  /**
+   * Projects the geometry of the feature and clips it to the tile.
+   *
+   * @return The geometry in tile coordinates or null, if the feature should be skipped
+   */
+  private TileGeomResult createTileGeom(Feature feature, Envelope tileEnvelope, Envelope clipEnvelope, GeometryFactory geomFactory,
+      MvtLayerParams layerParams) throws Exception {
+    if (feature == null) {
+      return null;
+    }
+
+    final Geometry featureGeometry = feature.getGeometry();
+    if (featureGeometry == null) {
+      return null;
+    }
+    final org.locationtech.jts.geom.Geometry wgs84Geometry = featureGeometry.getJTSGeometry();
+    if (wgs84Geometry == null) {
+      return null;
+    }
+
+    org.locationtech.jts.geom.Geometry targetGeometry;
+    try {
+      targetGeometry = toWebMercator(wgs84Geometry);
+    } catch (TransformException e) {
+      onTransformException(e);
+      return null;
+    }
+
+    if (validateGeometries) {
+      try {
+        targetGeometry = GeoTools.validate(targetGeometry);
+        if (targetGeometry == null) {
+          return null;
+        }
+      } catch (Exception e) {
+        return null;
+      }
+    }
+
+    return JtsAdapter.createTileGeom(JtsAdapter.flatFeatureList(targetGeometry), tileEnvelope, clipEnvelope, geomFactory, layerParams, this);
+  }
+
+  /**
+   * Projects a WGS'84 geometry to web mercator.
+   * The geometry of the feature is cached by its model, so the projection is applied to a copy of it.
+   */
+  static org.locationtech.jts.geom.Geometry toWebMercator(org.locationtech.jts.geom.Geometry wgs84Geometry) throws TransformException {
+    final org.locationtech.jts.geom.Geometry targetGeometry = wgs84Geometry.copy();
+    targetGeometry.apply(WEB_MERCATOR_PROJECTION);
+    final Envelope envelope = targetGeometry.getEnvelopeInternal();
+    if (!Double.isFinite(envelope.getMinY()) || !Double.isFinite(envelope.getMaxY()) || !Double.isFinite(envelope.getMinX())
+        || !Double.isFinite(envelope.getMaxX())) {
+      throw new TransformException("The geometry can not be projected to web mercator: " + wgs84Geometry);
+    }
+    return targetGeometry;
+  }
 
   private MvtTileBuilder process(final Feature feature) {
     this.feature = feature;
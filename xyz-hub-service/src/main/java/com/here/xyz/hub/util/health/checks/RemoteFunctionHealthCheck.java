@@ -173,9 +173,12 @@ public class RemoteFunctionHealthCheck extends ExecutableCheck {
       rfcData.put("queueSize", rfc.getQueueSize());
       rfcData.put("maxQueueByteSize", rfc.getMaxQueueByteSize());
       rfcData.put("queueByteSize", rfc.getQueueByteSize());
+      rfcData.put("queueSizeByRequester", rfc.getQueueSizeByRequester());
       rfcData.put("minConnections", rfc.getMinConnections());
       rfcData.put("maxConnections", rfc.getMaxConnections());
       rfcData.put("weightedMaxConnections", rfc.getWeightedMaxConnections());
+      rfcData.put("adaptiveConcurrencyLimit", rfc.getAdaptiveConcurrencyLimit());
+      rfcData.put("adaptiveConcurrencyLongRtt", rfc.getAdaptiveConcurrencyLongRtt());
       rfcData.put("usedConnections", rfc.getUsedConnections());
       rfcData.put("rateOfService", rfc.getRateOfService());
       rfcData.put("arrivalRate", rfc.getArrivalRate());
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.metrics;
+
+import static com.here.xyz.hub.util.metrics.base.Metric.MetricUnit.PERCENT;
+
+import com.here.xyz.hub.connectors.EmbeddedFunctionClient;
+import com.here.xyz.hub.connectors.RemoteFunctionClient;
+import com.here.xyz.hub.util.metrics.base.BareValuesMetric;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * The percentage of embedded connector invocations since the last gathering which could re-use a pooled connector instance.
+ */
+public class EmbeddedConnectorPoolHitRatio extends BareValuesMetric {
+
+  private long lastHits;
+  private long lastMisses;
+
+  public EmbeddedConnectorPoolHitRatio(String metricName) {
+    super(metricName, PERCENT);
+  }
+
+  @Override
+  protected synchronized Collection<Double> gatherValues() {
+    long hits = 0, misses = 0;
+    for (RemoteFunctionClient client : RemoteFunctionClient.getInstances())
+      if (client instanceof EmbeddedFunctionClient embeddedClient) {
+        hits += embeddedClient.getInstancePoolHits();
+        misses += embeddedClient.getInstancePoolMisses();
+      }
+
+    //NOTE: The counters of a client get reset when its configuration changes, so the deltas are bounded to be positive
+    long newHits = Math.max(0, hits - lastHits), newMisses = Math.max(0, misses - lastMisses);
+    lastHits = hits;
+    lastMisses = misses;
+    if (newHits + newMisses == 0)
+      return Collections.emptyList();
+    return Collections.singleton((double) newHits / (newHits + newMisses) * 100d);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.metrics;
+
+import static com.here.xyz.hub.util.metrics.base.Metric.MetricUnit.COUNT;
+
+import com.here.xyz.hub.cache.OffHeapCacheClient;
+import com.here.xyz.hub.util.metrics.base.BareValuesMetric;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * The number of values which have been evicted from the off-heap cache (or not been admitted to it) since the last gathering
+ * because of its size limit.
+ */
+public class OffHeapCacheEvictions extends BareValuesMetric {
+
+  private final OffHeapCacheClient cacheClient;
+  private long lastEvictions;
+
+  public OffHeapCacheEvictions(String metricName, OffHeapCacheClient cacheClient) {
+    super(metricName, COUNT);
+    this.cacheClient = cacheClient;
+  }
+
+  @Override
+  protected synchronized Collection<Double> gatherValues() {
+    long evictions = cacheClient.getEvictions();
+    long newEvictions = evictions - lastEvictions;
+    lastEvictions = evictions;
+    return Collections.singleton((double) newEvictions);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.hub.cache.CacheClient.CacheEntry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class CacheRevalidatorTest {
+
+  @Test
+  public void entriesWithinTheStaleWindowAreStale() {
+    assertTrue(CacheRevalidator.isStale(new CacheEntry(new byte[0], 5), 10_000));
+    assertFalse(CacheRevalidator.isStale(new CacheEntry(new byte[0], 20), 10_000));
+    assertFalse(CacheRevalidator.isStale(new CacheEntry(new byte[0], 5), 0));
+    assertFalse(CacheRevalidator.isStale(new CacheEntry(new byte[0], CacheEntry.UNKNOWN_TTL), 10_000));
+  }
+
+  @Test
+  public void staleEntryIsServedWhileRefreshing() {
+    CacheRevalidator<String> revalidator = new CacheRevalidator<>();
+    List<String> stored = new CopyOnWriteArrayList<>();
+    Promise<String> refresh = Promise.promise();
+
+    //The refresh is only started, so the caller can go on serving the stale entry
+    assertTrue(revalidator.revalidate("key", refresh::future, stored::add));
+    assertTrue(revalidator.isRevalidating("key"));
+    assertTrue(stored.isEmpty());
+
+    refresh.complete("fresh");
+    assertEquals(List.of("fresh"), stored);
+    assertFalse(revalidator.isRevalidating("key"));
+  }
+
+  @Test
+  public void onlyOneRevalidationPerKey() {
+    CacheRevalidator<String> revalidator = new CacheRevalidator<>();
+    List<String> stored = new CopyOnWriteArrayList<>();
+    AtomicInteger refreshes = new AtomicInteger();
+    Promise<String> refresh = Promise.promise();
+
+    assertTrue(revalidator.revalidate("key", () -> {
+      refreshes.incrementAndGet();
+      return refresh.future();
+    }, stored::add));
+    for (int i = 0; i < 10; i++)
+      assertFalse(revalidator.revalidate("key", () -> {
+        refreshes.incrementAndGet();
+        return Future.succeededFuture("unexpected");
+      }, stored::add));
+    assertEquals(1, refreshes.get());
+
+    //Other keys are refreshed independently
+    assertTrue(revalidator.revalidate("otherKey", () -> Future.succeededFuture("other"), stored::add));
+    assertEquals(List.of("other"), stored);
+
+    refresh.complete("fresh");
+    assertEquals(List.of("other", "fresh"), stored);
+    //Once the refresh completed, the entry can be refreshed again
+    assertTrue(revalidator.revalidate("key", () -> Future.succeededFuture("fresher"), stored::add));
+    assertEquals(List.of("other", "fresh", "fresher"), stored);
+  }
+
+  @Test
+  public void onlyOneConcurrentRevalidationPerKey() throws InterruptedException {
+    CacheRevalidator<String> revalidator = new CacheRevalidator<>();
+    AtomicInteger refreshes = new AtomicInteger();
+    Promise<String> refresh = Promise.promise();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int i = 0; i < 8; i++)
+        executor.execute(() -> {
+          try {
+            start.await();
+          }
+          catch (InterruptedException e) {
+            return;
+          }
+          for (int j = 0; j < 100; j++)
+            revalidator.revalidate("key", () -> {
+              refreshes.incrementAndGet();
+              return refresh.future();
+            }, v -> {});
+        });
+      start.countDown();
+    }
+    finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+    assertEquals(1, refreshes.get());
+  }
+
+  @Test
+  public void failedRevalidationKeepsTheStaleEntry() {
+    CacheRevalidator<String> revalidator = new CacheRevalidator<>();
+    List<String> stored = new CopyOnWriteArrayList<>();
+    Promise<String> refresh = Promise.promise();
+
+    revalidator.revalidate("key", refresh::future, stored::add);
+    refresh.fail(new RuntimeException("Connector error"));
+    assertTrue(stored.isEmpty());
+    assertFalse(revalidator.isRevalidating("key"));
+
+    //The next read of the stale entry triggers a new refresh
+    assertTrue(revalidator.revalidate("key", () -> Future.succeededFuture("fresh"), stored::add));
+    assertEquals(List.of("fresh"), stored);
+  }
+
+  @Test
+  public void revalidationWhichCanNotBeStarted() {
+    CacheRevalidator<String> revalidator = new CacheRevalidator<>();
+    List<String> stored = new CopyOnWriteArrayList<>();
+
+    assertTrue(revalidator.revalidate("key", () -> {
+      throw new IllegalStateException("No connector");
+    }, stored::add));
+    assertFalse(revalidator.isRevalidating("key"));
+
+    //A refresh without a value which could be cached
+    assertTrue(revalidator.revalidate("key", () -> Future.succeededFuture(null), stored::add));
+    assertFalse(revalidator.isRevalidating("key"));
+    assertTrue(stored.isEmpty());
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.Payload;
+import com.here.xyz.responses.BinaryResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class CachedResponseTest {
+
+  private static final byte[] BYTES = "a".repeat(10_000).getBytes(UTF_8);
+
+  @Test
+  public void uncompressedBody() throws IOException {
+    CachedResponse cachedResponse = CachedResponse.decode(CachedResponse.encode(binaryResponse(BYTES), 0));
+
+    assertFalse(cachedResponse.isCompressed());
+    assertEquals(BYTES.length, cachedResponse.getDecompressedLength());
+    assertArrayEquals(BYTES, cachedResponse.getBody());
+  }
+
+  @Test
+  public void bodyCompressedOnEncoding() throws IOException {
+    CachedResponse cachedResponse = CachedResponse.decode(CachedResponse.encode(binaryResponse(BYTES), 1_000));
+
+    assertTrue(cachedResponse.isCompressed());
+    assertTrue(cachedResponse.getBody().length < BYTES.length);
+    assertEquals(BYTES.length, cachedResponse.getDecompressedLength());
+    assertArrayEquals(BYTES, cachedResponse.getDecompressedBody());
+  }
+
+  @Test
+  public void bodyCompressedAlready() throws IOException {
+    byte[] compressedBytes = Payload.compress(BYTES);
+    CachedResponse cachedResponse = CachedResponse.decode(CachedResponse.encode(binaryResponse(compressedBytes), 0));
+
+    assertTrue(cachedResponse.isCompressed());
+    assertArrayEquals(compressedBytes, cachedResponse.getBody());
+    //The length must be the one of the decompressed body, not the one of the compressed body
+    assertEquals(BYTES.length, cachedResponse.getDecompressedLength());
+  }
+
+  @Test
+  public void legacyValueWithCompressedBody() throws IOException {
+    byte[] binaryResponse = binaryResponse(Payload.compress(BYTES)).toByteArray();
+    byte[] legacyValue = new byte[binaryResponse.length + 1];
+    legacyValue[0] = 2;
+    System.arraycopy(binaryResponse, 0, legacyValue, 1, binaryResponse.length);
+    CachedResponse cachedResponse = CachedResponse.decode(legacyValue);
+
+    assertTrue(cachedResponse.isCompressed());
+    //Legacy values don't contain the length, so it gets calculated
+    assertEquals(BYTES.length, cachedResponse.getDecompressedLength());
+  }
+
+  @Test
+  public void corruptCompressedBody() {
+    byte[] compressedBytes = Payload.compress(BYTES);
+    byte[] corruptBytes = Arrays.copyOf(compressedBytes, compressedBytes.length / 2);
+    CachedResponse cachedResponse = CachedResponse.decode(CachedResponse.encode(binaryResponse(corruptBytes), 0));
+
+    assertTrue(cachedResponse.isCompressed());
+    assertThrows(IOException.class, cachedResponse::getDecompressedLength);
+  }
+
+  private static BinaryResponse binaryResponse(byte[] bytes) {
+    return new BinaryResponse().withMimeType("application/octet-stream").withBytes(bytes).withEtag("etag");
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class FrequencySketchTest {
+
+  @Test
+  public void countsAccesses() {
+    FrequencySketch sketch = new FrequencySketch(1_000);
+    assertEquals(0, sketch.frequency("a".hashCode()));
+    for (int i = 0; i < 5; i++)
+      sketch.increment("a".hashCode());
+    sketch.increment("b".hashCode());
+
+    assertEquals(5, sketch.frequency("a".hashCode()));
+    assertEquals(1, sketch.frequency("b".hashCode()));
+    assertEquals(0, sketch.frequency("c".hashCode()));
+  }
+
+  @Test
+  public void neverUnderestimates() {
+    FrequencySketch sketch = new FrequencySketch(1_000);
+    for (int key = 0; key < 500; key++)
+      for (int i = 0; i < key % 8; i++)
+        sketch.increment(key);
+    for (int key = 0; key < 500; key++)
+      assertTrue(sketch.frequency(key) >= key % 8);
+  }
+
+  @Test
+  public void isCappedAtTheMaximumFrequency() {
+    FrequencySketch sketch = new FrequencySketch(1_000);
+    for (int i = 0; i < 100; i++)
+      sketch.increment(42);
+    assertEquals(15, sketch.frequency(42));
+  }
+
+  @Test
+  public void frequenciesAge() {
+    //The sketch has a width of 128 counters and gets reset after 1280 additions
+    FrequencySketch sketch = new FrequencySketch(1);
+    for (int i = 0; i < 15; i++)
+      sketch.increment(42);
+    int additions = 0;
+    while (sketch.frequency(42) == 15 && additions < 10_000)
+      sketch.increment(1_000 + additions++);
+
+    assertEquals(7, sketch.frequency(42));
+    assertTrue(additions <= 1280 - 15);
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.hub.cache.CacheClient.CacheEntry;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapCacheClientTest {
+
+  private static final int BLOCK_SIZE = 1024;
+  /**
+   * A cache with only one segment of 200 blocks: The window holds 2 blocks, the main area 198 blocks.
+   */
+  private static final long CAPACITY = 200 * BLOCK_SIZE;
+  /**
+   * A value of that size does not fit into the window, so it has to pass the admission directly. The main area can hold 4 of them.
+   */
+  private static final int LARGE_VALUE_SIZE = 40 * BLOCK_SIZE;
+
+  @Test
+  public void setAndGet() {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    byte[] value = value(3 * BLOCK_SIZE + 17, 1);
+    cache.set("key", value, 100);
+
+    CacheEntry entry = cache.getEntry("key").result();
+    assertArrayEquals(value, entry.value());
+    assertTrue(entry.ttl() > 98 && entry.ttl() <= 100);
+    assertArrayEquals(value, cache.get("key").result());
+    assertNull(cache.get("otherKey").result());
+    assertEquals(2, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void overwriteAndRemove() {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    cache.set("key", value(10 * BLOCK_SIZE, 1), 100);
+    cache.set("key", value(BLOCK_SIZE, 2), 100);
+    assertArrayEquals(value(BLOCK_SIZE, 2), cache.get("key").result());
+    assertEquals(BLOCK_SIZE, cache.getUsedBytes());
+
+    cache.remove("key");
+    assertNull(cache.get("key").result());
+    assertEquals(0, cache.getUsedBytes());
+  }
+
+  @Test
+  public void expiredValuesAreNotServed() throws InterruptedException {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    cache.set("key", value(BLOCK_SIZE, 1), 1);
+    cache.set("noTtl", value(BLOCK_SIZE, 1), 0);
+    assertNotNull(cache.get("key").result());
+    assertNull(cache.get("noTtl").result());
+
+    Thread.sleep(1_100);
+    assertNull(cache.get("key").result());
+    assertEquals(0, cache.getUsedBytes());
+  }
+
+  @Test
+  public void expiredValuesAreEvictedFirst() throws InterruptedException {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    for (int i = 0; i < 4; i++) {
+      cache.set("expiring" + i, value(LARGE_VALUE_SIZE, i), 1);
+      access(cache, "expiring" + i, 10);
+    }
+    Thread.sleep(1_100);
+
+    //The new value is less frequent than the expired ones, but gets admitted anyways
+    cache.set("new", value(LARGE_VALUE_SIZE, 5), 100);
+    assertArrayEquals(value(LARGE_VALUE_SIZE, 5), cache.get("new").result());
+    assertEquals(0, cache.getEvictions());
+  }
+
+  @Test
+  public void infrequentValuesAreNotAdmitted() {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    for (int i = 0; i < 4; i++) {
+      cache.set("frequent" + i, value(LARGE_VALUE_SIZE, i), 100);
+      access(cache, "frequent" + i, 5);
+    }
+
+    //A scan of values, which are accessed only once, must not push out the frequently accessed values
+    for (int i = 0; i < 20; i++)
+      cache.set("scan" + i, value(LARGE_VALUE_SIZE, i), 100);
+    for (int i = 0; i < 20; i++)
+      assertNull(cache.get("scan" + i).result());
+    for (int i = 0; i < 4; i++)
+      assertArrayEquals(value(LARGE_VALUE_SIZE, i), cache.get("frequent" + i).result());
+    assertEquals(20, cache.getEvictions());
+  }
+
+  @Test
+  public void moreFrequentValuesEvictTheLeastRecentlyUsedOne() {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    for (int i = 0; i < 4; i++) {
+      cache.set("frequent" + i, value(LARGE_VALUE_SIZE, i), 100);
+      access(cache, "frequent" + i, 5);
+    }
+    //Make frequent0 the most recently used value
+    access(cache, "frequent0", 1);
+
+    //A value which is requested more often than the cached ones gets admitted once it is set again
+    cache.set("popular", value(LARGE_VALUE_SIZE, 10), 100);
+    access(cache, "popular", 10);
+    cache.set("popular", value(LARGE_VALUE_SIZE, 10), 100);
+
+    assertArrayEquals(value(LARGE_VALUE_SIZE, 10), cache.get("popular").result());
+    assertNull(cache.get("frequent1").result());
+    assertNotNull(cache.get("frequent0").result());
+    assertNotNull(cache.get("frequent2").result());
+    assertNotNull(cache.get("frequent3").result());
+  }
+
+  @Test
+  public void windowValuesAreAdmittedByFrequency() {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    //Fill the window & the main area with small values
+    for (int i = 0; i < 200; i++)
+      cache.set("value" + i, value(BLOCK_SIZE, i), 100);
+    assertEquals(CAPACITY, cache.getUsedBytes());
+
+    cache.set("popular", value(BLOCK_SIZE, 1), 100);
+    access(cache, "popular", 14);
+    //Push the popular value out of the window
+    cache.set("other1", value(BLOCK_SIZE, 2), 100);
+    cache.set("other2", value(BLOCK_SIZE, 3), 100);
+
+    assertArrayEquals(value(BLOCK_SIZE, 1), cache.get("popular").result());
+    assertEquals(CAPACITY, cache.getUsedBytes());
+  }
+
+  @Test
+  public void tooLargeValuesAreNotCached() {
+    OffHeapCacheClient cache = new OffHeapCacheClient(CAPACITY, 1);
+    cache.set("tooLarge", value(199 * BLOCK_SIZE, 1), 100);
+    assertNull(cache.get("tooLarge").result());
+    assertEquals(0, cache.getUsedBytes());
+    assertEquals(1, cache.getEvictions());
+  }
+
+  @Test
+  public void staysWithinTheMemoryBounds() {
+    OffHeapCacheClient cache = new OffHeapCacheClient(16 * CAPACITY);
+    Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      String key = "key" + random.nextInt(2_000);
+      if (random.nextInt(4) == 0)
+        cache.get(key);
+      else
+        cache.set(key, value(1 + random.nextInt(5 * BLOCK_SIZE), key.hashCode()), 100);
+      assertTrue(cache.getUsedBytes() <= 16 * CAPACITY);
+    }
+
+    //All values which are still cached must be served unchanged
+    int cached = 0;
+    long cachedBlocks = 0;
+    for (int i = 0; i < 2_000; i++) {
+      byte[] value = cache.get("key" + i).result();
+      if (value != null) {
+        cached++;
+        cachedBlocks += (value.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        assertArrayEquals(value(value.length, ("key" + i).hashCode()), value);
+      }
+    }
+    assertTrue(cached > 0);
+    assertEquals(cachedBlocks * BLOCK_SIZE, cache.getUsedBytes());
+    assertTrue(cache.getEvictions() > 0);
+  }
+
+  private static void access(OffHeapCacheClient cache, String key, int times) {
+    for (int i = 0; i < times; i++)
+      cache.get(key);
+  }
+
+  private static byte[] value(int size, int seed) {
+    byte[] value = new byte[size];
+    new Random(seed).nextBytes(value);
+    return value;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static com.here.xyz.events.GetFeaturesByTileEvent.ResponseType.MVT;
+import static com.here.xyz.events.GetFeaturesByTileEvent.ResponseType.MVT_FLATTENED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.here.xyz.events.GetFeaturesByTileEvent;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PreGeneratedTilesTest {
+
+  @Test
+  public void mercatorTileKey() {
+    assertEquals("preGeneratedTiles/mySpace/MERCATOR_QUAD/4/1202.geojson", PreGeneratedTiles.s3Key(tileRequest("1202")));
+    assertEquals("preGeneratedTiles/mySpace/MERCATOR_QUAD/4/1202.mvtf.b64",
+        PreGeneratedTiles.s3Key(tileRequest("1202").withResponseType(MVT_FLATTENED).withClip(true)));
+  }
+
+  @Test
+  public void hereTileKey() {
+    assertEquals("preGeneratedTiles/mySpace/HERE_QUAD/4/" + Long.parseLong("11202", 4) + ".mvt.b64",
+        PreGeneratedTiles.s3Key(tileRequest("1202").withHereTileFlag(true).withResponseType(MVT).withClip(true)));
+  }
+
+  @Test
+  public void onlyPlainTileRequests() {
+    assertNull(PreGeneratedTiles.s3Key(tileRequest("1202").withMargin(8)));
+    assertNull(PreGeneratedTiles.s3Key(tileRequest("1202").withLimit(100)));
+    assertNull(PreGeneratedTiles.s3Key(tileRequest("1202").withClip(true)));
+    assertNull(PreGeneratedTiles.s3Key(tileRequest("1202").withSelection(List.of("p.name"))));
+    assertNull(PreGeneratedTiles.s3Key(tileRequest("1202").withResponseType(MVT).withClip(false)));
+  }
+
+  private static GetFeaturesByTileEvent tileRequest(String quadkey) {
+    return new GetFeaturesByTileEvent()
+        .withQuadkey(quadkey)
+        .withLevel(quadkey.length())
+        .withLimit(30_000)
+        .withSpace("mySpace");
+  }
+}
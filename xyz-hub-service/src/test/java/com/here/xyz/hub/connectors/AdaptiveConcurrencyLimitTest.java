@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+import static com.here.xyz.hub.connectors.AdaptiveConcurrencyLimit.CallClass.READ;
+import static com.here.xyz.hub.connectors.AdaptiveConcurrencyLimit.CallClass.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.hub.connectors.AdaptiveConcurrencyLimit.CallClass;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimitTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  public void startsAtTheUpperBound() {
+    assertEquals(100, new AdaptiveConcurrencyLimit(10, 100).getLimit());
+  }
+
+  @Test
+  public void keepsTheLimitWhileTheRttIsStable() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 100);
+    sample(limit, READ, FAST, 1000);
+    assertEquals(100, limit.getLimit());
+    assertEquals(10, limit.getLongRtt(READ), 0.001);
+    assertEquals(10, limit.getShortRtt(READ), 0.001);
+  }
+
+  @Test
+  public void decreasesOnceTheRttIncreases() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    sample(limit, READ, FAST, 1000);
+    sample(limit, READ, SLOW, 20);
+    assertTrue(limit.getLimit() < 50, "The limit should have been reduced, but was " + limit.getLimit());
+    assertTrue(limit.getShortRtt(READ) > limit.getLongRtt(READ));
+  }
+
+  @Test
+  public void increasesOnceTheRttRecovers() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    sample(limit, READ, FAST, 1000);
+    sample(limit, READ, SLOW, 50);
+    int reducedLimit = limit.getLimit();
+
+    sample(limit, READ, FAST, 50);
+    assertTrue(limit.getLimit() > reducedLimit, "The limit should have been increased, but was " + limit.getLimit());
+    sample(limit, READ, FAST, 1000);
+    assertEquals(100, limit.getLimit());
+  }
+
+  @Test
+  public void doesNotIncreaseWhileNotUtilized() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    sample(limit, READ, FAST, 1000);
+    sample(limit, READ, SLOW, 50);
+    int reducedLimit = limit.getLimit();
+
+    for (int i = 0; i < 1000; i++)
+      limit.onSample(READ, FAST, 1);
+    assertEquals(reducedLimit, limit.getLimit());
+  }
+
+  @Test
+  public void staysWithinTheBounds() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 100);
+    sample(limit, READ, FAST, 1000);
+    sample(limit, READ, SLOW * 10, 100);
+    assertEquals(20, limit.getLimit());
+
+    limit.setBounds(30, 50);
+    assertEquals(30, limit.getLimit());
+    sample(limit, READ, FAST, 10_000);
+    assertEquals(50, limit.getLimit());
+
+    limit.setBounds(60, 70);
+    assertEquals(60, limit.getLimit());
+    limit.setBounds(0, 0);
+    assertEquals(1, limit.getLimit());
+    limit.setBounds(80, 40);
+    assertEquals(80, limit.getLimit());
+  }
+
+  @Test
+  public void ignoresInvalidSamples() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    sample(limit, READ, FAST, 100);
+    sample(limit, READ, 0, 100);
+    sample(limit, READ, -1, 100);
+    assertEquals(10, limit.getShortRtt(READ), 0.001);
+    assertEquals(100, limit.getLimit());
+  }
+
+  @Test
+  public void tracksTheRttPerCallClass() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    //Mostly fast reads
+    for (int i = 0; i < 1000; i++)
+      sample(limit, i % 10 == 0 ? WRITE : READ, i % 10 == 0 ? SLOW : FAST, 1);
+    //The mix changes to mostly slow writes, but neither the reads nor the writes got slower
+    for (int i = 0; i < 1000; i++) {
+      sample(limit, i % 10 == 0 ? READ : WRITE, i % 10 == 0 ? FAST : SLOW, 1);
+      assertEquals(100, limit.getLimit());
+    }
+    assertEquals(10, limit.getLongRtt(READ), 0.001);
+    assertEquals(100, limit.getLongRtt(WRITE), 0.001);
+
+    //Only the writes get slower
+    sample(limit, WRITE, SLOW * 5, 20);
+    assertTrue(limit.getLimit() < 50, "The limit should have been reduced, but was " + limit.getLimit());
+    assertEquals(10, limit.getShortRtt(READ), 0.001);
+  }
+
+  /**
+   * Takes the specified number of samples into account while the limit is fully utilized.
+   */
+  private static void sample(AdaptiveConcurrencyLimit limit, CallClass callClass, long rttNanos, int count) {
+    for (int i = 0; i < count; i++)
+      limit.onSample(callClass, rttNanos, limit.getLimit());
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.Typed;
+import com.here.xyz.connectors.AbstractConnectorHandler;
+import com.here.xyz.events.Event;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class ConnectorInstancePoolTest {
+
+  @Test
+  public void reuseReleasedInstance() throws Throwable {
+    ConnectorInstancePool pool = new ConnectorInstancePool(ReusableHandler.class.getName(), 2);
+    Object instance = pool.acquire();
+    pool.release(instance);
+
+    assertSame(instance, pool.acquire());
+    assertEquals(1, pool.getHits());
+    assertEquals(1, pool.getMisses());
+  }
+
+  @Test
+  public void dropNonReusableInstance() throws Throwable {
+    ConnectorInstancePool pool = new ConnectorInstancePool(NonReusableHandler.class.getName(), 2);
+    Object instance = pool.acquire();
+    pool.release(instance);
+
+    assertNotSame(instance, pool.acquire());
+    assertEquals(0, pool.getHits());
+    assertEquals(2, pool.getMisses());
+  }
+
+  @Test
+  public void dropInstancesExceedingMaxIdleInstances() throws Throwable {
+    ConnectorInstancePool pool = new ConnectorInstancePool(ReusableHandler.class.getName(), 2);
+    List<Object> instances = List.of(pool.acquire(), pool.acquire(), pool.acquire());
+    instances.forEach(pool::release);
+
+    //The most recently released instances are handed out first
+    assertSame(instances.get(1), pool.acquire());
+    assertSame(instances.get(0), pool.acquire());
+    assertFalse(instances.contains(pool.acquire()));
+    assertEquals(2, pool.getHits());
+    assertEquals(4, pool.getMisses());
+  }
+
+  @Test
+  public void dropIdleInstancesOnClose() throws Throwable {
+    ConnectorInstancePool pool = new ConnectorInstancePool(ReusableHandler.class.getName(), 2);
+    Object instance = pool.acquire();
+    pool.release(instance);
+    pool.close();
+
+    Object newInstance = pool.acquire();
+    assertNotSame(instance, newInstance);
+    pool.release(newInstance);
+    assertNotSame(newInstance, pool.acquire());
+  }
+
+  @Test
+  public void prewarmUpToMaxIdleInstances() throws Throwable {
+    ConnectorInstancePool pool = new ConnectorInstancePool(ReusableHandler.class.getName(), 2);
+    pool.prewarm(5);
+
+    pool.acquire();
+    pool.acquire();
+    pool.acquire();
+    assertEquals(2, pool.getHits());
+    assertEquals(1, pool.getMisses());
+  }
+
+  @Test
+  public void instancesAreUsedExclusively() throws Throwable {
+    ConnectorInstancePool pool = new ConnectorInstancePool(ReusableHandler.class.getName(), 4);
+    int threads = 8, iterations = 2_000;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++)
+        results.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < iterations; i++) {
+            ReusableHandler instance;
+            try {
+              instance = (ReusableHandler) pool.acquire();
+            }
+            catch (Throwable e) {
+              throw new RuntimeException(e);
+            }
+            if (!instance.inUse.compareAndSet(false, true))
+              return false;
+            Thread.yield();
+            instance.inUse.set(false);
+            pool.release(instance);
+          }
+          return true;
+        }));
+      start.countDown();
+
+      for (Future<Boolean> result : results)
+        assertTrue(result.get(30, TimeUnit.SECONDS), "An instance was acquired by two threads at the same time");
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(threads * iterations, pool.getHits() + pool.getMisses());
+    //The idle count is still consistent, so no more than the maximum number of idle instances are kept
+    List<Object> instances = new ArrayList<>();
+    for (int i = 0; i < 5; i++)
+      instances.add(pool.acquire());
+    instances.forEach(pool::release);
+    long hits = pool.getHits();
+    for (int i = 0; i < 5; i++)
+      pool.acquire();
+    assertEquals(hits + 4, pool.getHits());
+  }
+
+  public static class ReusableHandler extends AbstractConnectorHandler {
+    final AtomicBoolean inUse = new AtomicBoolean();
+
+    @Override
+    public boolean isReusable() {
+      return true;
+    }
+
+    @Override
+    protected Typed processEvent(Event event) {
+      return null;
+    }
+
+    @Override
+    protected void initialize(Event event) {}
+  }
+
+  public static class NonReusableHandler extends AbstractConnectorHandler {
+    @Override
+    protected Typed processEvent(Event event) {
+      return null;
+    }
+
+    @Override
+    protected void initialize(Event event) {}
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ChunkedResponseWriterTest {
+
+  @Test
+  public void writesTheBodyInChunks() {
+    FakeResponse response = new FakeResponse();
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, "abcdefghij", 3);
+
+    assertEquals(List.of("abc", "def", "ghi", "j"), response.chunks);
+    assertTrue(written.succeeded());
+    verify(response.mock).end();
+  }
+
+  @Test
+  public void writesSmallBodiesInOneChunk() {
+    FakeResponse response = new FakeResponse();
+    assertTrue(ChunkedResponseWriter.write(response.mock, "abc", 0).succeeded());
+    assertEquals(List.of("abc"), response.chunks);
+
+    response = new FakeResponse();
+    assertTrue(ChunkedResponseWriter.write(response.mock, "", 3).succeeded());
+    assertEquals(List.of(), response.chunks);
+    verify(response.mock).end();
+  }
+
+  @Test
+  public void writesThePartsOneAfterAnother() {
+    FakeResponse response = new FakeResponse();
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, List.of("{\"a\":", "", "[1,2,3,4]", "}"), 4);
+
+    //No chunk spans over two parts, empty parts are skipped
+    assertEquals(List.of("{\"a\"", ":", "[1,2", ",3,4", "]", "}"), response.chunks);
+    assertTrue(written.succeeded());
+    verify(response.mock).end();
+  }
+
+  @Test
+  public void pausesBetweenParts() {
+    FakeResponse response = new FakeResponse();
+    response.fullAfterWrites = 1;
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, List.of("ab", new StringBuilder("cd")), 3);
+
+    assertEquals(List.of("ab"), response.chunks);
+    assertFalse(written.isComplete());
+
+    response.fullAfterWrites = Integer.MAX_VALUE;
+    response.drain();
+    assertEquals(List.of("ab", "cd"), response.chunks);
+    assertTrue(written.succeeded());
+  }
+
+  @Test
+  public void doesNotSplitSurrogatePairs() {
+    FakeResponse response = new FakeResponse();
+    String body = "ab😀cd😀😀";
+    assertTrue(ChunkedResponseWriter.write(response.mock, body, 3).succeeded());
+
+    assertEquals(body, String.join("", response.chunks));
+    for (String chunk : response.chunks)
+      assertFalse(Character.isHighSurrogate(chunk.charAt(chunk.length() - 1)), "Chunk " + chunk + " ends with a high surrogate");
+    assertEquals(body.getBytes(UTF_8).length, response.chunks.stream().mapToInt(chunk -> chunk.getBytes(UTF_8).length).sum());
+  }
+
+  @Test
+  public void pausesWhileTheWriteQueueIsFull() {
+    FakeResponse response = new FakeResponse();
+    response.fullAfterWrites = 2;
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, "abcdefghij", 3);
+
+    assertEquals(List.of("abc", "def"), response.chunks);
+    assertFalse(written.isComplete());
+    assertNotNull(response.drainHandler);
+    verify(response.mock, never()).end();
+
+    //Drain the queue, but fill it up again after the next chunk
+    response.fullAfterWrites = 3;
+    response.drain();
+    assertEquals(List.of("abc", "def", "ghi"), response.chunks);
+    assertFalse(written.isComplete());
+
+    response.fullAfterWrites = Integer.MAX_VALUE;
+    response.drain();
+    assertEquals(List.of("abc", "def", "ghi", "j"), response.chunks);
+    assertTrue(written.succeeded());
+    assertNull(response.drainHandler);
+  }
+
+  @Test
+  public void failsOnAnErrorMidStream() {
+    FakeResponse response = new FakeResponse();
+    response.fullAfterWrites = 1;
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, "abcdefghij", 3);
+
+    RuntimeException error = new RuntimeException("Connection reset");
+    response.exceptionHandler.handle(error);
+    assertTrue(written.failed());
+    assertSame(error, written.cause());
+  }
+
+  @Test
+  public void failsIfTheConnectionGetsClosedMidStream() {
+    FakeResponse response = new FakeResponse();
+    response.fullAfterWrites = 1;
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, "abcdefghij", 3);
+
+    response.closed = true;
+    response.closeHandler.handle(null);
+    assertTrue(written.failed());
+    assertTrue(written.cause() instanceof IllegalStateException);
+
+    //A late drain must not write anything anymore
+    response.fullAfterWrites = Integer.MAX_VALUE;
+    response.drain();
+    assertEquals(List.of("abc"), response.chunks);
+    verify(response.mock, never()).end();
+  }
+
+  @Test
+  public void failsIfAWriteFails() {
+    FakeResponse response = new FakeResponse();
+    when(response.mock.write(any(Buffer.class))).thenThrow(new IllegalStateException("Response has already been written"));
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, "abcdefghij", 3);
+
+    assertTrue(written.failed());
+    assertEquals("Response has already been written", written.cause().getMessage());
+    verify(response.mock, never()).end();
+  }
+
+  @Test
+  public void failsIfTheResponseCanNotBeEnded() {
+    FakeResponse response = new FakeResponse();
+    when(response.mock.end()).thenReturn(Future.failedFuture(new IllegalStateException("Connection closed")));
+    Future<Void> written = ChunkedResponseWriter.write(response.mock, "abcdefghij", 3);
+
+    assertTrue(written.failed());
+    assertEquals("Connection closed", written.cause().getMessage());
+  }
+
+  @Test
+  public void calculatesTheUtf8Length() {
+    for (String s : List.of("", "abc", "äöü", "€", "😀", "a\uD83Dx", "\uDE00", "x\uD83D"))
+      assertEquals(s.getBytes(UTF_8).length, ChunkedResponseWriter.utf8Length(s), "Wrong length for " + s);
+  }
+
+  /**
+   * A response which records the written chunks and of which the write queue can be made full.
+   */
+  @SuppressWarnings("unchecked")
+  private static class FakeResponse {
+
+    final HttpServerResponse mock = mock(HttpServerResponse.class);
+    final List<String> chunks = new ArrayList<>();
+    int fullAfterWrites = Integer.MAX_VALUE;
+    boolean closed;
+    Handler<Void> drainHandler;
+    Handler<Throwable> exceptionHandler;
+    Handler<Void> closeHandler;
+
+    FakeResponse() {
+      when(mock.write(any(Buffer.class))).thenAnswer(invocation -> {
+        chunks.add(invocation.getArgument(0, Buffer.class).toString(UTF_8));
+        return Future.succeededFuture();
+      });
+      when(mock.writeQueueFull()).thenAnswer(invocation -> chunks.size() >= fullAfterWrites);
+      when(mock.closed()).thenAnswer(invocation -> closed);
+      when(mock.end()).thenReturn(Future.succeededFuture());
+      when(mock.drainHandler(any())).thenAnswer(invocation -> {
+        drainHandler = invocation.getArgument(0);
+        return mock;
+      });
+      when(mock.exceptionHandler(any())).thenAnswer(invocation -> {
+        exceptionHandler = invocation.getArgument(0);
+        return mock;
+      });
+      when(mock.closeHandler(any())).thenAnswer(invocation -> {
+        closeHandler = invocation.getArgument(0);
+        return mock;
+      });
+    }
+
+    void drain() {
+      if (drainHandler != null)
+        drainHandler.handle(null);
+    }
+  }
+}
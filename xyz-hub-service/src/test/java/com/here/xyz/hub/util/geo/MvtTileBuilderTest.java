@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.geo;
+
+import static com.here.xyz.util.geo.GeoTools.WEB_MERCATOR_EPSG;
+import static com.here.xyz.util.geo.GeoTools.WGS84_EPSG;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.here.xyz.models.geojson.WebMercatorTile;
+import com.here.xyz.models.geojson.coordinates.BBox;
+import com.here.xyz.models.geojson.coordinates.LineStringCoordinates;
+import com.here.xyz.models.geojson.coordinates.PointCoordinates;
+import com.here.xyz.models.geojson.coordinates.Position;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.LineString;
+import com.here.xyz.models.geojson.implementation.Point;
+import com.here.xyz.models.geojson.implementation.Properties;
+import com.here.xyz.util.geo.GeoTools;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.geometry.jts.JTS;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class MvtTileBuilderTest {
+
+  private static final GeometryFactory geometryFactory = new GeometryFactory();
+
+  @Test
+  public void projectionMatchesGeoTools() throws Exception {
+    MathTransform mathTransform = GeoTools.mathTransform(WGS84_EPSG, WEB_MERCATOR_EPSG);
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      Geometry wgs84Geometry = geometryFactory.createLineString(new Coordinate[] {
+          randomCoordinate(random), randomCoordinate(random), randomCoordinate(random)});
+      Coordinate[] expected = JTS.transform(wgs84Geometry, mathTransform).getCoordinates();
+      Coordinate[] actual = MvtTileBuilder.toWebMercator(wgs84Geometry).getCoordinates();
+      for (int c = 0; c < expected.length; c++) {
+        assertEquals(expected[c].x, actual[c].x, 1e-6);
+        assertEquals(expected[c].y, actual[c].y, 1e-6);
+      }
+    }
+  }
+
+  @Test
+  public void projectionIsClampedToTheWebMercatorBounds() throws Exception {
+    double maxY = MvtTileBuilder.toWebMercator(point(0, WebMercatorTile.MaxLatitude)).getCoordinate().y;
+    assertEquals(Math.PI * WebMercatorTile.EarthRadius, maxY, 1e-2);
+    assertEquals(maxY, MvtTileBuilder.toWebMercator(point(0, 89.9)).getCoordinate().y);
+    assertEquals(maxY, MvtTileBuilder.toWebMercator(point(0, 90)).getCoordinate().y);
+    assertEquals(-maxY, MvtTileBuilder.toWebMercator(point(0, -90)).getCoordinate().y, 1e-6);
+  }
+
+  @Test
+  public void projectionDoesNotModifyTheSourceGeometry() throws Exception {
+    Geometry wgs84Geometry = point(13.4, 52.5);
+    MvtTileBuilder.toWebMercator(wgs84Geometry);
+    assertEquals(new Coordinate(13.4, 52.5), wgs84Geometry.getCoordinate());
+  }
+
+  @Test
+  public void parallelEncodingEqualsSequentialEncoding() throws Exception {
+    WebMercatorTile tile = WebMercatorTile.forWeb(4, 8, 5);
+    List<Feature> features = randomFeatures(2000, tile);
+
+    byte[] sequential = new MapBoxVectorTileBuilder()
+        .withParallelEncodingThreshold(0)
+        .build(tile, 16, "layer", features);
+    byte[] parallel = new MapBoxVectorTileBuilder()
+        .withParallelEncodingThreshold(100)
+        .build(tile, 16, "layer", features);
+    assertArrayEquals(sequential, parallel);
+
+    byte[] sequentialFlattened = new MapBoxVectorTileFlattenedBuilder()
+        .withParallelEncodingThreshold(0)
+        .build(tile, 16, "layer", features);
+    byte[] parallelFlattened = new MapBoxVectorTileFlattenedBuilder()
+        .withParallelEncodingThreshold(100)
+        .build(tile, 16, "layer", features);
+    assertArrayEquals(sequentialFlattened, parallelFlattened);
+  }
+
+  private static List<Feature> randomFeatures(int count, WebMercatorTile tile) {
+    Random random = new Random(42);
+    BBox bbox = tile.getBBox(false);
+    double west = bbox.minLon(), east = bbox.maxLon(), south = bbox.minLat(), north = bbox.maxLat();
+    List<Feature> features = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Feature feature = new Feature()
+          .withId("f" + i)
+          .withProperties(new Properties().with("index", i).with("name", "feature" + i % 10));
+      if (i % 2 == 0)
+        feature.setGeometry(new Point().withCoordinates(new PointCoordinates(
+            west + random.nextDouble() * (east - west), south + random.nextDouble() * (north - south))));
+      else {
+        LineStringCoordinates coordinates = new LineStringCoordinates();
+        for (int p = 0; p < 5; p++)
+          coordinates.add(new Position(west + random.nextDouble() * (east - west), south + random.nextDouble() * (north - south)));
+        feature.setGeometry(new LineString().withCoordinates(coordinates));
+      }
+      features.add(feature);
+    }
+    return features;
+  }
+
+  private static Coordinate randomCoordinate(Random random) {
+    return new Coordinate(random.nextDouble() * 360 - 180, random.nextDouble() * 170 - 85);
+  }
+
+  private static Geometry point(double longitude, double latitude) {
+    return geometryFactory.createPoint(new Coordinate(longitude, latitude));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.benchmarks.connectors;
+
+import com.here.xyz.psql.query.GetFeatures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the regex based injection of version & author into the XYZ namespace (as it was done previously for the NEW_LAYOUT)
+ * with the splice being used by {@link GetFeatures#appendWithNamespaceValues(StringBuilder, String, long, String)}.
+ * Does not need a database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class NamespaceInjectionTests {
+    private static final int FEATURES_PER_INVOCATION = 1000;
+    //A fixed seed, so that all runs are measured with the same data
+    private static final long SEED = 42;
+
+    @Param({"5", "50"})
+    public int PROPERTY_COUNT;
+
+    private String[] jsonData;
+    private final StringBuilder target = new StringBuilder();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(SEED);
+        jsonData = new String[FEATURES_PER_INVOCATION];
+        for (int i = 0; i < FEATURES_PER_INVOCATION; i++) {
+            StringBuilder sb = new StringBuilder("{\"id\":\"").append(i).append("\",\"type\":\"Feature\",\"properties\":{");
+            for (int p = 0; p < PROPERTY_COUNT; p++)
+                sb.append("\"prop").append(p).append("\":\"value").append(random.nextInt(100000)).append("\",");
+            sb.append("\"@ns:com:here:xyz\":{\"createdAt\":").append(1700000000000L + i)
+                .append(",\"updatedAt\":").append(1700000000000L + i).append("}}}");
+            jsonData[i] = sb.toString();
+        }
+    }
+
+    @Benchmark
+    public void testRegexInjection(Blackhole blackhole) {
+        target.setLength(0);
+        for (int i = 0; i < jsonData.length; i++)
+            target.append(injectValuesIntoNameSpaceWithRegex(jsonData[i], i, "someAuthor")).append(',');
+        blackhole.consume(target.length());
+    }
+
+    @Benchmark
+    public void testSpliceInjection(Blackhole blackhole) {
+        target.setLength(0);
+        for (int i = 0; i < jsonData.length; i++) {
+            GetFeatures.appendWithNamespaceValues(target, jsonData[i], i, "someAuthor");
+            target.append(',');
+        }
+        blackhole.consume(target.length());
+    }
+
+    /**
+     * The previous implementation, kept here as the baseline.
+     */
+    private static String injectValuesIntoNameSpaceWithRegex(String jsonData, long version, String author) {
+        String namespacePattern = "(\"@ns:com:here:xyz\"\\s*:\\s*\\{)";
+        String versionAuthor = "$1\"version\":" + version + ",\"author\":\"" + author + "\",";
+        return jsonData.replaceAll(namespacePattern, versionAuthor);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = {
+                ".*NamespaceInjectionTests.*"
+        };
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
@@ -2,28 +2,46 @@ package com.here.xyz.benchmarks.connectors;
 
 import com.here.xyz.connectors.StorageConnector;
 import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.WebMercatorTile;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.util.db.datasource.DataSourceProvider;
+import com.here.xyz.util.db.datasource.PooledDataSources;
+import com.here.xyz.util.db.pg.IndexHelper.IndexProfile;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
 
 import java.util.List;
 
+import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.applyIndexProfile;
+import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.createDBSettings;
+import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.explainTileRead;
 import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.getSpaceName;
 import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.randomChildQuadkey;
+import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.readFeaturesByBBox;
 import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.readFeaturesByIds;
 import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.readFeaturesByRefQuad;
 import static com.here.xyz.benchmarks.tools.PerformanceTestHelper.readFeaturesTile;
 
 public class ReadTests extends BaseTest {
+    private static final String TILE_PARENT = "1202032";
+    private static final int TILE_LEVEL = 12;
+
+    @Param({"DEFAULT", "TILE_READ"})
+    public String INDEX_PROFILE;
+
     private FeatureCollection featureCollection = new FeatureCollection();
+    private DataSourceProvider dataSourceProvider;
     private long iterationStart;
 
     @Setup(Level.Trial)
     public void setup() throws Exception {
         SPACE_ID = "t1";
         super.setupTest();
+        dataSourceProvider = new PooledDataSources(createDBSettings(PG_HOST, PG_USER, PG_DB, PG_PASSWORD, 2));
+        applyIndexProfile(dataSourceProvider, "public", getSpaceName(nlConnector, SPACE_ID), IndexProfile.valueOf(INDEX_PROFILE));
         iterationStart = System.currentTimeMillis();
     }
 
@@ -35,6 +53,11 @@ public class ReadTests extends BaseTest {
                 featureCollection.getFeatures().size(), durationInS,
                 (featureCollection.getFeatures().size() / durationInS)
         );
+        //Shows which index was used and how many buffers have been touched for a HEAD tile read with the current index profile
+        System.out.printf("Plan of a HEAD tile read with index profile %s:%n%s", INDEX_PROFILE,
+                explainTileRead(dataSourceProvider, "public", getSpaceName(nlConnector, SPACE_ID),
+                        randomChildQuadkey(TILE_PARENT, TILE_LEVEL), 30000));
+        dataSourceProvider.close();
         super.tearDownTest();
     }
 
@@ -54,6 +77,14 @@ public class ReadTests extends BaseTest {
         );
     }
 
+    @Benchmark
+    public void testReadHeadByTileWithNLConnector() throws Exception {
+        //Reading with history enabled, so the read is restricted to the HEAD rows (see INDEX_PROFILE)
+        featureCollection.getFeatures().addAll(((FeatureCollection) readFeaturesByBBox(nlConnector,
+                List.of(getSpaceName(nlConnector, SPACE_ID)),
+                WebMercatorTile.forQuadkey(randomChildQuadkey(TILE_PARENT, TILE_LEVEL)).getBBox(false), 30000)).getFeatures());
+    }
+
     @Benchmark
     public void testReadByTileWithPSQLConnector() throws Exception {
         featureCollection.getFeatures().addAll(
@@ -98,6 +129,7 @@ public class ReadTests extends BaseTest {
         String[] jmhArgs = {
                 ".*ReadTests.testReadByRefQuadWithNLConnector.*",
 //                ".*ReadTests.testReadByTileWithNLConnector.*",
+//                ".*ReadTests.testReadHeadByTileWithNLConnector.*",
 //                ".*ReadTests.testReadByTileWithPSQLConnector.*"
 //                ".*ReadTests.testReadByIdsWithNLConnector.*",
 //                ".*ReadTests.testReadByIdsWithPSQLConnector.*"
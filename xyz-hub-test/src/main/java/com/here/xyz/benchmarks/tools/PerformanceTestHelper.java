@@ -28,11 +28,16 @@ import com.here.xyz.models.hub.Space;
 import com.here.xyz.psql.DatabaseHandler;
 import com.here.xyz.psql.NLConnector;
 import com.here.xyz.psql.PSQLXyzConnector;
+import com.here.xyz.util.db.SQLQuery;
+import com.here.xyz.util.db.datasource.DataSourceProvider;
 import com.here.xyz.util.db.datasource.DatabaseSettings;
+import com.here.xyz.util.db.pg.IndexHelper.IndexProfile;
+import com.here.xyz.util.db.pg.IndexHelper.SystemIndex;
 import com.here.xyz.util.service.aws.lambda.SimulatedContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HexFormat;
 import java.util.List;
@@ -46,6 +51,8 @@ import static com.here.xyz.events.ModifySpaceEvent.Operation.DELETE;
 import static com.here.xyz.events.PropertyQuery.QueryOperation.BEGINS_WITH;
 import static com.here.xyz.events.PropertyQuery.QueryOperation.EQUALS;
 import static com.here.xyz.events.UpdateStrategy.OnExists.ERROR;
+import static com.here.xyz.util.db.pg.IndexHelper.buildDropIndexQuery;
+import static com.here.xyz.util.db.pg.IndexHelper.buildSpaceTableIndexQuery;
 
 public class PerformanceTestHelper {
   public static final String DEFAULT_HOST = "localhost";
@@ -283,6 +290,46 @@ public class PerformanceTestHelper {
     return xyzResponse;
   }
 
+  /**
+   * Creates or drops the indexes which are specific to the provided index profile and analyzes the table afterwards.
+   */
+  public static void applyIndexProfile(DataSourceProvider dataSourceProvider, String schema, String table, IndexProfile profile)
+          throws SQLException {
+    SQLQuery indexQuery = profile == IndexProfile.TILE_READ
+            ? buildSpaceTableIndexQuery(schema, table, SystemIndex.GEO_HEAD)
+            : buildDropIndexQuery(schema, SystemIndex.GEO_HEAD.getIndexName(table));
+    indexQuery.write(dataSourceProvider);
+    new SQLQuery("ANALYZE ${schema}.${table}")
+            .withVariable("schema", schema)
+            .withVariable("table", table)
+            .write(dataSourceProvider);
+  }
+
+  /**
+   * Explains a HEAD tile read (as it is performed for spaces with history) on the provided table.
+   * @return The execution plan including the actual buffer usage
+   */
+  public static String explainTileRead(DataSourceProvider dataSourceProvider, String schema, String table, String tid, int limit)
+          throws SQLException {
+    BBox bbox = WebMercatorTile.forQuadkey(tid).getBBox(false);
+    return new SQLQuery("EXPLAIN (ANALYZE, BUFFERS) SELECT id, jsondata, geo FROM ${schema}.${table} "
+            + "WHERE ST_Intersects(geo, ST_MakeEnvelope(#{west}, #{south}, #{east}, #{north}, 4326)) "
+            + "AND next_version = 9223372036854775807::BIGINT AND operation != 'D' LIMIT #{limit}")
+            .withVariable("schema", schema)
+            .withVariable("table", table)
+            .withNamedParameter("west", bbox.getWest())
+            .withNamedParameter("south", bbox.getSouth())
+            .withNamedParameter("east", bbox.getEast())
+            .withNamedParameter("north", bbox.getNorth())
+            .withNamedParameter("limit", limit)
+            .run(dataSourceProvider, rs -> {
+              StringBuilder plan = new StringBuilder();
+              while (rs.next())
+                plan.append(rs.getString(1)).append('\n');
+              return plan.toString();
+            });
+  }
+
   public static DatabaseSettings createDBSettings(String host, String user, String db, String password, int maxPoolSize) {
     return new DatabaseSettings(host.equalsIgnoreCase(DEFAULT_HOST) ? "local_db" : "custom_db")
             .withDb(db)
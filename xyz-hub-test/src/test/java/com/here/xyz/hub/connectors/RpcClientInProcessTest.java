@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.Typed;
+import com.here.xyz.connectors.EntryConnectorHandler;
+import com.here.xyz.events.Event;
+import com.here.xyz.events.GetFeaturesByIdEvent;
+import com.here.xyz.hub.Config;
+import com.here.xyz.hub.Service;
+import com.here.xyz.hub.connectors.models.Connector;
+import com.here.xyz.hub.connectors.models.Connector.RemoteFunctionConfig.Embedded;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.responses.BinaryResponse;
+import com.here.xyz.responses.ErrorResponse;
+import com.here.xyz.responses.NotModifiedResponse;
+import com.here.xyz.responses.XyzError;
+import com.here.xyz.responses.XyzResponse;
+import com.here.xyz.util.service.Core;
+import com.here.xyz.util.service.HttpException;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RpcClientInProcessTest {
+
+  private static final String JSON_MIME_TYPE = "application/vnd.geo+json";
+  private static final String PROTOBUF_MIME_TYPE = "application/x-protobuf";
+  private Connector connector;
+  private RpcClient rpcClient;
+
+  @Before
+  public void setup() {
+    //Mock necessary configuration values
+    Core.vertx = Vertx.vertx();
+    Service.configuration = new Config();
+    Service.configuration.REMOTE_FUNCTION_REQUEST_TIMEOUT = 26;
+    Service.configuration.INSTANCE_COUNT = 1;
+    Service.configuration.REMOTE_FUNCTION_MAX_CONNECTIONS = 256;
+    Service.configuration.REMOTE_FUNCTION_CONNECTION_HIGH_UTILIZATION_THRESHOLD = 0.75f;
+    Service.configuration.GLOBAL_MAX_QUEUE_SIZE = 1024;
+
+    Embedded remoteFunction = new Embedded();
+    remoteFunction.id = "inProcessTest";
+    remoteFunction.className = InProcessTestConnector.class.getName();
+
+    connector = new Connector();
+    connector.id = "inProcessTest";
+    connector.params = new HashMap<>();
+    connector.capabilities.inProcessInvocation = true;
+    connector.connectionSettings.maxConnections = 16;
+    connector.setRemoteFunction(remoteFunction);
+    rpcClient = RpcClient.getInstanceFor(connector, true);
+    InProcessTestConnector.receivedEvent = null;
+  }
+
+  @After
+  public void tearDown() {
+    rpcClient.destroy();
+    Core.vertx.close();
+  }
+
+  @Test
+  public void handOverEvent() throws Exception {
+    GetFeaturesByIdEvent event = event(PROTOBUF_MIME_TYPE, "someTile");
+    execute(event);
+
+    //The event is not serialized or copied, the connector takes it over
+    assertSame(event, InProcessTestConnector.receivedEvent);
+    assertEquals(List.of("a", "b"), ((GetFeaturesByIdEvent) InProcessTestConnector.receivedEvent).getIds());
+  }
+
+  @Test
+  public void passRawFeatureCollectionWithEtag() throws Exception {
+    String rawFeatures = "[{\"type\":\"Feature\",\"id\":\"a\"}]";
+    XyzResponse response = execute(rawFeaturesEvent(rawFeatures, null)).result();
+
+    assertTrue(response instanceof FeatureCollection);
+    //The features have neither been serialized nor parsed on the way
+    assertEquals(rawFeatures, ((FeatureCollection) response).getRawFeatures());
+    assertNotNull(response.getEtag());
+    assertEquals(response.getEtag(), execute(rawFeaturesEvent(rawFeatures, null)).result().getEtag());
+    assertNotEquals(response.getEtag(), execute(rawFeaturesEvent("[]", null)).result().getEtag());
+    assertNotEquals(response.getEtag(),
+        execute(rawFeaturesEvent(rawFeatures, null)
+            .withParams(new HashMap<>(Map.of("rawFeatures", rawFeatures, "nextPageToken", "x"))))
+            .result().getEtag());
+
+    assertTrue(execute(rawFeaturesEvent(rawFeatures, response.getEtag())).result() instanceof NotModifiedResponse);
+  }
+
+  @Test
+  public void passBinaryResponse() throws Exception {
+    XyzResponse response = execute(event(PROTOBUF_MIME_TYPE, "someTile")).result();
+
+    assertTrue(response instanceof BinaryResponse);
+    assertEquals(PROTOBUF_MIME_TYPE, ((BinaryResponse) response).getMimeType());
+    assertArrayEquals("someTile".getBytes(), ((BinaryResponse) response).getBytes());
+  }
+
+  @Test
+  public void decodeJsonInBinaryResponse() throws Exception {
+    FeatureCollection fc = new FeatureCollection().withFeatures(List.of(new Feature().withId("a")));
+    XyzResponse response = execute(event(JSON_MIME_TYPE, fc.serialize())).result();
+
+    assertTrue(response instanceof FeatureCollection);
+    assertEquals("a", ((FeatureCollection) response).getFeatures().get(0).getId());
+  }
+
+  @Test
+  public void decodeErrorInBinaryResponse() throws Exception {
+    ErrorResponse error = new ErrorResponse().withError(XyzError.NOT_FOUND).withErrorMessage("Not there.");
+    AsyncResult<XyzResponse> result = execute(event("application/json", error.serialize()));
+
+    assertTrue(result.failed());
+    assertTrue(result.cause() instanceof HttpException);
+    assertEquals(NOT_FOUND, ((HttpException) result.cause()).status);
+  }
+
+  private static GetFeaturesByIdEvent event(String mimeType, String responseBody) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("mimeType", mimeType);
+    params.put("responseBody", responseBody);
+    return new GetFeaturesByIdEvent()
+        .withIds(List.of("a", "b"))
+        .withParams(params);
+  }
+
+  private static GetFeaturesByIdEvent rawFeaturesEvent(String rawFeatures, String ifNoneMatch) {
+    return new GetFeaturesByIdEvent()
+        .withIds(List.of("a"))
+        .withParams(new HashMap<>(Map.of("rawFeatures", rawFeatures)))
+        .withIfNoneMatch(ifNoneMatch);
+  }
+
+  private AsyncResult<XyzResponse> execute(Event event) throws Exception {
+    CompletableFuture<AsyncResult<XyzResponse>> result = new CompletableFuture<>();
+    rpcClient.execute(null, event, result::complete);
+    return result.get(10, TimeUnit.SECONDS);
+  }
+
+  public static class InProcessTestConnector extends EntryConnectorHandler {
+
+    static volatile Event receivedEvent;
+
+    @Override
+    protected void initialize(Event event) {}
+
+    @Override
+    protected Typed processEvent(Event event) {
+      receivedEvent = event;
+      if (event.getParams().containsKey("rawFeatures")) {
+        FeatureCollection fc = new FeatureCollection().withNextPageToken((String) event.getParams().get("nextPageToken"));
+        fc._setFeatures(event.getParams().get("rawFeatures"));
+        return fc;
+      }
+      return new BinaryResponse()
+          .withMimeType((String) event.getParams().get("mimeType"))
+          .withBytes(((String) event.getParams().get("responseBody")).getBytes());
+    }
+  }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.here.xyz.util.service.HttpException;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RequestBody;
+import io.vertx.ext.web.RoutingContext;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class FeatureStreamReaderTest {
+
+  private static final String FEATURE = "{\"type\":\"Feature\",\"id\":\"%s\",\"properties\":{\"n\":1}}";
+
+  @Test
+  public void readFeatureCollection() throws HttpException {
+    List<Map<String, Object>> features = read("{\"type\":\"FeatureCollection\",\"features\":[" + feature("a") + "," + feature("b")
+        + "]}", 0);
+    assertEquals(2, features.size());
+    assertEquals("a", features.get(0).get("id"));
+    assertEquals(Map.of("n", 1), features.get(1).get("properties"));
+  }
+
+  @Test
+  public void readFeatureCollectionWithTypeAfterFeatures() throws HttpException {
+    List<Map<String, Object>> features = read("{\"features\":[" + feature("a") + "],\"type\":\"FeatureCollection\"}", 0);
+    assertEquals(1, features.size());
+    assertEquals("a", features.get(0).get("id"));
+  }
+
+  @Test
+  public void readSingleFeature() throws HttpException {
+    List<Map<String, Object>> features = read(feature("a"), 0);
+    assertEquals(1, features.size());
+    assertEquals("Feature", features.get(0).get("type"));
+  }
+
+  @Test
+  public void readMissingFeatures() throws HttpException {
+    assertTrue(read("{\"type\":\"FeatureCollection\"}", 0).isEmpty());
+  }
+
+  @Test
+  public void readNullFeatures() {
+    assertStatus(BAD_REQUEST, "{\"type\":\"FeatureCollection\",\"features\":null}", 0);
+    assertStatus(BAD_REQUEST, "{\"features\":null,\"type\":\"FeatureCollection\"}", 0);
+  }
+
+  @Test
+  public void readMalformedJson() {
+    assertStatus(BAD_REQUEST, "{\"type\":\"FeatureCollection\",\"features\":[" + feature("a"), 0);
+    assertStatus(BAD_REQUEST, "{\"type\":\"FeatureCollection\",\"features\":[1]}", 0);
+    assertStatus(BAD_REQUEST, "[" + feature("a") + "]", 0);
+    assertStatus(BAD_REQUEST, feature("a") + " {}", 0);
+    assertStatus(BAD_REQUEST, "{\"type\":\"Something\"}", 0);
+    assertStatus(BAD_REQUEST, "", 0);
+  }
+
+  @Test
+  public void readWithFeatureLimit() throws HttpException {
+    String body = "{\"type\":\"FeatureCollection\",\"features\":[" + feature("a") + "," + feature("b") + "]}";
+    assertEquals(2, read(body, 2).size());
+    assertStatus(REQUEST_ENTITY_TOO_LARGE, body, 1);
+  }
+
+  @Test
+  public void readModificationsWithFeatureLimit() throws HttpException {
+    String body = "{\"type\":\"FeatureModificationList\",\"modifications\":[{\"type\":\"FeatureModification\",\"featureData\":"
+        + "{\"type\":\"FeatureCollection\",\"features\":[" + feature("a") + "," + feature("b") + "]}}]}";
+    assertEquals(1, read(body, 2).size());
+    //The features within the modifications are counted
+    assertStatus(REQUEST_ENTITY_TOO_LARGE, body, 1);
+  }
+
+  @Test
+  public void readInvalidEncoding() throws HttpException {
+    byte[] prefix = "{\"type\":\"Feature\",\"properties\":{\"name\":\"".getBytes(StandardCharsets.UTF_8);
+    byte[] suffix = "\"}}".getBytes(StandardCharsets.UTF_8);
+    Buffer body = Buffer.buffer().appendBytes(prefix).appendByte((byte) 0xFF).appendBytes(suffix);
+
+    //The body gets decoded from its (lenient) String representation as fallback
+    List<Map<String, Object>> features = FeatureStreamReader.readObjects(body, 0);
+    assertEquals("\uFFFD", ((Map<?, ?>) features.get(0).get("properties")).get("name"));
+  }
+
+  @Test
+  public void readBatchesWhileReceiving() {
+    FakeRequest request = new FakeRequest();
+    List<List<Object>> batches = new ArrayList<>();
+    Future<Void> read = FeatureStreamReader.readBatches(request.context, 0, 2, (objects, byteSize) -> {
+      batches.add(objects.stream().map(object -> object.get("id")).collect(Collectors.toList()));
+      return Future.succeededFuture();
+    });
+
+    String body = "{\"type\":\"FeatureCollection\",\"features\":[" + feature("a") + "," + feature("b") + "," + feature("c") + ","
+        + feature("d") + "," + feature("e") + "]}";
+    int firstFeaturesEnd = body.indexOf(feature("c"));
+    //Split the body within tokens
+    for (int i = 0; i < firstFeaturesEnd; i += 7)
+      request.receive(body.substring(i, Math.min(i + 7, firstFeaturesEnd)));
+    //The first batch was handed on before the rest of the body was received
+    assertEquals(List.of(List.of("a", "b")), batches);
+    assertFalse(read.isComplete());
+
+    request.receive(body.substring(firstFeaturesEnd));
+    request.end();
+    assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), batches);
+    assertTrue(read.succeeded());
+  }
+
+  @Test
+  public void readBatchesPausesTheRequest() {
+    FakeRequest request = new FakeRequest();
+    List<Promise<Void>> batches = new ArrayList<>();
+    Future<Void> read = FeatureStreamReader.readBatches(request.context, 0, 1, (objects, byteSize) -> {
+      Promise<Void> batchProcessed = Promise.promise();
+      batches.add(batchProcessed);
+      return batchProcessed.future();
+    });
+    assertFalse(request.paused);
+
+    request.receive("{\"type\":\"FeatureCollection\",\"features\":[" + feature("a") + "," + feature("b"));
+    assertEquals(1, batches.size());
+    assertTrue(request.paused);
+
+    //The batch which was read in the meantime is processed before reading on
+    batches.get(0).complete();
+    assertEquals(2, batches.size());
+    assertTrue(request.paused);
+    batches.get(1).complete();
+    assertFalse(request.paused);
+
+    request.receive("]}");
+    request.end();
+    assertTrue(read.succeeded());
+  }
+
+  @Test
+  public void readBatchesWithTypeAfterFeatures() {
+    FakeRequest request = new FakeRequest();
+    List<Integer> batchSizes = new ArrayList<>();
+    Future<Void> read = FeatureStreamReader.readBatches(request.context, 0, 1, (objects, byteSize) -> {
+      batchSizes.add(objects.size());
+      return Future.succeededFuture();
+    });
+
+    request.receive("{\"features\":[" + feature("a") + "," + feature("b") + "],\"type\":\"FeatureCollection\"}");
+    assertTrue(batchSizes.isEmpty());
+    request.end();
+    assertEquals(List.of(1, 1), batchSizes);
+    assertTrue(read.succeeded());
+  }
+
+  @Test
+  public void readBatchesFailsOnMalformedJson() {
+    FakeRequest request = new FakeRequest();
+    Future<Void> read = FeatureStreamReader.readBatches(request.context, 0, 1, (objects, byteSize) -> Future.succeededFuture());
+
+    request.receive("{\"type\":\"FeatureCollection\",\"features\":[" + feature("a") + ",]}");
+    assertTrue(read.failed());
+    assertEquals(BAD_REQUEST, ((HttpException) read.cause()).status);
+  }
+
+  @Test
+  public void readBatchesFailsOnTooManyFeatures() {
+    FakeRequest request = new FakeRequest();
+    List<Integer> batchSizes = new ArrayList<>();
+    Future<Void> read = FeatureStreamReader.readBatches(request.context, 1, 1, (objects, byteSize) -> {
+      batchSizes.add(objects.size());
+      return Future.succeededFuture();
+    });
+
+    request.receive("{\"type\":\"FeatureCollection\",\"features\":[" + feature("a") + ",");
+    request.receive(feature("b") + "]}");
+    //The limit is enforced while reading, so the features which have been read before were written already
+    assertEquals(List.of(1), batchSizes);
+    assertTrue(read.failed());
+    assertEquals(REQUEST_ENTITY_TOO_LARGE, ((HttpException) read.cause()).status);
+  }
+
+  private static String feature(String id) {
+    return String.format(FEATURE, id);
+  }
+
+  private static List<Map<String, Object>> read(String body, int maxFeatures) throws HttpException {
+    return FeatureStreamReader.readObjects(Buffer.buffer(body), maxFeatures);
+  }
+
+  /**
+   * A request of which the body is received chunk by chunk.
+   */
+  @SuppressWarnings("unchecked")
+  private static class FakeRequest implements InvocationHandler {
+
+    final HttpServerRequest request = proxy(HttpServerRequest.class, this);
+    final RoutingContext context = proxy(RoutingContext.class, (proxy, method, args) -> switch (method.getName()) {
+      case "request" -> request;
+      case "body" -> proxy(RequestBody.class, (body, bodyMethod, bodyArgs) -> null);
+      default -> null;
+    });
+    Handler<Buffer> handler;
+    Handler<Void> endHandler;
+    boolean paused = true;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      switch (method.getName()) {
+        case "handler" -> handler = (Handler<Buffer>) args[0];
+        case "endHandler" -> endHandler = (Handler<Void>) args[0];
+        case "pause" -> paused = true;
+        case "resume" -> paused = false;
+        case "isEnded" -> {
+          return false;
+        }
+      }
+      return method.getReturnType() == HttpServerRequest.class ? proxy : null;
+    }
+
+    void receive(String chunk) {
+      handler.handle(Buffer.buffer(chunk));
+    }
+
+    void end() {
+      endHandler.handle(null);
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler invocationHandler) {
+      return (T) Proxy.newProxyInstance(FeatureStreamReaderTest.class.getClassLoader(), new Class[]{type}, invocationHandler);
+    }
+  }
+
+  private static void assertStatus(HttpResponseStatus expectedStatus, String body, int maxFeatures) {
+    try {
+      read(body, maxFeatures);
+      fail("Expected an HttpException for: " + body);
+    }
+    catch (HttpException e) {
+      assertEquals(expectedStatus, e.status);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+package com.here.xyz.hub.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.util.service.Core;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class InflightReadsTest {
+
+  @BeforeClass
+  public static void setup() {
+    if (Core.vertx == null)
+      Core.vertx = Vertx.vertx();
+  }
+
+  @Test
+  public void waitersGetTheValueOfTheReader() {
+    InflightReads<String> reads = new InflightReads<>();
+    List<String> values = new CopyOnWriteArrayList<>();
+
+    Promise<String> read = reads.join("key", 0, v -> values.add("unexpected"));
+    assertNotNull("The first caller must become the reader.", read);
+    assertNull(reads.join("key", 0, values::add));
+    assertNull(reads.join("key", 0, values::add));
+    assertTrue("Waiters must not be released before the read completes.", values.isEmpty());
+
+    reads.complete("key", read, "value");
+    assertEquals(List.of("value", "value"), values);
+    assertEquals(0, reads.size());
+    assertNotNull("After the read completed, the next caller must become the reader again.", reads.join("key", 0, values::add));
+  }
+
+  @Test
+  public void differentKeysAreNotCollapsed() {
+    InflightReads<String> reads = new InflightReads<>();
+    assertNotNull(reads.join("key1", 0, v -> {}));
+    assertNotNull(reads.join("key2", 0, v -> {}));
+    assertEquals(2, reads.size());
+  }
+
+  @Test
+  public void waitersAreReleasedWhenTheReadFails() {
+    InflightReads<String> reads = new InflightReads<>();
+    List<String> values = new CopyOnWriteArrayList<>();
+
+    Promise<String> read = reads.join("key", 0, v -> {});
+    reads.join("key", 0, v -> values.add(String.valueOf(v)));
+    read.fail(new RuntimeException("Connector error"));
+
+    assertEquals("A failed read must release the waiters with null.", List.of("null"), values);
+    //The reader removes its read in any case (e.g. when the task fails later)
+    reads.complete("key", read, null);
+    assertEquals(0, reads.size());
+  }
+
+  @Test
+  public void waitersAreReleasedWhenTheReadIsCancelled() {
+    InflightReads<String> reads = new InflightReads<>();
+    List<String> values = new CopyOnWriteArrayList<>();
+
+    Promise<String> read = reads.join("key", 0, v -> {});
+    reads.join("key", 0, v -> values.add(String.valueOf(v)));
+    reads.complete("key", read, null);
+    //Completing it a second time (e.g. by the finally block of writeCache) must not release the waiters again
+    reads.complete("key", read, "value");
+
+    assertEquals(List.of("null"), values);
+    assertEquals(0, reads.size());
+  }
+
+  @Test
+  public void waitersAreReleasedAfterTheTimeout() throws InterruptedException {
+    InflightReads<String> reads = new InflightReads<>();
+    List<String> values = new CopyOnWriteArrayList<>();
+    CountDownLatch released = new CountDownLatch(1);
+
+    Promise<String> read = reads.join("key", 0, v -> {});
+    reads.join("key", 50, v -> {
+      values.add(String.valueOf(v));
+      released.countDown();
+    });
+
+    assertTrue("The waiter must be released after the timeout.", released.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("null"), values);
+    assertNotNull("A timed out read must not be joined anymore.", reads.join("key", 0, v -> {}));
+
+    //A late completion of the stuck read must not release the waiter a second time
+    read.complete("value");
+    assertEquals(List.of("null"), values);
+  }
+}
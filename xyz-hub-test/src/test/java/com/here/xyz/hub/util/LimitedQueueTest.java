@@ -22,19 +22,32 @@ package com.here.xyz.hub.util;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 
 public class LimitedQueueTest {
 
   public class TestElement implements ByteSizeAware {
 
+    private final String key;
     private final long byteSize;
 
     TestElement(long byteSize) {
+      this(null, byteSize);
+    }
+
+    TestElement(String key, long byteSize) {
+      this.key = key;
       this.byteSize = byteSize;
     }
 
+    String getKey() {
+      return key;
+    }
+
     @Override
     public long getByteSize() {
       return byteSize;
@@ -188,4 +201,162 @@ public class LimitedQueueTest {
     assertEquals("Expected was that element 1 was discarded first.", element1, discarded.get(0));
     assertEquals("Expected was that element 2 was discarded second.", element2, discarded.get(1));
   }
+
+  @Test
+  public void evictionHooks() {
+    //A queue which takes its elements in LIFO order and always discards the largest element
+    LimitedQueue<TestElement> queue = new LimitedQueue<>(3, 100) {
+      private final ArrayDeque<TestElement> elements = new ArrayDeque<>();
+
+      @Override
+      protected void offer(TestElement element) {
+        elements.push(element);
+      }
+
+      @Override
+      protected TestElement poll() {
+        return elements.poll();
+      }
+
+      @Override
+      protected TestElement evict() {
+        TestElement largest = elements.stream().max((e1, e2) -> Long.compare(e1.getByteSize(), e2.getByteSize())).orElse(null);
+        elements.remove(largest);
+        return largest;
+      }
+    };
+    TestElement element1 = new TestElement(10);
+    TestElement element2 = new TestElement(50);
+    TestElement element3 = new TestElement(20);
+    queue.add(element1);
+    queue.add(element2);
+    queue.add(element3);
+
+    List<TestElement> discarded = queue.add(new TestElement(30));
+    assertEquals("Expected was that the largest element was discarded.", List.of(element2), discarded);
+    assertEquals("Expected were 3 elements.", 3, queue.getSize());
+    assertEquals("Expected were 60 bytes.", 60, queue.getByteSize());
+
+    queue.remove();
+    assertEquals("Expected element 3 was removed", element3, queue.remove());
+    assertEquals("Expected were 1 elements.", 1, queue.getSize());
+    assertEquals("Expected were 10 bytes.", 10, queue.getByteSize());
+  }
+
+  @Test
+  public void fairRoundRobin() {
+    FairLimitedQueue<TestElement> queue = new FairLimitedQueue<>(100, 1000, TestElement::getKey, key -> 1);
+    TestElement a1 = new TestElement("a", 1), a2 = new TestElement("a", 1), a3 = new TestElement("a", 1), a4 = new TestElement("a", 1);
+    TestElement b1 = new TestElement("b", 1), b2 = new TestElement("b", 1);
+    TestElement c1 = new TestElement("c", 1);
+    for (TestElement element : List.of(a1, a2, a3, a4, b1, b2, c1))
+      queue.add(element);
+
+    assertEquals(Map.of("a", 4, "b", 2, "c", 1), queue.getSizeByKey());
+    assertEquals("Expected was that the senders take turns.", List.of(a1, b1, c1, a2, b2, a3, a4), removeAll(queue));
+    assertEquals("Expected were 0 elements.", 0, queue.getSize());
+    assertEquals("Expected were 0 bytes.", 0, queue.getByteSize());
+    assertEquals(Map.of(), queue.getSizeByKey());
+  }
+
+  @Test
+  public void fairWeightedRoundRobin() {
+    FairLimitedQueue<TestElement> queue = new FairLimitedQueue<>(100, 1000, TestElement::getKey, key -> "a".equals(key) ? 2 : 1);
+    TestElement a1 = new TestElement("a", 1), a2 = new TestElement("a", 1), a3 = new TestElement("a", 1), a4 = new TestElement("a", 1),
+        a5 = new TestElement("a", 1);
+    TestElement b1 = new TestElement("b", 1), b2 = new TestElement("b", 1), b3 = new TestElement("b", 1);
+    for (TestElement element : List.of(a1, a2, a3, a4, a5, b1, b2, b3))
+      queue.add(element);
+
+    assertEquals("Expected was that sender a takes two elements per round.", List.of(a1, a2, b1, a3, a4, b2, a5, b3), removeAll(queue));
+  }
+
+  @Test
+  public void fairConfiguredWeightsChangeTheRatio() {
+    FairLimitedQueue<TestElement> queue = new FairLimitedQueue<>(100, 1000, TestElement::getKey,
+        FairLimitedQueue.weightsOf(Map.of("a", 3, "c", 0)));
+    for (int i = 0; i < 30; i++) {
+      queue.add(new TestElement("a", 1));
+      queue.add(new TestElement("b", 1));
+      queue.add(new TestElement("c", 1));
+    }
+
+    List<String> senders = new ArrayList<>();
+    for (int i = 0; i < 25; i++)
+      senders.add(queue.remove().getKey());
+    //a has a weight of 3, b has no configured weight and c's weight is at least 1
+    assertEquals(15, senders.stream().filter("a"::equals).count());
+    assertEquals(5, senders.stream().filter("b"::equals).count());
+    assertEquals(5, senders.stream().filter("c"::equals).count());
+  }
+
+  @Test
+  public void fairNewSenderIsServedInTheNextRound() {
+    FairLimitedQueue<TestElement> queue = new FairLimitedQueue<>(100, 1000, TestElement::getKey, key -> 1);
+    TestElement a1 = new TestElement("a", 1), a2 = new TestElement("a", 1), a3 = new TestElement("a", 1);
+    queue.add(a1);
+    queue.add(a2);
+    queue.add(a3);
+    assertEquals(a1, queue.remove());
+
+    TestElement b1 = new TestElement(null, 1);
+    queue.add(b1);
+    assertEquals(Map.of("a", 2, "null", 1), queue.getSizeByKey());
+    assertEquals("Expected was that the new sender does not have to wait for all elements of sender a.", List.of(a2, b1, a3),
+        removeAll(queue));
+  }
+
+  @Test
+  public void fairAddTooManyBytes() {
+    FairLimitedQueue<TestElement> queue = new FairLimitedQueue<>(100, 100, TestElement::getKey, key -> 1);
+    TestElement a1 = new TestElement("a", 30), a2 = new TestElement("a", 30), a3 = new TestElement("a", 30);
+    TestElement b1 = new TestElement("b", 10);
+    for (TestElement element : List.of(a1, a2, a3, b1))
+      assertEquals("Expected was that no elements are discarded.", 0, queue.add(element).size());
+
+    List<TestElement> discarded = queue.add(new TestElement("b", 20));
+    assertEquals("Expected was that the oldest element of the largest sender was discarded.", List.of(a1), discarded);
+    assertEquals("Expected were 90 bytes.", 90, queue.getByteSize());
+    assertEquals(Map.of("a", 2, "b", 2), queue.getSizeByKey());
+
+    TestElement tooLargeElement = new TestElement("b", 101);
+    assertEquals("The inserted element must be discarded.", List.of(tooLargeElement), queue.add(tooLargeElement));
+    assertEquals("Expected were 4 elements.", 4, queue.getSize());
+  }
+
+  @Test
+  public void fairAddTooManyElements() {
+    FairLimitedQueue<TestElement> queue = new FairLimitedQueue<>(3, 100, TestElement::getKey, key -> 1);
+    TestElement a1 = new TestElement("a", 1), a2 = new TestElement("a", 1);
+    TestElement b1 = new TestElement("b", 5);
+    queue.add(a1);
+    queue.add(a2);
+    queue.add(b1);
+
+    List<TestElement> discarded = queue.add(new TestElement("c", 1));
+    assertEquals("Expected was that the element of the sender with the most bytes was discarded.", List.of(b1), discarded);
+    assertEquals("Expected were 3 elements.", 3, queue.getSize());
+    assertEquals("Expected were 3 bytes.", 3, queue.getByteSize());
+    assertEquals(Map.of("a", 2, "c", 1), queue.getSizeByKey());
+  }
+
+  @Test
+  public void fairSetMaxSize() {
+    FairLimitedQueue<TestElement> queue = new FairLimitedQueue<>(10, 100, TestElement::getKey, key -> 1);
+    TestElement a1 = new TestElement("a", 10), a2 = new TestElement("a", 10), a3 = new TestElement("a", 10);
+    TestElement b1 = new TestElement("b", 10);
+    for (TestElement element : List.of(a1, a2, a3, b1))
+      queue.add(element);
+
+    List<TestElement> discarded = queue.setMaxSize(2);
+    assertEquals("Expected was that only elements of the largest sender were discarded.", List.of(a1, a2), discarded);
+    assertEquals(List.of(a3, b1), removeAll(queue));
+  }
+
+  private static List<TestElement> removeAll(LimitedQueue<TestElement> queue) {
+    List<TestElement> removed = new ArrayList<>();
+    for (TestElement element = queue.remove(); element != null; element = queue.remove())
+      removed.add(element);
+    return removed;
+  }
 }
@@ -120,7 +120,10 @@ public class ImportFromFiles implements JobCompilationInterceptor {
     //NOTE: drop/create indices is also used by SpaceCopy compiler
 
     //NOTE: VIZ index will be created separately in a sequential step afterwards (see below)
-    List<SystemIndex> indices = Stream.of(SystemIndex.values()).filter(index -> index != SystemIndex.VIZ).toList();
+    //NOTE: The partial GEO_HEAD index is not part of the default profile, it gets re-created by the next maintenance if applicable
+    List<SystemIndex> indices = Stream.of(SystemIndex.values())
+        .filter(index -> index != SystemIndex.VIZ && index != SystemIndex.GEO_HEAD)
+        .toList();
     //Split the work in three parallel tasks for now
     List<List<SystemIndex>> indexTasks = Lists.partition(indices, indices.size() / 3);
 
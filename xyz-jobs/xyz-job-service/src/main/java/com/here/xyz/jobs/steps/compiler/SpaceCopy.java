@@ -34,9 +34,11 @@ import com.here.xyz.jobs.steps.impl.transport.CopySpace;
 import com.here.xyz.jobs.steps.impl.transport.CopySpacePost;
 import com.here.xyz.jobs.steps.impl.transport.GetNextSpaceVersion;
 import com.here.xyz.models.hub.Ref;
+import com.here.xyz.models.hub.Space;
 import com.here.xyz.responses.StatisticsResponse;
 import com.here.xyz.util.web.HubWebClient;
 import com.here.xyz.util.web.XyzWebClient.WebClientException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -101,8 +103,9 @@ public class SpaceCopy implements JobCompilationInterceptor {
     SpaceContext sourceContext, targetContext;
     StatisticsResponse sourceStatistics, targetStatistics;
     try {
-      //TODO: Parallelize statistics loading (or get rid of it completely in compiler by merging the 3 copy steps into one)
-      sourceContext = hubWebClient().loadSpace(sourceSpaceId).getExtension() != null ? EXTENSION : null;
+      //TODO: Get rid of the statistics loading completely in compiler by merging the 3 copy steps into one
+      Map<String, Space> spaces = hubWebClient().loadSpaces(List.of(sourceSpaceId, targetSpaceId));
+      sourceContext = spaces.get(sourceSpaceId).getExtension() != null ? EXTENSION : null;
 
       Ref versionRef = source.getVersionRef(),
           resolvedVersionRef = hubWebClient().resolveRef(sourceSpaceId, sourceContext, versionRef);
@@ -112,9 +115,13 @@ public class SpaceCopy implements JobCompilationInterceptor {
         return null;
       }
 
-      targetContext = hubWebClient().loadSpace(targetSpaceId).getExtension() != null ? EXTENSION : null;
-      sourceStatistics = hubWebClient().loadSpaceStatistics(sourceSpaceId, sourceContext);
-      targetStatistics = hubWebClient().loadSpaceStatistics(targetSpaceId, targetContext);
+      targetContext = spaces.get(targetSpaceId).getExtension() != null ? EXTENSION : null;
+      Map<String, SpaceContext> spaceContexts = new HashMap<>();
+      spaceContexts.put(sourceSpaceId, sourceContext);
+      spaceContexts.put(targetSpaceId, targetContext);
+      Map<String, StatisticsResponse> statistics = hubWebClient().loadSpaceStatistics(spaceContexts, false, true);
+      sourceStatistics = statistics.get(sourceSpaceId);
+      targetStatistics = statistics.get(targetSpaceId);
 
 
       GetNextSpaceVersion nextSpaceVersion = (GetNextSpaceVersion) new GetNextSpaceVersion()
@@ -19,16 +19,31 @@
 
 package com.here.xyz.jobs.steps.compiler.maintenance;
 
+import static com.here.xyz.events.ContextAwareEvent.SpaceContext.EXTENSION;
+import static com.here.xyz.util.db.ConnectorParameters.TableLayout.NEW_LAYOUT;
+import static com.here.xyz.util.db.ConnectorParameters.TableLayout.OLD_LAYOUT;
+import static com.here.xyz.util.db.pg.IndexHelper.IndexProfile.TILE_READ;
+
 import com.here.xyz.jobs.Job;
 import com.here.xyz.jobs.datasets.DatasetDescription.Space;
 import com.here.xyz.jobs.processes.Maintain;
 import com.here.xyz.jobs.steps.CompilationStepGraph;
+import com.here.xyz.jobs.steps.Config;
+import com.here.xyz.jobs.steps.JobCompiler.CompilationError;
 import com.here.xyz.jobs.steps.compiler.JobCompilationInterceptor;
 import com.here.xyz.jobs.steps.compiler.tools.IndexCompilerHelper;
+import com.here.xyz.jobs.steps.impl.AutoIndexSpaceTable;
+import com.here.xyz.jobs.steps.impl.ClusterSpaceTable;
+import com.here.xyz.jobs.steps.impl.CreateIndex;
 import com.here.xyz.jobs.steps.impl.DropIndexes;
 import com.here.xyz.jobs.steps.impl.maintenance.SpawnMaintenanceJobs;
+import com.here.xyz.util.db.ConnectorParameters;
+import com.here.xyz.util.db.ConnectorParameters.TableLayout;
 import com.here.xyz.util.db.pg.IndexHelper.Index;
+import com.here.xyz.util.db.pg.IndexHelper.IndexProfile;
 import com.here.xyz.util.db.pg.IndexHelper.SystemIndex;
+import com.here.xyz.util.web.HubWebClient;
+import com.here.xyz.util.web.XyzWebClient.WebClientException;
 import java.util.List;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
@@ -50,16 +65,23 @@ public class RunSpaceMaintenance implements JobCompilationInterceptor {
 
   public static CompilationStepGraph compile(Space source) {
     CompilationStepGraph stepGraph = new CompilationStepGraph();
+    com.here.xyz.models.hub.Space space = loadSpace(source.getId());
+    //Spaces between the thresholds of the TILE_READ profile keep their partial HEAD index, but don't get it created
+    IndexProfile indexProfile = chooseIndexProfile(space, false);
+    IndexProfile retainedIndexProfile = indexProfile == TILE_READ ? TILE_READ : chooseIndexProfile(space, true);
+    boolean autoIndexing = Boolean.TRUE.equals(space.isEnableAutoSearchableProperties());
 
-    //White-list on-demand indexes based on active searchable properties and all the system indexes
-    List<Index> whiteList = Stream.concat(Stream.of(SystemIndex.values()),
+    //White-list on-demand indexes based on active searchable properties and the system indexes of the chosen profile
+    List<Index> whiteList = Stream.concat(Stream.of(SystemIndex.values())
+                .filter(index -> index != SystemIndex.GEO_HEAD || retainedIndexProfile == TILE_READ),
             IndexCompilerHelper.getActiveSearchableProperties(source.getId()).stream()).toList();
 
     //Drop indices which are not in the whitelist
     DropIndexes dropIndexes = new DropIndexes()
             .withSpaceDeactivation(false)
             .withSpaceId(source.getId())
-            .withIndexWhiteList(whiteList);
+            .withIndexWhiteList(whiteList)
+            .withKeepAutoIndexes(autoIndexing);
 
     //Create all indices that are defined - existing ones are getting skipped
     CompilationStepGraph onDemandIndexSteps = IndexCompilerHelper.compileOnDemandIndexSteps(source.getId());
@@ -68,8 +90,54 @@ public class RunSpaceMaintenance implements JobCompilationInterceptor {
     if (!onDemandIndexSteps.isEmpty())
       stepGraph.addExecution(onDemandIndexSteps);
 
+    //Create / drop the automatic indexes based on the property searches which have been recorded since the last maintenance
+    if (autoIndexing)
+      stepGraph.addExecution(new AutoIndexSpaceTable().withSpaceId(source.getId()));
+
+    //Re-order the features which have been written since the last maintenance by their location
+    if (space.isSpatialClustering())
+      stepGraph.addExecution(new ClusterSpaceTable()
+          .withSpaceId(source.getId())
+          .withIncremental(true));
+
+    //Large spaces with history get an additional partial index for tile reads - existing ones are getting skipped
+    if (indexProfile == TILE_READ)
+      stepGraph.addExecution(new CreateIndex()
+          .withSpaceId(source.getId())
+          .withIndex(SystemIndex.GEO_HEAD));
+
     stepGraph.addExecution(new SpawnMaintenanceJobs().withSpaceId(source.getId()));
 
     return stepGraph;
   }
+
+  private static com.here.xyz.models.hub.Space loadSpace(String spaceId) throws CompilationError {
+    try {
+      return HubWebClient.getInstance(Config.instance.HUB_ENDPOINT).loadSpace(spaceId);
+    }
+    catch (WebClientException e) {
+      throw new CompilationError("Error fetching the space " + spaceId + ". Target is not accessible! " + e.getMessage(), e);
+    }
+  }
+
+  private static IndexProfile chooseIndexProfile(com.here.xyz.models.hub.Space space, boolean hasTileReadProfile)
+      throws CompilationError {
+    try {
+      HubWebClient hubWebClient = HubWebClient.getInstance(Config.instance.HUB_ENDPOINT);
+      TableLayout layout = ConnectorParameters.fromMap(hubWebClient.loadConnector(space.getStorage().getId()).params).getTableLayout();
+      if (layout == null)
+        layout = OLD_LAYOUT;
+
+      //Spaces without history or with the old table layout never get the TILE_READ profile, so there is no need to load the statistics
+      if (space.getVersionsToKeep() <= 1 || layout != NEW_LAYOUT)
+        return IndexProfile.DEFAULT;
+
+      long featureCount = hubWebClient.loadSpaceStatistics(space.getId(), EXTENSION, true, true).getCount().getValue();
+      return IndexProfile.forSpace(featureCount, space.getVersionsToKeep(), layout, hasTileReadProfile);
+    }
+    catch (WebClientException e) {
+      throw new CompilationError("Error fetching the statistics of space " + space.getId() + ". Target is not accessible! "
+          + e.getMessage(), e);
+    }
+  }
 }
@@ -101,6 +101,26 @@ public abstract class DatabaseBasedStep<T extends DatabaseBasedStep> extends Lam
     return (int) executeQuery(query, db, estimatedMaxAcuLoad, null, true, true, withCallbacks);
   }
 
+  /**
+   * Runs the provided write queries asynchronously one after another, each of them within a transaction of its own.
+   * A query is only started after the previous one has been committed. The success callback is only performed after the last
+   * query succeeded, a failing query performs the failure callback and stops the sequence.
+   *
+   * @param queries The queries to be run in sequence, each of them must be valid within a PL/pgSQL block (e.g., use PERFORM)
+   */
+  protected final void runWriteQueriesAsyncInSequence(List<SQLQuery> queries, Database db, double estimatedMaxAcuLoad)
+      throws TooManyResourcesClaimed, SQLException {
+    SQLQuery sequence = null;
+    for (int i = queries.size() - 1; i >= 0; i--) {
+      SQLQuery query = sequence == null ? queries.get(i) : new SQLQuery("${{query}}; PERFORM asyncify(#{nextQuery}, true)")
+          .withQueryFragment("query", queries.get(i))
+          //Spawn the next query once the transaction of this query has been committed
+          .withNamedParameter("nextQuery", sequence.toExecutableQueryString());
+      sequence = wrapQuery(query, i == queries.size() - 1, i == 0 ? "wrapped" : "wrapped_" + i);
+    }
+    executeQuery(sequence, db, estimatedMaxAcuLoad, null, true, true, false);
+  }
+
   protected final int runWriteQuerySync(SQLQuery query, Database db, double estimatedMaxAcuLoad) throws TooManyResourcesClaimed,
       SQLException {
     return (int) executeQuery(query, db, estimatedMaxAcuLoad, null, true, false, false);
@@ -179,6 +199,14 @@ public abstract class DatabaseBasedStep<T extends DatabaseBasedStep> extends Lam
    * @return The wrapped query. A query that takes care of reporting the state back to this implementation asynchronously.
    */
   private SQLQuery wrapQuery(SQLQuery stepQuery) {
+    return wrapQuery(stepQuery, true, "wrapped");
+  }
+
+  /**
+   * @param withSuccessCallback Whether the success callback should be performed after the step query
+   * @param blockTag The dollar quote tag of the wrapping block, wrapped queries which are nested into each other need different tags
+   */
+  private SQLQuery wrapQuery(SQLQuery stepQuery, boolean withSuccessCallback, String blockTag) {
 
     SQLQuery wrappedQuery = new SQLQuery("""
         DO
@@ -192,11 +220,11 @@ public abstract class DatabaseBasedStep<T extends DatabaseBasedStep> extends Lam
             ${{failureCallback}}
         END
         $wrapped$;
-        """) //TODO: Move RAISE WARNING expression back to generic #buildFailureCallbackQuery() to ensure consistent error reporting & logging across all step implementations
+        """.replace("$wrapped$", "$" + blockTag + "$")) //TODO: Move RAISE WARNING expression back to generic #buildFailureCallbackQuery() to ensure consistent error reporting & logging across all step implementations
         .withQueryFragment("jobId", getJobId())
         .withQueryFragment("stepId", getId())
         .withQueryFragment("stepQuery", stepQuery)
-        .withQueryFragment("successCallback", buildSuccessCallbackQuery())
+        .withQueryFragment("successCallback", withSuccessCallback ? buildSuccessCallbackQuery() : new SQLQuery(""))
         .withQueryFragment("failureCallback", buildFailureCallbackQuery());
 
     return stepQuery.getContext() == null ?  wrappedQuery : wrappedQuery.withContext(stepQuery.getContext());
@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.jobs.steps.impl;
+
+import static com.here.xyz.util.db.pg.IndexHelper.buildAutoIndexCreationQuery;
+import static com.here.xyz.util.db.pg.IndexHelper.buildDropIndexQuery;
+import static com.here.xyz.util.db.pg.IndexHelper.buildLoadQueryStatisticsQuery;
+import static com.here.xyz.util.db.pg.IndexHelper.buildLoadSpaceTableIndicesQuery;
+import static com.here.xyz.util.db.pg.IndexHelper.buildResetQueryStatisticsQuery;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.jobs.steps.execution.StepException;
+import com.here.xyz.jobs.steps.resources.Load;
+import com.here.xyz.jobs.steps.resources.TooManyResourcesClaimed;
+import com.here.xyz.util.db.SQLQuery;
+import com.here.xyz.util.web.XyzWebClient.WebClientException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Creates & drops the automatic indexes of a space based on the statistics about the property searches, which have been recorded by
+ * the connector since the last successful execution of this step.
+ * The consumed statistics are only reset together with the successful creation / deletion of the indexes, so a failed execution
+ * does not lose them.
+ * A property gets indexed if it was searched often enough and these searches were slow or have been rejected due to the missing index.
+ * An automatic index gets dropped again if its property has not been searched for the configured number of days.
+ * Manually created indexes and the searchable properties which are configured for the space are never touched.
+ */
+public class AutoIndexSpaceTable extends SpaceBasedStep<AutoIndexSpaceTable> {
+  private static final Logger logger = LogManager.getLogger();
+  private int minSearchCount = 100;
+  private long minAverageSearchMillis = 500;
+  private int minRejectedSearchCount = 10;
+  private int maxAutoIndexes = 8;
+  private int maxUnusedDays = 30;
+
+  @JsonView({Internal.class, Static.class})
+  private boolean nothingToDo = false;
+
+  record PropertyStatistics(String propertyPath, long searchCount, long rejectedSearchCount, long totalMillis, long lastSeen) {}
+
+  record OperationStatistics(String propertyPath, String operation, long searchCount, long rejectedSearchCount, long totalMillis,
+      long lastSeen) {}
+
+  @Override
+  public List<Load> getNeededResources() {
+    try {
+      return Collections.singletonList(new Load().withResource(db()).withEstimatedVirtualUnits(calculateNeededAcus()));
+    }
+    catch (WebClientException e) {
+      throw new StepException("Error calculating the necessary resources for the step.", e).withRetryable(true);
+    }
+  }
+
+  @Override
+  public int getTimeoutSeconds() {
+    return 24 * 3600;
+  }
+
+  @Override
+  public int getEstimatedExecutionSeconds() {
+    //TODO: Interpolate by the byte size of the space
+    return 600;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Creates / drops the automatic indexes of space " + getSpaceId() + " based on the recorded property searches";
+  }
+
+  private int calculateNeededAcus() {
+    return 0;
+  }
+
+  @Override
+  public AsyncExecutionState getExecutionState() throws UnknownStateException {
+    if (nothingToDo)
+      return AsyncExecutionState.SUCCEEDED;
+    return super.getExecutionState();
+  }
+
+  @Override
+  public void execute(boolean resume) throws TooManyResourcesClaimed {
+    try {
+      String schema = getSchema(db());
+      String rootTableName = getRootTableName(space());
+
+      //Maps the property paths of all existing automatic indexes to their index names
+      Map<String, String> autoIndexes = new HashMap<>();
+      List<String> indexedProperties = runReadQuerySync(buildLoadSpaceTableIndicesQuery(schema, rootTableName), db(),
+          calculateNeededAcus(), rs -> readIndexedProperties(rs, autoIndexes));
+      List<OperationStatistics> operationStatistics = runReadQuerySync(buildLoadQueryStatisticsQuery(schema, rootTableName), db(),
+          calculateNeededAcus(), AutoIndexSpaceTable::readStatistics);
+      List<PropertyStatistics> statistics = aggregateStatistics(operationStatistics);
+      String consumedStatistics = XyzSerializable.serialize(toResetStatistics(operationStatistics));
+
+      Map<String, Boolean> searchableProperties = space().getSearchableProperties() == null ? Map.of()
+          : space().getSearchableProperties();
+      List<String> dropProperties = selectIndexesToDrop(autoIndexes, statistics, searchableProperties.keySet(),
+          System.currentTimeMillis());
+      List<String> createProperties = selectPropertiesToIndex(statistics, indexedProperties, searchableProperties.keySet(),
+          maxAutoIndexes - autoIndexes.size() + dropProperties.size());
+
+      if (dropProperties.isEmpty() && createProperties.isEmpty()) {
+        logger.info("[{}] No automatic indexes to be created or dropped for space {}", getGlobalStepId(), getSpaceId());
+        if (!operationStatistics.isEmpty())
+          runReadQuerySync(buildResetQueryStatisticsQuery(schema, rootTableName, consumedStatistics, false), db(),
+              calculateNeededAcus(), rs -> null);
+        nothingToDo = true;
+        return;
+      }
+
+      logger.info("[{}] Dropping the automatic indexes on {} and creating automatic indexes on {} for space {} ...", getGlobalStepId(),
+          dropProperties, createProperties, getSpaceId());
+      List<SQLQuery> queries = new ArrayList<>();
+      dropProperties.forEach(propertyPath -> queries.add(buildDropIndexQuery(schema, autoIndexes.get(propertyPath))));
+      if (!createProperties.isEmpty()) {
+        //NOTE: See CreateIndex for the reason of creating the indexes on the partitions first
+        List<String> tableNames = new ArrayList<>(loadPartitionNamesOf(rootTableName));
+        tableNames.add(rootTableName);
+        for (String propertyPath : createProperties)
+          for (String tableName : tableNames)
+            queries.add(new SQLQuery(buildAutoIndexCreationQuery(schema, tableName, propertyPath, true).toExecutableQueryString()));
+      }
+      //Reset the consumed statistics within the same transaction, so they're only reset if the indexes have been maintained successfully
+      queries.add(new SQLQuery(buildResetQueryStatisticsQuery(schema, rootTableName, consumedStatistics, true)
+          .toExecutableQueryString()));
+
+      runWriteQueryAsync(SQLQuery.join(queries, ";"), db(), calculateNeededAcus());
+    }
+    catch (WebClientException | SQLException e) {
+      throw new StepException("Error while maintaining the automatic indexes of space " + getSpaceId(), e).withRetryable(true);
+    }
+  }
+
+  @Override
+  protected boolean onAsyncFailure() {
+    return true;
+  }
+
+  /**
+   * Selects the properties to be indexed, starting with the ones which have been causing most of the search time.
+   * A rejected search counts as one search which took the minimum average search time.
+   */
+  List<String> selectPropertiesToIndex(List<PropertyStatistics> statistics, List<String> indexedProperties,
+      Set<String> searchableProperties, int freeSlots) {
+    if (freeSlots <= 0)
+      return List.of();
+
+    return statistics.stream()
+        .filter(s -> !indexedProperties.contains(s.propertyPath()) && !searchableProperties.contains(s.propertyPath()))
+        .filter(s -> s.rejectedSearchCount() >= minRejectedSearchCount
+            || s.searchCount() >= minSearchCount && s.totalMillis() / s.searchCount() >= minAverageSearchMillis)
+        .sorted(Comparator.comparingLong((PropertyStatistics s) -> s.totalMillis() + s.rejectedSearchCount() * minAverageSearchMillis)
+            .reversed())
+        .limit(freeSlots)
+        .map(PropertyStatistics::propertyPath)
+        .toList();
+  }
+
+  /**
+   * Selects the automatic indexes to be dropped. These are the ones of which the property was not searched for the configured number of
+   * days, and the ones of which the property was explicitly configured to be searchable or not.
+   * Automatic indexes for which no statistics have been recorded at all are kept.
+   */
+  List<String> selectIndexesToDrop(Map<String, String> autoIndexes, List<PropertyStatistics> statistics,
+      Set<String> searchableProperties, long now) {
+    long unusedSince = now - TimeUnit.DAYS.toMillis(maxUnusedDays);
+    return autoIndexes.keySet().stream()
+        .filter(propertyPath -> searchableProperties.contains(propertyPath) || statistics.stream()
+            .anyMatch(s -> s.propertyPath().equals(propertyPath) && s.lastSeen() < unusedSince))
+        .sorted()
+        .toList();
+  }
+
+  private static List<String> readIndexedProperties(ResultSet rs, Map<String, String> autoIndexes) throws SQLException {
+    List<String> indexedProperties = new ArrayList<>();
+    while (rs.next()) {
+      String src = rs.getString("src");
+      String propertyPath = rs.getString("idx_property");
+      if ("s".equals(src))
+        continue;
+      indexedProperties.add(propertyPath);
+      if ("a".equals(src))
+        autoIndexes.put(propertyPath, rs.getString("idx_name"));
+    }
+    return indexedProperties;
+  }
+
+  private static List<OperationStatistics> readStatistics(ResultSet rs) throws SQLException {
+    List<OperationStatistics> statistics = new ArrayList<>();
+    while (rs.next()) {
+      Timestamp lastSeen = rs.getTimestamp("last_seen");
+      statistics.add(new OperationStatistics(rs.getString("property_path"), rs.getString("operation"), rs.getLong("query_count"),
+          rs.getLong("rejected_count"), rs.getLong("total_millis"), lastSeen == null ? 0 : lastSeen.getTime()));
+    }
+    return statistics;
+  }
+
+  /**
+   * Aggregates the statistics of all operations per property path.
+   */
+  static List<PropertyStatistics> aggregateStatistics(List<OperationStatistics> operationStatistics) {
+    Map<String, PropertyStatistics> statistics = new LinkedHashMap<>();
+    for (OperationStatistics s : operationStatistics)
+      statistics.merge(s.propertyPath(), new PropertyStatistics(s.propertyPath(), s.searchCount(), s.rejectedSearchCount(),
+          s.totalMillis(), s.lastSeen()), (a, b) -> new PropertyStatistics(a.propertyPath(), a.searchCount() + b.searchCount(),
+          a.rejectedSearchCount() + b.rejectedSearchCount(), a.totalMillis() + b.totalMillis(), Math.max(a.lastSeen(), b.lastSeen())));
+    return new ArrayList<>(statistics.values());
+  }
+
+  private static List<Map<String, Object>> toResetStatistics(List<OperationStatistics> operationStatistics) {
+    return operationStatistics.stream()
+        .map(s -> Map.<String, Object>of("propertyPath", s.propertyPath(), "operation", s.operation(), "count", s.searchCount(),
+            "rejectedCount", s.rejectedSearchCount(), "totalMillis", s.totalMillis()))
+        .toList();
+  }
+
+  public int getMinSearchCount() {
+    return minSearchCount;
+  }
+
+  public void setMinSearchCount(int minSearchCount) {
+    this.minSearchCount = minSearchCount;
+  }
+
+  public AutoIndexSpaceTable withMinSearchCount(int minSearchCount) {
+    setMinSearchCount(minSearchCount);
+    return this;
+  }
+
+  public long getMinAverageSearchMillis() {
+    return minAverageSearchMillis;
+  }
+
+  public void setMinAverageSearchMillis(long minAverageSearchMillis) {
+    this.minAverageSearchMillis = minAverageSearchMillis;
+  }
+
+  public AutoIndexSpaceTable withMinAverageSearchMillis(long minAverageSearchMillis) {
+    setMinAverageSearchMillis(minAverageSearchMillis);
+    return this;
+  }
+
+  public int getMinRejectedSearchCount() {
+    return minRejectedSearchCount;
+  }
+
+  public void setMinRejectedSearchCount(int minRejectedSearchCount) {
+    this.minRejectedSearchCount = minRejectedSearchCount;
+  }
+
+  public AutoIndexSpaceTable withMinRejectedSearchCount(int minRejectedSearchCount) {
+    setMinRejectedSearchCount(minRejectedSearchCount);
+    return this;
+  }
+
+  public int getMaxAutoIndexes() {
+    return maxAutoIndexes;
+  }
+
+  public void setMaxAutoIndexes(int maxAutoIndexes) {
+    this.maxAutoIndexes = maxAutoIndexes;
+  }
+
+  public AutoIndexSpaceTable withMaxAutoIndexes(int maxAutoIndexes) {
+    setMaxAutoIndexes(maxAutoIndexes);
+    return this;
+  }
+
+  public int getMaxUnusedDays() {
+    return maxUnusedDays;
+  }
+
+  public void setMaxUnusedDays(int maxUnusedDays) {
+    this.maxUnusedDays = maxUnusedDays;
+  }
+
+  public AutoIndexSpaceTable withMaxUnusedDays(int maxUnusedDays) {
+    setMaxUnusedDays(maxUnusedDays);
+    return this;
+  }
+}
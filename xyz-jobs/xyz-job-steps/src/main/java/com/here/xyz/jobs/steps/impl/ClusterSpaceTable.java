@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.jobs.steps.impl;
+
+import static com.here.xyz.events.ContextAwareEvent.SpaceContext.DEFAULT;
+import static com.here.xyz.events.ContextAwareEvent.SpaceContext.EXTENSION;
+import static com.here.xyz.util.db.pg.XyzSpaceTableHelper.buildClusterPartitionQuery;
+import static com.here.xyz.util.db.pg.XyzSpaceTableHelper.buildCreateSpatialBrinIndexQuery;
+import static com.here.xyz.util.db.pg.XyzSpaceTableHelper.buildLoadHeadLeafPartitionsQuery;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.here.xyz.jobs.steps.execution.StepException;
+import com.here.xyz.jobs.steps.impl.tools.ResourceAndTimeCalculator;
+import com.here.xyz.jobs.steps.resources.Load;
+import com.here.xyz.jobs.steps.resources.TooManyResourcesClaimed;
+import com.here.xyz.util.db.SQLQuery;
+import com.here.xyz.util.web.XyzWebClient.WebClientException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Physically re-orders the HEAD partitions of a space table by the location of the features and creates a BRIN index on the
+ * geometries afterwards.
+ * Tile reads on large spaces then touch only a few pages instead of rows being scattered across the whole table.
+ * NOTE: Each partition is locked exclusively while being re-ordered. The partitions are re-ordered one after another, each within a
+ * transaction of its own, so that only one partition at a time is locked.
+ */
+public class ClusterSpaceTable extends SpaceBasedStep<ClusterSpaceTable> {
+  private static final Logger logger = LogManager.getLogger();
+  /**
+   * In incremental mode, partitions are only re-ordered if at least this ratio of their rows was written after their last clustering.
+   */
+  private static final double INCREMENTAL_MIN_UNCLUSTERED_RATIO = 0.1;
+  private boolean incremental;
+
+  @JsonView({Internal.class, Static.class})
+  private int estimatedSeconds = -1;
+
+  @Override
+  public List<Load> getNeededResources() {
+    try {
+      return Collections.singletonList(new Load().withResource(db()).withEstimatedVirtualUnits(calculateNeededAcus()));
+    }
+    catch (WebClientException e) {
+      throw new StepException("Error calculating the necessary resources for the step.", e).withRetryable(true);
+    }
+  }
+
+  @Override
+  public int getTimeoutSeconds() {
+    return 24 * 3600;
+  }
+
+  @Override
+  public int getEstimatedExecutionSeconds() {
+    if (estimatedSeconds < 0) {
+      try {
+        estimatedSeconds = ResourceAndTimeCalculator.getInstance().calculateClusteringTimeInSeconds(getSpaceId(), getTableByteSize());
+      }
+      catch (WebClientException e) {
+        throw new StepException("Error calculating the estimated execution time of the step.", e).withRetryable(true);
+      }
+      logger.info("[{}] Clustering estimatedSeconds {}", getGlobalStepId(), estimatedSeconds);
+    }
+    return estimatedSeconds;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Clusters the features of space " + getSpaceId() + " spatially" + (incremental ? " (incremental)" : "");
+  }
+
+  private double calculateNeededAcus() throws WebClientException {
+    return ResourceAndTimeCalculator.getInstance().calculateNeededClusteringAcus(getTableByteSize());
+  }
+
+  private long getTableByteSize() throws WebClientException {
+    //Only the table of the space itself gets re-ordered, not the one of its super space
+    Long dataSize = spaceStatistics(space().getExtension() != null ? EXTENSION : DEFAULT, false).getDataSize().getValue();
+    return dataSize == null ? 0 : dataSize;
+  }
+
+  @Override
+  public void execute(boolean resume) throws TooManyResourcesClaimed {
+    //NOTE: In case of resume the already clustered partitions will be skipped in incremental mode
+    logger.info("[{}] Clustering the table of space {} spatially (incremental: {}) ...", getGlobalStepId(), getSpaceId(), incremental);
+
+    try {
+      String schema = getSchema(db());
+      String table = getTableName(space(), getVersionRef());
+      List<String> partitions = runReadQuerySync(buildLoadHeadLeafPartitionsQuery(schema, table), db(), 0, rs -> {
+        List<String> partitionNames = new ArrayList<>();
+        while (rs.next())
+          partitionNames.add(rs.getString("partition_name"));
+        return partitionNames;
+      });
+
+      List<SQLQuery> queries = new ArrayList<>();
+      for (String partition : partitions)
+        queries.add(buildClusterPartitionQuery(schema, partition, incremental ? INCREMENTAL_MIN_UNCLUSTERED_RATIO : 0, true));
+      queries.add(buildCreateSpatialBrinIndexQuery(schema, table));
+      runWriteQueriesAsyncInSequence(queries, db(), calculateNeededAcus());
+    }
+    catch (WebClientException | SQLException e) {
+      throw new StepException("Error while clustering the table of space " + getSpaceId(), e).withRetryable(true);
+    }
+  }
+
+  public boolean isIncremental() {
+    return incremental;
+  }
+
+  public void setIncremental(boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  public ClusterSpaceTable withIncremental(boolean incremental) {
+    setIncremental(incremental);
+    return this;
+  }
+}
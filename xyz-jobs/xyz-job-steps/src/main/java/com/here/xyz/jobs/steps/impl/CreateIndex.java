@@ -138,28 +138,6 @@ public class CreateIndex extends SpaceBasedStep<CreateIndex> {
     return SQLQuery.join(indexCreationQueries, ";");
   }
 
-  private List<String> loadPartitionNamesOf(String rootTableName) throws WebClientException, SQLException, TooManyResourcesClaimed {
-    return runReadQuerySync(new SQLQuery("""
-        SELECT
-          c.relname AS partition_name
-        FROM
-          pg_class c
-        JOIN
-          pg_namespace n ON n.oid = c.relnamespace
-        WHERE
-          c.oid IN (SELECT inhrelid::regclass
-                FROM pg_inherits
-                WHERE inhparent = '${schema}.${rootTableName}'::regclass);
-        """)
-        .withVariable("schema", getSchema(db()))
-        .withVariable("rootTableName", rootTableName), db(), 0, rs -> {
-      List<String> partitionNames = new ArrayList<>();
-      while (rs.next())
-        partitionNames.add(rs.getString("partition_name"));
-      return partitionNames;
-    });
-  }
-
   public Index getIndex() {
     return index;
   }
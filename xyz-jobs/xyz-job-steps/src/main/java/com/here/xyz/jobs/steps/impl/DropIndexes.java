@@ -49,6 +49,8 @@ public class DropIndexes extends SpaceBasedStep<DropIndexes> {
   private boolean spaceDeactivation = true;
   //If not set, the step will drop all indexes of the space.
   private List<Index> indexWhiteList;
+  //If set, the indexes which have been created automatically are kept, as they are maintained by AutoIndexSpaceTable
+  private boolean keepAutoIndexes;
 
   public List<Index> getIndexWhiteList() {
     return indexWhiteList;
@@ -63,6 +65,19 @@ public class DropIndexes extends SpaceBasedStep<DropIndexes> {
     return this;
   }
 
+  public boolean isKeepAutoIndexes() {
+    return keepAutoIndexes;
+  }
+
+  public void setKeepAutoIndexes(boolean keepAutoIndexes) {
+    this.keepAutoIndexes = keepAutoIndexes;
+  }
+
+  public DropIndexes withKeepAutoIndexes(boolean keepAutoIndexes) {
+    setKeepAutoIndexes(keepAutoIndexes);
+    return this;
+  }
+
   public boolean isSpaceDeactivation() {
     return spaceDeactivation;
   }
@@ -123,7 +138,7 @@ public class DropIndexes extends SpaceBasedStep<DropIndexes> {
       //Get the list of existing indexes from database.
       List<Index> indexes = runReadQuerySync(
           buildLoadSpaceTableIndicesQuery(getSchema(db()), tableName), db(), calculateNeededAcus(),
-          DropIndexes::getIndicesFromResultSet);
+          rs -> getIndicesFromResultSet(rs, keepAutoIndexes));
 
       if (indexes.isEmpty())
         noIndicesPresent();
@@ -158,12 +173,18 @@ public class DropIndexes extends SpaceBasedStep<DropIndexes> {
   }
 
   public static List<Index> getIndicesFromResultSet(ResultSet rs) throws SQLException {
+    return getIndicesFromResultSet(rs, false);
+  }
+
+  private static List<Index> getIndicesFromResultSet(ResultSet rs, boolean skipAutoIndexes) throws SQLException {
     List<Index> result = new ArrayList<>();
     while (rs.next()) {
       String idxName = rs.getString("idx_name");
       String idxPropertyPath = rs.getString("idx_property");
       Character src = rs.getString("src").charAt(0);
 
+      if (src == 'a' && skipAutoIndexes)
+        continue;
       if (src == 's')
         result.add(SystemIndex.fromString(idxPropertyPath));
       else if (src == 'm' || src == 'a')
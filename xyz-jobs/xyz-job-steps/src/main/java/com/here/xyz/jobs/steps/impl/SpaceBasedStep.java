@@ -44,7 +44,9 @@ import com.here.xyz.jobs.steps.impl.transport.CountSpace;
 import com.here.xyz.jobs.steps.impl.transport.ExportChangedTiles;
 import com.here.xyz.jobs.steps.impl.transport.ExportSpaceToFiles;
 import com.here.xyz.jobs.steps.impl.transport.GetNextSpaceVersion;
+import com.here.xyz.jobs.steps.impl.transport.PreGenerateTiles;
 import com.here.xyz.jobs.steps.impl.transport.TaskedImportFilesToSpace;
+import com.here.xyz.jobs.steps.resources.TooManyResourcesClaimed;
 import com.here.xyz.models.hub.Branch;
 import com.here.xyz.models.hub.Connector;
 import com.here.xyz.models.hub.Ref;
@@ -52,10 +54,14 @@ import com.here.xyz.models.hub.Space;
 import com.here.xyz.models.hub.Tag;
 import com.here.xyz.responses.StatisticsResponse;
 import com.here.xyz.util.db.ConnectorParameters;
+import com.here.xyz.util.db.SQLQuery;
 import com.here.xyz.util.service.BaseHttpServerVerticle.ValidationException;
 import com.here.xyz.util.web.HubWebClient;
 import com.here.xyz.util.web.XyzWebClient.ErrorResponseException;
 import com.here.xyz.util.web.XyzWebClient.WebClientException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
@@ -66,9 +72,12 @@ import org.apache.logging.log4j.Logger;
     @JsonSubTypes.Type(value = CreateIndex.class),
     @JsonSubTypes.Type(value = ExportSpaceToFiles.class),
     @JsonSubTypes.Type(value = ExportChangedTiles.class),
+    @JsonSubTypes.Type(value = PreGenerateTiles.class),
     @JsonSubTypes.Type(value = TaskedImportFilesToSpace.class),
     @JsonSubTypes.Type(value = DropIndexes.class),
     @JsonSubTypes.Type(value = AnalyzeSpaceTable.class),
+    @JsonSubTypes.Type(value = ClusterSpaceTable.class),
+    @JsonSubTypes.Type(value = AutoIndexSpaceTable.class),
     @JsonSubTypes.Type(value = MarkForMaintenance.class),
     @JsonSubTypes.Type(value = GetNextSpaceVersion.class),
     @JsonSubTypes.Type(value = CopySpace.class),
@@ -153,6 +162,31 @@ public abstract class SpaceBasedStep<T extends SpaceBasedStep> extends DatabaseB
     return getRootTableName(space);
   }
 
+  /**
+   * Loads the names of all partitions of the provided table of this step's space.
+   */
+  protected final List<String> loadPartitionNamesOf(String rootTableName) throws WebClientException, SQLException, TooManyResourcesClaimed {
+    return runReadQuerySync(new SQLQuery("""
+        SELECT
+          c.relname AS partition_name
+        FROM
+          pg_class c
+        JOIN
+          pg_namespace n ON n.oid = c.relnamespace
+        WHERE
+          c.oid IN (SELECT inhrelid::regclass
+                FROM pg_inherits
+                WHERE inhparent = '${schema}.${rootTableName}'::regclass);
+        """)
+        .withVariable("schema", getSchema(db()))
+        .withVariable("rootTableName", rootTableName), db(), 0, rs -> {
+      List<String> partitionNames = new ArrayList<>();
+      while (rs.next())
+        partitionNames.add(rs.getString("partition_name"));
+      return partitionNames;
+    });
+  }
+
   protected final boolean isEnableHashedSpaceIdActivated(Space space) throws WebClientException {
     return ConnectorParameters.fromMap(loadConnector(space).params).isEnableHashedSpaceId();
   }
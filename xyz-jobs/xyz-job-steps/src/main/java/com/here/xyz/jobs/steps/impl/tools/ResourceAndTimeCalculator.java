@@ -139,7 +139,7 @@ public class ResourceAndTimeCalculator implements Initializable {
             importTimeInMin = 0.014 * bytesPerBillion;
         else if(index instanceof SystemIndex systemIndex) {
             importTimeInMin = switch (systemIndex) {
-                case GEO -> geoIndexFactor(spaceId, bytesPerBillion);
+                case GEO, GEO_HEAD -> geoIndexFactor(spaceId, bytesPerBillion);
                 case VERSION_ID -> 0.014 * bytesPerBillion;
                 case VIZ -> 0.025 * bytesPerBillion;
                 case OPERATION -> 0.012 * bytesPerBillion;
@@ -161,7 +161,7 @@ public class ResourceAndTimeCalculator implements Initializable {
             return interpolate(globalMax, 10, byteSize, minACUs) / 4d; //TODO: Remove workaround once GraphSequentializer was implemented
         else if(index instanceof SystemIndex systemIndex) {
             return switch (systemIndex) {
-                case GEO -> interpolate(globalMax, 30, byteSize, minACUs);
+                case GEO, GEO_HEAD -> interpolate(globalMax, 30, byteSize, minACUs);
                 case VIZ -> interpolate(globalMax, 10, byteSize, minACUs);
                 case VERSION_ID -> interpolate(globalMax, 10, byteSize, minACUs);
                 case OPERATION -> interpolate(globalMax, 10, byteSize, minACUs);
@@ -178,6 +178,23 @@ public class ResourceAndTimeCalculator implements Initializable {
         return Math.min(Math.max(t, MIN_IDX_CREATION_TIME_IN_SECONDS), MAX_IDX_CREATION_TIME_IN_SECONDS);
     }
 
+    //Clustering Related...
+    public int calculateClusteringTimeInSeconds(String spaceId, long byteSize) {
+        int warmUpTime = 1;
+        double bytesPerBillion = byteSize / 1_000_000_000d;
+        //Creating the sort index, re-writing the table and re-building all its indexes
+        double clusteringTimeInMin = geoIndexFactor(spaceId, bytesPerBillion) + 0.1 * bytesPerBillion;
+        return (int) (warmUpTime + clusteringTimeInMin * 60);
+    }
+
+    public double calculateNeededClusteringAcus(long byteSize) {
+        double minACUs = 0.01;
+        //Threshold which defines when we scale to maximum
+        double globalMax = 200d * 1024 * 1024 * 1024;
+        //Only one partition is being re-ordered at a time
+        return interpolate(globalMax, 30, byteSize, minACUs) / 4d;
+    }
+
     private static double interpolate(double globalMax, double max, long real, double min){
         if(real >= globalMax)
             return max;
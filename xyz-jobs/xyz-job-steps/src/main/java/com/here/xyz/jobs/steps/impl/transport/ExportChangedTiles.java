@@ -83,7 +83,7 @@ import java.util.Set;
  * and {@link TileInvalidations}.</p>
  */
 public class ExportChangedTiles extends ExportSpaceToFiles {
-  private static final int STATEMENT_TIMEOUT = 895;
+  protected static final int STATEMENT_TIMEOUT = 895;
   //GetFeaturesById queries are getting chunked  in MAX_ID_BLOCKSIZE blocks
   private static final int MAX_ID_BLOCKSIZE = 400_000;
   public static final String TILE_INVALIDATIONS = "tileInvalidations";
@@ -152,6 +152,9 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
   public boolean isEquivalentTo(StepExecution other) {
     if (!(other instanceof ExportChangedTiles otherExport))
       return super.isEquivalentTo(other);
+    //Sub-classes are producing different outputs
+    if (otherExport.getClass() != getClass())
+      return false;
 
     try {
       //Deduplicate code
@@ -267,7 +270,7 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
     return taskList;
   }
 
-  private boolean tileIsRelevant(String tileId){
+  protected boolean tileIsRelevant(String tileId){
     //If a spatialFilter is set with clip=true, we need to check if the tile intersects with the filter
     //We only add the tile if it intersects with the filter
     if(spatialFilter != null && spatialFilter.getGeometry() != null && spatialFilter.isClip())
@@ -276,7 +279,7 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
     return true;
   }
 
-  private Polygon getTileBBOX(String tileId) {
+  protected Polygon getTileBBOX(String tileId) {
     BBox tileBBOX = switch (quadType) {
       case HERE_QUAD -> new HQuad(tileId, false).getBoundingBox();
       case MERCATOR_QUAD -> WebMercatorTile.forQuadkey(tileId).getExtendedBBox(0);
@@ -310,22 +313,12 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
   @Override
   protected void processFinalizedTasks(List<FinalizedTaskItem<ExportInput, ExportOutput>> finalizedTaskItems) throws IOException {
     try {
-      List<String> invalidatedTileIds = new ArrayList<>();
-
-      for(FinalizedTaskItem<ExportInput, ExportOutput> item : finalizedTaskItems){
-        if(item.output().bytes() == 0)
-          invalidatedTileIds.add(item.input().tileId());
-      }
-
-      TileInvalidations tileList = new TileInvalidations()
-              .withTileLevel(targetLevel)
-              .withQuadType(quadType)
-              .withTileIds(invalidatedTileIds);
+      List<TileInvalidations> tileLists = collectTileInvalidations(finalizedTaskItems);
 
       infoLog(STEP_ON_ASYNC_SUCCESS,  "Write TILE_INVALIDATIONS output. Size: {}.",
-              Integer.toString(tileList.getTileIds().size()));
+              Integer.toString(tileLists.stream().mapToInt(tileList -> tileList.getTileIds().size()).sum()));
 
-      registerOutputs(List.of(tileList), TILE_INVALIDATIONS);
+      registerOutputs(new ArrayList<>(tileLists), TILE_INVALIDATIONS);
 
     } catch (Exception e) {
       throw new IOException(e);
@@ -333,6 +326,27 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
     super.processFinalizedTasks(finalizedTaskItems);
   }
 
+  /**
+   * Collects the tiles which have to be invalidated after the export.
+   * By default, these are all tiles which have been exported without any content.
+   *
+   * @param finalizedTaskItems The finalized task items of this step
+   * @return The lists of tiles to be invalidated (one per tile level)
+   */
+  protected List<TileInvalidations> collectTileInvalidations(List<FinalizedTaskItem<ExportInput, ExportOutput>> finalizedTaskItems) {
+    List<String> invalidatedTileIds = new ArrayList<>();
+
+    for(FinalizedTaskItem<ExportInput, ExportOutput> item : finalizedTaskItems){
+      if(item.output().bytes() == 0)
+        invalidatedTileIds.add(item.input().tileId());
+    }
+
+    return List.of(new TileInvalidations()
+            .withTileLevel(targetLevel)
+            .withQuadType(quadType)
+            .withTileIds(invalidatedTileIds));
+  }
+
   @Override
   protected void finalCleanUp(boolean noTasksCreated) throws WebClientException, SQLException, TooManyResourcesClaimed, IOException {
     if(noTasksCreated){
@@ -355,7 +369,7 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
     return ESTIMATED_SPATIAL_FILTERED_IO_BYTES;
   }
 
-  private String getQuadFunctionName(){
+  protected String getQuadFunctionName(){
     return switch (quadType) {
       case HERE_QUAD -> "here_quad";
       case MERCATOR_QUAD -> "mercator_quad";
@@ -408,7 +422,7 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
             .withLoggingEnabled(false);
   }
 
-  private SQLQuery getFeaturesByGeometryQuery(
+  protected SQLQuery getFeaturesByGeometryQuery(
           SpaceContext context,
           SQLQuery selectClauseOverride,
           SpatialFilter spatialFilter,
@@ -434,6 +448,19 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
           String tileId,
           Ref versionRef
   ) throws WebClientException, TooManyResourcesClaimed, QueryBuildingException, InvalidGeometryException {
+    return buildTileQuery(getTileContentQuery(context, selectClauseOverride, spatialFilter, tileId, versionRef), tileId);
+  }
+
+  /**
+   * Builds the query which reads all features (columns "jsondata" & "geo") of the specified tile.
+   */
+  protected SQLQuery getTileContentQuery(
+          SpaceContext context,
+          SQLQuery selectClauseOverride,
+          SpatialFilter spatialFilter,
+          String tileId,
+          Ref versionRef
+  ) throws WebClientException, TooManyResourcesClaimed, QueryBuildingException, InvalidGeometryException {
 
     GetFeaturesByGeometryBuilder queryBuilder = new GetFeaturesByGeometryBuilder()
             .withDataSourceProvider(requestResource(dbReader(), 0));
@@ -445,12 +472,10 @@ public class ExportChangedTiles extends ExportSpaceToFiles {
     Space space = context == SUPER ? superSpace() : space();
     GetFeaturesByGeometryInput input = createGetFeaturesByGeometryInput(space, context, tileBBOXFilter, versionRef);
 
-    SQLQuery contentQuery = queryBuilder
+    return queryBuilder
             .withClippingGeometry(spatialFilter != null && spatialFilter.isClip() ? spatialFilter.getGeometry() : null)
             .withSelectClauseOverride(selectClauseOverride)
             .buildQuery(input);
-
-    return buildTileQuery(contentQuery, tileId);
   }
 
   private SQLQuery buildTileQuery(SQLQuery contentQuery, String tileId) {
@@ -632,7 +632,7 @@ public class ExportSpaceToFiles extends TaskedSpaceBasedStep<ExportSpaceToFiles,
         endI);
   }
 
-  private ExportQueryBuilder getQueryBuilder() {
+  protected ExportQueryBuilder getQueryBuilder() {
     if (exportQueryBuilder == null)
       exportQueryBuilder = initQueryBuilder(ExportQueryBuilder::new);
     return exportQueryBuilder;
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.jobs.steps.impl.transport;
+
+import static com.here.xyz.events.ContextAwareEvent.SpaceContext.DEFAULT;
+import static com.here.xyz.jobs.steps.impl.SpaceBasedStep.LogPhase.STEP_EXECUTE;
+import static com.here.xyz.jobs.steps.impl.transport.PreGenerateTiles.TileFormat.GEOJSON;
+import static com.here.xyz.util.web.XyzWebClient.WebClientException;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.here.xyz.jobs.steps.StepExecution;
+import com.here.xyz.jobs.steps.impl.transport.tasks.inputs.ExportInput;
+import com.here.xyz.jobs.steps.impl.transport.tasks.outputs.ExportOutput;
+import com.here.xyz.jobs.steps.outputs.DownloadUrl;
+import com.here.xyz.jobs.steps.outputs.TileInvalidations;
+import com.here.xyz.jobs.steps.resources.TooManyResourcesClaimed;
+import com.here.xyz.models.geojson.HQuad;
+import com.here.xyz.models.geojson.WebMercatorTile;
+import com.here.xyz.models.geojson.coordinates.BBox;
+import com.here.xyz.models.geojson.exceptions.InvalidGeometryException;
+import com.here.xyz.models.hub.Ref;
+import com.here.xyz.psql.query.GetFeaturesByBBox;
+import com.here.xyz.psql.query.QueryBuilder.QueryBuildingException;
+import com.here.xyz.util.db.SQLQuery;
+import com.here.xyz.util.service.BaseHttpServerVerticle.ValidationException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The {@code PreGenerateTiles} step pre-renders the tiles of a space for a range of tile levels, so that tile requests
+ * for mostly static spaces do not have to be computed on demand.
+ *
+ * <p>Each tile is written as one file into the jobs bucket, keyed by the space, the quad type, its level and tile ID
+ * (e.g. <code>preGeneratedTiles/mySpace/MERCATOR_QUAD/11/12020330203.geojson</code>, see {@link #toTileS3Key(String)}).
+ * The hub serves plain tile requests of the space from these files as long as they are newer than the latest content
+ * change of the space (see {@code com.here.xyz.hub.cache.PreGeneratedTiles}). Therefore, the key layout must not be changed
+ * on one side only.
+ * The tiles are rendered either as GeoJSON FeatureCollections or as MVT (base64 encoded, as the RDS export plugin only
+ * writes text).
+ * As the tiles are served for all tile requests of the space, neither a spatial filter nor a property filter is supported.</p>
+ *
+ * <p>If the {@link #versionRef} is a version range, only the tiles which have been affected by the changes within that
+ * range are (re-)generated, using the same changed-tiles computation as {@link ExportChangedTiles}.
+ * If it is a single version, all non-empty tiles of the space are generated.
+ * In both cases the affected tiles are computed on the {@link #getTargetLevel() target level} and all their ancestor tiles
+ * down to the {@link #getMinLevel() min level} are added. By default, only the tiles of the target level are generated.</p>
+ *
+ * <p>Like a tile request to the hub, each tile contains at most {@link #getFeatureLimit() featureLimit} features, so that the
+ * tiles of low levels do not contain all features of the space.</p>
+ *
+ * <p>All (re-)generated tiles are additionally reported per level within the {@link #TILE_INVALIDATIONS} output set.</p>
+ */
+public class PreGenerateTiles extends ExportChangedTiles {
+
+  public static final String PRE_GENERATED_TILES_PREFIX = "preGeneratedTiles";
+  //The same limit as the one the hub applies to tile requests by default
+  private static final int DEFAULT_FEATURE_LIMIT = 30_000;
+  private static final int MAX_FEATURE_LIMIT = 100_000;
+
+  //-1 means the target level
+  @JsonView({Internal.class, Static.class})
+  private int minLevel = -1;
+
+  @JsonView({Internal.class, Static.class})
+  private int featureLimit = DEFAULT_FEATURE_LIMIT;
+
+  @JsonView({Internal.class, Static.class})
+  private TileFormat format = GEOJSON;
+
+  public int getMinLevel() {
+    return minLevel < 0 ? getTargetLevel() : minLevel;
+  }
+
+  public void setMinLevel(int minLevel) {
+    this.minLevel = minLevel;
+  }
+
+  public PreGenerateTiles withMinLevel(int minLevel) {
+    setMinLevel(minLevel);
+    return this;
+  }
+
+  public int getFeatureLimit() {
+    return featureLimit;
+  }
+
+  public void setFeatureLimit(int featureLimit) {
+    this.featureLimit = featureLimit;
+  }
+
+  public PreGenerateTiles withFeatureLimit(int featureLimit) {
+    setFeatureLimit(featureLimit);
+    return this;
+  }
+
+  public TileFormat getFormat() {
+    return format;
+  }
+
+  public void setFormat(TileFormat format) {
+    this.format = format;
+  }
+
+  public PreGenerateTiles withFormat(TileFormat format) {
+    setFormat(format);
+    return this;
+  }
+
+  public enum TileFormat {
+    GEOJSON(".geojson"),
+    MVT(".mvt.b64"),
+    MVT_FLATTENED(".mvtf.b64");
+
+    private final String fileSuffix;
+
+    TileFormat(String fileSuffix) {
+      this.fileSuffix = fileSuffix;
+    }
+  }
+
+  @Override
+  public boolean isEquivalentTo(StepExecution other) {
+    if (!(other instanceof PreGenerateTiles otherStep))
+      return false;
+
+    return super.isEquivalentTo(other)
+        && otherStep.getMinLevel() == getMinLevel()
+        && otherStep.featureLimit == featureLimit
+        && otherStep.format == format;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Pre-generate tiles of levels " + getMinLevel() + " to " + getTargetLevel() + " for space " + getSpaceId();
+  }
+
+  @Override
+  public boolean validate() throws ValidationException {
+    super.validate();
+
+    if (minLevel >= 0 && (minLevel < 1 || minLevel > getTargetLevel()))
+      throw new ValidationException("MinLevel must be between 1 and the targetLevel (" + getTargetLevel() + ")!");
+    if (spatialFilter != null || propertyFilter != null)
+      throw new ValidationException("Pre-generated tiles are served for all tile requests, filters are not supported!");
+    if (featureLimit < 1 || featureLimit > MAX_FEATURE_LIMIT)
+      throw new ValidationException("FeatureLimit must be between 1 and " + MAX_FEATURE_LIMIT + "!");
+    return true;
+  }
+
+  @Override
+  protected List<ExportInput> createTaskItems() throws TooManyResourcesClaimed, QueryBuildingException, WebClientException,
+      SQLException {
+    //Incremental mode: Only (re-)generate the tiles which have been affected by the changes in the version range
+    List<ExportInput> targetLevelTiles = versionRef.isRange() ? super.createTaskItems() : loadAllTiles();
+
+    Set<String> tileIds = new LinkedHashSet<>();
+    for (ExportInput targetLevelTile : targetLevelTiles) {
+      //Add the tile and its ancestors, stop as soon as reaching an ancestor which was already added by another tile
+      String tileId = targetLevelTile.tileId();
+      while (tileId != null && tileIds.add(tileId))
+        tileId = getParentTileId(tileId);
+    }
+
+    infoLog(STEP_EXECUTE, "Tiles to be generated for levels " + getMinLevel() + " to " + getTargetLevel() + ": " + tileIds.size());
+
+    List<ExportInput> taskList = new ArrayList<>();
+    for (String tileId : tileIds)
+      taskList.add(new ExportInput(tileId));
+    return taskList;
+  }
+
+  /**
+   * Loads the IDs of all non-empty tiles of the space on the target level.
+   */
+  private List<ExportInput> loadAllTiles() throws TooManyResourcesClaimed, QueryBuildingException, WebClientException, SQLException {
+    SQLQuery tilesQuery = new SQLQuery("SELECT DISTINCT " + getQuadFunctionName() +
+        """
+        (f.colX, f.rowY, f.level) AS tile
+           FROM (
+                ${{featuresQuery}}
+            ) a
+        CROSS JOIN LATERAL for_geometry(a.geo, #{targetLevel}, #{quadType}) f
+        """)
+        .withNamedParameter("targetLevel", getTargetLevel())
+        .withNamedParameter("quadType", getQuadType().name())
+        .withQueryFragment("featuresQuery", getFeaturesByGeometryQuery(DEFAULT, new SQLQuery("geo"), spatialFilter, versionRef))
+        .withTimeout(STATEMENT_TIMEOUT)
+        .withLoggingEnabled(false);
+
+    List<ExportInput> tiles = new ArrayList<>();
+    return runReadQuerySync(tilesQuery, db(), 0, rs -> {
+      while (rs.next()) {
+        String tileId = rs.getString("tile");
+        if (tileId != null && tileIsRelevant(tileId))
+          tiles.add(new ExportInput(tileId));
+      }
+      return tiles;
+    });
+  }
+
+  @Override
+  protected SQLQuery buildTaskQuery(Integer taskId, ExportInput taskInput, String failureCallback)
+      throws QueryBuildingException, TooManyResourcesClaimed, WebClientException, InvalidGeometryException {
+    return getQueryBuilder().buildTileExportToS3PluginQuery(
+        taskId,
+        new DownloadUrl().withS3Key(toTileS3Key(taskInput.tileId())),
+        bucketRegion(),
+        new LambdaStepRequest().withStep(this).serialize(),
+        getwOwnLambdaArn().toString(),
+        getwOwnLambdaArn().getRegion(),
+        generateContentQueryForExportPlugin(taskInput),
+        failureCallback);
+  }
+
+  @Override
+  protected String generateContentQueryForExportPlugin(ExportInput taskInput)
+      throws WebClientException, TooManyResourcesClaimed, QueryBuildingException, InvalidGeometryException {
+    Ref contentVersion = versionRef.isRange() ? new Ref(versionRef.getEnd().getVersion()) : versionRef;
+    SQLQuery contentQuery = new SQLQuery("SELECT * FROM (${{tileContentQuery}}) tile_features LIMIT #{featureLimit}")
+        .withQueryFragment("tileContentQuery", getTileContentQuery(DEFAULT, null, spatialFilter, taskInput.tileId(), contentVersion))
+        .withNamedParameter("featureLimit", featureLimit);
+
+    SQLQuery tileQuery = format == GEOJSON
+        ? new SQLQuery("""
+            SELECT jsonb_build_object('type', 'FeatureCollection', 'features', coalesce(jsonb_agg(
+                     jsondata || jsonb_build_object('geometry', ST_AsGeoJSON(geo, 8)::JSONB)), '[]'::JSONB))::TEXT AS content
+              FROM (${{contentQuery}}) tile_content
+            """)
+            .withQueryFragment("contentQuery", contentQuery)
+        : new SQLQuery("SELECT translate(encode(coalesce(bin, ''::BYTEA), 'base64'), E'\\n', '') AS content FROM (${{mvtQuery}}) mvt")
+            .withQueryFragment("mvtQuery", GetFeaturesByBBox.buildMvtEncapsuledQuery(getSpaceId(), getTileBBox(taskInput.tileId()),
+                getQuadType() == QuadType.HERE_QUAD, format == TileFormat.MVT_FLATTENED, 0, contentQuery));
+
+    return tileQuery.toExecutableQueryString();
+  }
+
+  @Override
+  protected List<TileInvalidations> collectTileInvalidations(List<FinalizedTaskItem<ExportInput, ExportOutput>> finalizedTaskItems) {
+    //All generated tiles have been replaced, so report all of them - grouped by level
+    Map<Integer, List<String>> tileIdsByLevel = new TreeMap<>();
+    for (FinalizedTaskItem<ExportInput, ExportOutput> item : finalizedTaskItems)
+      tileIdsByLevel.computeIfAbsent(getTileLevel(item.input().tileId()), level -> new ArrayList<>()).add(item.input().tileId());
+
+    List<TileInvalidations> tileInvalidations = new ArrayList<>();
+    tileIdsByLevel.forEach((level, tileIds) -> tileInvalidations.add(new TileInvalidations()
+        .withTileLevel(level)
+        .withQuadType(getQuadType())
+        .withTileIds(tileIds)));
+    return tileInvalidations;
+  }
+
+  /**
+   * @return The S3 key of the pre-generated tile, as it is read by the hub
+   */
+  String toTileS3Key(String tileId) {
+    return PRE_GENERATED_TILES_PREFIX + "/" + getSpaceId() + "/" + getQuadType() + "/" + getTileLevel(tileId) + "/" + tileId
+        + format.fileSuffix;
+  }
+
+  private BBox getTileBBox(String tileId) {
+    return switch (getQuadType()) {
+      case HERE_QUAD -> new HQuad(tileId, false).getBoundingBox();
+      case MERCATOR_QUAD -> WebMercatorTile.forQuadkey(tileId).getBBox(false);
+    };
+  }
+
+  int getTileLevel(String tileId) {
+    return switch (getQuadType()) {
+      //HERE tile IDs are the quadkeys as (base 10) long value incl. a leading level bit
+      case HERE_QUAD -> (63 - Long.numberOfLeadingZeros(Long.parseLong(tileId))) / 2;
+      case MERCATOR_QUAD -> tileId.length();
+    };
+  }
+
+  /**
+   * @return The ID of the parent tile or null if the tile is already on the min level
+   */
+  String getParentTileId(String tileId) {
+    if (getTileLevel(tileId) <= getMinLevel())
+      return null;
+    return switch (getQuadType()) {
+      case HERE_QUAD -> Long.toString(Long.parseLong(tileId) >> 2);
+      case MERCATOR_QUAD -> tileId.substring(0, tileId.length() - 1);
+    };
+  }
+}
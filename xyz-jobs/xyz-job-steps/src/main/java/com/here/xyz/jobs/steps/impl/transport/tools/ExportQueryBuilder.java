@@ -40,8 +40,26 @@ public class ExportQueryBuilder extends DatabaseStepQueryBuilder{
   public SQLQuery buildExportToS3PluginQuery(int taskId, DownloadUrl downloadUrl,
           String bucketRegion, String serializedStep, String lambda_function_arn, String lambda_region,
           String contentQuery, String failureCallback) {
+    return buildExportToS3PluginQuery("export_to_s3_perform", taskId, downloadUrl, bucketRegion, serializedStep,
+            lambda_function_arn, lambda_region, contentQuery, failureCallback);
+  }
+
+  /**
+   * Same as {@link #buildExportToS3PluginQuery(int, DownloadUrl, String, String, String, String, String, String)}, but the
+   * (single text column) result of the content query is written as-is into one file instead of being converted into GeoJSON features.
+   */
+  public SQLQuery buildTileExportToS3PluginQuery(int taskId, DownloadUrl downloadUrl,
+          String bucketRegion, String serializedStep, String lambda_function_arn, String lambda_region,
+          String contentQuery, String failureCallback) {
+    return buildExportToS3PluginQuery("export_tile_to_s3_perform", taskId, downloadUrl, bucketRegion, serializedStep,
+            lambda_function_arn, lambda_region, contentQuery, failureCallback);
+  }
+
+  private SQLQuery buildExportToS3PluginQuery(String performFunction, int taskId, DownloadUrl downloadUrl,
+          String bucketRegion, String serializedStep, String lambda_function_arn, String lambda_region,
+          String contentQuery, String failureCallback) {
     return new SQLQuery(
-            "SELECT export_to_s3_perform(#{taskId},  #{s3_bucket}, #{s3_path}, #{s3_region}, #{step_payload}::JSON->'step', " +
+            "SELECT ${{performFunction}}(#{taskId},  #{s3_bucket}, #{s3_path}, #{s3_region}, #{step_payload}::JSON->'step', " +
                     "#{lambda_function_arn}, #{lambda_region}, #{contentQuery}, '${{failureCallback}}');")
             .withContext(getQueryContext())
             .withAsyncProcedure(false)
@@ -53,7 +71,8 @@ public class ExportQueryBuilder extends DatabaseStepQueryBuilder{
             .withNamedParameter("lambda_function_arn", lambda_function_arn)
             .withNamedParameter("lambda_region", lambda_region)
             .withNamedParameter("contentQuery", contentQuery)
-            .withQueryFragment("failureCallback",  failureCallback);
+            .withQueryFragment("failureCallback",  failureCallback)
+            .withQueryFragment("performFunction", performFunction);
   }
 
   public SQLQuery buildIRangeFragment(long startI, long endI) {
@@ -28,6 +28,7 @@ import static com.here.xyz.jobs.steps.inputs.Input.inputS3Prefix;
 import static com.here.xyz.psql.query.branching.BranchManager.branchTableName;
 import static com.here.xyz.util.Random.randomAlpha;
 import static com.here.xyz.util.db.pg.IndexHelper.buildSpaceTableDropIndexQueries;
+import static com.here.xyz.util.db.pg.XyzSpaceTableHelper.HEAD_TABLE_SUFFIX;
 import static java.net.http.HttpClient.Redirect.NORMAL;
 
 import com.amazonaws.services.lambda.runtime.Context;
@@ -336,6 +337,64 @@ public class StepTestBase {
             .run(getDataSourceProvider(), DropIndexes::getIndicesFromResultSet);
   }
 
+  protected void recordQueryStatistics(String tableName, String propertyPath, long searchCount, long rejectedSearchCount,
+      long totalMillis) throws SQLException {
+    new SQLQuery("SELECT record_query_statistics(#{statistics}::JSONB)")
+            .withNamedParameter("statistics", XyzSerializable.serialize(List.of(Map.of("schema", SCHEMA, "table", tableName,
+                "propertyPath", propertyPath, "operation", "EQUALS", "count", searchCount, "rejectedCount", rejectedSearchCount,
+                "totalMillis", totalMillis))))
+            .run(getDataSourceProvider());
+  }
+
+  /**
+   * @return The number of searches (non-rejected & rejected) which are currently recorded for the property path on the table
+   */
+  protected long getRecordedSearchCount(String tableName, String propertyPath) throws SQLException {
+    return new SQLQuery("SELECT coalesce(sum(query_count + rejected_count), 0) FROM load_query_statistics(#{schema}, #{table}) "
+        + "WHERE property_path = #{propertyPath}")
+        .withNamedParameter("schema", SCHEMA)
+        .withNamedParameter("table", tableName)
+        .withNamedParameter("propertyPath", propertyPath)
+        .run(getDataSourceProvider(), rs -> rs.next() ? rs.getLong(1) : 0L);
+  }
+
+  /**
+   * @return The version up to which the HEAD partitions of the table have been clustered spatially (the lowest one of all partitions)
+   *  or null if a partition was not clustered yet
+   */
+  protected Long getClusteredVersion(String tableName) throws SQLException {
+    return new SQLQuery("""
+        SELECT CASE WHEN bool_and(clustered_version IS NOT NULL) THEN min(clustered_version) END FROM (
+          SELECT (obj_description(relid, 'pg_class')::JSONB->>'clusteredVersion')::BIGINT AS clustered_version
+          FROM pg_partition_tree('${schema}.${headTable}'::REGCLASS) WHERE isleaf) t
+        """)
+        .withVariable("schema", SCHEMA)
+        .withVariable("headTable", tableName + HEAD_TABLE_SUFFIX)
+        .run(getDataSourceProvider(), rs -> rs.next() ? (Long) rs.getObject(1) : null);
+  }
+
+  /**
+   * @return Whether the rows of all HEAD partitions of the table are physically stored in the order of their spatial sort key
+   */
+  protected boolean isClusteredSpatially(String tableName) throws SQLException {
+    return new SQLQuery("""
+        SELECT coalesce(bool_and(sort_key >= previous_sort_key), true) FROM (
+          SELECT spatial_sort_key(geo) COLLATE "C" AS sort_key,
+            lag(spatial_sort_key(geo) COLLATE "C") OVER (PARTITION BY tableoid ORDER BY ctid) AS previous_sort_key
+          FROM ${schema}.${headTable}) t
+        """)
+        .withVariable("schema", SCHEMA)
+        .withVariable("headTable", tableName + HEAD_TABLE_SUFFIX)
+        .run(getDataSourceProvider(), rs -> rs.next() && rs.getBoolean(1));
+  }
+
+  protected boolean hasSpatialBrinIndex(String tableName) throws SQLException {
+    return new SQLQuery("SELECT EXISTS(SELECT 1 FROM pg_class c JOIN pg_am a ON a.oid = c.relam "
+        + "WHERE c.relname = #{indexName} AND a.amname = 'brin')")
+        .withNamedParameter("indexName", "idx_" + tableName + HEAD_TABLE_SUFFIX + "_geobrin")
+        .run(getDataSourceProvider(), rs -> rs.next() && rs.getBoolean(1));
+  }
+
   protected List<Index> getOnDemandIndices(String spaceId) throws SQLException {
     return getIndices(spaceId, false, true);
   }
@@ -497,6 +497,87 @@ BEGIN
 END;
 $BODY$;
 
+/**
+ * Function: execute_tile_export_to_s3
+ * (used for tasked tile pre-generation with retries)
+ *
+ * Purpose:
+ *   Exports the (single) text column of the content query as-is into one S3 object, e.g. a whole rendered tile.
+ *   Other than execute_export_to_s3() the rows are not getting converted into GeoJSON features.
+ *   Supports automatic retries with exponential backoff for transient errors
+ *   (see is_retryable_s3_sqlstate()).
+ *
+ * Arguments:
+ *   - s3_bucket (TEXT): The target S3 bucket.
+ *   - s3_path (TEXT): The target S3 object key/path.
+ *   - s3_region (TEXT): The AWS region of the S3 bucket.
+ *   - content_query (TEXT): SQL query producing the content to export (one TEXT column).
+ *   - max_attempts (INT, default 6): Maximum number of retry attempts.
+ *   - attempts (INT, default 0): Current attempt count (internal, for recursion).
+ *
+ * Returns:
+ *   - TABLE(rows_uploaded BIGINT, files_uploaded BIGINT, bytes_uploaded BIGINT):
+ *     Export statistics returned by aws_s3.query_export_to_s3.
+ */
+CREATE OR REPLACE FUNCTION execute_tile_export_to_s3(
+        s3_bucket TEXT, s3_path TEXT, s3_region TEXT,
+        content_query TEXT,
+        max_attempts INT DEFAULT 6,
+        attempts INT DEFAULT 0
+    )
+RETURNS TABLE(rows_uploaded BIGINT, files_uploaded BIGINT, bytes_uploaded BIGINT)
+    LANGUAGE 'plpgsql'
+    VOLATILE
+AS $BODY$
+DECLARE
+    config RECORD;
+    export_statistics RECORD;
+BEGIN
+    -- The GEOJSON options are writing the text column without any quoting / escaping
+    SELECT * FROM s3_plugin_config('GEOJSON') INTO config;
+
+    EXECUTE format(
+           'SELECT * from aws_s3.query_export_to_s3( '
+                ||' %1$L, '
+                ||' aws_commons.create_s3_uri(%2$L,%3$L,%4$L),'
+                ||' %5$L )',
+            content_query,
+            s3_bucket,
+            s3_path,
+            s3_region,
+            REGEXP_REPLACE(config.plugin_options, '[\(\)]', '', 'g')
+            ) INTO export_statistics;
+
+    rows_uploaded := export_statistics.rows_uploaded;
+    files_uploaded := export_statistics.files_uploaded;
+    bytes_uploaded := export_statistics.bytes_uploaded;
+    RETURN NEXT;
+
+    EXCEPTION WHEN OTHERS THEN
+        IF NOT is_retryable_s3_sqlstate(SQLSTATE) THEN
+            RAISE;
+        END IF;
+
+        IF attempts >= max_attempts THEN
+            RAISE EXCEPTION 'Export to ''%'' failed after ''%'' attempts. SQLSTATE: %, Message: %',
+                s3_path, max_attempts, SQLSTATE, SQLERRM
+                    USING ERRCODE = SQLSTATE;
+        END IF;
+
+        -- Exponential backoff: 10 s, 20 s, 40 s .. capped at 600 s
+        PERFORM pg_sleep(s3_retry_backoff_ms(attempts) / 1000.0);
+
+        RETURN QUERY SELECT * FROM execute_tile_export_to_s3(
+            s3_bucket,
+            s3_path,
+            s3_region,
+            content_query,
+            max_attempts,
+            attempts + 1
+        );
+END;
+$BODY$;
+
 -- ####################################################################################################################
 -- Task related functions --
 
@@ -814,6 +895,80 @@ BEGIN
 END;
 $BODY$;
 
+/**
+ * Function: export_tile_to_s3_perform
+ * (tasked tile pre-generation into S3)
+ *
+ * Purpose:
+ *   Same as export_to_s3_perform(), but writes the content of the query as-is by using execute_tile_export_to_s3().
+ *
+ * Arguments:
+ *   - See export_to_s3_perform()
+ *
+ * Returns:
+ *   - VOID
+ */
+CREATE OR REPLACE FUNCTION export_tile_to_s3_perform(
+        task_id INT,
+        s3_bucket TEXT, s3_path TEXT, s3_region TEXT,
+        step_payload JSON,
+        lambda_function_arn TEXT,
+        lambda_region TEXT,
+        content_query TEXT,
+        failure_callback TEXT
+	)
+    RETURNS void
+    LANGUAGE 'plpgsql'
+    VOLATILE
+AS $BODY$
+DECLARE
+	sql_text TEXT;
+BEGIN
+	sql_text = $wrappedouter$ DO
+	$wrappedinner$
+	DECLARE
+		export_statistics RECORD;
+        task_id INT := $wrappedouter$||task_id||$wrappedouter$::INT;
+		content_query TEXT := $x$$wrappedouter$||coalesce(content_query,'')||$wrappedouter$$x$::TEXT;
+        s3_bucket TEXT := '$wrappedouter$||s3_bucket||$wrappedouter$'::TEXT;
+		s3_path TEXT := '$wrappedouter$||s3_path||$wrappedouter$'::TEXT;
+		s3_region TEXT := '$wrappedouter$||s3_region||$wrappedouter$'::TEXT;
+		step_payload JSON := '$wrappedouter$||(step_payload::TEXT)||$wrappedouter$'::JSON;
+		lambda_function_arn TEXT := '$wrappedouter$||lambda_function_arn||$wrappedouter$'::TEXT;
+		lambda_region TEXT := '$wrappedouter$||lambda_region||$wrappedouter$'::TEXT;
+	BEGIN
+	    SELECT * FROM execute_tile_export_to_s3(
+	        s3_bucket,
+	        s3_path,
+	        s3_region,
+	        content_query
+	    ) INTO export_statistics;
+
+		PERFORM report_task_progress(
+			 lambda_function_arn,
+			 lambda_region,
+			 step_payload,
+			 task_id,
+		     jsonb_build_object(
+                'bytes', export_statistics.bytes_uploaded,
+                'rows', export_statistics.rows_uploaded,
+                'files', export_statistics.files_uploaded::int,
+			    'type', 'ExportOutput'
+            )
+		);
+
+		EXCEPTION
+		 	WHEN OTHERS THEN
+		 		-- Export has failed
+		 		BEGIN
+		 			$wrappedouter$ || failure_callback || $wrappedouter$
+		 		END;
+	END;
+	$wrappedinner$ $wrappedouter$;
+	EXECUTE sql_text;
+END;
+$BODY$;
+
 /**
  * Function: perform_import_from_s3_task
  * (tasked import from S3 into RDS)
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.jobs.steps.impl;
+
+import com.here.xyz.util.db.pg.IndexHelper.Index;
+import com.here.xyz.util.db.pg.IndexHelper.OnDemandIndex;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AutoIndexSpaceTableStepTest extends StepTest {
+
+  @Test
+  public void testCreateAutoIndexForSlowSearches() throws Exception {
+    putRandomFeatureCollectionToSpace(SPACE_ID, 100);
+    recordQueryStatistics(SPACE_ID, "foo", 200, 0, 200 * 1000);
+    recordQueryStatistics(SPACE_ID, "bar", 2, 0, 2 * 1000);
+
+    sendLambdaStepRequestBlock(new AutoIndexSpaceTable().withSpaceId(SPACE_ID), true);
+
+    Assertions.assertTrue(isIndexed("foo"));
+    Assertions.assertFalse(isIndexed("bar"));
+    //The consumed statistics are reset after the indexes have been created successfully
+    Assertions.assertEquals(0, getRecordedSearchCount(SPACE_ID, "foo"));
+    Assertions.assertEquals(0, getRecordedSearchCount(SPACE_ID, "bar"));
+  }
+
+  @Test
+  public void testCreateAutoIndexForRejectedSearches() throws Exception {
+    putRandomFeatureCollectionToSpace(SPACE_ID, 100);
+    recordQueryStatistics(SPACE_ID, "foo", 0, 20, 0);
+
+    sendLambdaStepRequestBlock(new AutoIndexSpaceTable().withSpaceId(SPACE_ID), true);
+    Assertions.assertTrue(isIndexed("foo"));
+  }
+
+  @Test
+  public void testNoAutoIndexBelowThresholds() throws Exception {
+    putRandomFeatureCollectionToSpace(SPACE_ID, 100);
+    recordQueryStatistics(SPACE_ID, "foo", 200, 0, 200 * 10);
+
+    sendLambdaStepRequestBlock(new AutoIndexSpaceTable().withSpaceId(SPACE_ID), true);
+    Assertions.assertFalse(isIndexed("foo"));
+    Assertions.assertEquals(0, getRecordedSearchCount(SPACE_ID, "foo"));
+  }
+
+  private boolean isIndexed(String propertyPath) throws Exception {
+    List<Index> indexes = getOnDemandIndices(SPACE_ID);
+    return indexes.stream().anyMatch(index -> propertyPath.equals(((OnDemandIndex) index).getPropertyPath()));
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.jobs.steps.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ClusterSpaceTableStepTest extends StepTest {
+
+  @Test
+  public void testClusterSpaceTable() throws Exception {
+    putRandomFeatureCollectionToSpace(SPACE_ID, 100);
+    Assertions.assertNull(getClusteredVersion(SPACE_ID));
+    Assertions.assertFalse(hasSpatialBrinIndex(SPACE_ID));
+
+    sendLambdaStepRequestBlock(new ClusterSpaceTable().withSpaceId(SPACE_ID), true);
+
+    Assertions.assertTrue(isClusteredSpatially(SPACE_ID));
+    Assertions.assertTrue(hasSpatialBrinIndex(SPACE_ID));
+    Assertions.assertNotNull(getClusteredVersion(SPACE_ID));
+    Assertions.assertEquals(100, getFeaturesFromSmallSpace(SPACE_ID, null, false).getFeatures().size());
+  }
+
+  @Test
+  public void testClusterSpaceTableIncrementally() throws Exception {
+    putRandomFeatureCollectionToSpace(SPACE_ID, 500);
+    sendLambdaStepRequestBlock(new ClusterSpaceTable().withSpaceId(SPACE_ID), true);
+    long clusteredVersion = getClusteredVersion(SPACE_ID);
+
+    //Far less than 10% of the rows of each partition are new, so all partitions must be skipped
+    putRandomFeatureCollectionToSpace(SPACE_ID, 1);
+    sendLambdaStepRequestBlock(new ClusterSpaceTable().withSpaceId(SPACE_ID).withIncremental(true), true);
+    Assertions.assertEquals(clusteredVersion, getClusteredVersion(SPACE_ID));
+
+    putRandomFeatureCollectionToSpace(SPACE_ID, 500);
+    sendLambdaStepRequestBlock(new ClusterSpaceTable().withSpaceId(SPACE_ID).withIncremental(true), true);
+    Assertions.assertTrue(getClusteredVersion(SPACE_ID) > clusteredVersion);
+    Assertions.assertTrue(isClusteredSpatially(SPACE_ID));
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.jobs.steps.impl.transport;
+
+import static com.here.xyz.jobs.steps.impl.transport.ExportChangedTiles.QuadType.HERE_QUAD;
+import static com.here.xyz.jobs.steps.impl.transport.ExportChangedTiles.QuadType.MERCATOR_QUAD;
+import static com.here.xyz.jobs.steps.impl.transport.PreGenerateTiles.TileFormat.MVT_FLATTENED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.here.xyz.models.geojson.HQuad;
+import org.junit.jupiter.api.Test;
+
+public class PreGenerateTilesTest {
+
+  @Test
+  public void testMercatorTileHierarchy() {
+    PreGenerateTiles step = new PreGenerateTiles().withMinLevel(2);
+    step.setQuadType(MERCATOR_QUAD);
+
+    assertEquals(4, step.getTileLevel("1202"));
+    assertEquals("120", step.getParentTileId("1202"));
+    assertEquals("12", step.getParentTileId("120"));
+    assertNull(step.getParentTileId("12"));
+  }
+
+  @Test
+  public void testHereTileHierarchy() {
+    PreGenerateTiles step = new PreGenerateTiles().withMinLevel(2);
+    step.setQuadType(HERE_QUAD);
+
+    String tileId = Long.toString(Long.parseLong("11202", 4));
+    assertEquals(4, step.getTileLevel(tileId));
+    assertEquals("120", new HQuad(step.getParentTileId(tileId), false).quadkey);
+    assertEquals("12", new HQuad(step.getParentTileId(step.getParentTileId(tileId)), false).quadkey);
+    assertNull(step.getParentTileId(step.getParentTileId(step.getParentTileId(tileId))));
+  }
+
+  @Test
+  public void testMinLevelDefaultsToTargetLevel() {
+    PreGenerateTiles step = new PreGenerateTiles();
+    step.setQuadType(MERCATOR_QUAD);
+    step.setTargetLevel(4);
+
+    assertEquals(4, step.getMinLevel());
+    //Only the tiles of the target level are generated by default
+    assertNull(step.getParentTileId("1202"));
+
+    step.setTargetLevel(6);
+    assertEquals(6, step.getMinLevel());
+  }
+
+  @Test
+  public void testTileS3Key() {
+    PreGenerateTiles step = new PreGenerateTiles().withFormat(MVT_FLATTENED);
+    step.setSpaceId("mySpace");
+    step.setQuadType(MERCATOR_QUAD);
+
+    assertEquals("preGeneratedTiles/mySpace/MERCATOR_QUAD/4/1202.mvtf.b64", step.toTileS3Key("1202"));
+  }
+
+  @Test
+  public void testFeatureLimitDefaultsToHubTileLimit() {
+    assertEquals(30_000, new PreGenerateTiles().getFeatureLimit());
+  }
+}
@@ -74,7 +74,10 @@ public class LazyParsable<T> {
     }
   }
 
-  private String getValueString() {
+  /**
+   * @return The raw JSON of the value if it was not parsed yet, otherwise null
+   */
+  public String getValueString() {
     return valueString;
   }
 
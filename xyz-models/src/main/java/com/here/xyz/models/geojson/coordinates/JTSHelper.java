@@ -21,8 +21,10 @@ package com.here.xyz.models.geojson.coordinates;
 
 import com.here.xyz.models.geojson.implementation.GeometryItem;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -34,6 +36,7 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 
 public class JTSHelper {
 
@@ -82,13 +85,7 @@ public class JTSHelper {
       return null;
     }
 
-    Coordinate[] jtsCoords = new Coordinate[coords.size()];
-
-    for (int i = 0; i < jtsCoords.length; i++) {
-      jtsCoords[i] = toCoordinate(coords.get(i));
-    }
-
-    return JTSHelper.factory.createLineString(jtsCoords);
+    return JTSHelper.factory.createLineString(toCoordinateSequence(coords));
   }
 
   /**
@@ -154,13 +151,24 @@ public class JTSHelper {
       return null;
     }
 
-    Coordinate[] jtsCoords = new Coordinate[coords.size()];
+    return factory.createLinearRing(toCoordinateSequence(coords));
+  }
+
+  /**
+   * Creates a JTS CoordinateSequence from the provided positions.
+   * Packed positions are copied into the sequence at once, without creating a Coordinate per position.
+   */
+  private static CoordinateSequence toCoordinateSequence(PositionList positions) {
+    double[] packedCoordinates = positions.getPackedCoordinates();
+    if (packedCoordinates != null) {
+      return new PackedCoordinateSequence.Double(Arrays.copyOf(packedCoordinates, packedCoordinates.length), positions.getDimension(), 0);
+    }
 
+    Coordinate[] jtsCoords = new Coordinate[positions.size()];
     for (int i = 0; i < jtsCoords.length; i++) {
-      jtsCoords[i] = toCoordinate(coords.get(i));
+      jtsCoords[i] = toCoordinate(positions.get(i));
     }
-
-    return factory.createLinearRing(jtsCoords);
+    return factory.getCoordinateSequenceFactory().create(jtsCoords);
   }
 
   /**
@@ -270,13 +278,9 @@ public class JTSHelper {
       return null;
     }
 
-    int len = geom.getNumPoints();
-    LineStringCoordinates lineStringCoordinates = new LineStringCoordinates(len);
-
-    for (int i = 0; i < len; i++) {
-      lineStringCoordinates.add(createPosition(geom.getCoordinateN(i)));
-    }
-
+    CoordinateSequence sequence = geom.getCoordinateSequence();
+    LineStringCoordinates lineStringCoordinates = new LineStringCoordinates(sequence.size());
+    addPositions(lineStringCoordinates, sequence);
     return lineStringCoordinates;
   }
 
@@ -306,14 +310,17 @@ public class JTSHelper {
       return null;
     }
 
-    int len = geom.getNumPoints();
-    LinearRingCoordinates linearRingCoordinates = new LinearRingCoordinates(len);
+    CoordinateSequence sequence = geom.getCoordinateSequence();
+    LinearRingCoordinates linearRingCoordinates = new LinearRingCoordinates(sequence.size());
+    addPositions(linearRingCoordinates, sequence);
+    return linearRingCoordinates;
+  }
 
-    for (int i = 0; i < len; i++) {
-      linearRingCoordinates.add(createPosition(geom.getCoordinateN(i)));
+  private static void addPositions(PositionList positions, CoordinateSequence sequence) {
+    boolean hasZ = sequence.hasZ();
+    for (int i = 0; i < sequence.size(); i++) {
+      positions.addPosition(sequence.getX(i), sequence.getY(i), hasZ ? sequence.getZ(i) : Double.NaN);
     }
-
-    return linearRingCoordinates;
   }
 
   /**
@@ -19,8 +19,10 @@
 
 package com.here.xyz.models.geojson.coordinates;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.util.List;
 
+@JsonDeserialize(using = LineStringCoordinates.Deserializer.class)
 public class LineStringCoordinates extends PositionList {
 
   public LineStringCoordinates() {
@@ -34,4 +36,11 @@ public class LineStringCoordinates extends PositionList {
   public LineStringCoordinates(List<Position> positions) {
     positions.forEach(this::add);
   }
+
+  public static class Deserializer extends PositionList.Deserializer<LineStringCoordinates> {
+
+    public Deserializer() {
+      super(LineStringCoordinates.class, LineStringCoordinates::new);
+    }
+  }
 }
@@ -19,6 +19,9 @@
 
 package com.here.xyz.models.geojson.coordinates;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+@JsonDeserialize(using = LinearRingCoordinates.Deserializer.class)
 public class LinearRingCoordinates extends PositionList {
 
   // Min length 4. First and last positions are the same. At least 3 non-identical positions.
@@ -30,4 +33,11 @@ public class LinearRingCoordinates extends PositionList {
   public LinearRingCoordinates(int size) {
     super(size);
   }
+
+  public static class Deserializer extends PositionList.Deserializer<LinearRingCoordinates> {
+
+    public Deserializer() {
+      super(LinearRingCoordinates.class, LinearRingCoordinates::new);
+    }
+  }
 }
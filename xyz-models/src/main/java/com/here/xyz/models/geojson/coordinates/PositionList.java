@@ -19,23 +19,440 @@
 
 package com.here.xyz.models.geojson.coordinates;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.here.xyz.models.geojson.declaration.IBoundedCoordinates;
+import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
 
 /**
  * A list of positions.
+ *
+ * The positions are stored packed into one double array with {@link #getDimension() 2 or 3} values per position, so that a list does
+ * not allocate any objects per position. A NaN altitude marks a position without altitude within a 3-dimensional list.
+ * The positions being returned by the list are views on the packed values. Each view is created once and handed out again by subsequent
+ * calls of {@link #get(int)} until the list is structurally modified. Changes to the views are written through to the list as long
+ * as they are consisting of 2 or 3 values. Changing such a view after the list was structurally modified is not supported.
+ * Readers which only need the values should prefer {@link #getLongitude(int)}, {@link #getLatitude(int)}, {@link #getAltitude(int)}
+ * or {@link #getPackedCoordinates()}, which do not create any views.
+ *
+ * Positions which can not be packed (i.e., which are not consisting of 2 or 3 non-null values) are kept as they are. In that case the
+ * whole list falls back to keep all its positions as objects.
  */
-public class PositionList extends ArrayList<Position> implements IBoundedCoordinates {
+@JsonSerialize(using = PositionList.Serializer.class)
+@JsonDeserialize(using = PositionList.Deserializer.class)
+public class PositionList extends AbstractList<Position> implements RandomAccess, IBoundedCoordinates {
+
+  private double[] coordinates;
+  private int dimension = 2;
+  private int size;
+  private List<Position> unpackedPositions;
+  //The views which have been handed out by get(), they're only valid as long as the list was not modified structurally
+  private PackedPosition[] views;
+  private int viewsModCount;
 
   public PositionList() {
-    super();
+    this(10);
   }
 
   public PositionList(int size) {
-    super(size);
+    super();
+    coordinates = new double[size * dimension];
+  }
+
+  /**
+   * @return The number of values per position, 2 or 3
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * @return Whether the positions of this list are stored packed
+   */
+  public boolean isPacked() {
+    return unpackedPositions == null;
+  }
+
+  public double getLongitude(int index) {
+    return isPacked() ? coordinates[checkIndex(index) * dimension] : unpackedPositions.get(index).getLongitude();
+  }
+
+  public double getLatitude(int index) {
+    return isPacked() ? coordinates[checkIndex(index) * dimension + 1] : unpackedPositions.get(index).getLatitude();
+  }
+
+  /**
+   * @return The altitude of the position at the specified index or NaN if it has no altitude
+   */
+  public double getAltitude(int index) {
+    if (!isPacked()) {
+      Double altitude = unpackedPositions.get(index).getAltitude();
+      return altitude == null ? Double.NaN : altitude;
+    }
+    return dimension == 3 ? coordinates[checkIndex(index) * dimension + 2] : Double.NaN;
+  }
+
+  /**
+   * Provides the packed coordinates of this list without copying them. The array contains exactly {@link #getDimension()} values for
+   * each position of the list.
+   * NOTE: Changes to the returned array are reflected in this list.
+   *
+   * @return The packed coordinates or null if the positions of this list can not be packed
+   */
+  public double[] getPackedCoordinates() {
+    if (!isPacked())
+      return null;
+    trimToSize();
+    return coordinates;
+  }
+
+  /**
+   * Trims the capacity of this list to its size.
+   */
+  public void trimToSize() {
+    if (isPacked() && coordinates.length > size * dimension)
+      coordinates = Arrays.copyOf(coordinates, size * dimension);
+  }
+
+  /**
+   * Appends a position without creating a {@link Position} instance for it.
+   *
+   * @param longitude The longitude
+   * @param latitude The latitude
+   * @param altitude The altitude or NaN if the position has no altitude
+   */
+  public void addPosition(double longitude, double latitude, double altitude) {
+    if (!isPacked()) {
+      unpackedPositions.add(Double.isNaN(altitude) ? new Position(longitude, latitude) : new Position(longitude, latitude, altitude));
+      return;
+    }
+    if (dimension == 2 && !Double.isNaN(altitude))
+      changeDimension(3);
+    ensureCapacity(size + 1);
+    int offset = size * dimension;
+    coordinates[offset] = longitude;
+    coordinates[offset + 1] = latitude;
+    if (dimension == 3)
+      coordinates[offset + 2] = altitude;
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public Position get(int index) {
+    if (!isPacked())
+      return unpackedPositions.get(index);
+    checkIndex(index);
+    if (views == null || viewsModCount != modCount) {
+      views = new PackedPosition[size];
+      viewsModCount = modCount;
+    }
+    if (views[index] == null) {
+      int offset = index * dimension;
+      views[index] = new PackedPosition(index, coordinates[offset], coordinates[offset + 1],
+          dimension == 3 ? coordinates[offset + 2] : Double.NaN);
+    }
+    return views[index];
+  }
+
+  private Position detachedCopy(int index) {
+    int offset = checkIndex(index) * dimension;
+    return dimension == 3 && !Double.isNaN(coordinates[offset + 2])
+        ? new Position(coordinates[offset], coordinates[offset + 1], coordinates[offset + 2])
+        : new Position(coordinates[offset], coordinates[offset + 1]);
+  }
+
+  @Override
+  public int size() {
+    return isPacked() ? size : unpackedPositions.size();
+  }
+
+  @Override
+  public Position set(int index, Position position) {
+    if (isPacked() && !isPackable(position))
+      unpack();
+    if (!isPacked())
+      return unpackedPositions.set(index, position);
+    Position old = detachedCopy(index);
+    if (dimension == 2 && position.size() == 3)
+      changeDimension(3);
+    write(index, position);
+    //A view of another position than the written one is outdated now
+    if (views != null && viewsModCount == modCount && views[index] != position)
+      views[index] = null;
+    return old;
+  }
+
+  @Override
+  public void add(int index, Position position) {
+    if (isPacked() && !isPackable(position))
+      unpack();
+    if (!isPacked()) {
+      unpackedPositions.add(index, position);
+      modCount++;
+      return;
+    }
+    if (index < 0 || index > size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    if (dimension == 2 && position.size() == 3)
+      changeDimension(3);
+    ensureCapacity(size + 1);
+    System.arraycopy(coordinates, index * dimension, coordinates, (index + 1) * dimension, (size - index) * dimension);
+    size++;
+    write(index, position);
+    modCount++;
+  }
+
+  @Override
+  public Position remove(int index) {
+    if (!isPacked()) {
+      modCount++;
+      return unpackedPositions.remove(index);
+    }
+    Position old = detachedCopy(index);
+    System.arraycopy(coordinates, (index + 1) * dimension, coordinates, index * dimension, (size - index - 1) * dimension);
+    size--;
+    modCount++;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    unpackedPositions = null;
+    views = null;
+    size = 0;
+    modCount++;
   }
 
   public BBox calculateBBox() {
-    return IBoundedCoordinates.calculate(this);
+    if (!isPacked())
+      return IBoundedCoordinates.calculate(unpackedPositions);
+    if (size == 0)
+      return null;
+
+    double minLon = Double.POSITIVE_INFINITY, minLat = Double.POSITIVE_INFINITY;
+    double maxLon = Double.NEGATIVE_INFINITY, maxLat = Double.NEGATIVE_INFINITY;
+    for (int offset = 0; offset < size * dimension; offset += dimension) {
+      minLon = Math.min(minLon, coordinates[offset]);
+      maxLon = Math.max(maxLon, coordinates[offset]);
+      minLat = Math.min(minLat, coordinates[offset + 1]);
+      maxLat = Math.max(maxLat, coordinates[offset + 1]);
+    }
+    return new BBox(minLon, minLat, maxLon, maxLat);
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    return index;
+  }
+
+  private void write(int index, Position position) {
+    int offset = index * dimension;
+    coordinates[offset] = position.get(0);
+    coordinates[offset + 1] = position.get(1);
+    if (dimension == 3)
+      coordinates[offset + 2] = position.size() == 3 ? position.get(2) : Double.NaN;
+  }
+
+  private void ensureCapacity(int minSize) {
+    if (coordinates.length < minSize * dimension)
+      coordinates = Arrays.copyOf(coordinates, Math.max(minSize, size + (size >> 1) + 1) * dimension);
+  }
+
+  private void changeDimension(int newDimension) {
+    double[] newCoordinates = new double[Math.max(size, coordinates.length / dimension) * newDimension];
+    for (int i = 0; i < size; i++) {
+      newCoordinates[i * newDimension] = coordinates[i * dimension];
+      newCoordinates[i * newDimension + 1] = coordinates[i * dimension + 1];
+      if (newDimension == 3)
+        newCoordinates[i * newDimension + 2] = Double.NaN;
+    }
+    coordinates = newCoordinates;
+    dimension = newDimension;
+  }
+
+  private static boolean isPackable(Position position) {
+    if (position == null || position.size() < 2 || position.size() > 3)
+      return false;
+    for (Double value : position)
+      if (value == null)
+        return false;
+    return true;
+  }
+
+  private void unpack() {
+    List<Position> positions = new ArrayList<>(Math.max(10, size + 1));
+    for (int i = 0; i < size; i++)
+      positions.add(detachedCopy(i));
+    unpackedPositions = positions;
+    views = null;
+    coordinates = new double[0];
+    size = 0;
+  }
+
+  /**
+   * A position which is backed by the values of a packed list.
+   * All changes are written through to the list, intermediate states which can not be packed (e.g., during
+   * {@link Position#setLongitude(Double)}) are skipped.
+   */
+  private class PackedPosition extends Position {
+
+    private final int listIndex;
+    private final int expectedModCount;
+
+    private PackedPosition(int index, double longitude, double latitude, double altitude) {
+      super.add(longitude);
+      super.add(latitude);
+      if (!Double.isNaN(altitude))
+        super.add(altitude);
+      listIndex = index;
+      expectedModCount = PositionList.this.modCount;
+    }
+
+    @Override
+    public Double set(int index, Double value) {
+      Double old = super.set(index, value);
+      writeThrough();
+      return old;
+    }
+
+    @Override
+    public boolean add(Double value) {
+      boolean added = super.add(value);
+      writeThrough();
+      return added;
+    }
+
+    @Override
+    public void add(int index, Double value) {
+      super.add(index, value);
+      writeThrough();
+    }
+
+    @Override
+    public Double remove(int index) {
+      Double old = super.remove(index);
+      writeThrough();
+      return old;
+    }
+
+    private void writeThrough() {
+      if (!isPackable(this))
+        return;
+      if (PositionList.this.modCount != expectedModCount)
+        throw new ConcurrentModificationException();
+      PositionList.this.set(listIndex, this);
+    }
+  }
+
+  /**
+   * Writes the packed positions directly without creating {@link Position} instances.
+   */
+  public static class Serializer extends StdSerializer<PositionList> {
+
+    public Serializer() {
+      super(PositionList.class);
+    }
+
+    @Override
+    public void serialize(PositionList positions, JsonGenerator gen, SerializerProvider provider) throws IOException {
+      gen.writeStartArray(positions, positions.size());
+      if (!positions.isPacked()) {
+        for (Position position : positions.unpackedPositions)
+          provider.defaultSerializeValue(position, gen);
+      }
+      else {
+        final double[] coordinates = positions.coordinates;
+        final int dimension = positions.dimension;
+        for (int offset = 0; offset < positions.size * dimension; offset += dimension) {
+          gen.writeStartArray();
+          gen.writeNumber(coordinates[offset]);
+          gen.writeNumber(coordinates[offset + 1]);
+          if (dimension == 3 && !Double.isNaN(coordinates[offset + 2]))
+            gen.writeNumber(coordinates[offset + 2]);
+          gen.writeEndArray();
+        }
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  /**
+   * Reads the positions directly into the packed array without creating {@link Position} instances.
+   * Positions which can not be packed are read as they are.
+   */
+  @SuppressWarnings("unchecked")
+  public static class Deserializer<T extends PositionList> extends StdDeserializer<T> {
+
+    private final Supplier<T> listFactory;
+
+    public Deserializer() {
+      this((Class<T>) PositionList.class, () -> (T) new PositionList());
+    }
+
+    protected Deserializer(Class<T> listType, Supplier<T> listFactory) {
+      super(listType);
+      this.listFactory = listFactory;
+    }
+
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      if (!p.isExpectedStartArrayToken())
+        return (T) ctxt.handleUnexpectedToken(handledType(), p);
+
+      T positions = listFactory.get();
+      final double[] values = new double[3];
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.START_ARRAY) {
+          positions.add(token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, Position.class));
+          continue;
+        }
+        int count = 0;
+        //Only gets created for positions which can not be packed
+        Position position = null;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+          Double boxedValue = null;
+          boolean isNumber = token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+          if (!isNumber && token != JsonToken.VALUE_NULL)
+            boxedValue = ctxt.readValue(p, Double.class);
+          if (position == null && (!isNumber && boxedValue == null || count == values.length))
+            position = toPosition(values, count);
+          if (position != null)
+            position.add(isNumber ? Double.valueOf(p.getDoubleValue()) : boxedValue);
+          else
+            values[count] = isNumber ? p.getDoubleValue() : boxedValue;
+          count++;
+        }
+        if (position == null && count >= 2)
+          positions.addPosition(values[0], values[1], count == 3 ? values[2] : Double.NaN);
+        else
+          positions.add(position != null ? position : toPosition(values, count));
+      }
+      positions.trimToSize();
+      return positions;
+    }
+
+    private static Position toPosition(double[] values, int count) {
+      Position position = new Position();
+      for (int i = 0; i < count; i++)
+        position.add(values[i]);
+      return position;
+    }
   }
 }
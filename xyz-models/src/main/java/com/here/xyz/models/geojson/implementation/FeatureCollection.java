@@ -19,6 +19,7 @@
 
 package com.here.xyz.models.geojson.implementation;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -162,6 +163,51 @@ public class FeatureCollection extends XyzResponse<FeatureCollection> {
     return features;
   }
 
+  /**
+   * @return The features as JSON array as they have been provided (e.g. as read from the database) or null, if the features are held
+   *  as objects
+   */
+  @JsonIgnore
+  public String getRawFeatures() {
+    return features != null ? features.getValueString() : null;
+  }
+
+  /**
+   * Serializes this collection with an empty features array, e.g. to process the other properties separately from the raw features.
+   *
+   * @return The serialized collection without its features
+   */
+  public byte[] toByteArrayWithoutFeatures() {
+    LazyParsable<List<Feature>> features = this.features;
+    this.features = null;
+    try {
+      return toByteArray();
+    }
+    finally {
+      this.features = features;
+    }
+  }
+
+  /**
+   * Serializes this collection without its features and splits the result at the position of the features array.
+   * That way the raw features can be written in between the two parts without concatenating them into one large string.
+   *
+   * @return The serialized collection in front of the features array and the serialized collection behind the features array
+   */
+  public String[] serializeAroundFeatures() {
+    LazyParsable<List<Feature>> features = this.features;
+    //A raw NUL character can not be part of serialized JSON otherwise, so it marks the position of the features array
+    this.features = new LazyParsable<>("\u0000");
+    try {
+      String serialized = serialize();
+      int featuresPosition = serialized.indexOf('\u0000');
+      return new String[]{serialized.substring(0, featuresPosition), serialized.substring(featuresPosition + 1)};
+    }
+    finally {
+      this.features = features;
+    }
+  }
+
   @SuppressWarnings("unused")
   public FeatureCollection withFeatures(final List<Feature> features) {
     setFeatures(features);
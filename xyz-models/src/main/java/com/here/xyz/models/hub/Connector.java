@@ -138,6 +138,12 @@ public class Connector {
 
     public boolean binaryTiles;
 
+    /**
+     * Whether the connector can be invoked in-process by passing the event & response objects directly without serializing them.
+     * (Only applicable for embedded connectors)
+     */
+    public boolean inProcessInvocation;
+
     @Override
     public boolean equals(Object o) {
       if (this == o) return true;
@@ -153,7 +159,8 @@ public class Connector {
           && Objects.equals(clusteringTypes, that.clusteringTypes)
           && storageUtilizationReporting == that.storageUtilizationReporting
           && mvtSupport == that.mvtSupport
-          && extensionSupport == that.extensionSupport;
+          && extensionSupport == that.extensionSupport
+          && inProcessInvocation == that.inProcessInvocation;
     }
   }
 
@@ -165,6 +165,14 @@ public class Space {
   @JsonInclude(Include.NON_NULL)
   private Boolean enableAutoSearchableProperties = null;
 
+  /**
+   * If true, the maintenance of this space re-orders the stored features by their location, so that features being close to each
+   * other are also stored close to each other.
+   */
+  @JsonInclude(Include.NON_DEFAULT)
+  @JsonView({Public.class, Static.class})
+  private boolean spatialClustering = false;
+
   /**
    * List of packages that this space belongs to.
    */
@@ -453,6 +461,19 @@ public class Space {
     return this;
   }
 
+  public boolean isSpatialClustering() {
+    return spatialClustering;
+  }
+
+  public void setSpatialClustering(boolean spatialClustering) {
+    this.spatialClustering = spatialClustering;
+  }
+
+  public Space withSpatialClustering(boolean spatialClustering) {
+    setSpatialClustering(spatialClustering);
+    return this;
+  }
+
   public List<String> getPackages() {
     return packages;
   }
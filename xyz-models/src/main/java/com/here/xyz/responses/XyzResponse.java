@@ -86,6 +86,13 @@ public abstract class XyzResponse<T extends XyzResponse> extends Payload {
     return "\"" + Hasher.getHash(bytes) + "\"";
   }
 
+  /**
+   * Calculates the ETag over a raw JSON string followed by some bytes without concatenating them first.
+   */
+  public static String calculateEtagFor(String rawJson, byte[] bytes) {
+    return "\"" + Hasher.getHash(rawJson, bytes) + "\"";
+  }
+
   public static boolean etagMatches(String ifNoneMatch, String etag) {
     if (ifNoneMatch == null || etag == null) return false;
     return stripEtag(ifNoneMatch).equals(stripEtag(etag));
@@ -41,4 +41,14 @@ public class Hasher {
         .toString();
   }
 
+  public static final String getHash(String toBeHashed, byte[] bytes) {
+    //The chars are hashed without encoding them first
+    return Hashing.murmur3_128()
+        .newHasher()
+        .putUnencodedChars(toBeHashed)
+        .putBytes(bytes)
+        .hash()
+        .toString();
+  }
+
 }
@@ -19,15 +19,20 @@
 
 package com.here.xyz.models.geojson.coordinates.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.here.xyz.models.geojson.coordinates.JTSHelper;
+import com.here.xyz.models.geojson.coordinates.LineStringCoordinates;
+import com.here.xyz.models.geojson.coordinates.Position;
 import com.here.xyz.models.geojson.implementation.Feature;
 import com.here.xyz.models.geojson.implementation.Geometry;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import org.junit.Test;
+import org.locationtech.jts.geom.LineString;
 
 public class JTSConverterTest {
 
@@ -43,4 +48,21 @@ public class JTSConverterTest {
 
     assertNotNull(targetGeometry);
   }
+
+  @Test
+  public void lineStringFromPackedPositions() {
+    LineStringCoordinates coordinates = new LineStringCoordinates();
+    coordinates.add(new Position(1, 2));
+    coordinates.add(new Position(3, 4, 5));
+
+    LineString lineString = JTSHelper.toLineString(coordinates);
+    assertEquals(2, lineString.getNumPoints());
+    assertEquals(1, lineString.getCoordinateN(0).x, 0);
+    assertTrue(Double.isNaN(lineString.getCoordinateN(0).getZ()));
+    assertEquals(5, lineString.getCoordinateN(1).getZ(), 0);
+
+    //The geometry does not share the coordinates with the list
+    lineString.getCoordinateSequence().setOrdinate(0, 0, 7);
+    assertEquals(1, coordinates.getLongitude(0), 0);
+  }
 }
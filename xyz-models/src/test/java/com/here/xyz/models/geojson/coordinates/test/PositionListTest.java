@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+package com.here.xyz.models.geojson.coordinates.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.here.xyz.models.geojson.coordinates.LineStringCoordinates;
+import com.here.xyz.models.geojson.coordinates.Position;
+import com.here.xyz.models.geojson.coordinates.PositionList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import org.junit.Test;
+
+public class PositionListTest {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  public void packedPositions() {
+    PositionList positions = new PositionList(1);
+    positions.add(new Position(1, 2));
+    positions.addPosition(3, 4, Double.NaN);
+    assertEquals(2, positions.getDimension());
+
+    positions.add(new Position(5, 6, 7));
+    assertTrue(positions.isPacked());
+    assertEquals(3, positions.getDimension());
+    assertEquals(3, positions.size());
+    assertEquals(new Position(1, 2), positions.get(0));
+    assertEquals(new Position(5, 6, 7), positions.get(2));
+    assertTrue(Double.isNaN(positions.getAltitude(1)));
+    assertEquals(7, positions.getAltitude(2), 0);
+    assertEquals(9, positions.getPackedCoordinates().length);
+  }
+
+  @Test
+  public void changesOfPositionsAreWrittenThrough() {
+    PositionList positions = new PositionList();
+    positions.add(new Position(1, 2));
+    positions.add(new Position(3, 4));
+
+    positions.get(0).set(0, 7.23);
+    assertEquals(7.23, positions.getLongitude(0), 0);
+
+    positions.get(1).setLatitude(8d);
+    assertEquals(new Position(3, 8), positions.get(1));
+
+    positions.get(1).add(9d);
+    assertEquals(3, positions.getDimension());
+    assertEquals(new Position(3, 8, 9), positions.get(1));
+    assertEquals(new Position(7.23, 2), positions.get(0));
+    assertTrue(positions.isPacked());
+  }
+
+  @Test
+  public void changingPositionsAfterStructuralModification() {
+    PositionList positions = new PositionList();
+    positions.add(new Position(1, 2));
+    Position position = positions.get(0);
+    positions.add(0, new Position(3, 4));
+
+    assertThrows(ConcurrentModificationException.class, () -> position.set(0, 5d));
+  }
+
+  @Test
+  public void replacedPositionsAreDetached() {
+    PositionList positions = new PositionList();
+    positions.add(new Position(1, 2));
+    Position old = positions.set(0, new Position(3, 4));
+    old.set(0, 5d);
+    assertEquals(new Position(3, 4), positions.get(0));
+  }
+
+  @Test
+  public void viewsAreReused() {
+    PositionList positions = new PositionList();
+    positions.add(new Position(1, 2));
+    positions.add(new Position(3, 4));
+
+    Position view = positions.get(0);
+    assertSame(view, positions.get(0));
+
+    positions.set(0, new Position(5, 6));
+    assertEquals(new Position(5, 6), positions.get(0));
+    assertSame(positions.get(0), positions.get(0));
+
+    positions.remove(1);
+    assertNotSame(view, positions.get(0));
+    assertEquals(new Position(5, 6), positions.get(0));
+  }
+
+  @Test
+  public void unpackablePositions() {
+    PositionList positions = new PositionList();
+    positions.add(new Position(1, 2));
+    Position invalid = new Position();
+    invalid.add(1d);
+    positions.add(invalid);
+
+    assertFalse(positions.isPacked());
+    assertNull(positions.getPackedCoordinates());
+    assertEquals(new Position(1, 2), positions.get(0));
+    assertEquals(invalid, positions.get(1));
+  }
+
+  @Test
+  public void serialize() throws Exception {
+    PositionList positions = new PositionList();
+    positions.add(new Position(1, 2));
+    positions.add(new Position(3.5, 4, 5));
+    assertEquals("[[1.0,2.0],[3.5,4.0,5.0]]", mapper.writeValueAsString(positions));
+  }
+
+  @Test
+  public void deserialize() throws Exception {
+    LineStringCoordinates positions = mapper.readValue("[[1,2],[3.5,4,5],[6,7]]", LineStringCoordinates.class);
+    assertTrue(positions.isPacked());
+    assertEquals(3, positions.size());
+    assertEquals(new Position(3.5, 4, 5), positions.get(1));
+    assertTrue(Double.isNaN(positions.getAltitude(2)));
+    assertEquals(9, positions.getPackedCoordinates().length);
+  }
+
+  @Test
+  public void deserializeUnpackablePositions() throws Exception {
+    PositionList positions = mapper.readValue("[[1,2],[3],[4,null],[5,6,7,8]]", PositionList.class);
+    assertFalse(positions.isPacked());
+    assertEquals(4, positions.size());
+    assertEquals(new Position(1, 2), positions.get(0));
+    assertEquals(1, positions.get(1).size());
+    assertEquals(Arrays.asList(4d, null), positions.get(2));
+    assertEquals(Arrays.asList(5d, 6d, 7d, 8d), positions.get(3));
+    assertEquals("[[1.0,2.0],[3.0],[4.0,null],[5.0,6.0,7.0,8.0]]", mapper.writeValueAsString(positions));
+  }
+
+  @Test
+  public void roundTrip() throws Exception {
+    String json = "[[1.5,2.5,3.5],[4.0,5.0],[-180.0,-90.0,0.0]]";
+    assertEquals(json, mapper.writeValueAsString(mapper.readValue(json, LineStringCoordinates.class)));
+  }
+}
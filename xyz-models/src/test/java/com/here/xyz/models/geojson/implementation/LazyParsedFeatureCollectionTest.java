@@ -166,6 +166,18 @@ public class LazyParsedFeatureCollectionTest {
     }
   }
 
+  @Test
+  public void testSerializeAroundFeatures() throws Exception {
+    final String rawFeatures = "[{\"type\":\"Feature\",\"id\":\"a\",\"properties\":{\"name\":\"\\u0000\"}}]";
+    FeatureCollection fc = new FeatureCollection().withNextPageToken("next");
+    fc._setFeatures(rawFeatures);
+
+    String[] surroundings = fc.serializeAroundFeatures();
+    assertEquals(fc.serialize(), surroundings[0] + rawFeatures + surroundings[1]);
+    //The raw features must be kept as they are
+    assertEquals(rawFeatures, fc.getRawFeatures());
+  }
+
   /**
    * Pretty naive solution, just to be used in these tests
    */
@@ -96,11 +96,30 @@ public abstract class DatabaseHandler extends StorageConnector {
 
     protected DataSourceProvider dataSourceProvider;
     protected DatabaseSettings dbSettings;
+    /**
+     * The ECPS & connector ID this (potentially re-used) instance was initialized with.
+     */
+    private String initializedEcps, initializedConnectorId;
+
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
 
     @Override
     protected void initialize(Event event) {
         String connectorId = traceItem.getConnectorId();
         ConnectorParameters connectorParams = ConnectorParameters.fromEvent(event);
+        retryAttempted = false;
+
+        //A re-used instance can keep its data source provider as long as the DB settings did not change
+        if (dataSourceProvider != null && Objects.equals(initializedEcps, connectorParams.getEcps())
+            && Objects.equals(initializedConnectorId, connectorId))
+            return;
+        DataSourceProvider replacedProvider = dataSourceProvider;
+        dataSourceProvider = null;
+        initializedEcps = connectorParams.getEcps();
+        initializedConnectorId = connectorId;
 
         //Decrypt the ECPS into an instance of DatabaseSettings
         dbSettings = new DatabaseSettings(connectorId,
@@ -109,6 +128,9 @@ public abstract class DatabaseHandler extends StorageConnector {
             .withScriptResourcePaths(SCRIPT_RESOURCE_PATHS);
 
         initialize(dbSettings, null);
+        //Only take over the default provider if it was the one of this instance before
+        if (replacedProvider != null)
+            DataSourceProvider.replaceDefaultProvider(replacedProvider, dataSourceProvider);
     }
 
     public void initialize(DatabaseSettings dbSettings, Context context) {
@@ -126,9 +148,11 @@ public abstract class DatabaseHandler extends StorageConnector {
 
             dataSourceProvider = new CachedPooledDataSources(dbSettings);
             retryAttempted = false;
-            DataSourceProvider.setDefaultProvider(dataSourceProvider);
             this.dbSettings = dbSettings;
         }
+        //Pooled instances are used concurrently, each with its own provider. The queries always get the provider of their instance
+        //passed in (see run() / write()), the shared default provider is only set by the first instance.
+        DataSourceProvider.replaceDefaultProvider(null, dataSourceProvider);
     }
 
     protected <R, T extends com.here.xyz.psql.QueryRunner<?, R>> R run(T runner) throws SQLException, ErrorResponseException {
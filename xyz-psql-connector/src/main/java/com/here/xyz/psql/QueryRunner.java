@@ -48,6 +48,10 @@ public abstract class QueryRunner<E extends Object, R extends Object> implements
   private static final int MIN_REMAINING_TIME_FOR_RESULT_HANDLING = 2;
   private SQLQuery query;
   private boolean useReadReplica;
+  private double hedgingPercentile;
+  private long hedgingMinDelay;
+  private boolean statementCachingEnabled;
+  private int fetchSize;
   private DataSourceProvider dataSourceProvider;
   protected Map<String, String> extraQueryLabels = new HashMap<>();
 
@@ -77,7 +81,10 @@ public abstract class QueryRunner<E extends Object, R extends Object> implements
   }
 
   protected R run(DataSourceProvider dataSourceProvider) throws SQLException, ErrorResponseException {
-    return prepareQuery().run(dataSourceProvider, this, isUseReadReplica());
+    SQLQuery query = prepareQuery();
+    if (isUseReadReplica() && getHedgingPercentile() > 0)
+      return query.runHedged(dataSourceProvider, this, getHedgingPercentile(), getHedgingMinDelay());
+    return query.run(dataSourceProvider, this, isUseReadReplica());
   }
 
   public final R run() throws SQLException, ErrorResponseException {
@@ -105,6 +112,8 @@ public abstract class QueryRunner<E extends Object, R extends Object> implements
         .withQueryId(FunctionRuntime.getInstance().getStreamId())
         .withLabel("queryClass", this.getClass().getSimpleName())
         .withTimeout(calculateTimeout())
+        .withFetchSize(getFetchSize())
+        .withStatementCachingEnabled(isStatementCachingEnabled())
         .withMaximumRetries(2);
   }
 
@@ -146,6 +155,63 @@ public abstract class QueryRunner<E extends Object, R extends Object> implements
     return this;
   }
 
+  public double getHedgingPercentile() {
+    return hedgingPercentile;
+  }
+
+  /**
+   * Activates hedging for reads from the read replica.
+   * See: {@link SQLQuery#runHedged(DataSourceProvider, ResultSetHandler, double, long)}
+   * @param hedgingPercentile The percentile of the observed replica latencies after which the query is additionally sent to the writer,
+   *  0 to deactivate hedging (default)
+   */
+  public void setHedgingPercentile(double hedgingPercentile) {
+    this.hedgingPercentile = hedgingPercentile;
+  }
+
+  public long getHedgingMinDelay() {
+    return hedgingMinDelay;
+  }
+
+  /**
+   * @param hedgingMinDelay The minimum time in milliseconds to wait for the read replica before the query is additionally sent to the
+   *  writer
+   */
+  public void setHedgingMinDelay(long hedgingMinDelay) {
+    this.hedgingMinDelay = hedgingMinDelay;
+  }
+
+  public boolean isStatementCachingEnabled() {
+    return statementCachingEnabled;
+  }
+
+  /**
+   * Activates the caching of the prepared statement of the query, so that the query plan can be re-used by the database.
+   * See: {@link SQLQuery#setStatementCachingEnabled(boolean)}
+   * @param statementCachingEnabled Whether to cache the prepared statement of the query
+   */
+  public void setStatementCachingEnabled(boolean statementCachingEnabled) {
+    this.statementCachingEnabled = statementCachingEnabled;
+  }
+
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * Defines the number of rows to be fetched from the database per round-trip while the result is being handled.
+   * See: {@link SQLQuery#setFetchSize(int)}
+   * @param fetchSize The number of rows to fetch at once, 0 to load the whole result at once (default)
+   */
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
+  public QueryRunner withFetchSize(int fetchSize) {
+    setFetchSize(fetchSize);
+    return this;
+  }
+
   private DatabaseSettings getDbSettings() {
     if (getDataSourceProvider().getDatabaseSettings() != null)
       return getDataSourceProvider().getDatabaseSettings();
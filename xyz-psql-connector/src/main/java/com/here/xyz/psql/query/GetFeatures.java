@@ -51,14 +51,22 @@ import java.util.Set;
 
 public abstract class GetFeatures<E extends ContextAwareEvent, R extends XyzResponse> extends ExtendedSpace<E, R> {
   protected static final long MAX_RESULT_SIZE = 100 * 1024 * 1024;
+  /**
+   * The number of rows being fetched from the database at once while the features are appended to the response.
+   * That bounds the memory being used by the JDBC driver to a few batches of rows rather than the whole result.
+   */
+  protected static final int FETCH_SIZE = 1_000;
   public static final long GEOMETRY_DECIMAL_DIGITS = 8;
   public static final String NO_GEOMETRY = "!geometry";
+  private static final String NAMESPACE_KEY = "\"@ns:com:here:xyz\"";
   public static long MAX_BIGINT = Long.MAX_VALUE;
   private boolean historyEnabled;
 
   public GetFeatures(E event) throws SQLException, ErrorResponseException {
     super(event);
     setUseReadReplica(true);
+    setFetchSize(FETCH_SIZE);
+    setStatementCachingEnabled(true);
     historyEnabled = event.getVersionsToKeep() > 1;
   }
 
@@ -409,19 +417,57 @@ public abstract class GetFeatures<E extends ContextAwareEvent, R extends XyzResp
     if(getTableLayout().equals(ConnectorParameters.TableLayout.OLD_LAYOUT))
       result.append(rs.getString("jsondata"));
     else if(getTableLayout().equals(ConnectorParameters.TableLayout.NEW_LAYOUT))
-      result.append(injectValuesIntoNameSpace(rs.getString("jsondata"), rs.getLong("version"), rs.getString("author")));
+      appendWithNamespaceValues(result, rs.getString("jsondata"), rs.getLong("version"), rs.getString("author"));
     result.setLength(result.length() - 1);
     result.append(",\"geometry\":");
     result.append(geom == null ? "null" : geom);
     result.append("}");
   }
 
-  private String injectValuesIntoNameSpace(String jsonData, long version, String author) {
-    String namespacePattern = "(\"@ns:com:here:xyz\"\\s*:\\s*\\{)";
-    //The NS always contains the updatedAt property, so we need a trailing comma.
-    String versionAuthor = "$1\"version\":" + version + ",\"author\":\"" + author + "\",";
+  /**
+   * Appends the provided feature JSON to the target while injecting the version and the author as first properties into the
+   * XYZ namespace object. The JSON is copied over in slices directly, no intermediate strings are created.
+   *
+   * @param target The builder to append the feature to
+   * @param jsonData The JSON of the feature as it was stored in the table
+   * @param version The version to be injected into the namespace
+   * @param author The author to be injected into the namespace
+   */
+  public static void appendWithNamespaceValues(StringBuilder target, String jsonData, long version, String author) {
+    int copiedUpTo = 0;
+    int keyPos = jsonData.indexOf(NAMESPACE_KEY);
+    while (keyPos >= 0) {
+      int objectStart = namespaceObjectStart(jsonData, keyPos + NAMESPACE_KEY.length());
+      if (objectStart >= 0) {
+        //The NS always contains the updatedAt property, so we need a trailing comma.
+        target.append(jsonData, copiedUpTo, objectStart + 1)
+            .append("\"version\":").append(version)
+            .append(",\"author\":\"").append(author).append("\",");
+        copiedUpTo = objectStart + 1;
+      }
+      keyPos = jsonData.indexOf(NAMESPACE_KEY, keyPos + NAMESPACE_KEY.length());
+    }
+    target.append(jsonData, copiedUpTo, jsonData.length());
+  }
 
-    return jsonData.replaceAll(namespacePattern, versionAuthor);
+  /**
+   * Finds the opening brace of the namespace object value, which is expected to follow the namespace key.
+   *
+   * @return The position of the opening brace or -1 if the key is not followed by an object
+   */
+  private static int namespaceObjectStart(String jsonData, int pos) {
+    pos = skipWhitespace(jsonData, pos);
+    if (pos >= jsonData.length() || jsonData.charAt(pos) != ':')
+      return -1;
+    pos = skipWhitespace(jsonData, pos + 1);
+    return pos < jsonData.length() && jsonData.charAt(pos) == '{' ? pos : -1;
+  }
+
+  private static int skipWhitespace(String s, int pos) {
+    //Same set of characters as matched by the regex class "\\s"
+    while (pos < s.length() && (s.charAt(pos) == ' ' || s.charAt(pos) >= '\t' && s.charAt(pos) <= '\r'))
+      pos++;
+    return pos;
   }
 
   protected static class LazyParsableFeatureCollection {
@@ -32,6 +32,7 @@ import com.here.xyz.models.geojson.WebMercatorTile;
 import com.here.xyz.models.geojson.coordinates.BBox;
 import com.here.xyz.responses.BinaryResponse;
 import com.here.xyz.responses.XyzResponse;
+import com.here.xyz.util.db.ConnectorParameters;
 import com.here.xyz.util.db.SQLQuery;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -46,6 +47,12 @@ public class GetFeaturesByBBox<E extends GetFeaturesByBBoxEvent, R extends XyzRe
 
   public GetFeaturesByBBox(E event) throws SQLException, ErrorResponseException {
     super(event);
+    if (event instanceof GetFeaturesByTileEvent) {
+      //Tile reads are latency sensitive, so they may be hedged against slow read replicas
+      ConnectorParameters connectorParams = ConnectorParameters.fromEvent(event);
+      setHedgingPercentile(connectorParams.getHedgedReadsPercentile());
+      setHedgingMinDelay(connectorParams.getHedgedReadsMinDelay());
+    }
   }
 
   @Override
@@ -103,31 +110,48 @@ public class GetFeaturesByBBox<E extends GetFeaturesByBBoxEvent, R extends XyzRe
     boolean isFlattened = event.getResponseType() == MVT_FLATTENED;
     String spaceIdOrTableName = tableName != null ? tableName : event.getSpace(); //TODO: Streamline function ST_AsMVT() so it only takes one or the other
     BBox eventBbox = event.getBbox();
-      int extent = 4096, buffer = extent / WebMercatorTile.TileSizeInPixel * event.getMargin();
-      BBox tileBbox = mvtTile != null ? mvtTile.getBBox(false) : (hereTile != null ? hereTile.getBoundingBox() : eventBbox); // pg ST_AsMVTGeom expects tiles bbox without buffer.
-
-      SQLQuery outerQuery = new SQLQuery(
-        """
-          with tile as (select ${{bounds}} as bounds, #{extent} as extent, #{buffer} as buffer, true as clip_geom), 
-          mvtdata as 
-          ( 
-           select ${{mvtProperties}} as mproperties, ST_AsMVTGeom(st_force2d(${{geoFrag}}), t.bounds, t.extent::integer, t.buffer::integer, t.clip_geom) as mgeo 
-           from 
-           (${{dataQuery}}) data , tile t 
-          ) 
-          select ST_AsMVT( mvtdata , #{spaceIdOrTableName} ) as bin from mvtdata where mgeo is not null 
-        """
-          )
-          .withQueryFragment("bounds", new SQLQuery(hereTile == null ? "st_transform(${{tileBbox}}, 3857)" : "${{tileBbox}}")
-          .withQueryFragment("tileBbox", buildGeoFilterFromBbox(tileBbox)))
-          .withQueryFragment("mvtProperties", !isFlattened ? mvtPropertiesSql : mvtPropertiesFlattenSql)
-          .withNamedParameter("extent", extent)
-          .withNamedParameter("buffer", buffer)
-          .withQueryFragment("geoFrag", hereTile == null ? "st_transform(geo, 3857)" : "geo")
-          .withQueryFragment("dataQuery", dataQuery)
-          .withNamedParameter("spaceIdOrTableName", spaceIdOrTableName);
-      return outerQuery;
-    }
+    BBox tileBbox = mvtTile != null ? mvtTile.getBBox(false) : (hereTile != null ? hereTile.getBoundingBox() : eventBbox); // pg ST_AsMVTGeom expects tiles bbox without buffer.
+    return buildMvtEncapsuledQuery(spaceIdOrTableName, tileBbox, hereTile != null, isFlattened, event.getMargin(), dataQuery);
+  }
+
+  /**
+   * Wraps the provided data query (which has to provide the columns "jsondata" & "geo") into a query which encodes all its
+   * rows into one MVT tile (column "bin").
+   *
+   * @param layerName The name of the MVT layer
+   * @param tileBbox The bounding box of the tile without buffer
+   * @param hereTile Whether the tile is a HERE tile (WGS84) or a web-mercator tile
+   * @param flattened Whether the properties should be flattened
+   * @param margin The margin of the tile in pixels
+   * @param dataQuery The query providing the features of the tile
+   * @return The query producing the MVT tile
+   */
+  public static SQLQuery buildMvtEncapsuledQuery(String layerName, BBox tileBbox, boolean hereTile, boolean flattened, int margin,
+      SQLQuery dataQuery) {
+    int extent = 4096, buffer = extent / WebMercatorTile.TileSizeInPixel * margin;
+
+    SQLQuery outerQuery = new SQLQuery(
+      """
+        with tile as (select ${{bounds}} as bounds, #{extent} as extent, #{buffer} as buffer, true as clip_geom), 
+        mvtdata as 
+        ( 
+         select ${{mvtProperties}} as mproperties, ST_AsMVTGeom(st_force2d(${{geoFrag}}), t.bounds, t.extent::integer, t.buffer::integer, t.clip_geom) as mgeo 
+         from 
+         (${{dataQuery}}) data , tile t 
+        ) 
+        select ST_AsMVT( mvtdata , #{spaceIdOrTableName} ) as bin from mvtdata where mgeo is not null 
+      """
+        )
+        .withQueryFragment("bounds", new SQLQuery(!hereTile ? "st_transform(${{tileBbox}}, 3857)" : "${{tileBbox}}")
+        .withQueryFragment("tileBbox", buildGeoFilterFromBbox(tileBbox)))
+        .withQueryFragment("mvtProperties", !flattened ? mvtPropertiesSql : mvtPropertiesFlattenSql)
+        .withNamedParameter("extent", extent)
+        .withNamedParameter("buffer", buffer)
+        .withQueryFragment("geoFrag", !hereTile ? "st_transform(geo, 3857)" : "geo")
+        .withQueryFragment("dataQuery", dataQuery)
+        .withNamedParameter("spaceIdOrTableName", layerName);
+    return outerQuery;
+  }
 
   @Override
   protected SQLQuery buildGeoJsonExpression(E event) {
@@ -29,6 +29,7 @@ import com.here.xyz.events.PropertyQuery;
 import com.here.xyz.events.PropertyQuery.QueryOperation;
 import com.here.xyz.events.SearchForFeaturesEvent;
 import com.here.xyz.psql.query.helpers.GetIndexList;
+import com.here.xyz.psql.tools.QueryPatternRecorder;
 import com.here.xyz.responses.XyzResponse;
 import com.here.xyz.util.db.SQLQuery;
 import com.here.xyz.util.db.datasource.DataSourceProvider;
@@ -58,13 +59,31 @@ public class SearchForFeatures<E extends SearchForFeaturesEvent, R extends XyzRe
   protected R run(DataSourceProvider dataSourceProvider) throws SQLException, ErrorResponseException {
     if (tmpEvent.getClass() == SearchForFeaturesEvent.class)
       checkCanSearchFor(tmpEvent);
-    return super.run(dataSourceProvider);
+    if (tmpEvent.getPropertiesQuery() == null || tmpEvent.getPropertiesQuery().isEmpty())
+      return super.run(dataSourceProvider);
+
+    long start = System.currentTimeMillis();
+    try {
+      return super.run(dataSourceProvider);
+    }
+    finally {
+      recordQueryPattern(tmpEvent, System.currentTimeMillis() - start, false);
+    }
   }
 
   protected void checkCanSearchFor(SearchForFeaturesEvent event) throws ErrorResponseException {
-    if (!canSearchFor(event))
+    if (!canSearchFor(event)) {
+      //A rejected search is a strong hint that an index for the searched properties would be useful
+      recordQueryPattern(event, 0, true);
       throw new ErrorResponseException(ILLEGAL_ARGUMENT,
           "Invalid request parameters. Search for the provided properties is not supported for this space.");
+    }
+  }
+
+  private void recordQueryPattern(SearchForFeaturesEvent event, long durationMillis, boolean rejected) {
+    QueryPatternRecorder.record(getDataSourceProvider(), getSchema(), XyzEventBasedQueryRunner.readTableFromEvent(event),
+        event.getPropertiesQuery(), durationMillis, rejected);
+    QueryPatternRecorder.flushIfDue(getDataSourceProvider(), getSchema());
   }
 
   @Override
@@ -116,8 +135,6 @@ public class SearchForFeatures<E extends SearchForFeaturesEvent, R extends XyzRe
 
       //NOTE: All keys are always full qualified property-"paths" (dot-separated)
       for (String key : keys) {
-        boolean isPropertyQuery = key.startsWith("properties.");
-
         //If the property query hits a default existing system index - allow the search
         if (key.equals("id"))
           return true;
@@ -133,7 +150,7 @@ public class SearchForFeatures<E extends SearchForFeaturesEvent, R extends XyzRe
         //If it is a root property query "foo=bar" we extend the suffix "f."
         //If it is a property query "properties.foo=bar" we remove the suffix "properties."
         //TODO: That seems to be a weired hack. Check why that is needed and remove if possible
-        String searchKey = isPropertyQuery ? key.substring("properties.".length()) : "f." + key;
+        String searchKey = QueryPatternRecorder.toSearchablePropertyPath(key);
 
         if (indices.contains(searchKey) || sindices != null && sindices.contains(searchKey))
           //Check if all properties are indexed
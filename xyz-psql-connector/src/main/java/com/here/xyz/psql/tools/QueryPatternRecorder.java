@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql.tools;
+
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.events.PropertiesQuery;
+import com.here.xyz.events.PropertyQuery;
+import com.here.xyz.util.db.SQLQuery;
+import com.here.xyz.util.db.datasource.DataSourceProvider;
+import com.here.xyz.util.db.datasource.DatabaseSettings;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Records which property paths are searched for on which space tables using which operations and how long these searches took.
+ * The recorded statistics are kept in memory per database & schema and are flushed asynchronously into the table
+ * xyz_config.query_statistics of the database they belong to periodically.
+ * From there they are consumed by the auto-indexing of the space maintenance, which decides about the on-demand indexes to be created /
+ * dropped.
+ */
+public class QueryPatternRecorder {
+  private static final Logger logger = LogManager.getLogger();
+  static final long FLUSH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+  //Upper bound of distinct patterns to be kept in memory between two flushes
+  static final int MAX_PATTERNS = 10_000;
+  private static final Map<QueryPattern, PatternStatistics> patterns = new ConcurrentHashMap<>();
+  //The times of the last flush per database & schema
+  private static final Map<String, AtomicLong> lastFlushes = new ConcurrentHashMap<>();
+
+  record QueryPattern(String database, String schema, String table, String propertyPath, String operation) {}
+
+  static class PatternStatistics {
+    final LongAdder count = new LongAdder();
+    final LongAdder rejectedCount = new LongAdder();
+    final LongAdder totalMillis = new LongAdder();
+  }
+
+  /**
+   * Records the property paths & operations of a search which has been performed on the provided table.
+   * Each distinct pattern is only counted once per search.
+   *
+   * @param dataSourceProvider The data source provider of the database which contains the table
+   * @param schema The schema of the table
+   * @param table The table which has been searched
+   * @param query The properties query of the search
+   * @param durationMillis The time the search took
+   * @param rejected Whether the search was rejected, because the searched properties are not indexed
+   */
+  public static void record(DataSourceProvider dataSourceProvider, String schema, String table, PropertiesQuery query,
+      long durationMillis, boolean rejected) {
+    record(databaseOf(dataSourceProvider), schema, table, query, durationMillis, rejected);
+  }
+
+  static void record(String database, String schema, String table, PropertiesQuery query, long durationMillis, boolean rejected) {
+    for (QueryPattern pattern : patternsOf(database, schema, table, query)) {
+      PatternStatistics statistics = patterns.get(pattern);
+      if (statistics == null) {
+        if (patterns.size() >= MAX_PATTERNS)
+          continue;
+        statistics = patterns.computeIfAbsent(pattern, p -> new PatternStatistics());
+      }
+      if (rejected)
+        statistics.rejectedCount.increment();
+      else {
+        statistics.count.increment();
+        statistics.totalMillis.add(durationMillis);
+      }
+    }
+  }
+
+  static Set<QueryPattern> patternsOf(String database, String schema, String table, PropertiesQuery query) {
+    Set<QueryPattern> result = new LinkedHashSet<>();
+    if (query == null)
+      return result;
+
+    for (List<PropertyQuery> conjunctions : query)
+      for (PropertyQuery propertyQuery : conjunctions) {
+        //Searches for the ID are always covered by a system index
+        if (propertyQuery == null || propertyQuery.getKey() == null || propertyQuery.getKey().isEmpty()
+            || "id".equals(propertyQuery.getKey()) || propertyQuery.getOperation() == null)
+          continue;
+        result.add(new QueryPattern(database, schema, table, toSearchablePropertyPath(propertyQuery.getKey()),
+            propertyQuery.getOperation().name()));
+      }
+    return result;
+  }
+
+  /**
+   * Translates the fully qualified key of a property query into the property path as it is used for on-demand indexes.
+   * E.g., "properties.foo" => "foo" and "foo" => "f.foo"
+   *
+   * @param key The fully qualified (dot-separated) key of a property query
+   * @return The property path as it is used for on-demand indexes
+   */
+  public static String toSearchablePropertyPath(String key) {
+    return key.startsWith("properties.") ? key.substring("properties.".length()) : "f." + key;
+  }
+
+  /**
+   * Flushes the statistics which have been recorded for the provided schema of the provided database, if their last flush is longer
+   * ago than the flush interval.
+   * The flush is performed asynchronously, so that it does not delay the request which triggered it.
+   * Failures are only logged, the statistics of the failed flush are getting lost.
+   *
+   * @param dataSourceProvider The data source provider of the database to flush the statistics to
+   * @param schema The schema of which to flush the statistics
+   */
+  public static void flushIfDue(DataSourceProvider dataSourceProvider, String schema) {
+    String database = databaseOf(dataSourceProvider);
+    AtomicLong lastFlush = lastFlushes.computeIfAbsent(database + "/" + schema, k -> new AtomicLong(System.currentTimeMillis()));
+    long last = lastFlush.get(), now = System.currentTimeMillis();
+    if (now - last < FLUSH_INTERVAL_MS || !lastFlush.compareAndSet(last, now))
+      return;
+
+    List<Map<String, Object>> statistics = drain(database, schema);
+    if (statistics.isEmpty()) {
+      //Nothing was searched on that schema since the last flush, don't keep its flush time around
+      lastFlushes.remove(database + "/" + schema, lastFlush);
+      return;
+    }
+
+    new SQLQuery("SELECT record_query_statistics(#{statistics}::JSONB)")
+        .withNamedParameter("statistics", XyzSerializable.serialize(statistics))
+        .runAsync(dataSourceProvider, rs -> null)
+        .onFailure(e -> logger.warn("Unable to flush the statistics of {} query patterns.", statistics.size(), e));
+  }
+
+  /**
+   * Removes & returns the statistics which have been recorded for the provided schema of the provided database.
+   */
+  static List<Map<String, Object>> drain(String database, String schema) {
+    List<Map<String, Object>> result = new ArrayList<>();
+    for (QueryPattern pattern : patterns.keySet()) {
+      if (!pattern.database().equals(database) || !pattern.schema().equals(schema))
+        continue;
+      PatternStatistics statistics = patterns.remove(pattern);
+      if (statistics == null)
+        continue;
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("schema", pattern.schema());
+      entry.put("table", pattern.table());
+      entry.put("propertyPath", pattern.propertyPath());
+      entry.put("operation", pattern.operation());
+      entry.put("count", statistics.count.sum());
+      entry.put("rejectedCount", statistics.rejectedCount.sum());
+      entry.put("totalMillis", statistics.totalMillis.sum());
+      result.add(entry);
+    }
+    return result;
+  }
+
+  static void clear() {
+    patterns.clear();
+    lastFlushes.clear();
+  }
+
+  static String databaseOf(DataSourceProvider dataSourceProvider) {
+    DatabaseSettings dbSettings = dataSourceProvider.getDatabaseSettings();
+    return dbSettings != null ? dbSettings.getCacheKey() : "provider-" + System.identityHashCode(dataSourceProvider);
+  }
+}
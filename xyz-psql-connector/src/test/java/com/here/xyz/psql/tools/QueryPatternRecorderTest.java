@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql.tools;
+
+import static com.here.xyz.events.PropertyQuery.QueryOperation.EQUALS;
+import static com.here.xyz.events.PropertyQuery.QueryOperation.GREATER_THAN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.events.PropertiesQuery;
+import com.here.xyz.events.PropertyQuery;
+import com.here.xyz.events.PropertyQuery.QueryOperation;
+import com.here.xyz.events.PropertyQueryList;
+import com.here.xyz.psql.tools.QueryPatternRecorder.QueryPattern;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QueryPatternRecorderTest {
+
+  @BeforeEach
+  public void clear() {
+    QueryPatternRecorder.clear();
+  }
+
+  @Test
+  public void toSearchablePropertyPath() {
+    assertEquals("foo.bar", QueryPatternRecorder.toSearchablePropertyPath("properties.foo.bar"));
+    assertEquals("f.geometry.type", QueryPatternRecorder.toSearchablePropertyPath("geometry.type"));
+  }
+
+  @Test
+  public void patternsOfSkipsIdAndDuplicates() {
+    PropertiesQuery query = query(
+        conjunction(propertyQuery("properties.foo", EQUALS), propertyQuery("id", EQUALS)),
+        conjunction(propertyQuery("properties.foo", EQUALS), propertyQuery("properties.bar", GREATER_THAN)));
+
+    Set<QueryPattern> patterns = QueryPatternRecorder.patternsOf("db", "s", "t", query);
+    assertEquals(Set.of(new QueryPattern("db", "s", "t", "foo", "EQUALS"), new QueryPattern("db", "s", "t", "bar", "GREATER_THAN")),
+        patterns);
+  }
+
+  @Test
+  public void recordAndDrain() {
+    PropertiesQuery query = query(conjunction(propertyQuery("properties.foo", EQUALS)));
+    QueryPatternRecorder.record("db", "s", "t", query, 100, false);
+    QueryPatternRecorder.record("db", "s", "t", query, 300, false);
+    QueryPatternRecorder.record("db", "s", "t", query, 0, true);
+
+    List<Map<String, Object>> statistics = QueryPatternRecorder.drain("db", "s");
+    assertEquals(1, statistics.size());
+    assertEquals("foo", statistics.get(0).get("propertyPath"));
+    assertEquals(2L, statistics.get(0).get("count"));
+    assertEquals(1L, statistics.get(0).get("rejectedCount"));
+    assertEquals(400L, statistics.get(0).get("totalMillis"));
+    assertTrue(QueryPatternRecorder.drain("db", "s").isEmpty());
+  }
+
+  @Test
+  public void drainOnlyTheProvidedDatabaseAndSchema() {
+    PropertiesQuery query = query(conjunction(propertyQuery("properties.foo", EQUALS)));
+    QueryPatternRecorder.record("db1", "s1", "t", query, 100, false);
+    QueryPatternRecorder.record("db1", "s2", "t", query, 200, false);
+    QueryPatternRecorder.record("db2", "s1", "t", query, 300, false);
+
+    List<Map<String, Object>> statistics = QueryPatternRecorder.drain("db1", "s1");
+    assertEquals(1, statistics.size());
+    assertEquals("s1", statistics.get(0).get("schema"));
+    assertEquals(100L, statistics.get(0).get("totalMillis"));
+
+    assertEquals(200L, QueryPatternRecorder.drain("db1", "s2").get(0).get("totalMillis"));
+    assertEquals(300L, QueryPatternRecorder.drain("db2", "s1").get(0).get("totalMillis"));
+    assertTrue(QueryPatternRecorder.drain("db1", "s1").isEmpty());
+  }
+
+  private static PropertiesQuery query(PropertyQueryList... disjunctions) {
+    PropertiesQuery query = new PropertiesQuery();
+    query.addAll(List.of(disjunctions));
+    return query;
+  }
+
+  private static PropertyQueryList conjunction(PropertyQuery... propertyQueries) {
+    PropertyQueryList conjunction = new PropertyQueryList();
+    conjunction.addAll(List.of(propertyQueries));
+    return conjunction;
+  }
+
+  private static PropertyQuery propertyQuery(String key, QueryOperation operation) {
+    return new PropertyQuery().withKey(key).withOperation(operation).withValues(List.of(1));
+  }
+}
@@ -37,6 +37,15 @@ public class ConnectorParameters {
   private boolean enableHashedSpaceId = false;
   private int onDemandIdxLimit = 4;
   private boolean readOnly;
+  /**
+   * The percentile of the observed read replica latencies after which tile reads are additionally sent to the writer.
+   * 0 deactivates the hedging of reads.
+   */
+  private double hedgedReadsPercentile = 0;
+  /**
+   * The minimum time in milliseconds to wait for the read replica before a hedged read is sent to the writer.
+   */
+  private long hedgedReadsMinDelay = 50;
 
   private TableLayout tableLayout;
   public enum TableLayout {
@@ -73,6 +82,14 @@ public class ConnectorParameters {
     return onDemandIdxLimit;
   }
 
+  public double getHedgedReadsPercentile() {
+    return hedgedReadsPercentile;
+  }
+
+  public long getHedgedReadsMinDelay() {
+    return hedgedReadsMinDelay;
+  }
+
   public boolean isReadOnly() {
     return readOnly;
   }
@@ -98,6 +115,8 @@ public class ConnectorParameters {
             ", autoIndexing=" + autoIndexing +
             ", enableHashedSpaceId=" + enableHashedSpaceId +
             ", onDemandIdxLimit=" + onDemandIdxLimit +
+            ", hedgedReadsPercentile=" + hedgedReadsPercentile +
+            ", hedgedReadsMinDelay=" + hedgedReadsMinDelay +
             ", ecps='" + ecps + '\'' +
             '}';
   }
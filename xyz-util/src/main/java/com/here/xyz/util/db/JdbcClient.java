@@ -37,7 +37,7 @@ public class JdbcClient implements AutoCloseable {
   private static final ExecutorService sharedExec = Executors.newCachedThreadPool();
 
   private DataSourceProvider dataSourceProvider;
-  private ExecutorService exec = sharedExec;
+  private ExecutorService exec;
   private boolean queueing;
   private Queue<QueuedTask<?>> taskQueue;
 
@@ -63,19 +63,31 @@ public class JdbcClient implements AutoCloseable {
   }
 
   public <R> Future<R> run(SQLQuery query, ResultSetHandler<R> handler, boolean useReplica) {
+    if (usesQueryExecutors())
+      return query.runAsync(dataSourceProvider, handler, useReplica);
     return runTask(() -> query.run(dataSourceProvider, handler, useReplica));
   }
 
   public Future<Integer> write(SQLQuery query) {
+    if (usesQueryExecutors())
+      return query.writeAsync(dataSourceProvider);
     return runTask(() -> query.write(dataSourceProvider));
   }
 
+  /**
+   * Queries are executed on the bounded executors of the targeted data source (see {@link SQLQuery#runAsync}),
+   * unless a custom executor was provided or the (deprecated) queueing is active.
+   */
+  private boolean usesQueryExecutors() {
+    return exec == null && !isQueueing();
+  }
+
   private <R> Future<R> runTask(ThrowingSupplier<R> task) {
     return isQueueing() ? runTaskWithQueueing(task).onComplete(v -> checkQueue()) : runTaskWithoutQueueing(task);
   }
 
   private <R> Future<R> runTaskWithoutQueueing(ThrowingSupplier<R> task) {
-    return Future.fromCompletionStage(CompletableFuture.supplyAsync(task, exec))
+    return Future.fromCompletionStage(CompletableFuture.supplyAsync(task, exec != null ? exec : sharedExec))
         .recover(t -> Future.failedFuture(unpackExcecutionException(t)));
   }
 
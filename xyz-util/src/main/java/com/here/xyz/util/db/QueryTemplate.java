@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.util.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The parsed form of an {@link SQLQuery} text, which is split into literal segments and the placeholders for variables (<code>${name}</code>),
+ * query fragments (<code>${{name}}</code>) and named parameters (<code>#{name}</code>).
+ * Templates are cached by the original (not yet substituted) text of a query or query fragment, so queries with the same shape only have
+ * to be parsed once, no matter which values are substituted into them. Substitutions are performed on the segments, so substituted values
+ * and fragments never have to be parsed again.
+ */
+final class QueryTemplate {
+
+  private static final int MAX_CACHED_TEMPLATES = 10_000;
+  /**
+   * Only texts up to that length are cached to keep the memory footprint of the cache small.
+   */
+  private static final int MAX_CACHED_TEXT_LENGTH = 16 * 1024;
+  private static final Map<String, QueryTemplate> cache = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, QueryTemplate> eldest) {
+          return size() > MAX_CACHED_TEMPLATES;
+        }
+      });
+
+  enum SegmentType {
+    LITERAL,
+    VARIABLE,
+    FRAGMENT,
+    NAMED_PARAMETER
+  }
+
+  /**
+   * @param type The type of the segment
+   * @param name The name of the placeholder or null for literal segments
+   * @param text The original text of the segment
+   */
+  record Segment(SegmentType type, String name, String text) {}
+
+  private final List<Segment> segments;
+
+  private QueryTemplate(String text) {
+    segments = Collections.unmodifiableList(parse(text));
+  }
+
+  static QueryTemplate of(String text) {
+    QueryTemplate template = cache.get(text);
+    if (template == null) {
+      template = new QueryTemplate(text);
+      if (text.length() <= MAX_CACHED_TEXT_LENGTH)
+        cache.put(text, template);
+    }
+    return template;
+  }
+
+  static int cacheSize() {
+    return cache.size();
+  }
+
+  List<Segment> getSegments() {
+    return segments;
+  }
+
+  static List<Segment> literal(String text) {
+    return List.of(new Segment(SegmentType.LITERAL, null, text));
+  }
+
+  static boolean contains(List<Segment> segments, SegmentType type) {
+    for (Segment segment : segments)
+      if (segment.type() == type)
+        return true;
+    return false;
+  }
+
+  /**
+   * Replaces all placeholders of the specified type within the specified segments.
+   *
+   * @param segments The segments in which to replace the placeholders
+   * @param type The type of placeholders to replace
+   * @param replacement Provides the replacing segments for a placeholder name or null if the placeholder should be kept as it is
+   * @return The resulting segments
+   */
+  static List<Segment> replace(List<Segment> segments, SegmentType type, Function<String, List<Segment>> replacement) {
+    if (!contains(segments, type))
+      return segments;
+    List<Segment> result = new ArrayList<>(segments.size() + 8);
+    for (Segment segment : segments) {
+      List<Segment> replacingSegments = segment.type() == type ? replacement.apply(segment.name()) : null;
+      if (replacingSegments != null)
+        result.addAll(replacingSegments);
+      else
+        result.add(segment);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  static String render(List<Segment> segments) {
+    int length = 0;
+    for (Segment segment : segments)
+      length += segment.text().length();
+    StringBuilder sb = new StringBuilder(length);
+    for (Segment segment : segments)
+      sb.append(segment.text());
+    return sb.toString();
+  }
+
+  private static List<Segment> parse(String text) {
+    List<Segment> segments = new ArrayList<>();
+    int literalStart = 0;
+    int i = 0;
+    while (i < text.length()) {
+      int placeholderEnd = -1;
+      SegmentType type = null;
+      String name = null;
+
+      if (text.startsWith("${{", i)) {
+        int end = text.indexOf("}}", i + 3);
+        if (end != -1) {
+          type = SegmentType.FRAGMENT;
+          name = text.substring(i + 3, end);
+          placeholderEnd = end + 2;
+        }
+      }
+      else if (text.startsWith("${", i)) {
+        int end = text.indexOf('}', i + 2);
+        if (end > i + 2) {
+          type = SegmentType.VARIABLE;
+          name = text.substring(i + 2, end);
+          placeholderEnd = end + 1;
+        }
+      }
+      else if (text.startsWith("#{", i)) {
+        //Same as the pattern: #\{\s*([^\s\}]+)\s*\}
+        int j = skipWhitespace(text, i + 2);
+        int nameStart = j;
+        while (j < text.length() && !Character.isWhitespace(text.charAt(j)) && text.charAt(j) != '}')
+          j++;
+        int nameEnd = j;
+        j = skipWhitespace(text, j);
+        if (nameEnd > nameStart && j < text.length() && text.charAt(j) == '}') {
+          type = SegmentType.NAMED_PARAMETER;
+          name = text.substring(nameStart, nameEnd);
+          placeholderEnd = j + 1;
+        }
+      }
+
+      if (type == null) {
+        i++;
+        continue;
+      }
+      if (i > literalStart)
+        segments.add(new Segment(SegmentType.LITERAL, null, text.substring(literalStart, i)));
+      segments.add(new Segment(type, name, text.substring(i, placeholderEnd)));
+      i = literalStart = placeholderEnd;
+    }
+    if (literalStart < text.length())
+      segments.add(new Segment(SegmentType.LITERAL, null, text.substring(literalStart)));
+    return segments;
+  }
+
+  private static int skipWhitespace(String text, int i) {
+    while (i < text.length() && Character.isWhitespace(text.charAt(i)))
+      i++;
+    return i;
+  }
+}
@@ -20,6 +20,9 @@
 package com.here.xyz.util.db;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_DEFAULT;
+import static com.here.xyz.util.db.QueryTemplate.SegmentType.FRAGMENT;
+import static com.here.xyz.util.db.QueryTemplate.SegmentType.NAMED_PARAMETER;
+import static com.here.xyz.util.db.QueryTemplate.SegmentType.VARIABLE;
 import static com.here.xyz.util.db.SQLQuery.XyzSqlErrors.XYZ_FAILED_ATTEMPT;
 import static com.here.xyz.util.db.pg.LockHelper.advisoryLock;
 import static com.here.xyz.util.db.pg.LockHelper.advisoryUnlock;
@@ -28,8 +31,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.here.xyz.XyzSerializable;
+import com.here.xyz.util.db.QueryTemplate.Segment;
 import com.here.xyz.util.db.datasource.DataSourceProvider;
+import com.here.xyz.util.db.datasource.DatabaseSettings;
+import com.here.xyz.util.metrics.LatencyHistogram;
+import com.here.xyz.util.service.Core;
 import com.mchange.v2.c3p0.ComboPooledDataSource;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -40,16 +49,27 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.apache.commons.dbutils.QueryRunner;
@@ -74,13 +94,59 @@ public class SQLQuery {
    */
   private static final long RETRY_BACKOFF_BASE_MS = 1_000;
   private static final long RETRY_BACKOFF_MAX_MS = 300_000;
-  private static final String VAR_PREFIX = "\\$\\{";
-  private static final String VAR_SUFFIX = "\\}";
-  private static final String FRAGMENT_PREFIX = "${{";
-  private static final String FRAGMENT_SUFFIX = "}}";
   public static final String QUERY_ID = "queryId";
+  /**
+   * Queries with statement caching enabled do not carry their queryId in the query text. Instead, the queryId gets reported as
+   * application_name of the executing session (with this prefix) for the duration of the query's transaction.
+   * See: {@link #setStatementCachingEnabled(boolean)}
+   */
+  private static final String QUERY_ID_APPLICATION_NAME_PREFIX = "xyz-query:";
+  //PostgreSQL truncates the application_name to NAMEDATALEN - 1 characters
+  private static final int MAX_APPLICATION_NAME_LENGTH = 63;
   public static final String TEXT_QUOTE = "$a$";
+  /**
+   * The executors for the asynchronous query execution methods by data source (cache key & role).
+   * Each executor has at most as many threads as the according connection pool may have connections, so queries which are waiting
+   * for a connection are queued instead of occupying a thread. Idle threads are terminated, so unused executors do not hold any threads.
+   * At most {@link #MAX_ASYNC_EXECUTORS} executors are kept. The least recently used one gets shut down (after finishing its queued
+   * queries) once that number is exceeded.
+   */
+  private static final int MAX_ASYNC_EXECUTORS = 64;
+  private static final Map<String, ThreadPoolExecutor> asyncExecutors = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, ThreadPoolExecutor> eldest) {
+      if (size() <= MAX_ASYNC_EXECUTORS)
+        return false;
+      eldest.getValue().shutdown();
+      return true;
+    }
+  };
+  private static final long ASYNC_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
+  private static final LatencyHistogram SQL_TIME = LatencyHistogram.register("xyz_sql_query_time_seconds",
+      "The time of the single execution attempts of SQL queries");
+  /**
+   * The minimum number of observed replica reads (per query class) within the current histogram window before hedging starts,
+   * so that the hedging delay is based on a meaningful percentile.
+   */
+  private static final int MIN_HEDGING_SAMPLES = 100;
+  /**
+   * The latencies of the replica reads which have been executed using {@link #runHedged(DataSourceProvider, ResultSetHandler, double, long)}
+   * by data source & query class. At most {@link #MAX_HEDGING_HISTOGRAMS} histograms are kept, the least recently used one gets dropped
+   * once that number is exceeded.
+   */
+  private static final int MAX_HEDGING_HISTOGRAMS = 1024;
+  private static final Map<String, LatencyHistogram> hedgingLatencies = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LatencyHistogram> eldest) {
+          return size() > MAX_HEDGING_HISTOGRAMS;
+        }
+      });
   private String statement = "";
+  /**
+   * The segments of the (partially) substituted statement or null if the statement was not substituted yet.
+   */
+  private List<Segment> segments;
   @JsonProperty
   private List<Object> parameters = new ArrayList<>();
   private Map<String, Object> namedParameters;
@@ -90,6 +156,7 @@ public class SQLQuery {
   private boolean asyncProcedure = false;
   private String lock;
   private int timeout = Integer.MAX_VALUE;
+  private int fetchSize;
   private int maximumRetries;
   private Set<String> retryableErrorCodes = Set.of();
   private HashMap<String, List<Integer>> namedParams2Positions = new HashMap<>();
@@ -100,7 +167,9 @@ public class SQLQuery {
   private List<ExecutionContext> executions = new CopyOnWriteArrayList<>();
   private boolean labelsEnabled = true;
   private boolean loggingEnabled = true;
+  private boolean statementCachingEnabled;
   private List<SQLQuery> queryBatch;
+  private volatile boolean cancelled;
 
   private SQLQuery() {} //Only added as workaround for an issue with Jackson's Include.NON_DEFAULT setting
 
@@ -213,6 +282,7 @@ public class SQLQuery {
 
   public void setText(String text) {
     statement = text;
+    segments = null;
   }
 
   private List<String> batchTexts() {
@@ -239,18 +309,23 @@ public class SQLQuery {
     if (parameters() == null || parameters().size() == 0)
       return text();
     String text = text();
+    StringBuilder sb = new StringBuilder(text.length() + 16 * parameters().size());
+    int last = 0;
     for (Object paramValue : parameters()) {
-      Pattern p = Pattern.compile("\\?");
-      text = text.replaceFirst(p.pattern(), paramValueToString(paramValue));
+      int pos = text.indexOf('?', last);
+      if (pos == -1)
+        break;
+      sb.append(text, last, pos).append(paramValueToString(paramValue));
+      last = pos + 1;
     }
-    return text;
+    return sb.append(text, last, text.length()).toString();
   }
 
   private String paramValueToString(Object paramValue) {
     if (paramValue == null)
       return "NULL";
     if (paramValue instanceof String stringParam)
-      return escapeDollarSigns(customQuote(stringParam));
+      return customQuote(stringParam);
     if (paramValue instanceof Long)
       return paramValue + "::BIGINT";
     if (paramValue instanceof Number)
@@ -269,20 +344,6 @@ public class SQLQuery {
     return quote + stringToQuote + quote;
   }
 
-  /**
-   * Internal helper method that escapes $-signs, because they're treated as special chars when using the containing string as value
-   * in a string / pattern-matching replacement.
-   *
-   * @see String#replaceAll(String, String)
-   * @see Matcher#replaceFirst(String)
-   *
-   * @param containingString
-   * @return A string that has all $-signs being
-   */
-  private static String escapeDollarSigns(String containingString) {
-    return containingString.replaceAll("\\$", "\\\\\\$");
-  }
-
   /**
    * Escapes custom quotes in the form of how they're being used within this class for string quoting. E.g.: `$a$`
    *
@@ -357,6 +418,35 @@ public class SQLQuery {
     return this;
   }
 
+  /**
+   * Creates an independent copy of this (not yet substituted) query incl. copies of all its query fragments.
+   * The copy can be executed concurrently to this query.
+   */
+  private SQLQuery copy() {
+    SQLQuery copy = new SQLQuery(statement);
+    copy.parameters = new ArrayList<>(parameters);
+    copy.namedParameters = namedParameters == null ? null : new HashMap<>(namedParameters);
+    copy.variables = variables == null ? null : new HashMap<>(variables);
+    if (queryFragments != null) {
+      copy.queryFragments = new HashMap<>();
+      queryFragments.forEach((key, fragment) -> copy.queryFragments.put(key, fragment.copy()));
+    }
+    copy.async = async;
+    copy.asyncProcedure = asyncProcedure;
+    copy.lock = lock;
+    copy.timeout = timeout;
+    copy.fetchSize = fetchSize;
+    copy.maximumRetries = maximumRetries;
+    copy.retryableErrorCodes = retryableErrorCodes;
+    copy.queryId = queryId;
+    copy.labels = new HashMap<>(labels);
+    copy.context = context;
+    copy.labelsEnabled = labelsEnabled;
+    copy.loggingEnabled = loggingEnabled;
+    copy.statementCachingEnabled = statementCachingEnabled;
+    return copy;
+  }
+
   public String toExecutableQueryString() {
     return substitute().replaceUnnamedParametersForLogging();
   }
@@ -426,30 +516,49 @@ public class SQLQuery {
    * Replaces #{namedVar} in the queryText with ? and appends the corresponding parameters from the specified map.
    */
   private void replaceNamedParametersInt(boolean usePlaceholders) {
-    Pattern p = Pattern.compile("#\\{\\s*([^\\s\\}]+)\\s*\\}");
-    Matcher m = p.matcher(text());
+    List<Segment> segments = segments();
+    if (!QueryTemplate.contains(segments, NAMED_PARAMETER))
+      return;
 
+    StringBuilder sb = new StringBuilder(text().length() + 64);
+    int i = 0;
     try {
-      while (m.find()) {
-        String nParam = m.group(1);
+      for (; i < segments.size(); i++) {
+        Segment segment = segments.get(i);
+        if (segment.type() != NAMED_PARAMETER) {
+          sb.append(segment.text());
+          continue;
+        }
+        String nParam = segment.name();
         if (!namedParameters.containsKey(nParam))
           throw new IllegalArgumentException("sql: named Parameter [" + nParam + "] missing");
-        if (!namedParams2Positions.containsKey(nParam))
-          namedParams2Positions.put(nParam, new ArrayList<>());
-        namedParams2Positions.get(nParam).add(parameters.size());
+        namedParams2Positions.computeIfAbsent(nParam, k -> new ArrayList<>()).add(parameters.size());
         parameters.add(namedParameters.get(nParam));
-        if (!usePlaceholders) {
-          statement = m.replaceFirst(paramValueToString(namedParameters.get(nParam)));
-          m = p.matcher(text());
-        }
+        sb.append(usePlaceholders ? "?" : paramValueToString(namedParameters.get(nParam)));
       }
     }
     catch (Exception e) {
       System.out.println(e.getMessage());
+      //Keep the remaining segments, but still replace all remaining named parameters by placeholders if applicable
+      for (; i < segments.size(); i++) {
+        Segment segment = segments.get(i);
+        sb.append(usePlaceholders && segment.type() == NAMED_PARAMETER ? "?" : segment.text());
+      }
     }
+    setText(sb.toString());
+  }
+
+  /**
+   * Returns the segments of the statement. As long as no substitution took place, these are the cached segments of the original
+   * statement, so only the original texts of the queries and query fragments are parsed and cached.
+   */
+  private List<Segment> segments() {
+    return segments != null ? segments : QueryTemplate.of(statement).getSegments();
+  }
 
-    if (usePlaceholders)
-      statement = m.replaceAll("?");
+  private void setSegments(List<Segment> segments) {
+    this.segments = segments;
+    statement = QueryTemplate.render(segments);
   }
 
   private void replaceVars() {
@@ -474,10 +583,10 @@ public class SQLQuery {
   }
 
   private void replaceVars(Map<String, String> variables) {
-    String queryText = text();
-    for (String key : variables.keySet())
-      queryText = queryText.replaceAll(VAR_PREFIX + key + VAR_SUFFIX, sqlQuote(variables.get(key)));
-    statement = queryText;
+    List<Segment> segments = segments();
+    if (QueryTemplate.contains(segments, VARIABLE))
+      setSegments(QueryTemplate.replace(segments, VARIABLE,
+          name -> variables.containsKey(name) ? QueryTemplate.literal(sqlQuote(variables.get(name))) : null));
   }
 
   private void replaceFragments() {
@@ -510,10 +619,9 @@ public class SQLQuery {
   }
 
   private void replaceChildFragments(Map<String, SQLQuery> fragments) {
-    String queryText = text();
-    for (String key : fragments.keySet())
-      queryText = queryText.replace(FRAGMENT_PREFIX + key + FRAGMENT_SUFFIX, fragments.get(key).text());
-    statement = queryText;
+    List<Segment> segments = segments();
+    if (QueryTemplate.contains(segments, FRAGMENT))
+      setSegments(QueryTemplate.replace(segments, FRAGMENT, name -> fragments.containsKey(name) ? fragments.get(name).segments() : null));
   }
 
   private void replaceNamedParameters(boolean usePlaceholders) {
@@ -749,6 +857,25 @@ public class SQLQuery {
     return this;
   }
 
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * Sets the number of rows which should be fetched from the database at once when iterating over the ResultSet of this query.
+   * If a value > 0 is set, the query gets executed within a transaction, so that the rows are streamed from the database using
+   * a cursor instead of loading the whole result into memory at once.
+   * @param fetchSize The number of rows to be fetched per round-trip. A value of 0 (the default) deactivates the cursor-based fetching.
+   */
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
+  public SQLQuery withFetchSize(int fetchSize) {
+    setFetchSize(fetchSize);
+    return this;
+  }
+
   public int getMaximumRetries() {
     return maximumRetries;
   }
@@ -826,7 +953,7 @@ public class SQLQuery {
 
   private void injectContext() {
     if (context != null) {
-      statement = (asyncProcedure ? "PERFORM " : "SELECT") +" context(#{context}::JSONB); " + statement;
+      setText((asyncProcedure ? "PERFORM " : "SELECT") +" context(#{context}::JSONB); " + statement);
       setNamedParameter("context", XyzSerializable.serialize(context));
     }
   }
@@ -861,9 +988,43 @@ public class SQLQuery {
     return this;
   }
 
+  public boolean isStatementCachingEnabled() {
+    return statementCachingEnabled;
+  }
+
+  /**
+   * Activates the caching of the prepared statement of this query per database connection, so that the database can re-use the query
+   * plan for subsequent executions of queries with the same shape.
+   * To keep the query text the same for all executions, the queryId label is not injected into the query text in that case.
+   * Instead, the queryId is reported as application_name of the session while the query is running, so the query can still be found
+   * and cancelled / killed by its queryId.
+   * Statement caching only applies to reading queries which are not async and do not carry a context.
+   * See: {@link DatabaseSettings#getDbStatementCacheSize()}
+   *
+   * @param statementCachingEnabled Whether to cache the prepared statement of this query
+   */
+  public void setStatementCachingEnabled(boolean statementCachingEnabled) {
+    this.statementCachingEnabled = statementCachingEnabled;
+  }
+
+  public SQLQuery withStatementCachingEnabled(boolean statementCachingEnabled) {
+    setStatementCachingEnabled(statementCachingEnabled);
+    return this;
+  }
+
+  private boolean usesStatementCache() {
+    return isStatementCachingEnabled() && context == null && !isAsync();
+  }
+
   private void injectLabels() {
+    Map<String, String> labels = this.labels;
+    if (usesStatementCache()) {
+      //Keep the query text canonical by only injecting the labels which are the same for all executions in a stable order
+      labels = new TreeMap<>(labels);
+      labels.remove(QUERY_ID);
+    }
     if (isLabelsEnabled() && !labels.isEmpty())
-      statement = "/*labels(" + XyzSerializable.serialize(labels) + ")*/ " + statement;
+      setText("/*labels(" + XyzSerializable.serialize(labels) + ")*/ " + statement);
   }
 
   public void cancel(long timeout) throws SQLException {
@@ -904,9 +1065,22 @@ public class SQLQuery {
   }
 
   private static SQLQuery buildLabelMatchQuery(String labelIdentifier, String labelValue) {
-    return new SQLQuery("strpos(query, '/*labels(') > 0 AND ${{extractedLabelValue}} = #{labelValue}")
+    SQLQuery labelMatch = new SQLQuery("strpos(query, '/*labels(') > 0 AND ${{extractedLabelValue}} = #{labelValue}")
         .withQueryFragment("extractedLabelValue", buildLabelValueExtraction(labelIdentifier))
         .withNamedParameter("labelValue", labelValue);
+    if (!QUERY_ID.equals(labelIdentifier))
+      return labelMatch;
+
+    //Queries using the statement cache report their queryId as application_name rather than as label
+    return new SQLQuery("(application_name = #{applicationName} OR ${{labelMatch}})")
+        .withQueryFragment("labelMatch", labelMatch)
+        .withNamedParameter("applicationName", applicationNameOf(labelValue));
+  }
+
+  private static String applicationNameOf(String queryId) {
+    String applicationName = QUERY_ID_APPLICATION_NAME_PREFIX + queryId;
+    return applicationName.length() > MAX_APPLICATION_NAME_LENGTH ? applicationName.substring(0, MAX_APPLICATION_NAME_LENGTH)
+        : applicationName;
   }
 
   /**
@@ -1056,6 +1230,132 @@ public class SQLQuery {
         new ExecutionContext(getTimeout(), getMaximumRetries(), dataSourceProvider, useReplica));
   }
 
+  /**
+   * Executes this reading query on the database reader and "hedges" it against slow replicas.
+   * If the reader did not answer within a delay, which is the specified percentile of the previously observed reader latencies of this
+   * kind of query, the same query is additionally sent to the database writer. The first successful result is taken and the query which
+   * is still running gets cancelled.
+   * This trades some additional load on the writer for a lower tail latency. Hedging only starts once enough latencies have been observed,
+   * before that (or if the data source provider has no separate reader) the query is simply executed on the reader.
+   *
+   * NOTE: The handler may be called by different threads, but it will only be called concurrently if both queries finished at the same
+   * time.
+   *
+   * @param dataSourceProvider The data source provider depicting the target database to execute the query
+   * @param handler The handler to process the ResultSet of the query execution
+   * @param delayPercentile The percentile (0 .. 100) of the observed reader latencies after which to send the hedged query
+   * @param minDelayMs The minimum delay in milliseconds after which to send the hedged query
+   * @return The value which has been processed by the specified ResultSetHandler
+   * @param <R> The type of the return value being produced by the ResultSetHandler
+   * @throws SQLException If both queries failed
+   */
+  public <R> R runHedged(DataSourceProvider dataSourceProvider, ResultSetHandler<R> handler, double delayPercentile, long minDelayMs)
+      throws SQLException {
+    String queryClass = labels.getOrDefault("queryClass", "");
+    LatencyHistogram latencies = hedgingLatencies.computeIfAbsent(dataSourceKeyOf(dataSourceProvider) + ":" + queryClass,
+        key -> new LatencyHistogram("hedged_" + queryClass, "Reader latencies of " + queryClass));
+    long start = System.nanoTime();
+    if (!dataSourceProvider.hasReader() || latencies.getWindowCount() < MIN_HEDGING_SAMPLES) {
+      R result = run(dataSourceProvider, handler, true);
+      latencies.recordNanos(System.nanoTime() - start);
+      return result;
+    }
+
+    long delayMs = Math.max(minDelayMs, TimeUnit.MICROSECONDS.toMillis(latencies.getValueAtPercentile(delayPercentile)));
+    initQueryId();
+    SQLQuery hedgedQuery = copy().withQueryId(getQueryId() + "-hedged");
+    CompletableFuture<R> result = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    AtomicBoolean replicaLatencyRecorded = new AtomicBoolean();
+
+    CompletableFuture<R> replicaRead = executeHedgedRead(dataSourceProvider, true, result, () -> {
+      R replicaResult = run(dataSourceProvider, handler, true);
+      if (replicaLatencyRecorded.compareAndSet(false, true))
+        latencies.recordNanos(System.nanoTime() - start);
+      return replicaResult;
+    });
+    replicaRead.whenComplete((r, t) -> completeHedgedResult(result, failures, r, t));
+
+    try {
+      return replicaRead.get(delayMs, TimeUnit.MILLISECONDS);
+    }
+    catch (TimeoutException e) {
+      logger.info("{} Reader did not answer within {}ms, sending hedged query to the writer.", getQueryId(), delayMs);
+    }
+    catch (ExecutionException e) {
+      //The reader failed, the writer gets the chance to answer anyways
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for the query result.", e);
+    }
+
+    CompletableFuture<R> writerRead = executeHedgedRead(dataSourceProvider, false, result,
+        () -> hedgedQuery.run(dataSourceProvider, handler, false));
+    writerRead.whenComplete((r, t) -> completeHedgedResult(result, failures, r, t));
+
+    try {
+      R hedgedResult = result.get();
+      //Cancel the query which lost the race
+      boolean replicaWon = replicaRead.isDone() && !replicaRead.isCompletedExceptionally();
+      SQLQuery loser = replicaWon ? hedgedQuery : this;
+      /*
+      The latency of a replica read which lost the race is unknown, but it's at least the time it took so far (which is at least the
+      hedging delay). Recording it as such (censored) sample keeps the slow replica reads in the distribution, otherwise the
+      hedging delay would be based on the fast reads only and would decrease further with every hedged read.
+       */
+      if (!replicaWon && !replicaRead.isDone() && replicaLatencyRecorded.compareAndSet(false, true))
+        latencies.recordNanos(Math.max(System.nanoTime() - start, TimeUnit.MILLISECONDS.toNanos(delayMs)));
+      if (!(replicaWon ? writerRead : replicaRead).isDone()) {
+        loser.cancelled = true;
+        executeAsync(dataSourceProvider, !replicaWon, () -> {
+          loser.kill();
+          return null;
+        });
+      }
+      return hedgedResult;
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for the hedged query result.", e);
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof SQLException sqlException)
+        throw sqlException;
+      throw new SQLException(e.getCause());
+    }
+  }
+
+  private static <R> CompletableFuture<R> executeHedgedRead(DataSourceProvider dataSourceProvider, boolean useReplica,
+      CompletableFuture<R> result, Callable<R> read) {
+    CompletableFuture<R> future = new CompletableFuture<>();
+    try {
+      getAsyncExecutor(dataSourceProvider, useReplica).execute(() -> {
+        try {
+          //Do not start the read at all, if the other one already succeeded
+          if (result.isDone())
+            future.completeExceptionally(new CancellationException("Hedged read is not needed anymore."));
+          else
+            future.complete(read.call());
+        }
+        catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      });
+    }
+    catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private static <R> void completeHedgedResult(CompletableFuture<R> result, AtomicInteger failures, R value, Throwable t) {
+    if (t == null)
+      result.complete(value);
+    else if (failures.incrementAndGet() == 2)
+      result.completeExceptionally(t instanceof ExecutionException ? t.getCause() : t);
+  }
+
   /**
    * If this query is an updating query, use this method to execute it on the database writer.
    *
@@ -1085,19 +1385,151 @@ public class SQLQuery {
         new ExecutionContext(getTimeout(), getMaximumRetries(), dataSourceProvider, false));
   }
 
+  /**
+   * Asynchronously executes this reading query on the database reader or writer.
+   * NOTE: This is not non-blocking I/O. The query is still executed through the blocking JDBC driver, but on a bounded executor which
+   *  belongs to the targeted data source rather than on the calling thread. So the calling thread (e.g. an event loop) is not blocked
+   *  and the number of threads waiting for the database is limited by the pool size of the data source.
+   *
+   * @param dataSourceProvider The data source provider depicting the target database to execute the query
+   * @param handler The handler to process the ResultSet of the query execution
+   * @param useReplica Whether to run on the reader of the data source provider
+   * @return A future which will be completed with the value which has been processed by the specified ResultSetHandler
+   * @param <R> The type of the return value being produced by the ResultSetHandler
+   */
+  public <R> Future<R> runAsync(DataSourceProvider dataSourceProvider, ResultSetHandler<R> handler, boolean useReplica) {
+    return executeAsync(dataSourceProvider, useReplica, () -> run(dataSourceProvider, handler, useReplica));
+  }
+
+  /**
+   * Asynchronously executes this reading query on the database writer.
+   * See: {@link #runAsync(DataSourceProvider, ResultSetHandler, boolean)}
+   */
+  public <R> Future<R> runAsync(DataSourceProvider dataSourceProvider, ResultSetHandler<R> handler) {
+    return runAsync(dataSourceProvider, handler, false);
+  }
+
+  /**
+   * Asynchronously executes this updating query on the database writer.
+   * See: {@link #runAsync(DataSourceProvider, ResultSetHandler, boolean)}
+   *
+   * @param dataSourceProvider The data source provider depicting the target database to execute the query
+   * @return A future which will be completed with the update result (e.g. row counts)
+   */
+  public Future<Integer> writeAsync(DataSourceProvider dataSourceProvider) {
+    return executeAsync(dataSourceProvider, false, () -> write(dataSourceProvider));
+  }
+
+  /**
+   * Asynchronously executes all queries of a query batch at once on the database writer.
+   * See: {@link #writeBatch(DataSourceProvider)}
+   *
+   * @param dataSourceProvider The data source provider depicting the target database to execute the query
+   * @return A future which will be completed with an array of update results (e.g. row counts)
+   */
+  public Future<int[]> writeBatchAsync(DataSourceProvider dataSourceProvider) {
+    return executeAsync(dataSourceProvider, false, () -> writeBatch(dataSourceProvider));
+  }
+
+  private static <R> Future<R> executeAsync(DataSourceProvider dataSourceProvider, boolean useReplica, Callable<R> task) {
+    Promise<R> promise = Promise.promise();
+    try {
+      getAsyncExecutor(dataSourceProvider, useReplica).execute(() -> {
+        try {
+          promise.complete(task.call());
+        }
+        catch (Exception e) {
+          promise.fail(e);
+        }
+      });
+    }
+    catch (RejectedExecutionException e) {
+      promise.fail(e);
+    }
+    return promise.future();
+  }
+
+  /**
+   * Returns the latencies of the replica reads of the provided query class, which have been executed on the provided data source using
+   * {@link #runHedged(DataSourceProvider, ResultSetHandler, double, long)}.
+   *
+   * @return The latency histogram or null, if no such reads have been executed yet
+   */
+  public static LatencyHistogram getHedgingLatencies(DataSourceProvider dataSourceProvider, String queryClass) {
+    return hedgingLatencies.get(dataSourceKeyOf(dataSourceProvider) + ":" + queryClass);
+  }
+
+  private static String dataSourceKeyOf(DataSourceProvider dataSourceProvider) {
+    DatabaseSettings dbSettings = dataSourceProvider.getDatabaseSettings();
+    return dbSettings != null ? dbSettings.getCacheKey() : "provider-" + System.identityHashCode(dataSourceProvider);
+  }
+
+  static ThreadPoolExecutor getAsyncExecutor(DataSourceProvider dataSourceProvider, boolean useReplica) {
+    DatabaseSettings dbSettings = dataSourceProvider.getDatabaseSettings();
+    String dataSourceKey = dataSourceKeyOf(dataSourceProvider);
+    String role = useReplica && dataSourceProvider.hasReader() ? "reader" : "writer";
+    int maxThreads = Math.max(dbSettings != null ? dbSettings.getDbMaxPoolSize() : 1, 1);
+
+    synchronized (asyncExecutors) {
+      ThreadPoolExecutor executor = asyncExecutors.get(dataSourceKey + ":" + role);
+      if (executor == null || executor.isShutdown()) {
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, ASYNC_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), Core.newThreadFactory("sqlQuery-" + role));
+        executor.allowCoreThreadTimeOut(true);
+        asyncExecutors.put(dataSourceKey + ":" + role, executor);
+      }
+      return executor;
+    }
+  }
+
+  static int getAsyncExecutorCount() {
+    synchronized (asyncExecutors) {
+      return asyncExecutors.size();
+    }
+  }
+
   private enum ExecutionOperation {
     QUERY,
     UPDATE,
     UPDATE_BATCH
   }
 
-  private static String hidePwds(String s, DataSourceProvider dataSourceProvider) throws SQLException {
-    return s.replaceAll("(" + dataSourceProvider.getDatabaseSettings().getPassword() + ")\\w*", "*******");
+  private static String hidePwds(String s, DataSourceProvider dataSourceProvider) {
+    DatabaseSettings dbSettings = dataSourceProvider.getDatabaseSettings();
+    return dbSettings == null ? s : hidePwds(s, dbSettings.getPassword());
+  }
+
+  /**
+   * Masks all occurrences of the password (incl. all directly following word characters) in the specified string.
+   */
+  static String hidePwds(String s, String password) {
+    if (password == null || password.isEmpty())
+      return s;
+    int pos = s.indexOf(password);
+    if (pos == -1)
+      return s;
+
+    StringBuilder sb = new StringBuilder(s.length());
+    int last = 0;
+    while (pos != -1) {
+      int end = pos + password.length();
+      while (end < s.length() && isWordChar(s.charAt(end)))
+        end++;
+      sb.append(s, last, pos).append("*******");
+      last = end;
+      pos = s.indexOf(password, end);
+    }
+    return sb.append(s, last, s.length()).toString();
+  }
+
+  private static boolean isWordChar(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
   }
 
   private Object execute(DataSourceProvider dataSourceProvider, ResultSetHandler<?> handler, ExecutionOperation operation,
       ExecutionContext executionContext) throws SQLException {
-    if (loggingEnabled)
+    //Only serialize & mask the query if it will be logged at all
+    if (loggingEnabled && logger.isInfoEnabled())
       logger.info("Executing SQLQuery {}", hidePwds("" + this, dataSourceProvider));
     if (executionContext.executionAttempts == 0)
       substitute();
@@ -1105,7 +1537,7 @@ public class SQLQuery {
     final DataSource dataSource = executionContext.useReplica ? dataSourceProvider.getReader() : dataSourceProvider.getWriter();
     executionContext.attemptExecution();
     try {
-      if (loggingEnabled)
+      if (loggingEnabled && logger.isEnabled(QUERY_LEVEL))
         logger.log(QUERY_LEVEL, "Sending query to database {} {}, substituted query-text: {}",
             executionContext.useReplica ? "reader" : "writer",
             dataSourceProvider.getDatabaseSettings() != null
@@ -1140,6 +1572,7 @@ public class SQLQuery {
 
       long usedTimeForAttempt = endTs - executionContext.lastAttemptTime;
       executionContext.consumeTime((int) usedTimeForAttempt / 1000);
+      SQL_TIME.recordMillis(usedTimeForAttempt);
 
       long overallTime = endTs - executionContext.startTime;
       String usedTimeMsg = "";
@@ -1174,17 +1607,102 @@ public class SQLQuery {
   private Object executeQuery0(DataSource dataSource, ExecutionContext executionContext, ResultSetHandler<?> handler) throws SQLException {
     SQLQuery query = prepareFinalQuery(executionContext);
 
+    if (usesStatementCache())
+      //The reported queryId is only valid within the transaction, so the query is always executed within one
+      return exec0(dataSource, connection -> inTransaction(connection,
+          c -> executeCachedStatement(c, query, executionContext, handler)));
+
     ResultSetHandler<?> finalHandler = context != null ? new Ignore1stResultSet(handler) : handler;
 
-    final List<?> results = exec0(dataSource, connection -> getRunner(executionContext).execute(connection, query.text(), finalHandler, query.parameters().toArray()));
+    final List<?> results = exec0(dataSource, connection -> fetchInBatches(connection,
+        c -> getRunner(executionContext).execute(c, query.text(), finalHandler, query.parameters().toArray())));
 
     return results.size() == 0 ? null : results.get(results.size() - 1);
   }
 
-  private static QueryRunner getRunner(ExecutionContext executionContext) {
-    StatementConfiguration statementConfig = executionContext.remainingQueryTimeout > 0
-        ? new StatementConfiguration.Builder().queryTimeout(executionContext.remainingQueryTimeout).build()
-        : null;
+  /**
+   * Runs the provided execution inside a transaction if a fetch size was defined for this query.
+   * NOTE: The PostgreSQL JDBC driver only uses a cursor to fetch the rows in batches of the defined fetch size if auto-commit is
+   *  switched off. Otherwise, the whole result is loaded into memory at once before the first row can be processed.
+   */
+  private <R> R fetchInBatches(Connection connection, QueryExecution<R> execution) throws SQLException {
+    if (getFetchSize() <= 0 || isAsync())
+      return execution.execute(connection);
+    return inTransaction(connection, execution);
+  }
+
+  private static int getStatementCacheSize(ExecutionContext executionContext) {
+    DatabaseSettings dbSettings = executionContext.dataSourceProvider.getDatabaseSettings();
+    return dbSettings != null ? dbSettings.getDbStatementCacheSize() : 0;
+  }
+
+  private Object executeCachedStatement(Connection connection, SQLQuery query, ExecutionContext executionContext,
+      ResultSetHandler<?> handler) throws SQLException {
+    if (isLabelsEnabled())
+      reportQueryId(connection);
+
+    int cacheSize = getStatementCacheSize(executionContext);
+    PreparedStatement statement = cacheSize > 0 ? StatementCache.prepare(connection, query.text(), cacheSize) : null;
+    if (statement == null)
+      return getRunner(executionContext).query(connection, query.text(), handler, query.parameters().toArray());
+
+    try {
+      //The statement is re-used, so all its settings have to be (re-)set for every execution
+      statement.setQueryTimeout(Math.max(executionContext.remainingQueryTimeout, 0));
+      statement.setFetchSize(Math.max(getFetchSize(), 0));
+      statement.clearParameters();
+      getRunner(executionContext).fillStatement(statement, query.parameters().toArray());
+      try (ResultSet rs = statement.executeQuery()) {
+        return handler.handle(rs);
+      }
+    }
+    catch (SQLException e) {
+      StatementCache.evict(connection, query.text());
+      throw e;
+    }
+  }
+
+  /**
+   * Reports the queryId as application_name of the session until the end of the current transaction, so that the query can be found
+   * in pg_stat_activity without having the queryId in the (cached) query text.
+   */
+  private void reportQueryId(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT set_config('application_name', ?, true)")) {
+      statement.setString(1, applicationNameOf(getQueryId()));
+      statement.execute();
+    }
+  }
+
+  private static <R> R inTransaction(Connection connection, QueryExecution<R> execution) throws SQLException {
+    if (!connection.getAutoCommit())
+      return execution.execute(connection);
+
+    connection.setAutoCommit(false);
+    try {
+      R result = execution.execute(connection);
+      connection.commit();
+      return result;
+    }
+    catch (SQLException e) {
+      connection.rollback();
+      throw e;
+    }
+    finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  private QueryRunner getRunner(ExecutionContext executionContext) {
+    boolean useFetchSize = getFetchSize() > 0 && !isAsync();
+    StatementConfiguration statementConfig = null;
+    if (executionContext.remainingQueryTimeout > 0 || useFetchSize) {
+      StatementConfiguration.Builder builder = new StatementConfiguration.Builder();
+      if (executionContext.remainingQueryTimeout > 0)
+        builder.queryTimeout(executionContext.remainingQueryTimeout);
+      if (useFetchSize)
+        builder.fetchSize(getFetchSize());
+      statementConfig = builder.build();
+    }
     return new QueryRunner(statementConfig);
   }
 
@@ -1284,6 +1802,9 @@ public class SQLQuery {
     }
 
     public boolean mayRetry(Exception e) {
+      //A query which was cancelled on purpose (e.g. as it lost the race against a hedged query) must not be retried
+      if (cancelled)
+        return false;
       int usedTimeForAttempt = (int) (System.currentTimeMillis() - lastAttemptTime) / 1000;
       return remainingQueryTimeout > usedTimeForAttempt && isRecoverable(e);
     }
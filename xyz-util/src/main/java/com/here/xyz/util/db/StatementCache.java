@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.util.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+
+/**
+ * Caches prepared statements per physical database connection, keyed by their (canonical) query text.
+ * Re-using the same prepared statement for the same query shape allows the PostgreSQL JDBC driver to switch to a server-side prepared
+ * statement, so the database can re-use the query plan instead of parsing & planning the query again for every execution.
+ * The statements are prepared on the physical connection underneath the pooled one, so they survive the check-in of the connection
+ * into the pool. Each cache only holds a limited number of statements and closes the least recently used ones.
+ *
+ * NOTE: A physical connection is only used by one thread at a time, so the cache of a connection is not synchronized.
+ */
+public final class StatementCache {
+  private static final Logger logger = LogManager.getLogger();
+  private static final Map<Connection, StatementCache> caches = Collections.synchronizedMap(new IdentityHashMap<>());
+  private static final LongAdder hits = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+  private final Connection connection;
+  private final Map<String, PreparedStatement> statements;
+
+  private StatementCache(Connection connection, int maxSize) {
+    this.connection = connection;
+    statements = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Entry<String, PreparedStatement> eldest) {
+        if (size() <= maxSize)
+          return false;
+        closeQuietly(eldest.getValue());
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns a cached prepared statement for the provided query text or prepares & caches a new one.
+   *
+   * @param connection The (pooled) connection to prepare the statement for
+   * @param sql The canonical query text
+   * @param maxSize The maximum number of statements to be cached for the connection
+   * @return The prepared statement or null if the connection does not support the caching of statements
+   */
+  static PreparedStatement prepare(Connection connection, String sql, int maxSize) throws SQLException {
+    if (!connection.isWrapperFor(PGConnection.class))
+      return null;
+    Connection physicalConnection = (Connection) connection.unwrap(PGConnection.class);
+
+    StatementCache cache = caches.get(physicalConnection);
+    if (cache == null) {
+      //A new physical connection was opened, that is a good time to clean up the caches of the ones which have been closed meanwhile
+      purgeClosedConnections();
+      cache = new StatementCache(physicalConnection, maxSize);
+      caches.put(physicalConnection, cache);
+    }
+    return cache.prepare(sql);
+  }
+
+  private PreparedStatement prepare(String sql) throws SQLException {
+    PreparedStatement statement = statements.get(sql);
+    if (statement != null && !statement.isClosed()) {
+      hits.increment();
+      return statement;
+    }
+    misses.increment();
+    statement = connection.prepareStatement(sql);
+    statements.put(sql, statement);
+    return statement;
+  }
+
+  /**
+   * Removes & closes the cached statement for the provided query text, e.g. after its execution failed.
+   */
+  static void evict(Connection connection, String sql) throws SQLException {
+    if (!connection.isWrapperFor(PGConnection.class))
+      return;
+    StatementCache cache = caches.get((Connection) connection.unwrap(PGConnection.class));
+    if (cache != null)
+      closeQuietly(cache.statements.remove(sql));
+  }
+
+  private static void purgeClosedConnections() {
+    synchronized (caches) {
+      caches.keySet().removeIf(connection -> {
+        try {
+          return connection.isClosed();
+        }
+        catch (SQLException e) {
+          return true;
+        }
+      });
+    }
+  }
+
+  private static void closeQuietly(PreparedStatement statement) {
+    if (statement == null)
+      return;
+    try {
+      statement.close();
+    }
+    catch (SQLException e) {
+      logger.warn("Error closing cached statement.", e);
+    }
+  }
+
+  /**
+   * @return The number of executions which re-used a cached prepared statement
+   */
+  public static long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return The number of executions which had to prepare a new statement
+   */
+  public static long getMisses() {
+    return misses.sum();
+  }
+}
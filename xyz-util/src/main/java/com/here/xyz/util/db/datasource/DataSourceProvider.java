@@ -19,10 +19,11 @@
 
 package com.here.xyz.util.db.datasource;
 
+import java.util.concurrent.atomic.AtomicReference;
 import javax.sql.DataSource;
 
 public abstract class DataSourceProvider implements AutoCloseable {
-  static DataSourceProvider defaultProvider;
+  private static final AtomicReference<DataSourceProvider> defaultProvider = new AtomicReference<>();
   protected DatabaseSettings dbSettings;
 
   public DataSourceProvider(DatabaseSettings dbSettings) {
@@ -40,11 +41,24 @@ public abstract class DataSourceProvider implements AutoCloseable {
   }
 
   public static DataSourceProvider getDefaultProvider() {
-    return defaultProvider;
+    return defaultProvider.get();
   }
 
   public static void setDefaultProvider(DataSourceProvider provider) {
-    defaultProvider = provider;
+    defaultProvider.set(provider);
+  }
+
+  /**
+   * Replaces the default provider only if it's (still) the expected one.
+   * Instances which are used concurrently (each with its own provider) should use this method instead of
+   * {@link #setDefaultProvider(DataSourceProvider)}, so that they don't overwrite the default provider of each other.
+   *
+   * @param expected The provider which is expected to be the current default provider (null if there should be none yet)
+   * @param provider The new default provider
+   * @return Whether the default provider was replaced
+   */
+  public static boolean replaceDefaultProvider(DataSourceProvider expected, DataSourceProvider provider) {
+    return defaultProvider.compareAndSet(expected, provider);
   }
 
   public DatabaseSettings getDatabaseSettings() {
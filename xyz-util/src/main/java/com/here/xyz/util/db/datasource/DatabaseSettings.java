@@ -122,6 +122,11 @@ public class DatabaseSettings extends Payload {
     private int dbAcquireRetryDelay = 1_000;
     private boolean dbTestConnectionOnCheckout = true;
     private int dbMaxIdleTime;
+    /**
+     * The number of prepared statements being cached per connection for queries which have statement caching enabled.
+     * 0 deactivates the caching.
+     */
+    private int dbStatementCacheSize = 64;
     private int statementTimeoutSeconds = 23;
 
     private DatabaseSettings() {}
@@ -433,6 +438,19 @@ public class DatabaseSettings extends Payload {
         return this;
     }
 
+    public int getDbStatementCacheSize() {
+        return dbStatementCacheSize;
+    }
+
+    public void setDbStatementCacheSize(int dbStatementCacheSize) {
+        this.dbStatementCacheSize = dbStatementCacheSize;
+    }
+
+    public DatabaseSettings withDbStatementCacheSize(int dbStatementCacheSize) {
+        setDbStatementCacheSize(dbStatementCacheSize);
+        return this;
+    }
+
     public int getStatementTimeoutSeconds() {
         return statementTimeoutSeconds;
     }
@@ -57,6 +57,10 @@ public class IndexHelper {
   @JsonTypeName("SystemIndex")
   public enum SystemIndex implements Index {
     GEO,
+    /**
+     * A partial GEO index which only covers the HEAD rows, see {@link IndexProfile#TILE_READ}.
+     */
+    GEO_HEAD,
     VERSION_ID,
     NEXT_VERSION,
     OPERATION,
@@ -76,20 +80,21 @@ public class IndexHelper {
         case SERIAL, VIZ -> idxPrefix + tableName +  "_" + name().toLowerCase();
         case NEXT_VERSION -> idxPrefix + tableName +  "_nextversion";
         case VERSION_ID -> idxPrefix + tableName +  "_versionid";
+        case GEO_HEAD -> idxPrefix + tableName +  "_geohead";
         default -> idxPrefix + tableName + "_" + getIndexContent().get(0);
       };
     }
 
     public String getIndexType() {
       return switch (this) {
-        case GEO -> "GIST";
+        case GEO, GEO_HEAD -> "GIST";
         case VERSION_ID, NEXT_VERSION, OPERATION, SERIAL, VIZ, AUTHOR -> "BTREE";
       };
     }
 
     public List<String> getIndexContent() {
       return switch (this) {
-        case GEO -> List.of("geo");
+        case GEO, GEO_HEAD -> List.of("geo");
         case VERSION_ID -> List.of("version", "id");
         case NEXT_VERSION -> List.of("next_version");
         case OPERATION -> List.of("operation");
@@ -99,10 +104,21 @@ public class IndexHelper {
       };
     }
 
+    /**
+     * @return The predicate of the index if it is a partial one, otherwise null
+     */
+    public String getIndexPredicate() {
+      return switch (this) {
+        case GEO_HEAD -> "next_version = " + Long.MAX_VALUE + "::BIGINT";
+        default -> null;
+      };
+    }
+
     public static SystemIndex fromString(String name) {
       if (name == null) return null;
       return switch (name.toLowerCase()) {
         case "geo" -> GEO;
+        case "geohead" -> GEO_HEAD;
         case "versionid" -> VERSION_ID;
         case "nextversion" -> NEXT_VERSION;
         case "operation" -> OPERATION;
@@ -114,6 +130,60 @@ public class IndexHelper {
     }
   }
 
+  /**
+   * Defines the set of system indexes a space table gets.
+   */
+  public enum IndexProfile {
+    /**
+     * The system indexes every space table gets on creation.
+     */
+    DEFAULT,
+    /**
+     * Additionally to the default indexes, creates a partial GEO index which only covers the HEAD rows.
+     * Tile reads on spaces with history only have to traverse that smaller index instead of the one covering all versions.
+     */
+    TILE_READ;
+
+    /**
+     * The minimum number of features of a space to get the {@link #TILE_READ} profile
+     */
+    public static final long TILE_READ_MIN_FEATURE_COUNT = 1_000_000;
+    /**
+     * The minimum number of features of a space to keep the {@link #TILE_READ} profile once it has got it.
+     * The gap to {@link #TILE_READ_MIN_FEATURE_COUNT} prevents the partial HEAD index from being created and dropped over and over
+     * again for spaces of which the feature count is varying around the threshold.
+     */
+    public static final long TILE_READ_RETAIN_FEATURE_COUNT = 800_000;
+
+    /**
+     * Chooses the index profile for a space.
+     * The partial HEAD index is only usable for spaces with history, because only then the reads are filtering by the next_version.
+     * Also, it's only useful for the {@link TableLayout#NEW_LAYOUT}, because the HEAD partition of the old layout is not partitioned
+     * any further and has its own GEO index already.
+     *
+     * @param featureCount The (estimated) number of features in the space
+     * @param versionsToKeep The versionsToKeep setting of the space
+     * @param layout The table layout of the space
+     * @param hasTileReadProfile Whether the space has the {@link #TILE_READ} profile already
+     * @return The index profile to be used for the space
+     */
+    public static IndexProfile forSpace(long featureCount, int versionsToKeep, TableLayout layout, boolean hasTileReadProfile) {
+      if (layout != NEW_LAYOUT || versionsToKeep <= 1)
+        return DEFAULT;
+      return featureCount >= (hasTileReadProfile ? TILE_READ_RETAIN_FEATURE_COUNT : TILE_READ_MIN_FEATURE_COUNT) ? TILE_READ : DEFAULT;
+    }
+
+    public List<SystemIndex> getSystemIndexes(TableLayout layout) {
+      List<SystemIndex> defaultIndexes = switch (layout) {
+        case OLD_LAYOUT -> Stream.of(SystemIndex.values()).filter(index -> index != SystemIndex.GEO_HEAD).toList();
+        case NEW_LAYOUT -> List.of(SystemIndex.GEO, SystemIndex.NEXT_VERSION, SystemIndex.VERSION_ID);
+      };
+      return this == TILE_READ && layout == NEW_LAYOUT
+          ? Stream.concat(defaultIndexes.stream(), Stream.of(SystemIndex.GEO_HEAD)).toList()
+          : defaultIndexes;
+    }
+  }
+
   @JsonTypeName("OnDemandIndex")
   public static class OnDemandIndex implements Index {
     private String indexName;
@@ -161,7 +231,7 @@ public class IndexHelper {
   }
 
   public static SQLQuery buildCreateIndexQuery(String schema, String table, Index index) {
-    return buildCreateIndexQuery(schema, table, ((SystemIndex)index).getIndexContent(), ((SystemIndex)index).getIndexType(), index.getIndexName(table));
+    return buildSpaceTableIndexQuery(schema, table, index);
   }
 
   public static SQLQuery buildCreateIndexQuery(String schema, String table, List<String> columnNames, String method) {
@@ -178,7 +248,9 @@ public class IndexHelper {
   }
 
   public static SQLQuery buildSpaceTableIndexQuery(String schema, String table, Index index) {
-    return buildCreateIndexQuery(schema, table, ((SystemIndex)index).getIndexContent(), ((SystemIndex)index).getIndexType(), index.getIndexName(table));
+    SystemIndex systemIndex = (SystemIndex) index;
+    return buildCreateIndexQuery(schema, table, systemIndex.getIndexContent(), systemIndex.getIndexType(), index.getIndexName(table),
+        systemIndex.getIndexPredicate());
   }
 
   public static SQLQuery buildCreateIndexQuery(String schema, String table, List<String> columnNamesOrExpressions, String method,
@@ -216,6 +288,19 @@ public class IndexHelper {
   }
 
   public static SQLQuery buildOnDemandIndexCreationQuery(String schema, String table, String propertyPath, String targetColumn, boolean async){
+    return buildOnDemandIndexCreationQuery(schema, table, propertyPath, targetColumn, "m", async);
+  }
+
+  /**
+   * Builds the query to create an index on the provided property, which is marked as being created automatically ("a")
+   * rather than on demand ("m"). Such indexes may be dropped again automatically once the property is not being searched anymore.
+   */
+  public static SQLQuery buildAutoIndexCreationQuery(String schema, String table, String propertyPath, boolean async){
+    return buildOnDemandIndexCreationQuery(schema, table, propertyPath, "jsondata", "a", async);
+  }
+
+  private static SQLQuery buildOnDemandIndexCreationQuery(String schema, String table, String propertyPath, String targetColumn,
+      String idxType, boolean async){
     return new SQLQuery((async ? "PERFORM " : "SELECT ") +
             """
             xyz_index_creation_on_property_object(
@@ -232,7 +317,7 @@ public class IndexHelper {
             .withNamedParameter("table_name", table)
             .withNamedParameter("property_name", propertyPath)
             .withNamedParameter("table_sample_cnt", 5000)
-            .withNamedParameter("idx_type", "m")
+            .withNamedParameter("idx_type", idxType)
             .withNamedParameter("target_column", targetColumn);
   }
 
@@ -253,6 +338,28 @@ public class IndexHelper {
             .withNamedParameter("table", table);
   }
 
+  /**
+   * Builds the query to load the property search statistics which have been recorded by the connector for the provided table.
+   * The result contains the columns property_path, operation, query_count, rejected_count, total_millis & last_seen.
+   */
+  public static SQLQuery buildLoadQueryStatisticsQuery(String schema, String table) {
+    return new SQLQuery("SELECT * FROM load_query_statistics(#{schema}, #{table})")
+            .withNamedParameter("schema", schema)
+            .withNamedParameter("table", table);
+  }
+
+  /**
+   * Builds the query to subtract the provided, previously loaded, property search statistics from the ones of the provided table.
+   *
+   * @param statistics The JSON array of the statistics to be subtracted, see reset_query_statistics()
+   */
+  public static SQLQuery buildResetQueryStatisticsQuery(String schema, String table, String statistics, boolean async) {
+    return new SQLQuery((async ? "PERFORM " : "SELECT ") + "reset_query_statistics(#{schema}, #{table}, #{statistics}::JSONB)")
+            .withNamedParameter("schema", schema)
+            .withNamedParameter("table", table)
+            .withNamedParameter("statistics", statistics);
+  }
+
   public static List<SQLQuery> buildSpaceTableDropIndexQueries(String schema, List<String> indices) {
     return indices.stream()
             .map(index -> buildDropIndexQuery(schema, index))
@@ -260,20 +367,16 @@ public class IndexHelper {
   }
 
   public static List<SQLQuery> buildSpaceTableIndexQueries(String schema, String table, TableLayout layout) {
-    if(layout == OLD_LAYOUT)
-      return Arrays.asList(SystemIndex.values()).stream()
-              .map(index -> buildCreateIndexQuery(schema, table, index.getIndexContent(), index.getIndexType(), index.getIndexName(table)))
-              .toList();
-    else if (layout == NEW_LAYOUT)
-      return Stream.of(SystemIndex.GEO,
-                      SystemIndex.NEXT_VERSION,
-                      SystemIndex.VERSION_ID)
-              .map(index -> buildCreateIndexQuery(
-                      schema, table, index.getIndexContent(),
-                      index.getIndexType(), index.getIndexName(table))
-              ).toList();
-
-    throw new IllegalArgumentException("Unsupported layout " + layout);
+    return buildSpaceTableIndexQueries(schema, table, layout, IndexProfile.DEFAULT);
+  }
+
+  public static List<SQLQuery> buildSpaceTableIndexQueries(String schema, String table, TableLayout layout, IndexProfile profile) {
+    if (layout != OLD_LAYOUT && layout != NEW_LAYOUT)
+      throw new IllegalArgumentException("Unsupported layout " + layout);
+
+    return profile.getSystemIndexes(layout).stream()
+        .map(index -> buildSpaceTableIndexQuery(schema, table, index))
+        .toList();
   }
 
   /**
@@ -171,6 +171,46 @@ public class XyzSpaceTableHelper {
     throw new IllegalArgumentException("Unsupported Table Layout: " + layout);
   }
 
+  /**
+   * Creates a query which loads the names of the leaf partitions of the HEAD table of a space table.
+   * If the HEAD table is not partitioned, the HEAD table itself is returned.
+   */
+  public static SQLQuery buildLoadHeadLeafPartitionsQuery(String schema, String table) {
+    return new SQLQuery("SELECT c.relname AS partition_name FROM pg_partition_tree('${schema}.${headTable}'::REGCLASS) t "
+        + "JOIN pg_class c ON c.oid = t.relid WHERE t.isleaf ORDER BY t.level, c.relname")
+        .withVariable(SCHEMA, schema)
+        .withVariable("headTable", table + HEAD_TABLE_SUFFIX);
+  }
+
+  /**
+   * Creates a query which physically re-orders one HEAD (leaf) partition of a space table along the spatial sort key of the
+   * features' geometries, so that features being close to each other are also stored on the same pages.
+   * NOTE: The partition stays locked exclusively until the end of the transaction the query is running in.
+   * @param minUnclusteredRatio If > 0, the partition is only re-ordered if at least that ratio of its rows has been written since its
+   *  last clustering
+   * @see #buildLoadHeadLeafPartitionsQuery(String, String)
+   */
+  public static SQLQuery buildClusterPartitionQuery(String schema, String partition, double minUnclusteredRatio, boolean async) {
+    return new SQLQuery((async ? "PERFORM " : "SELECT ")
+        + "cluster_partition_spatially('${schema}.${partition}'::REGCLASS, ${{minUnclusteredRatio}})")
+        .withVariable(SCHEMA, schema)
+        .withVariable("partition", partition)
+        .withQueryFragment("minUnclusteredRatio", Double.toString(minUnclusteredRatio));
+  }
+
+  /**
+   * Creates a BRIN index on the geometries of the HEAD partition(s) of a space table.
+   * The index is only selective if the HEAD partitions have been clustered spatially before.
+   * @see #buildClusterPartitionQuery(String, String, double, boolean)
+   */
+  public static SQLQuery buildCreateSpatialBrinIndexQuery(String schema, String table) {
+    return new SQLQuery("CREATE INDEX IF NOT EXISTS ${indexName} ON ${schema}.${headTable} USING BRIN (geo) "
+        + "WITH (autosummarize = on)")
+        .withVariable(SCHEMA, schema)
+        .withVariable("headTable", table + HEAD_TABLE_SUFFIX)
+        .withVariable("indexName", "idx_" + table + HEAD_TABLE_SUFFIX + "_geobrin");
+  }
+
   public static SQLQuery buildCreateHistoryPartitionQuery(String schema, String rootTable, long partitionNo, boolean useSelect) {
     return new SQLQuery((useSelect ? "SELECT" : "PERFORM") + " xyz_create_history_partition('" + schema + "', '" + rootTable + "', " + partitionNo + ", " + PARTITION_SIZE + ")");
   }
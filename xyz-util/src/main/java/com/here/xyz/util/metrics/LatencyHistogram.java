@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.util.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free histogram for latencies which allows to read percentiles (e.g. p95 / p99) of the recently recorded values.
+ * Similar to an HdrHistogram, the values (in microseconds) are counted in logarithmic buckets, each power of two being split into
+ * {@value #SUB_BUCKET_COUNT} linear sub-buckets. That keeps the relative error of a reported percentile below 1/{@value #SUB_BUCKET_COUNT}
+ * at a fixed memory footprint of some KB per histogram.
+ * The percentiles are calculated over a sliding window, so that they follow changes of the latency instead of being dominated by
+ * everything which was recorded since the process start. The window consists of {@value #AGE_BUCKETS} time slices of one minute each,
+ * the oldest slice gets reset and reused once it has expired. The sum and the count on the other hand are cumulative, as they are
+ * exposed as counters.
+ * All registered histograms can be written in the Prometheus text exposition format by using {@link #appendAll(StringBuilder)}.
+ * Histograms which are registered with a label are written as separate series of the same metric.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  //Values above 2^36µs (~19h) are counted in the highest bucket
+  private static final int MAX_VALUE_BITS = 36;
+  private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+  private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+  private static final int AGE_BUCKETS = 3;
+  private static final long AGE_BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final double[] EXPOSED_QUANTILES = {0.5, 0.9, 0.95, 0.99, 0.999};
+  private static final Map<String, LatencyHistogram> registry = new ConcurrentSkipListMap<>();
+
+  private final String name;
+  private final String help;
+  private final String labels;
+  private final LongSupplier clock;
+  //The bucket counts of each time slice of the window
+  private final AtomicLongArray[] counts = new AtomicLongArray[AGE_BUCKETS];
+  //The number of the time slice (milliseconds / AGE_BUCKET_MILLIS) which is currently counted in each of the slices above
+  private final AtomicLongArray ages = new AtomicLongArray(AGE_BUCKETS);
+  private final AtomicLongArray maxMicros = new AtomicLongArray(AGE_BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sumMicros = new LongAdder();
+
+  public LatencyHistogram(String name, String help) {
+    this(name, help, null, System::currentTimeMillis);
+  }
+
+  LatencyHistogram(String name, String help, String labels, LongSupplier clock) {
+    this.name = name;
+    this.help = help;
+    this.labels = labels;
+    this.clock = clock;
+    for (int i = 0; i < AGE_BUCKETS; i++)
+      counts[i] = new AtomicLongArray(BUCKET_COUNT);
+  }
+
+  /**
+   * Returns the histogram with the specified name and creates it if it was not registered before.
+   *
+   * @param name The metric name as it should appear in the exposition, e.g. "xyz_hub_storage_time_seconds"
+   * @param help A short description of what is measured
+   * @return The registered histogram
+   */
+  public static LatencyHistogram register(String name, String help) {
+    return registry.computeIfAbsent(name, n -> new LatencyHistogram(n, help));
+  }
+
+  /**
+   * Returns the series of the histogram with the specified name and label value and creates it if it was not registered before.
+   * The number of distinct label values should be bounded, as every series is kept for the lifetime of the process.
+   *
+   * @param name The metric name as it should appear in the exposition, e.g. "xyz_web_client_request_time_seconds"
+   * @param help A short description of what is measured
+   * @param labelName The name of the label which distinguishes the series, e.g. "endpoint"
+   * @param labelValue The value of the label for this series
+   * @return The registered histogram series
+   */
+  public static LatencyHistogram register(String name, String help, String labelName, String labelValue) {
+    String labels = formatLabel(labelName, labelValue);
+    return registry.computeIfAbsent(name + "{" + labels + "}", key -> new LatencyHistogram(name, help, labels, System::currentTimeMillis));
+  }
+
+  /**
+   * Formats a label in the Prometheus text exposition format, e.g. <code>endpoint="GET /spaces/{id}"</code>.
+   *
+   * @param labelName The name of the label
+   * @param labelValue The value of the label, which gets escaped accordingly
+   * @return The formatted label
+   */
+  public static String formatLabel(String labelName, String labelValue) {
+    return labelName + "=\"" + labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+  }
+
+  public static Collection<LatencyHistogram> getAll() {
+    return Collections.unmodifiableCollection(registry.values());
+  }
+
+  /**
+   * Writes all registered histograms as summaries in the Prometheus text exposition format.
+   *
+   * @param sb The target to write to
+   */
+  public static void appendAll(StringBuilder sb) {
+    Map<String, List<LatencyHistogram>> histogramsByName = new LinkedHashMap<>();
+    registry.values().forEach(histogram -> histogramsByName.computeIfAbsent(histogram.name, name -> new ArrayList<>()).add(histogram));
+    histogramsByName.values().forEach(series -> {
+      series.get(0).appendHeader(sb);
+      series.forEach(histogram -> histogram.appendSeries(sb));
+    });
+  }
+
+  public void recordMillis(long millis) {
+    record(millis, TimeUnit.MILLISECONDS);
+  }
+
+  public void recordNanos(long nanos) {
+    record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void record(long value, TimeUnit unit) {
+    long micros = unit.toMicros(value);
+    //Ignore negative values which could be caused by a wall-clock adjustment
+    if (micros < 0)
+      return;
+    int slice = currentSlice();
+    counts[slice].incrementAndGet(bucketIndex(Math.min(micros, MAX_VALUE)));
+    count.increment();
+    sumMicros.add(micros);
+    if (micros > maxMicros.get(slice))
+      maxMicros.accumulateAndGet(slice, micros, Math::max);
+  }
+
+  /**
+   * Returns the index of the time slice to record into and resets it first, if it still contains the values of an expired slice.
+   * Values which are recorded concurrently to a reset may get lost, which is acceptable for the purpose of this histogram.
+   */
+  private int currentSlice() {
+    long age = clock.getAsLong() / AGE_BUCKET_MILLIS;
+    int slice = (int) Math.floorMod(age, (long) AGE_BUCKETS);
+    long sliceAge = ages.get(slice);
+    if (sliceAge < age && ages.compareAndSet(slice, sliceAge, age)) {
+      for (int i = 0; i < BUCKET_COUNT; i++)
+        counts[slice].set(i, 0);
+      maxMicros.set(slice, 0);
+    }
+    return slice;
+  }
+
+  /**
+   * @return Whether the time slice with the specified index belongs to the current window
+   */
+  private boolean isLive(int slice, long currentAge) {
+    return ages.get(slice) > currentAge - AGE_BUCKETS;
+  }
+
+  static int bucketIndex(long micros) {
+    if (micros < SUB_BUCKET_COUNT)
+      return (int) micros;
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * @return The highest value (in microseconds) which is counted in the bucket with the specified index
+   */
+  static long highestValueOfBucket(int index) {
+    if (index < SUB_BUCKET_COUNT)
+      return index;
+    int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+    int shift = exponent - SUB_BUCKET_BITS;
+    long lowestValue = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lowestValue + (1L << shift) - 1;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return The formatted label of this series or null, if this histogram was registered without a label
+   */
+  public String getLabels() {
+    return labels;
+  }
+
+  /**
+   * @return The number of all values recorded since the process start
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return The sum of all values (in microseconds) recorded since the process start
+   */
+  public long getSumMicros() {
+    return sumMicros.sum();
+  }
+
+  /**
+   * @return The number of values within the current window, which the percentiles are calculated of
+   */
+  public long getWindowCount() {
+    long total = 0;
+    for (long bucketCount : snapshot())
+      total += bucketCount;
+    return total;
+  }
+
+  /**
+   * @return The highest value (in microseconds) within the current window or 0 if nothing was recorded recently
+   */
+  public long getMaxMicros() {
+    long currentAge = clock.getAsLong() / AGE_BUCKET_MILLIS;
+    long max = 0;
+    for (int slice = 0; slice < AGE_BUCKETS; slice++)
+      if (isLive(slice, currentAge))
+        max = Math.max(max, maxMicros.get(slice));
+    return max;
+  }
+
+  /**
+   * Calculates the value below which the specified percentage of the values within the current window fall.
+   * Values being recorded concurrently may or may not be taken into account.
+   *
+   * @param percentile The percentile in the range [0, 100]
+   * @return The value at the percentile in microseconds or 0 if nothing was recorded recently
+   */
+  public long getValueAtPercentile(double percentile) {
+    return valuesAtQuantiles(snapshot(), percentile / 100)[0];
+  }
+
+  private long[] snapshot() {
+    long currentAge = clock.getAsLong() / AGE_BUCKET_MILLIS;
+    long[] snapshot = new long[BUCKET_COUNT];
+    for (int slice = 0; slice < AGE_BUCKETS; slice++)
+      if (isLive(slice, currentAge))
+        for (int i = 0; i < BUCKET_COUNT; i++)
+          snapshot[i] += counts[slice].get(i);
+    return snapshot;
+  }
+
+  private long[] valuesAtQuantiles(long[] snapshot, double... quantiles) {
+    long total = 0;
+    for (long bucketCount : snapshot)
+      total += bucketCount;
+
+    long[] values = new long[quantiles.length];
+    if (total == 0)
+      return values;
+
+    long max = getMaxMicros();
+    for (int q = 0; q < quantiles.length; q++) {
+      long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(quantiles[q], 0), 1) * total));
+      long cumulativeCount = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        cumulativeCount += snapshot[i];
+        if (cumulativeCount >= rank) {
+          values[q] = Math.min(highestValueOfBucket(i), max);
+          break;
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Writes this histogram as summary in the Prometheus text exposition format.
+   *
+   * @param sb The target to write to
+   */
+  public void appendTo(StringBuilder sb) {
+    appendHeader(sb);
+    appendSeries(sb);
+  }
+
+  private void appendHeader(StringBuilder sb) {
+    sb.append("# HELP ").append(name).append(' ').append(help).append('\n')
+        .append("# TYPE ").append(name).append(" summary\n");
+  }
+
+  private void appendSeries(StringBuilder sb) {
+    long[] values = valuesAtQuantiles(snapshot(), EXPOSED_QUANTILES);
+    String labelPrefix = labels != null ? labels + "," : "";
+    String sumAndCountLabels = labels != null ? "{" + labels + "}" : "";
+    for (int q = 0; q < EXPOSED_QUANTILES.length; q++)
+      sb.append(name).append('{').append(labelPrefix).append("quantile=\"").append(EXPOSED_QUANTILES[q]).append("\"} ")
+          .append(toSeconds(values[q])).append('\n');
+    sb.append(name).append("_sum").append(sumAndCountLabels).append(' ').append(toSeconds(getSumMicros())).append('\n')
+        .append(name).append("_count").append(sumAndCountLabels).append(' ').append(getCount()).append('\n');
+  }
+
+  private static double toSeconds(long micros) {
+    return micros / 1_000_000d;
+  }
+}
@@ -348,7 +348,7 @@ public class BaseHttpServerVerticle extends AbstractVerticle {
     // starts at the 2nd route, since the first one is automatically added from openapi's RouterBuilder.createRouter
     router.route().order(1)
         .handler(createCorsHandler())
-        .handler(createBodyHandler())
+        .handler(createRequestBodyHandler())
         .handler(createReceiveHandler())
         .handler(createMaxRequestSizeHandler());
   }
@@ -357,6 +357,14 @@ public class BaseHttpServerVerticle extends AbstractVerticle {
     return BodyHandler.create().setBodyLimit(-1);
   }
 
+  /**
+   * The handler which is reading the request bodies.
+   * Can be overridden to exclude some requests from buffering their body.
+   */
+  protected Handler<RoutingContext> createRequestBodyHandler() {
+    return createBodyHandler();
+  }
+
   /**
    * The max request size handler.
    */
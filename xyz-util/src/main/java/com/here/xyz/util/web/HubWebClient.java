@@ -49,9 +49,14 @@ import com.here.xyz.util.service.BaseConfig;
 import java.net.URLEncoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -136,6 +141,41 @@ public class HubWebClient extends XyzWebClient {
     }
   }
 
+  /**
+   * Loads multiple spaces at once. All spaces which are not cached locally are requested concurrently.
+   *
+   * @param spaceIds The IDs of the spaces to load
+   * @return The spaces by their IDs
+   * @throws WebClientException If any of the spaces could not be loaded
+   */
+  public Map<String, Space> loadSpaces(Collection<String> spaceIds) throws WebClientException {
+    Map<String, Space> spaces = new LinkedHashMap<>();
+    Set<String> uncachedSpaceIds = new LinkedHashSet<>();
+    for (String spaceId : spaceIds) {
+      Space cachedSpace = spaceCache.get(spaceId);
+      if (cachedSpace != null)
+        spaces.put(spaceId, cachedSpace);
+      else
+        uncachedSpaceIds.add(spaceId);
+    }
+    List<String> spaceIdsToLoad = List.copyOf(uncachedSpaceIds);
+
+    List<HttpResponse<byte[]>> responses = requestAll(spaceIdsToLoad.stream()
+        .map(spaceId -> HttpRequest.newBuilder().uri(uri("/spaces/" + spaceId)))
+        .toList());
+    try {
+      for (int i = 0; i < spaceIdsToLoad.size(); i++) {
+        Space space = deserialize(responses.get(i).body(), Space.class);
+        spaceCache.put(spaceIdsToLoad.get(i), space);
+        spaces.put(spaceIdsToLoad.get(i), space);
+      }
+      return spaces;
+    }
+    catch (JsonProcessingException e) {
+      throw new WebClientException("Error deserializing response", e);
+    }
+  }
+
   public Set<DeletedBranch> loadAllDeletedBranches() throws WebClientException {
     try {
       return deserialize(request(HttpRequest.newBuilder()
@@ -249,18 +289,13 @@ public class HubWebClient extends XyzWebClient {
 
   public StatisticsResponse loadSpaceStatistics(String spaceId, SpaceContext context, Ref versionRef, boolean skipCache, boolean fastMode) throws WebClientException {
     try {
-      String cacheKey = spaceId + ":" + context + "_" + loadSpace(spaceId).getContentUpdatedAt();
+      String cacheKey = statisticsCacheKey(spaceId, context, loadSpace(spaceId));
       StatisticsResponse statistics = statisticsCache.get(cacheKey);
       if (statistics != null)
         return statistics;
 
-      statistics = deserialize(request(HttpRequest.newBuilder()
-          .uri(uri("/spaces/" + spaceId + "/statistics",
-                  new KeyValue<>("fastMode", fastMode),
-                  new KeyValue<>("skipCache", skipCache),
-                  new KeyValue<>("context", context),
-                  new KeyValue<>("versionRef", versionRef))
-          )).body(), StatisticsResponse.class);
+      statistics = deserialize(request(statisticsRequest(spaceId, context, versionRef, skipCache, fastMode)).body(),
+          StatisticsResponse.class);
       statisticsCache.put(cacheKey, statistics);
       return statistics;
     }
@@ -269,6 +304,60 @@ public class HubWebClient extends XyzWebClient {
     }
   }
 
+  /**
+   * Loads the statistics of multiple spaces at once. The spaces and all statistics which are not cached locally are requested
+   * concurrently.
+   *
+   * @param spaceContexts The IDs of the spaces to load the statistics for and the context to be used for each of them
+   *  (the context may be null)
+   * @return The statistics by space ID
+   * @throws WebClientException If any of the statistics could not be loaded
+   */
+  public Map<String, StatisticsResponse> loadSpaceStatistics(Map<String, SpaceContext> spaceContexts, boolean skipCache,
+      boolean fastMode) throws WebClientException {
+    Map<String, Space> spaces = loadSpaces(spaceContexts.keySet());
+    Map<String, StatisticsResponse> statistics = new LinkedHashMap<>();
+    List<String> spaceIdsToLoad = new ArrayList<>();
+    for (Map.Entry<String, Space> space : spaces.entrySet()) {
+      StatisticsResponse cachedStatistics = statisticsCache.get(statisticsCacheKey(space.getKey(),
+          spaceContexts.get(space.getKey()), space.getValue()));
+      if (cachedStatistics != null)
+        statistics.put(space.getKey(), cachedStatistics);
+      else
+        spaceIdsToLoad.add(space.getKey());
+    }
+
+    List<HttpResponse<byte[]>> responses = requestAll(spaceIdsToLoad.stream()
+        .map(spaceId -> statisticsRequest(spaceId, spaceContexts.get(spaceId), null, skipCache, fastMode))
+        .toList());
+    try {
+      for (int i = 0; i < spaceIdsToLoad.size(); i++) {
+        String spaceId = spaceIdsToLoad.get(i);
+        StatisticsResponse spaceStatistics = deserialize(responses.get(i).body(), StatisticsResponse.class);
+        statisticsCache.put(statisticsCacheKey(spaceId, spaceContexts.get(spaceId), spaces.get(spaceId)), spaceStatistics);
+        statistics.put(spaceId, spaceStatistics);
+      }
+      return statistics;
+    }
+    catch (JsonProcessingException e) {
+      throw new WebClientException("Error deserializing response", e);
+    }
+  }
+
+  private HttpRequest.Builder statisticsRequest(String spaceId, SpaceContext context, Ref versionRef, boolean skipCache,
+      boolean fastMode) {
+    return HttpRequest.newBuilder()
+        .uri(uri("/spaces/" + spaceId + "/statistics",
+            new KeyValue<>("fastMode", fastMode),
+            new KeyValue<>("skipCache", skipCache),
+            new KeyValue<>("context", context),
+            new KeyValue<>("versionRef", versionRef)));
+  }
+
+  private static String statisticsCacheKey(String spaceId, SpaceContext context, Space space) {
+    return spaceId + ":" + context + "_" + space.getContentUpdatedAt();
+  }
+
   public ChangesetsStatisticsResponse loadSpaceChangesetStatistics(String spaceId) throws WebClientException {
     try {
       return deserialize(request(HttpRequest.newBuilder()
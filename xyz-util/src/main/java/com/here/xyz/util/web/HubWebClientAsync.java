@@ -26,6 +26,7 @@ import com.here.xyz.models.hub.Tag;
 import com.here.xyz.responses.StatisticsResponse;
 import com.here.xyz.util.Async;
 import io.vertx.core.Future;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,10 @@ public class HubWebClientAsync extends HubWebClient {
     return ASYNC.run(() -> loadSpace(spaceId));
   }
 
+  public Future<Map<String, Space>> loadSpacesAsync(Collection<String> spaceIds) {
+    return ASYNC.run(() -> loadSpaces(spaceIds));
+  }
+
   public Future<Void> patchSpaceAsync(String spaceId, Map<String, Object> spaceUpdates) {
     return ASYNC.run(() -> {
       patchSpace(spaceId, spaceUpdates);
@@ -63,6 +68,11 @@ public class HubWebClientAsync extends HubWebClient {
     return loadSpaceStatisticsAsync(spaceId, null, false, false);
   }
 
+  public Future<Map<String, StatisticsResponse>> loadSpaceStatisticsAsync(Map<String, SpaceContext> spaceContexts, boolean skipCache,
+      boolean fastMode) {
+    return ASYNC.run(() -> loadSpaceStatistics(spaceContexts, skipCache, fastMode));
+  }
+
   public Future<Connector> loadConnectorAsync(String connectorId) {
     return ASYNC.run(() -> loadConnector(connectorId));
   }
@@ -21,11 +21,13 @@ package com.here.xyz.util.web;
 
 import static java.net.http.HttpClient.Redirect.NORMAL;
 import static java.time.temporal.ChronoUnit.SECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.here.xyz.XyzSerializable;
 import com.here.xyz.responses.ErrorResponse;
 import com.here.xyz.util.KeyValue;
+import com.here.xyz.util.metrics.LatencyHistogram;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -35,9 +37,18 @@ import java.net.http.HttpRequest.Builder;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,7 +57,30 @@ public abstract class XyzWebClient {
   private final String userAgent;
   private final Map<String, String> extraHeaders;
   private static final int MAX_REQUEST_ATTEMPTS = 3;
+  private static final List<Integer> RETRYABLE_STATUS_CODES = List.of(429, 502, 503, 504);
+  /**
+   * The maximum number of requests which are sent concurrently by {@link #requestAll(List)}.
+   */
+  private static final int MAX_CONCURRENT_REQUESTS = 32;
   public static final String DEFAULT_USER_AGENT = "Unknown/0.0.0";
+  /**
+   * The HTTP clients are shared between all web-client instances with the same base URL, so that their connections
+   * (and the HTTP/2 multiplexing) can be re-used across requests.
+   */
+  private static final Map<String, HttpClient> sharedClients = new ConcurrentHashMap<>();
+  private static final Map<String, EndpointStatistics> endpointStatistics = new ConcurrentHashMap<>();
+  /**
+   * The static path segments of the endpoints being called by the web-clients. All other segments are treated as resource IDs, so that
+   * the number of endpoint names stays bounded.
+   */
+  private static final Set<String> ROUTE_SEGMENTS = Set.of("admin", "spaces", "features", "statistics", "changesets", "search",
+      "iterate", "tile", "bbox", "spatial", "count", "connectors", "references", "tags", "branches", "jobs", "status", "health");
+  /**
+   * The maximum number of endpoints for which separate statistics are kept. Requests to further endpoints are recorded
+   * as {@link #OTHER_ENDPOINT}.
+   */
+  private static final int MAX_ENDPOINTS = 100;
+  static final String OTHER_ENDPOINT = "other";
 
   protected XyzWebClient(String baseUrl, String userAgent) {
     this(baseUrl, userAgent, null);
@@ -74,6 +108,10 @@ public abstract class XyzWebClient {
   }
 
   private HttpClient client() {
+    return sharedClients.computeIfAbsent(baseUrl != null ? baseUrl : "", key -> createClient());
+  }
+
+  private HttpClient createClient() {
     HttpClient.Builder builder = HttpClient.newBuilder()
         .followRedirects(NORMAL)
         .connectTimeout(Duration.of(10, SECONDS));
@@ -85,39 +123,176 @@ public abstract class XyzWebClient {
     return builder.build();
   }
 
+  private HttpRequest buildRequest(Builder requestBuilder) {
+    if (extraHeaders != null)
+      extraHeaders.entrySet().forEach(entry -> requestBuilder.header(entry.getKey(), entry.getValue()));
+    requestBuilder.header("User-Agent", userAgent);
+    return requestBuilder.build();
+  }
+
   protected HttpResponse<byte[]> request(HttpRequest.Builder requestBuilder) throws WebClientException {
-    return request(requestBuilder, 1);
+    return request(buildRequest(requestBuilder), 1);
   }
 
-  private HttpResponse<byte[]> request(Builder requestBuilder, int attempt) throws WebClientException {
+  private HttpResponse<byte[]> request(HttpRequest request, int attempt) throws WebClientException {
+    EndpointStatistics statistics = statisticsFor(request);
+    long start = System.nanoTime();
     try {
-      if (extraHeaders != null)
-        extraHeaders.entrySet().forEach(entry -> requestBuilder.header(entry.getKey(), entry.getValue()));
-      requestBuilder.header("User-Agent", userAgent);
-
-      HttpRequest request = requestBuilder.build();
       HttpResponse<byte[]> response = client().send(request, BodyHandlers.ofByteArray());
+      statistics.record(System.nanoTime() - start, response.statusCode() >= 400);
       if (response.statusCode() >= 400)
         throw new ErrorResponseException(response);
       return response;
     }
     catch (IOException e) {
+      statistics.record(System.nanoTime() - start, true);
       throw new WebClientException("Error sending the request or receiving the response", e);
     }
     catch (InterruptedException e) {
       if (attempt >= MAX_REQUEST_ATTEMPTS)
         throw new WebClientException("Request was interrupted.", e);
-      return request(requestBuilder, attempt + 1);
+      return request(request, attempt + 1);
     }
     catch (ErrorResponseException e) {
-      List<Integer> retryableStatusCodes = List.of(429, 502, 503, 504);
-      if (attempt >= MAX_REQUEST_ATTEMPTS || !retryableStatusCodes.contains(e.getStatusCode()))
+      if (attempt >= MAX_REQUEST_ATTEMPTS || !RETRYABLE_STATUS_CODES.contains(e.getStatusCode()))
         throw e;
       try {
-        Thread.sleep((long) (Math.pow(2, attempt) * 1000));
+        Thread.sleep(retryDelayMillis(attempt));
       }
       catch (InterruptedException ignored) {}
-      return request(requestBuilder, attempt + 1);
+      return request(request, attempt + 1);
+    }
+  }
+
+  /**
+   * Sends all provided requests concurrently (at most {@link #MAX_CONCURRENT_REQUESTS} at a time) using the shared client.
+   * If the service supports HTTP/2, all requests are multiplexed over the same connection.
+   *
+   * @param requestBuilders The requests to be sent
+   * @return The responses in the same order as the provided requests
+   * @throws WebClientException If any of the requests failed (after retries)
+   */
+  protected List<HttpResponse<byte[]>> requestAll(List<HttpRequest.Builder> requestBuilders) throws WebClientException {
+    List<HttpResponse<byte[]>> responses = new ArrayList<>(requestBuilders.size());
+    for (int from = 0; from < requestBuilders.size(); from += MAX_CONCURRENT_REQUESTS) {
+      List<CompletableFuture<HttpResponse<byte[]>>> batch = requestBuilders
+          .subList(from, Math.min(from + MAX_CONCURRENT_REQUESTS, requestBuilders.size()))
+          .stream()
+          .map(requestBuilder -> requestAsync(buildRequest(requestBuilder), 1))
+          .toList();
+      for (CompletableFuture<HttpResponse<byte[]>> response : batch)
+        responses.add(await(response));
+    }
+    return responses;
+  }
+
+  private CompletableFuture<HttpResponse<byte[]>> requestAsync(HttpRequest request, int attempt) {
+    EndpointStatistics statistics = statisticsFor(request);
+    long start = System.nanoTime();
+    return client().sendAsync(request, BodyHandlers.ofByteArray())
+        .handle((response, error) -> {
+          statistics.record(System.nanoTime() - start, error != null || response.statusCode() >= 400);
+          if (error != null)
+            return CompletableFuture.<HttpResponse<byte[]>>failedFuture(new WebClientException(
+                "Error sending the request or receiving the response", error instanceof CompletionException ? error.getCause() : error));
+          if (response.statusCode() < 400)
+            return CompletableFuture.completedFuture(response);
+          if (attempt >= MAX_REQUEST_ATTEMPTS || !RETRYABLE_STATUS_CODES.contains(response.statusCode()))
+            return CompletableFuture.<HttpResponse<byte[]>>failedFuture(new ErrorResponseException(response));
+          return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(retryDelayMillis(attempt), MILLISECONDS))
+              .thenCompose(v -> requestAsync(request, attempt + 1));
+        })
+        .thenCompose(Function.identity());
+  }
+
+  private static HttpResponse<byte[]> await(CompletableFuture<HttpResponse<byte[]>> response) throws WebClientException {
+    try {
+      return response.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new WebClientException("Request was interrupted.", e);
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof WebClientException webClientException)
+        throw webClientException;
+      throw new WebClientException("Error sending the request or receiving the response", e.getCause());
+    }
+  }
+
+  private static long retryDelayMillis(int attempt) {
+    return (long) (Math.pow(2, attempt) * 1000);
+  }
+
+  private EndpointStatistics statisticsFor(HttpRequest request) {
+    String endpoint = endpointOf(request.method(), baseUrl, request.uri());
+    EndpointStatistics statistics = endpointStatistics.get(endpoint);
+    if (statistics != null)
+      return statistics;
+    return endpointStatistics.computeIfAbsent(endpointStatistics.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINT,
+        EndpointStatistics::new);
+  }
+
+  /**
+   * Derives a stable endpoint name from the request by replacing all path segments which are not a known
+   * {@link #ROUTE_SEGMENTS route segment} by a placeholder.
+   * E.g. <code>GET /spaces/mySpace/statistics</code> becomes <code>GET /spaces/{id}/statistics</code>
+   */
+  static String endpointOf(String method, String baseUrl, URI uri) {
+    String path = uri.toString();
+    if (baseUrl != null && path.startsWith(baseUrl))
+      path = path.substring(baseUrl.length());
+    int queryStart = path.indexOf('?');
+    if (queryStart != -1)
+      path = path.substring(0, queryStart);
+
+    StringBuilder endpoint = new StringBuilder(method).append(' ');
+    for (String segment : path.split("/"))
+      if (!segment.isEmpty())
+        endpoint.append('/').append(ROUTE_SEGMENTS.contains(segment) ? segment : "{id}");
+    return endpoint.length() == method.length() + 1 ? endpoint.append('/').toString() : endpoint.toString();
+  }
+
+  /**
+   * @return The request statistics of all endpoints which have been called by any web-client instance so far
+   */
+  public static Map<String, EndpointStatistics> getEndpointStatistics() {
+    return Collections.unmodifiableMap(endpointStatistics);
+  }
+
+  public static class EndpointStatistics {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latency;
+
+    private EndpointStatistics(String endpoint) {
+      latency = LatencyHistogram.register("xyz_web_client_request_time_seconds", "The request time of the web clients per endpoint",
+          "endpoint", endpoint);
+    }
+
+    private void record(long nanos, boolean failed) {
+      requests.increment();
+      if (failed)
+        failures.increment();
+      latency.recordNanos(nanos);
+    }
+
+    public long getRequests() {
+      return requests.sum();
+    }
+
+    public long getFailures() {
+      return failures.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+      return latency;
+    }
+
+    @Override
+    public String toString() {
+      return "requests=" + getRequests() + ", failures=" + getFailures() + ", p50=" + latency.getValueAtPercentile(50) / 1000
+          + "ms, p99=" + latency.getValueAtPercentile(99) / 1000 + "ms";
     }
   }
 
@@ -52,6 +52,12 @@ class FeatureWriter {
 
   batchMode = FW_BATCH_MODE();
   static dbWriter;
+  /**
+   * The HEAD rows (of the default context) of all features of the current batch, keyed by feature ID.
+   * IDs which do not exist in HEAD are mapped to an empty array.
+   * NOTE: Only contains IDs which occur exactly once within the batch, as the rows of all others could become stale during the batch.
+   */
+  static prefetchedHeadRows = null;
 
   //Process generated / tmp fields
   headFeature = null;
@@ -558,6 +564,9 @@ class FeatureWriter {
   }
 
   featureExistsInHead(id, context = this.context) {
+    //Check the existence without loading & parsing the feature data, if the HEAD rows of the batch are known already
+    if (context == this.context && FeatureWriter.prefetchedHeadRows?.has(String(id)) && !this.headFeatureLoaded)
+      return FeatureWriter.prefetchedHeadRows.get(String(id)).length > 0;
     //TODO: Check existence without actually loading feature data
     return !!this.loadFeature(id, "HEAD", context);
   }
@@ -571,7 +580,9 @@ class FeatureWriter {
     if (id == null)
       return null;
 
-    let res = this._loadFeature(id, version, context);
+    let res = version == "HEAD" && context == this.context && FeatureWriter.prefetchedHeadRows?.has(String(id))
+        ? FeatureWriter.prefetchedHeadRows.get(String(id))
+        : this._loadFeature(id, version, context);
     this.headFeatureLoaded = true;
 
     if (!res.length)
@@ -872,11 +883,45 @@ class FeatureWriter {
   }
 
   _loadFeature(id, version, context) {
-    let tables = context == "EXTENSION" ? this.tables.slice(-1) : context == "SUPER" ? this.tables.slice(0, -1) : this.tables;
+    return FeatureWriter._loadFeatureRows("id = $1", id, version, context);
+  }
+
+  /**
+   * Loads the HEAD rows of all provided feature IDs at once.
+   * @returns {Map<string, Object[]>} The rows by feature ID (as string, e.g. numeric IDs are stored as text), IDs which do not exist in
+   *  HEAD are mapped to an empty array
+   */
+  static _loadHeadFeatures(ids, context = queryContext().context) {
+    let rowsById = new Map(ids.map(id => [String(id), []]));
+    for (let row of FeatureWriter._loadFeatureRows("id = ANY($1)", [...rowsById.keys()], "HEAD", context))
+      rowsById.get(String(row.id))?.push(row);
+    return rowsById;
+  }
+
+  /**
+   * Prefetches the HEAD rows of all input features which are having an ID that is unique within the batch.
+   * That way the HEAD lookups of a batch only take one query instead of one query per feature.
+   */
+  static _prefetchHeadRows(inputFeatures) {
+    let idCounts = new Map();
+    for (let feature of inputFeatures)
+      if (feature.id != null)
+        idCounts.set(String(feature.id), (idCounts.get(String(feature.id)) || 0) + 1);
+
+    let ids = [...idCounts.keys()].filter(id => idCounts.get(id) == 1);
+    //For single features the normal lookup is taking place anyway
+    return ids.length > 1 ? FeatureWriter._loadHeadFeatures(ids) : null;
+  }
+
+  static _loadFeatureRows(idCondition, idParam, version, context) {
+    let schema = queryContext().schema;
+    let allTables = queryContext().tables;
+    let allTableBaseVersions = FeatureWriter._tableBaseVersions();
+    let tables = context == "EXTENSION" ? allTables.slice(-1) : context == "SUPER" ? allTables.slice(0, -1) : allTables;
     let tableAliases = tables.map((table, i) => "t" + (tables.length - i - 1));
-    let branchTableMaxVersion = i => i == tables.length - 1 || FeatureWriter._isComposite() ? "" : `AND version <= ${this.tableBaseVersions[i + 1] - this.tableBaseVersions[i]}`;
-    let whereConditions = tables.map((table, i) => `WHERE id = $1 AND ${version == "HEAD" ? `next_version = ${MAX_BIG_INT}` : `version = ${version - this.tableBaseVersions[i]}`} ${branchTableMaxVersion(i)} AND operation != $2`).reverse();
-    let tableBaseVersions = tables.map((table, i) => this.tableBaseVersions[i]).reverse();
+    let branchTableMaxVersion = i => i == tables.length - 1 || FeatureWriter._isComposite() ? "" : `AND version <= ${allTableBaseVersions[i + 1] - allTableBaseVersions[i]}`;
+    let whereConditions = tables.map((table, i) => `WHERE ${idCondition} AND ${version == "HEAD" ? `next_version = ${MAX_BIG_INT}` : `version = ${version - allTableBaseVersions[i]}`} ${branchTableMaxVersion(i)} AND operation != $2`).reverse();
+    let tableBaseVersions = tables.map((table, i) => allTableBaseVersions[i]).reverse();
 
     let sql = `
         SELECT
@@ -886,7 +931,7 @@ class FeatureWriter {
             jsondata_array[index] AS jsondata,
             ST_AsGeojson(geo_array[index])::JSONB AS geo,
             operation_array[index] AS operation,
-            ${this.tables.length} - index AS dataset,
+            ${allTables.length} - index AS dataset,
             (SELECT array_agg(idx - 1) FROM unnest(array_positions(array_reverse(id_array), id_array[index])) AS idx) AS containing_datasets
         FROM (
             SELECT
@@ -897,12 +942,12 @@ class FeatureWriter {
                 ARRAY[${tableAliases.map(alias => alias + ".geo").join(", ")}] AS geo_array,
                 ARRAY[${tableAliases.map(alias => alias + ".operation").join(", ")}] AS operation_array,
                 coalesce_subscript(ARRAY[${tableAliases.map(alias => alias + ".id").join(", ")}]) AS index
-            FROM (SELECT * FROM "${this.schema}"."${tables.at(-1)}" ${whereConditions[0]}) AS ${tableAliases[0]}
-                ${tables.slice(0, -1).reverse().map((baseTable, i) => `FULL JOIN (SELECT * FROM "${this.schema}"."${baseTable}" ${whereConditions[i + 1]}) AS ${tableAliases[i + 1]} USING (id) `).join("\n")}
+            FROM (SELECT * FROM "${schema}"."${tables.at(-1)}" ${whereConditions[0]}) AS ${tableAliases[0]}
+                ${tables.slice(0, -1).reverse().map((baseTable, i) => `FULL JOIN (SELECT * FROM "${schema}"."${baseTable}" ${whereConditions[i + 1]}) AS ${tableAliases[i + 1]} USING (id) `).join("\n")}
         );
     `;
 
-    return plv8.execute(sql, [id, "D"]);
+    return plv8.execute(sql, [idParam, "D"]);
   }
 
   /**
@@ -957,9 +1002,15 @@ class FeatureWriter {
   static writeFeatures(inputFeatures, author, onExists, onNotExists, onVersionConflict, onMergeConflict, isPartial, featureHooks, version = FeatureWriter.getNextVersion()) {
     FeatureWriter.dbWriter = new DatabaseWriter(queryContext().schema, FeatureWriter._targetTable(), FeatureWriter._tableBaseVersions().at(-1), FW_BATCH_MODE(), queryContext().tableLayout);
     let result = this.newFeatureCollection();
-    for (let feature of inputFeatures) {
-      let execution = new FeatureWriter(feature, version, author, onExists, onNotExists, onVersionConflict, onMergeConflict, isPartial, featureHooks).writeFeature();
-      this._collectResult(execution, result);
+    FeatureWriter.prefetchedHeadRows = FeatureWriter._prefetchHeadRows(inputFeatures);
+    try {
+      for (let feature of inputFeatures) {
+        let execution = new FeatureWriter(feature, version, author, onExists, onNotExists, onVersionConflict, onMergeConflict, isPartial, featureHooks).writeFeature();
+        this._collectResult(execution, result);
+      }
+    }
+    finally {
+      FeatureWriter.prefetchedHeadRows = null;
     }
 
     if (FW_BATCH_MODE()) {
@@ -253,6 +253,154 @@ $BODY$
 LANGUAGE plpgsql STABLE
 PARALLEL SAFE;
 
+/**
+ * Physically re-orders one leaf partition of a table by the spatial sort key of its geometries
+ * (see spatial_sort_key()), so that features which are close to each other are also stored close to each other.
+ * The version up to which the partition has been clustered is kept in the comment of the partition.
+ * If min_unclustered_ratio is > 0, the partition is only re-ordered if at least that ratio of its rows has been
+ * written after its last clustering.
+ * NOTE: The partition stays locked exclusively until the end of the transaction, so each partition should be
+ * re-ordered within a transaction of its own.
+ * Returns whether the partition has been re-ordered.
+ */
+CREATE OR REPLACE FUNCTION cluster_partition_spatially(
+    IN leaf_partition REGCLASS,
+    IN min_unclustered_ratio FLOAT DEFAULT 0
+)
+RETURNS BOOLEAN AS
+$BODY$
+DECLARE
+    partition_schema TEXT;
+    partition_comment TEXT;
+    sort_index TEXT;
+    clustered_version BIGINT;
+    total_rows BIGINT;
+    unclustered_rows BIGINT;
+BEGIN
+    partition_comment = obj_description(leaf_partition, 'pg_class');
+    clustered_version = CASE WHEN partition_comment LIKE '{%'
+        THEN (partition_comment::JSONB->>'clusteredVersion')::BIGINT END;
+
+    IF clustered_version IS NOT NULL AND min_unclustered_ratio > 0 THEN
+        EXECUTE format('SELECT count(1), count(1) FILTER (WHERE version > %s) FROM %s', clustered_version, leaf_partition)
+            INTO total_rows, unclustered_rows;
+        IF total_rows = 0 OR unclustered_rows::FLOAT / total_rows < min_unclustered_ratio THEN
+            RETURN FALSE;
+        END IF;
+    END IF;
+
+    SELECT n.nspname, 'idx_' || c.relname || '_spatialsortkey' INTO partition_schema, sort_index
+        FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace WHERE c.oid = leaf_partition;
+
+    EXECUTE format('SELECT max(version) FROM %s', leaf_partition) INTO clustered_version;
+    EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %s USING btree ((spatial_sort_key(geo) COLLATE "C"))',
+        sort_index, leaf_partition);
+    EXECUTE format('CLUSTER %s USING %I', leaf_partition, sort_index);
+    EXECUTE format('DROP INDEX %I.%I', partition_schema, sort_index);
+    EXECUTE format('COMMENT ON TABLE %s IS %L', leaf_partition,
+        jsonb_build_object('clusteredVersion', coalesce(clustered_version, 0)));
+
+    RETURN TRUE;
+END;
+$BODY$
+LANGUAGE plpgsql VOLATILE;
+
+/**
+ * Creates the table which keeps the statistics about the property searches being performed on the spaces.
+ * The statistics are recorded by the connector (see record_query_statistics()) and consumed by the
+ * auto-indexing of the space maintenance (see load_query_statistics() & reset_query_statistics()).
+ */
+CREATE OR REPLACE FUNCTION create_query_statistics_table() RETURNS VOID AS
+$BODY$
+BEGIN
+    CREATE TABLE IF NOT EXISTS xyz_config.query_statistics
+    (
+        schem TEXT NOT NULL,
+        tbl TEXT NOT NULL,
+        property_path TEXT NOT NULL,
+        operation TEXT NOT NULL,
+        query_count BIGINT NOT NULL DEFAULT 0,
+        rejected_count BIGINT NOT NULL DEFAULT 0,
+        total_millis BIGINT NOT NULL DEFAULT 0,
+        last_seen TIMESTAMPTZ NOT NULL DEFAULT now(),
+        PRIMARY KEY (schem, tbl, property_path, operation)
+    );
+EXCEPTION WHEN unique_violation OR duplicate_table THEN
+    --The table was created concurrently
+    NULL;
+END;
+$BODY$
+LANGUAGE plpgsql VOLATILE;
+
+/**
+ * Adds the provided query statistics to the ones which have been recorded before.
+ * statistics: [{"schema": ..., "table": ..., "propertyPath": ..., "operation": ..., "count": ..., "rejectedCount": ..., "totalMillis": ...}, ...]
+ * Each combination of schema, table, propertyPath & operation must only be contained once.
+ */
+CREATE OR REPLACE FUNCTION record_query_statistics(statistics JSONB) RETURNS VOID AS
+$BODY$
+BEGIN
+    IF to_regclass('xyz_config.query_statistics') IS NULL THEN
+        PERFORM create_query_statistics_table();
+    END IF;
+
+    INSERT INTO xyz_config.query_statistics AS s
+        (schem, tbl, property_path, operation, query_count, rejected_count, total_millis, last_seen)
+    SELECT e->>'schema', e->>'table', e->>'propertyPath', e->>'operation',
+        coalesce((e->>'count')::BIGINT, 0), coalesce((e->>'rejectedCount')::BIGINT, 0),
+        coalesce((e->>'totalMillis')::BIGINT, 0), now()
+    FROM jsonb_array_elements(statistics) e
+    ON CONFLICT (schem, tbl, property_path, operation) DO UPDATE SET
+        query_count = s.query_count + EXCLUDED.query_count,
+        rejected_count = s.rejected_count + EXCLUDED.rejected_count,
+        total_millis = s.total_millis + EXCLUDED.total_millis,
+        last_seen = EXCLUDED.last_seen;
+END;
+$BODY$
+LANGUAGE plpgsql VOLATILE;
+
+/**
+ * Returns the query statistics which have been recorded for the provided table since the last reset of its counters
+ * (see reset_query_statistics()) per property path & operation.
+ */
+CREATE OR REPLACE FUNCTION load_query_statistics(schema_name TEXT, table_name TEXT)
+RETURNS TABLE(property_path TEXT, operation TEXT, query_count BIGINT, rejected_count BIGINT, total_millis BIGINT, last_seen TIMESTAMPTZ) AS
+$BODY$
+BEGIN
+    IF to_regclass('xyz_config.query_statistics') IS NULL THEN
+        RETURN;
+    END IF;
+
+    RETURN QUERY SELECT s.property_path, s.operation, s.query_count, s.rejected_count, s.total_millis, s.last_seen
+        FROM xyz_config.query_statistics s
+        WHERE s.schem = schema_name AND s.tbl = table_name;
+END;
+$BODY$
+LANGUAGE plpgsql STABLE;
+
+/**
+ * Subtracts the provided query statistics, which have been loaded before (see load_query_statistics()), from the counters
+ * of the provided table. Statistics which have been recorded in the meantime are kept, as is the time of the last search.
+ * statistics: [{"propertyPath": ..., "operation": ..., "count": ..., "rejectedCount": ..., "totalMillis": ...}, ...]
+ */
+CREATE OR REPLACE FUNCTION reset_query_statistics(schema_name TEXT, table_name TEXT, statistics JSONB) RETURNS VOID AS
+$BODY$
+BEGIN
+    IF to_regclass('xyz_config.query_statistics') IS NULL THEN
+        RETURN;
+    END IF;
+
+    UPDATE xyz_config.query_statistics s SET
+        query_count = greatest(s.query_count - coalesce((e->>'count')::BIGINT, 0), 0),
+        rejected_count = greatest(s.rejected_count - coalesce((e->>'rejectedCount')::BIGINT, 0), 0),
+        total_millis = greatest(s.total_millis - coalesce((e->>'totalMillis')::BIGINT, 0), 0)
+    FROM jsonb_array_elements(statistics) e
+    WHERE s.schem = schema_name AND s.tbl = table_name
+        AND s.property_path = e->>'propertyPath' AND s.operation = e->>'operation';
+END;
+$BODY$
+LANGUAGE plpgsql VOLATILE;
+
 /**
  *  register code of requirerd js libs in gobalThis
  *  select require( 'libmod1', 'libmod2', 'libmod3' )
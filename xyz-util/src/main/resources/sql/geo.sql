@@ -596,6 +596,22 @@ BEGIN
 END;
 $BODY$;
 -----------------------------------------------------------------------------------------------
+/**
+ * Calculates a key which orders geometries along a Z-order curve (the same space-filling curve quadkeys are based on).
+ * Geometries which are close to each other get keys with a common prefix, so sorting by this key clusters them spatially.
+ * Non-point geometries get the key of the smallest cell which contains their bounding box, so they sort right before the
+ * geometries inside that cell.
+ * Geometries which are empty or exceed the WGS84 bounds get no key.
+ */
+CREATE OR REPLACE FUNCTION spatial_sort_key(geo GEOMETRY)
+    RETURNS TEXT AS $$
+SELECT CASE
+    WHEN geo IS NULL OR ST_IsEmpty(geo)
+        OR ST_XMin(geo) < -180 OR ST_XMax(geo) > 180 OR ST_YMin(geo) < -90 OR ST_YMax(geo) > 90 THEN NULL
+    ELSE ST_GeoHash(geo)
+END;
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+-----------------------------------------------------------------------------------------------
 CREATE OR REPLACE FUNCTION get_quad_angular_width(level INT)
     RETURNS DOUBLE PRECISION AS $$
 SELECT 360.0 / (1 << level);
@@ -159,6 +159,16 @@ public abstract class SpaceWriter extends SQLITBase {
     }
   }
 
+  public int getHeadRowCount(SpaceContext context) throws Exception {
+    try (DataSourceProvider dsp = getDataSourceProvider()) {
+      return new SQLQuery("SELECT count(1) FROM ${schema}.${table} WHERE next_version = #{MAX_BIGINT}")
+          .withVariable(SCHEMA, dsp.getDatabaseSettings().getSchema())
+          .withVariable(TABLE, context == SUPER ? superSpaceId() : spaceId())
+          .withNamedParameter("MAX_BIGINT", Long.MAX_VALUE)
+          .run(dsp, rs -> rs.next() ? rs.getInt(1) : 0);
+    }
+  }
+
   public Operation getLastUsedFeatureOperation(SpaceContext context) throws Exception {
     try (DataSourceProvider dsp = getDataSourceProvider()) {
       return new SQLQuery("SELECT operation FROM ${schema}.${table} WHERE id = #{id} ORDER BY version DESC LIMIT 1")
@@ -20,6 +20,7 @@
 package com.here.xyz.test.featurewriter.sql;
 
 import static com.here.xyz.test.featurewriter.SpaceWriter.DEFAULT_AUTHOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.here.xyz.events.ContextAwareEvent.SpaceContext;
 import com.here.xyz.events.UpdateStrategy.OnExists;
@@ -54,4 +55,19 @@ public class FeatureWriterBatchWriting extends SQLTestSuite {
     spaceWriter.writeFeatures(generateLargeRandomBatch(BATCH_SIZE), DEFAULT_AUTHOR, OnExists.REPLACE, OnNotExists.CREATE, null,
         OnMergeConflict.REPLACE, false, SpaceContext.DEFAULT, true);
   }
+
+  @CartesianTest
+  public void writeNumericIdsTwice(@Values(booleans = {true, false}) boolean batchMode) throws Exception {
+    SQLSpaceWriter spaceWriter = ((SQLSpaceWriter) spaceWriter()).withBatchMode(batchMode).withNumericIds(true);
+    List<Feature> features = generateLargeRandomBatch(3);
+    for (int i = 0; i < features.size(); i++)
+      features.get(i).setId(String.valueOf(i + 1));
+
+    //The second write must find the existing HEAD rows of the numeric IDs and update them instead of inserting new ones
+    for (int attempt = 0; attempt < 2; attempt++)
+      spaceWriter.writeFeatures(features, DEFAULT_AUTHOR, OnExists.REPLACE, OnNotExists.CREATE, null, OnMergeConflict.REPLACE, false,
+          SpaceContext.DEFAULT, true);
+
+    assertEquals(features.size(), spaceWriter.getHeadRowCount(SpaceContext.DEFAULT));
+  }
 }
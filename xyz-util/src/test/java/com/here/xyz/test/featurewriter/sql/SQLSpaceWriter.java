@@ -50,6 +50,7 @@ public class SQLSpaceWriter extends SpaceWriter {
   private static final Logger logger = LogManager.getLogger();
   protected static String VERSION_SEQUENCE_SUFFIX = "_version_seq";
   private boolean batchMode;
+  private boolean numericIds;
 
   public SQLSpaceWriter(boolean composite, String testSuiteName) {
     super(composite, testSuiteName);
@@ -60,6 +61,14 @@ public class SQLSpaceWriter extends SpaceWriter {
     return this;
   }
 
+  /**
+   * If set, feature IDs consisting only of digits are passed to the FeatureWriter as JSON numbers (as e.g. done by imports)
+   */
+  public SQLSpaceWriter withNumericIds(boolean numericIds) {
+    this.numericIds = numericIds;
+    return this;
+  }
+
   @Override
   public void createSpaceResources() throws Exception {
     try (DataSourceProvider dsp = SQLITBase.getDataSourceProvider()) {
@@ -130,7 +139,9 @@ public class SQLSpaceWriter extends SpaceWriter {
             .withPartialUpdates(isPartial);
 
     return new SQLQuery("SELECT write_features(#{featureModificationList}, 'Modifications', #{author}, #{responseDataExpected});")
-        .withNamedParameter("featureModificationList", XyzSerializable.serialize(Set.of(modification)))
+        .withNamedParameter("featureModificationList", numericIds
+            ? XyzSerializable.serialize(Set.of(modification)).replaceAll("\"id\":\"(\\d+)\"", "\"id\":$1")
+            : XyzSerializable.serialize(Set.of(modification)))
         .withNamedParameter("author", author)
         .withNamedParameter("responseDataExpected", true)
         .withContext(queryContext);
@@ -21,13 +21,17 @@ package com.here.xyz.test.sql.base;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.here.xyz.util.db.SQLQuery;
 import com.here.xyz.util.db.datasource.DataSourceProvider;
+import com.here.xyz.util.db.datasource.DatabaseSettings;
+import com.here.xyz.util.metrics.LatencyHistogram;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -345,4 +349,108 @@ public class SQLQueryIT extends SQLITBase {
       assertEquals(value, query.run(dsp, rs -> rs.next() ? rs.getString(1) : null));
     }
   }
+
+  @Test
+  public void runQueryWithFetchSize() throws Exception {
+    try (DataSourceProvider dsp = getDataSourceProvider()) {
+      SQLQuery query = new SQLQuery("SELECT generate_series(1, 2500) AS i")
+          .withFetchSize(1_000);
+
+      assertEquals(Integer.valueOf(2500), query.run(dsp, rs -> {
+        int count = 0;
+        while (rs.next())
+          count++;
+        return count;
+      }));
+
+      //The connection should be back in auto-commit mode, so the following write must be visible without an explicit commit
+      try {
+        dropTmpTable(dsp);
+        createTmpTable(dsp);
+        new SQLQuery("INSERT INTO ${tableName} VALUES ('test')")
+            .withVariable("tableName", getDefaultTmpTableName())
+            .write(dsp);
+
+        assertEquals("test", new SQLQuery("SELECT col FROM ${tableName}")
+            .withVariable("tableName", getDefaultTmpTableName())
+            .withFetchSize(1)
+            .run(dsp, rs -> rs.next() ? rs.getString("col") : null));
+      }
+      finally {
+        dropTmpTable(dsp);
+      }
+    }
+  }
+
+  @Test
+  public void runAndWriteAsync() throws Exception {
+    try (DataSourceProvider dsp = getDataSourceProvider()) {
+      try {
+        dropTmpTable(dsp);
+        createTmpTable(dsp);
+        int inserted = new SQLQuery("INSERT INTO ${tableName} VALUES ('test')")
+            .withVariable("tableName", getDefaultTmpTableName())
+            .writeAsync(dsp)
+            .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(1, inserted);
+
+        assertEquals("test", new SQLQuery("SELECT col FROM ${tableName}")
+            .withVariable("tableName", getDefaultTmpTableName())
+            .runAsync(dsp, rs -> rs.next() ? rs.getString("col") : null)
+            .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS));
+      }
+      finally {
+        dropTmpTable(dsp);
+      }
+    }
+  }
+
+  @Test
+  public void runAsyncFailure() throws Exception {
+    try (DataSourceProvider dsp = getDataSourceProvider()) {
+      Throwable cause = new SQLQuery("SELECT * FROM non_existing_table_" + System.currentTimeMillis())
+          .runAsync(dsp, rs -> null)
+          .toCompletionStage().toCompletableFuture()
+          .handle((result, t) -> t)
+          .get(10, TimeUnit.SECONDS);
+      assertTrue(cause instanceof SQLException);
+    }
+  }
+
+  @Test
+  public void runHedgedRecordsCancelledReplicaReadsAsCensoredSamples() throws Exception {
+    //Use the same database as "replica" to get a separate reader pool
+    DatabaseSettings dbSettings = new DatabaseSettings("testPSQLHedged")
+        .withApplicationName(SQLQueryIT.class.getSimpleName())
+        .withHost(PG_HOST)
+        .withReplicaHost(PG_HOST)
+        .withDb(PG_DB)
+        .withUser(PG_USER)
+        .withPassword(PG_PW)
+        .withDbMaxPoolSize(2);
+    String queryClass = "hedgingIT" + System.currentTimeMillis();
+
+    try (DataSourceProvider dsp = getDataSourceProvider(dbSettings); DataSourceProvider otherDsp = getDataSourceProvider()) {
+      //Observe enough fast reads to start hedging
+      for (int i = 0; i < 100; i++)
+        new SQLQuery("SELECT 1").withLabel("queryClass", queryClass).runHedged(dsp, rs -> null, 95, 200);
+      LatencyHistogram latencies = SQLQuery.getHedgingLatencies(dsp, queryClass);
+      assertEquals(100, latencies.getCount());
+      //The latencies are kept per database
+      assertNull(SQLQuery.getHedgingLatencies(otherDsp, queryClass));
+
+      //Only the hedged query (the one having the "-hedged" queryId in its labels) answers quickly
+      long start = System.currentTimeMillis();
+      boolean hedgedQueryWon = new SQLQuery("SELECT strpos(current_query(), '-hed' || 'ged\"') > 0 AS hedged, "
+          + "pg_sleep(CASE WHEN strpos(current_query(), '-hed' || 'ged\"') > 0 THEN 0 ELSE 10 END)")
+          .withLabel("queryClass", queryClass)
+          .runHedged(dsp, rs -> rs.next() && rs.getBoolean("hedged"), 95, 200);
+
+      assertTrue(hedgedQueryWon);
+      assertTrue(System.currentTimeMillis() - start < 5_000);
+      //The cancelled replica read was recorded with (at least) the hedging delay
+      assertEquals(101, latencies.getCount());
+      assertTrue(latencies.getMaxMicros() >= TimeUnit.MILLISECONDS.toMicros(200));
+    }
+  }
 }
@@ -21,6 +21,12 @@ package com.here.xyz.util.db;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.util.db.datasource.DataSourceProvider;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.sql.DataSource;
 
 import org.junit.jupiter.api.Test;
 
@@ -83,4 +89,134 @@ public class SQLQueryUnitTests {
         .withQueryFragment("fragmentB", "World");
     assertEquals("Hello", q.substitute().text());
   }
+
+  @Test
+  public void testQueryIdLabelIsInjected() {
+    SQLQuery q = new SQLQuery("SELECT * FROM t WHERE id = #{id}")
+        .withNamedParameter("id", "a")
+        .withQueryId("query1");
+    //The queryId label is needed to find the query in pg_stat_activity and to kill it
+    assertEquals("/*labels({\"queryId\":\"query1\"})*/ SELECT * FROM t WHERE id = ?", q.substitute().text());
+  }
+
+  @Test
+  public void testCanonicalTextWithStatementCaching() {
+    SQLQuery q1 = new SQLQuery("SELECT * FROM t WHERE id = ANY(#{ids})")
+        .withNamedParameter("ids", new String[]{"a"})
+        .withQueryId("query1")
+        .withLabel("queryClass", "GetFeaturesById")
+        .withLabel("spaceId", "s1")
+        .withStatementCachingEnabled(true);
+    SQLQuery q2 = new SQLQuery("SELECT * FROM t WHERE id = ANY(#{ids})")
+        .withNamedParameter("ids", new String[]{"b", "c"})
+        .withLabel("spaceId", "s1")
+        .withLabel("queryClass", "GetFeaturesById")
+        .withQueryId("query2")
+        .withStatementCachingEnabled(true);
+    //The queryId is reported as application_name instead, so it does not make the query texts differ
+    assertEquals(q1.substitute().text(), q2.substitute().text());
+    assertEquals("/*labels({\"queryClass\":\"GetFeaturesById\",\"spaceId\":\"s1\"})*/ SELECT * FROM t WHERE id = ANY(?)", q1.text());
+  }
+
+  @Test
+  public void testQueryIdLabelIsInjectedForQueriesWithContext() {
+    SQLQuery q = new SQLQuery("SELECT 1")
+        .withContext(Map.of("schema", "s"))
+        .withQueryId("query1")
+        .withStatementCachingEnabled(true);
+    //Queries with a context are not executed through the statement cache, so they keep their queryId label
+    assertTrue(q.substitute().text().contains("/*labels({\"queryId\":\"query1\"})*/"));
+  }
+
+  @Test
+  public void testSpecialCharactersInSubstitutedValues() {
+    SQLQuery q = new SQLQuery("SELECT ${{selection}} FROM ${schema}.${table} WHERE a = #{a} AND b = #{ b }")
+        .withLabelsEnabled(false)
+        .withVariable("schema", "some$schema")
+        .withVariable("table", "${table}")
+        .withQueryFragment("selection", "${{unknown}}, '#{'")
+        .withNamedParameter("a", "x?")
+        .withNamedParameter("b", "y$1");
+    assertEquals("SELECT ${{unknown}}, '#{' FROM \"some$schema\".\"${table}\" WHERE a = $a$x?$a$ AND b = $a$y$1$a$",
+        q.toExecutableQueryString());
+  }
+
+  @Test
+  public void testSubstitutedValuesAreNotParsedAgain() {
+    SQLQuery q = new SQLQuery("SELECT ${{selection}} FROM ${table} WHERE a = #{a}")
+        .withLabelsEnabled(false)
+        .withVariable("table", "#{a}")
+        .withQueryFragment("selection", new SQLQuery("${table}"))
+        .withNamedParameter("a", "x");
+    q.substitute();
+    assertEquals("SELECT \"#{a}\" FROM \"#{a}\" WHERE a = ?", q.text());
+    assertEquals(1, q.parameters().size());
+  }
+
+  @Test
+  public void testTemplatesAreCachedByOriginalText() {
+    String text = "SELECT * FROM ${schema}.${table} WHERE ${{condition}} AND id = #{id} /* testTemplatesAreCachedByOriginalText */";
+    new SQLQuery(text).withVariable("schema", "s").withVariable("table", "t0").withQueryFragment("condition", "TRUE")
+        .withNamedParameter("id", "a").substitute();
+    int cacheSize = QueryTemplate.cacheSize();
+
+    for (int i = 1; i <= 100; i++) {
+      SQLQuery q = new SQLQuery(text)
+          .withLabelsEnabled(false)
+          .withVariable("schema", "s")
+          .withVariable("table", "t" + i)
+          .withQueryFragment("condition", "TRUE")
+          .withNamedParameter("id", "a");
+      assertEquals("SELECT * FROM \"s\".\"t" + i + "\" WHERE TRUE AND id = ? /* testTemplatesAreCachedByOriginalText */",
+          q.substitute().text());
+    }
+    assertEquals(cacheSize, QueryTemplate.cacheSize());
+  }
+
+  @Test
+  public void testTemplateCacheIsBounded() {
+    for (int i = 0; i < 10_100; i++)
+      QueryTemplate.of("SELECT " + i + " FROM ${table} /* testTemplateCacheIsBounded */");
+    assertTrue(QueryTemplate.cacheSize() <= 10_000);
+  }
+
+  @Test
+  public void testPasswordMasking() {
+    assertEquals("password=******* user=u", SQLQuery.hidePwds("password=secret123 user=u", "secret"));
+    assertEquals("axb *******", SQLQuery.hidePwds("axb a.b1", "a.b"));
+    assertEquals("nothing to mask", SQLQuery.hidePwds("nothing to mask", null));
+  }
+
+  @Test
+  public void testAsyncExecutorsAreBounded() {
+    DataSourceProvider first = new NoDataSourceProvider();
+    ThreadPoolExecutor firstExecutor = SQLQuery.getAsyncExecutor(first, false);
+    assertTrue(firstExecutor == SQLQuery.getAsyncExecutor(first, false));
+
+    for (int i = 0; i < 100; i++)
+      SQLQuery.getAsyncExecutor(new NoDataSourceProvider(), false);
+
+    assertTrue(SQLQuery.getAsyncExecutorCount() <= 64);
+    assertTrue(firstExecutor.isShutdown());
+    assertTrue(firstExecutor != SQLQuery.getAsyncExecutor(first, false));
+  }
+
+  private static class NoDataSourceProvider extends DataSourceProvider {
+    NoDataSourceProvider() {
+      super(null);
+    }
+
+    @Override
+    public DataSource getReader() {
+      return null;
+    }
+
+    @Override
+    public DataSource getWriter() {
+      return null;
+    }
+
+    @Override
+    public void close() {}
+  }
 }
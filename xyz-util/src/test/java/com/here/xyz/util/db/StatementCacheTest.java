@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.util.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+
+public class StatementCacheTest {
+
+  @Test
+  public void cachedStatementsAreReused() throws SQLException {
+    Connection connection = connection(true);
+    long hits = StatementCache.getHits();
+    long misses = StatementCache.getMisses();
+
+    PreparedStatement statement = StatementCache.prepare(connection, "SELECT 1", 2);
+    assertSame(statement, StatementCache.prepare(connection, "SELECT 1", 2));
+    assertSame(statement, StatementCache.prepare(connection, "SELECT 1", 2));
+    assertNotSame(statement, StatementCache.prepare(connection, "SELECT 2", 2));
+
+    assertEquals(hits + 2, StatementCache.getHits());
+    assertEquals(misses + 2, StatementCache.getMisses());
+  }
+
+  @Test
+  public void leastRecentlyUsedStatementIsClosed() throws SQLException {
+    Connection connection = connection(true);
+    PreparedStatement first = StatementCache.prepare(connection, "SELECT 1", 2);
+    PreparedStatement second = StatementCache.prepare(connection, "SELECT 2", 2);
+    StatementCache.prepare(connection, "SELECT 1", 2);
+    StatementCache.prepare(connection, "SELECT 3", 2);
+
+    assertFalse(first.isClosed());
+    assertTrue(second.isClosed());
+    assertNotSame(second, StatementCache.prepare(connection, "SELECT 2", 2));
+  }
+
+  @Test
+  public void evictedStatementIsClosed() throws SQLException {
+    Connection connection = connection(true);
+    PreparedStatement statement = StatementCache.prepare(connection, "SELECT 1", 2);
+    StatementCache.evict(connection, "SELECT 1");
+
+    assertTrue(statement.isClosed());
+    assertNotSame(statement, StatementCache.prepare(connection, "SELECT 1", 2));
+  }
+
+  @Test
+  public void cachesArePerConnection() throws SQLException {
+    PreparedStatement statement = StatementCache.prepare(connection(true), "SELECT 1", 2);
+    assertNotSame(statement, StatementCache.prepare(connection(true), "SELECT 1", 2));
+  }
+
+  @Test
+  public void nonPostgresConnectionsAreNotCached() throws SQLException {
+    assertNull(StatementCache.prepare(connection(false), "SELECT 1", 2));
+  }
+
+  /**
+   * Creates a physical connection stub which prepares a new (closable) statement stub for every call of prepareStatement().
+   */
+  private static Connection connection(boolean postgres) {
+    return (Connection) Proxy.newProxyInstance(StatementCacheTest.class.getClassLoader(),
+        new Class[]{Connection.class, PGConnection.class}, (proxy, method, args) -> switch (method.getName()) {
+          case "isWrapperFor" -> postgres;
+          case "unwrap" -> proxy;
+          case "isClosed" -> false;
+          case "prepareStatement" -> statement();
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+  private static PreparedStatement statement() {
+    AtomicBoolean closed = new AtomicBoolean();
+    return (PreparedStatement) Proxy.newProxyInstance(StatementCacheTest.class.getClassLoader(),
+        new Class[]{PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+          case "close" -> {
+            closed.set(true);
+            yield null;
+          }
+          case "isClosed" -> closed.get();
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
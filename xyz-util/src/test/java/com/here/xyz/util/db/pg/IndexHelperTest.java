@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.util.db.pg;
+
+import static com.here.xyz.util.db.ConnectorParameters.TableLayout.NEW_LAYOUT;
+import static com.here.xyz.util.db.ConnectorParameters.TableLayout.OLD_LAYOUT;
+import static com.here.xyz.util.db.pg.IndexHelper.IndexProfile.DEFAULT;
+import static com.here.xyz.util.db.pg.IndexHelper.IndexProfile.TILE_READ;
+import static com.here.xyz.util.db.pg.IndexHelper.IndexProfile.TILE_READ_MIN_FEATURE_COUNT;
+import static com.here.xyz.util.db.pg.IndexHelper.IndexProfile.TILE_READ_RETAIN_FEATURE_COUNT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.util.db.pg.IndexHelper.IndexProfile;
+import com.here.xyz.util.db.pg.IndexHelper.SystemIndex;
+import org.junit.jupiter.api.Test;
+
+public class IndexHelperTest {
+
+  @Test
+  public void chooseIndexProfile() {
+    assertEquals(DEFAULT, IndexProfile.forSpace(TILE_READ_MIN_FEATURE_COUNT - 1, 10, NEW_LAYOUT, false));
+    assertEquals(DEFAULT, IndexProfile.forSpace(TILE_READ_MIN_FEATURE_COUNT, 1, NEW_LAYOUT, false));
+    assertEquals(TILE_READ, IndexProfile.forSpace(TILE_READ_MIN_FEATURE_COUNT, 10, NEW_LAYOUT, false));
+  }
+
+  @Test
+  public void tileReadProfileOnlyForNewLayout() {
+    assertEquals(DEFAULT, IndexProfile.forSpace(TILE_READ_MIN_FEATURE_COUNT, 10, OLD_LAYOUT, false));
+    assertEquals(DEFAULT, IndexProfile.forSpace(TILE_READ_MIN_FEATURE_COUNT, 10, OLD_LAYOUT, true));
+    assertFalse(TILE_READ.getSystemIndexes(OLD_LAYOUT).contains(SystemIndex.GEO_HEAD));
+  }
+
+  @Test
+  public void tileReadProfileHysteresis() {
+    long betweenThresholds = (TILE_READ_MIN_FEATURE_COUNT + TILE_READ_RETAIN_FEATURE_COUNT) / 2;
+    //Spaces between the thresholds keep their current profile
+    assertEquals(DEFAULT, IndexProfile.forSpace(betweenThresholds, 10, NEW_LAYOUT, false));
+    assertEquals(TILE_READ, IndexProfile.forSpace(betweenThresholds, 10, NEW_LAYOUT, true));
+    assertEquals(TILE_READ, IndexProfile.forSpace(TILE_READ_RETAIN_FEATURE_COUNT, 10, NEW_LAYOUT, true));
+    assertEquals(DEFAULT, IndexProfile.forSpace(TILE_READ_RETAIN_FEATURE_COUNT - 1, 10, NEW_LAYOUT, true));
+  }
+
+  @Test
+  public void partialHeadIndexIsOnlyPartOfTileReadProfile() {
+    assertFalse(DEFAULT.getSystemIndexes(OLD_LAYOUT).contains(SystemIndex.GEO_HEAD));
+    assertFalse(DEFAULT.getSystemIndexes(NEW_LAYOUT).contains(SystemIndex.GEO_HEAD));
+    assertTrue(TILE_READ.getSystemIndexes(NEW_LAYOUT).contains(SystemIndex.GEO_HEAD));
+
+    String query = IndexHelper.buildSpaceTableIndexQuery("schema", "table", SystemIndex.GEO_HEAD).substitute().text();
+    assertTrue(query.contains("\"idx_table_geohead\""));
+    assertTrue(query.contains("USING GIST (geo) WHERE next_version = 9223372036854775807::BIGINT"));
+    assertEquals(SystemIndex.GEO_HEAD, SystemIndex.fromString("geohead"));
+  }
+}
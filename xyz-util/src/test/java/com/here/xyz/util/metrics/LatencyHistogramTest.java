@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.util.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void bucketBoundariesAreContiguous() {
+    long previousHighest = -1;
+    for (int i = 0; i < LatencyHistogram.bucketIndex(Long.MAX_VALUE >>> 27); i++) {
+      long highest = LatencyHistogram.highestValueOfBucket(i);
+      assertEquals(i, LatencyHistogram.bucketIndex(previousHighest + 1));
+      assertEquals(i, LatencyHistogram.bucketIndex(highest));
+      previousHighest = highest;
+    }
+  }
+
+  @Test
+  public void percentilesStayWithinRelativeError() {
+    LatencyHistogram histogram = new LatencyHistogram("test_seconds", "test");
+    for (int i = 1; i <= 10_000; i++)
+      histogram.record(i, TimeUnit.MILLISECONDS);
+
+    assertEquals(10_000, histogram.getCount());
+    assertEquals(10_000_000, histogram.getMaxMicros());
+    assertWithinRelativeError(5_000_000, histogram.getValueAtPercentile(50));
+    assertWithinRelativeError(9_900_000, histogram.getValueAtPercentile(99));
+    assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void emptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram("test_seconds", "test");
+    histogram.record(-5, TimeUnit.MILLISECONDS);
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(99));
+  }
+
+  @Test
+  public void oldValuesLeaveTheWindow() {
+    AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toMillis(1));
+    LatencyHistogram histogram = new LatencyHistogram("test_seconds", "test", null, clock::get);
+    for (int i = 0; i < 100; i++)
+      histogram.recordMillis(1_000);
+
+    clock.addAndGet(TimeUnit.MINUTES.toMillis(1));
+    histogram.recordMillis(10);
+    //The slow values are still within the window
+    assertEquals(1_000_000, histogram.getValueAtPercentile(50));
+    assertEquals(101, histogram.getWindowCount());
+
+    clock.addAndGet(TimeUnit.MINUTES.toMillis(2));
+    histogram.recordMillis(10);
+    assertEquals(10_000, histogram.getValueAtPercentile(50));
+    assertEquals(10_000, histogram.getMaxMicros());
+    assertEquals(2, histogram.getWindowCount());
+
+    clock.addAndGet(TimeUnit.MINUTES.toMillis(10));
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    assertEquals(0, histogram.getWindowCount());
+    //Sum and count are exposed as counters and must not decrease
+    assertEquals(102, histogram.getCount());
+    assertEquals(100_020_000, histogram.getSumMicros());
+  }
+
+  @Test
+  public void prometheusExposition() {
+    LatencyHistogram histogram = new LatencyHistogram("test_seconds", "Some test latency");
+    histogram.recordMillis(250);
+    StringBuilder sb = new StringBuilder();
+    histogram.appendTo(sb);
+
+    String exposition = sb.toString();
+    assertTrue(exposition.startsWith("# HELP test_seconds Some test latency\n# TYPE test_seconds summary\n"));
+    assertTrue(exposition.contains("test_seconds{quantile=\"0.99\"} 0.25\n"));
+    assertTrue(exposition.endsWith("test_seconds_sum 0.25\ntest_seconds_count 1\n"));
+  }
+
+  @Test
+  public void labeledSeriesShareOneHeader() {
+    LatencyHistogram.register("test_labeled_seconds", "Some labeled latency", "endpoint", "GET /a").recordMillis(250);
+    LatencyHistogram.register("test_labeled_seconds", "Some labeled latency", "endpoint", "GET /\"b\"").recordMillis(500);
+    StringBuilder sb = new StringBuilder();
+    LatencyHistogram.appendAll(sb);
+
+    String exposition = sb.toString();
+    assertEquals(exposition.indexOf("# HELP test_labeled_seconds "), exposition.lastIndexOf("# HELP test_labeled_seconds "));
+    assertTrue(exposition.contains("test_labeled_seconds{endpoint=\"GET /a\",quantile=\"0.99\"} 0.25\n"));
+    assertTrue(exposition.contains("test_labeled_seconds_sum{endpoint=\"GET /a\"} 0.25\n"));
+    assertTrue(exposition.contains("test_labeled_seconds_count{endpoint=\"GET /\\\"b\\\"\"} 1\n"));
+    assertEquals(1, LatencyHistogram.register("test_labeled_seconds", "Some labeled latency", "endpoint", "GET /a").getCount());
+  }
+
+  private static void assertWithinRelativeError(long expected, long actual) {
+    assertTrue(Math.abs(actual - expected) <= expected / 16, "Expected ~" + expected + " but was " + actual);
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2017-2026 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.util.web;
+
+import static com.here.xyz.events.ContextAwareEvent.SpaceContext.EXTENSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.here.xyz.events.ContextAwareEvent.SpaceContext;
+import com.here.xyz.models.hub.Space;
+import com.here.xyz.responses.StatisticsResponse;
+import com.here.xyz.util.metrics.LatencyHistogram;
+import com.here.xyz.util.service.BaseConfig;
+import com.here.xyz.util.web.XyzWebClient.EndpointStatistics;
+import com.here.xyz.util.web.XyzWebClient.ErrorResponseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class XyzWebClientTest {
+
+  private static final String BASE_URL = "http://localhost:8080/hub";
+  private HttpServer server;
+  private ExecutorService executor;
+  private HubWebClient hubWebClient;
+  private final Queue<String> receivedRequests = new ConcurrentLinkedQueue<>();
+  private volatile CountDownLatch concurrentRequests = new CountDownLatch(0);
+
+  @BeforeEach
+  public void startServer() throws IOException {
+    if (BaseConfig.instance == null)
+      BaseConfig.instance = new BaseConfig();
+
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(executor = Executors.newCachedThreadPool());
+    server.createContext("/hub/spaces/", this::handle);
+    server.start();
+    //Each test uses its own client, so that the local caches of the client are empty
+    hubWebClient = new HubWebClient("http://localhost:" + server.getAddress().getPort() + "/hub");
+  }
+
+  @AfterEach
+  public void stopServer() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath().substring("/hub/spaces/".length());
+    receivedRequests.add(exchange.getRequestURI().getPath() + (exchange.getRequestURI().getQuery() != null
+        ? "?" + exchange.getRequestURI().getQuery() : ""));
+
+    //Block until all expected requests arrived, to verify they are actually sent concurrently
+    concurrentRequests.countDown();
+    try {
+      concurrentRequests.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException ignored) {}
+
+    String spaceId = path.split("/")[0];
+    String body;
+    int status = 200;
+    if (spaceId.startsWith("missing")) {
+      status = 404;
+      body = "{\"type\":\"ErrorMessage\",\"error\":\"NotFound\"}";
+    }
+    else if (path.endsWith("/statistics"))
+      body = "{\"type\":\"StatisticsResponse\",\"count\":{\"value\":" + spaceId.length() + "}}";
+    else
+      body = "{\"id\":\"" + spaceId + "\",\"title\":\"" + spaceId + "\"}";
+
+    byte[] bytes = body.getBytes();
+    exchange.sendResponseHeaders(status, bytes.length);
+    exchange.getResponseBody().write(bytes);
+    exchange.close();
+  }
+
+  @Test
+  public void endpointsAreNormalized() {
+    assertEquals("GET /spaces/{id}", endpoint("GET", "/spaces/mySpace"));
+    assertEquals("GET /spaces/{id}/statistics", endpoint("GET", "/spaces/mySpace/statistics?fastMode=true&context=DEFAULT"));
+    assertEquals("DELETE /spaces/{id}/branches/{id}", endpoint("DELETE", "/spaces/mySpace/branches/b1"));
+    assertEquals("GET /admin/spaces/{id}/tags", endpoint("GET", "/admin/spaces/mySpace/tags"));
+    assertEquals("GET /", endpoint("GET", ""));
+    //Custom paths must not put IDs into the endpoint name
+    assertEquals("GET /spaces/{id}/tile/{id}/{id}", endpoint("GET", "/spaces/mySpace/tile/quadkey/120203?limit=10"));
+    assertEquals("GET /spaces/{id}/{id}", endpoint("GET", "/spaces/mySpace/somethingCustom"));
+  }
+
+  @Test
+  public void loadSpacesConcurrently() throws Exception {
+    concurrentRequests = new CountDownLatch(3);
+    Map<String, Space> spaces = hubWebClient.loadSpaces(List.of("s1", "s22", "s333", "s22"));
+
+    assertEquals(List.of("s1", "s22", "s333"), List.copyOf(spaces.keySet()));
+    assertEquals("s22", spaces.get("s22").getTitle());
+    assertEquals(3, receivedRequests.size());
+    assertEquals(0, concurrentRequests.getCount());
+  }
+
+  @Test
+  public void loadSpacesUsesLocalCache() throws Exception {
+    hubWebClient.loadSpace("s1");
+    receivedRequests.clear();
+
+    Map<String, Space> spaces = hubWebClient.loadSpaces(List.of("s1", "s22"));
+
+    assertEquals(2, spaces.size());
+    assertEquals(List.of("/hub/spaces/s22"), List.copyOf(receivedRequests));
+  }
+
+  @Test
+  public void loadSpaceStatisticsWithContextPerSpace() throws Exception {
+    Map<String, SpaceContext> spaceContexts = new HashMap<>();
+    spaceContexts.put("s1", EXTENSION);
+    spaceContexts.put("s22", null);
+    Map<String, StatisticsResponse> statistics = hubWebClient.loadSpaceStatistics(spaceContexts, false, true);
+
+    assertEquals(2, statistics.get("s1").getCount().getValue());
+    assertEquals(3, statistics.get("s22").getCount().getValue());
+    assertTrue(receivedRequests.stream().anyMatch(request -> request.startsWith("/hub/spaces/s1/statistics?")
+        && request.contains("context=EXTENSION")));
+    assertTrue(receivedRequests.stream().anyMatch(request -> request.startsWith("/hub/spaces/s22/statistics?")
+        && !request.contains("context=")));
+
+    //The statistics are cached now
+    receivedRequests.clear();
+    hubWebClient.loadSpaceStatistics(spaceContexts, false, true);
+    assertEquals(0, receivedRequests.size());
+  }
+
+  @Test
+  public void loadSpacesFailsIfAnySpaceFails() {
+    ErrorResponseException e = assertThrows(ErrorResponseException.class,
+        () -> hubWebClient.loadSpaces(List.of("s1", "missingSpace")));
+    assertEquals(404, e.getStatusCode());
+  }
+
+  @Test
+  public void endpointStatisticsAreExported() throws Exception {
+    EndpointStatistics statistics = XyzWebClient.getEndpointStatistics().get("GET /spaces/{id}");
+    long requests = statistics == null ? 0 : statistics.getRequests();
+    long failures = statistics == null ? 0 : statistics.getFailures();
+
+    hubWebClient.loadSpaces(List.of("s1", "s22"));
+    assertThrows(ErrorResponseException.class, () -> hubWebClient.loadSpace("missingSpace"));
+
+    statistics = XyzWebClient.getEndpointStatistics().get("GET /spaces/{id}");
+    assertEquals(requests + 3, statistics.getRequests());
+    assertEquals(failures + 1, statistics.getFailures());
+    assertEquals(requests + 3, statistics.getLatency().getCount());
+
+    StringBuilder sb = new StringBuilder();
+    LatencyHistogram.appendAll(sb);
+    String exposition = sb.toString();
+    assertTrue(exposition.contains("xyz_web_client_request_time_seconds_count{endpoint=\"GET /spaces/{id}\"} " + (requests + 3) + "\n"));
+    assertTrue(exposition.contains("xyz_web_client_request_time_seconds{endpoint=\"GET /spaces/{id}\",quantile=\"0.99\"} "));
+  }
+
+  private static String endpoint(String method, String path) {
+    return XyzWebClient.endpointOf(method, BASE_URL, URI.create(BASE_URL + path));
+  }
+}